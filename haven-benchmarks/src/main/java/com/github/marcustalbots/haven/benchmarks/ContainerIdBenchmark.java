@@ -0,0 +1,96 @@
+package com.github.marcustalbots.haven.benchmarks;
+
+import com.github.marcustalbots.haven.identifiers.ContainerIdGenerator;
+import com.github.marcustalbots.haven.identifiers.RandomUuidGenerator;
+import com.github.marcustalbots.haven.identifiers.SequentialIdGenerator;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating a container with every {@link ContainerIdGenerator}, on one and on four threads.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class ContainerIdBenchmark {
+
+    /**
+     * The {@link ContainerIdGenerator} to measure.
+     */
+    @Param({"sequential", "uuid"})
+    public String generator;
+
+    /**
+     * The {@link ContainerIdGenerator} that was in use before the benchmark.
+     */
+    private ContainerIdGenerator previousGenerator;
+
+    /**
+     * Installs the {@link ContainerIdGenerator} to measure.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.previousGenerator = ContainerIdGenerator.current();
+        ContainerIdGenerator.use(switch (this.generator) {
+            case "sequential" -> new SequentialIdGenerator();
+            case "uuid" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException("Unknown generator: " + this.generator);
+        });
+    }
+
+    /**
+     * Restores the {@link ContainerIdGenerator}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ContainerIdGenerator.use(this.previousGenerator);
+    }
+
+    /**
+     * Creates a container on a single thread.
+     *
+     * @return The created container.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Threads(1)
+    public DefaultFreightContainer createContainer() {
+        return new DefaultFreightContainer();
+    }
+
+    /**
+     * Creates containers on four threads at the same time.
+     *
+     * @return The created container.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Threads(4)
+    public DefaultFreightContainer createContainerContended() {
+        return new DefaultFreightContainer();
+    }
+}
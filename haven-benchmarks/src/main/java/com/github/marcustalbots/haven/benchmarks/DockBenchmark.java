@@ -0,0 +1,283 @@
+package com.github.marcustalbots.haven.benchmarks;
+
+import com.github.marcustalbots.haven.clock.ScaledClock;
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.dock.backlog.DeadlineBacklog;
+import com.github.marcustalbots.haven.dock.backlog.DwellTimeSla;
+import com.github.marcustalbots.haven.dock.backlog.LaneRingBufferBacklog;
+import com.github.marcustalbots.haven.dock.backlog.PriorityBlockingBacklog;
+import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link Dock#placeContainer(AbstractFreightContainer)} and {@link Dock#getContainer()},
+ * with one or more producing {@link Dock}-users (cranes) and one or more consuming {@link Dock}-users (trucks) at the
+ * same time. Other ratios can be measured by overriding the thread distribution, for example with {@code -tg 8,2}.
+ * <br><br>
+ * The {@link Dock} normally gives up after thirty seconds; a {@link ScaledClock} shortens that to a millisecond, so
+ * that threads blocked at the end of an iteration do not stall the benchmark.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class DockBenchmark {
+
+    /**
+     * The {@link Dock} shared by every thread of a group.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @State(Scope.Group)
+    public static class DockState {
+
+        /**
+         * The {@link com.github.marcustalbots.haven.dock.backlog.ContainerBacklog}-implementation to measure.
+         */
+        @Param({"lanes", "priority", "deadline"})
+        public String backlog;
+
+        /**
+         * Maximum amount of containers on the {@link Dock}.
+         */
+        @Param({"5", "1024"})
+        public int capacity;
+
+        /**
+         * The {@link Dock} under test.
+         */
+        Dock dock;
+
+        /**
+         * The {@link SimulationClock} that was in use before the benchmark.
+         */
+        private SimulationClock previousClock;
+
+        /**
+         * Creates the {@link Dock}, and shortens its time-outs.
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.previousClock = SimulationClock.current();
+            SimulationClock.use(new ScaledClock(30_000.0));
+            this.dock = switch (this.backlog) {
+                case "lanes" -> new Dock(new LaneRingBufferBacklog(this.capacity));
+                case "priority" -> new Dock(new PriorityBlockingBacklog(this.capacity));
+                case "deadline" -> new Dock(new DeadlineBacklog(this.capacity, DwellTimeSla.DEFAULT));
+                default -> throw new IllegalArgumentException("Unknown backlog: " + this.backlog);
+            };
+        }
+
+        /**
+         * Empties the {@link Dock}, so that every iteration starts with an empty {@link Dock}.
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @TearDown(Level.Iteration)
+        public void drain() {
+            while (this.dock.getBacklog().poll() != null) ;
+        }
+
+        /**
+         * Restores the {@link SimulationClock}.
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            SimulationClock.use(this.previousClock);
+        }
+    }
+
+    /**
+     * Containers a single producing thread places on the {@link Dock}. Created up front, so that creating containers
+     * is not measured.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @State(Scope.Thread)
+    public static class ContainerSource {
+
+        /**
+         * Amount of distinct containers every thread cycles through. Must be a power of two.
+         */
+        private static final int SIZE = 1024;
+
+        /**
+         * Containers of every type, in a fixed rotation.
+         */
+        private final AbstractFreightContainer[] containers = new AbstractFreightContainer[ContainerSource.SIZE];
+
+        /**
+         * Index of the next container.
+         */
+        private int next;
+
+        /**
+         * Creates the containers.
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (var index = 0; index < ContainerSource.SIZE; index++) {
+                this.containers[index] = switch (index % 3) {
+                    case 0 -> new DefaultFreightContainer();
+                    case 1 -> new HeatedFreightContainer();
+                    default -> new CooledFreightContainer();
+                };
+            }
+        }
+
+        /**
+         * Gets the next container in the rotation.
+         *
+         * @return A container.
+         * @author Marcus Talbot (1041464)
+         */
+        AbstractFreightContainer next() {
+            return this.containers[this.next++ & (ContainerSource.SIZE - 1)];
+        }
+    }
+
+    /**
+     * A single crane placing containers, while a single truck takes them.
+     *
+     * @param dockState       The shared {@link Dock}.
+     * @param containerSource Containers of the current thread.
+     * @return Whether the container was placed.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public boolean oneToOnePlace(final DockState dockState, final ContainerSource containerSource) {
+        return dockState.dock.placeContainer(containerSource.next());
+    }
+
+    /**
+     * A single truck taking containers, while a single crane places them.
+     *
+     * @param dockState The shared {@link Dock}.
+     * @return The container that was taken, if any.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public AbstractFreightContainer oneToOneTake(final DockState dockState) {
+        return dockState.dock.getContainer();
+    }
+
+    /**
+     * Four cranes placing containers, while a single truck takes them.
+     *
+     * @param dockState       The shared {@link Dock}.
+     * @param containerSource Containers of the current thread.
+     * @return Whether the container was placed.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(4)
+    public boolean manyToOnePlace(final DockState dockState, final ContainerSource containerSource) {
+        return dockState.dock.placeContainer(containerSource.next());
+    }
+
+    /**
+     * A single truck taking containers, while four cranes place them.
+     *
+     * @param dockState The shared {@link Dock}.
+     * @return The container that was taken, if any.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(1)
+    public AbstractFreightContainer manyToOneTake(final DockState dockState) {
+        return dockState.dock.getContainer();
+    }
+
+    /**
+     * A single crane placing containers, while four trucks take them.
+     *
+     * @param dockState       The shared {@link Dock}.
+     * @param containerSource Containers of the current thread.
+     * @return Whether the container was placed.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("oneToMany")
+    @GroupThreads(1)
+    public boolean oneToManyPlace(final DockState dockState, final ContainerSource containerSource) {
+        return dockState.dock.placeContainer(containerSource.next());
+    }
+
+    /**
+     * Four trucks taking containers, while a single crane places them.
+     *
+     * @param dockState The shared {@link Dock}.
+     * @return The container that was taken, if any.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("oneToMany")
+    @GroupThreads(4)
+    public AbstractFreightContainer oneToManyTake(final DockState dockState) {
+        return dockState.dock.getContainer();
+    }
+
+    /**
+     * Four cranes placing containers, while four trucks take them.
+     *
+     * @param dockState       The shared {@link Dock}.
+     * @param containerSource Containers of the current thread.
+     * @return Whether the container was placed.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("manyToMany")
+    @GroupThreads(4)
+    public boolean manyToManyPlace(final DockState dockState, final ContainerSource containerSource) {
+        return dockState.dock.placeContainer(containerSource.next());
+    }
+
+    /**
+     * Four trucks taking containers, while four cranes place them.
+     *
+     * @param dockState The shared {@link Dock}.
+     * @return The container that was taken, if any.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Group("manyToMany")
+    @GroupThreads(4)
+    public AbstractFreightContainer manyToManyTake(final DockState dockState) {
+        return dockState.dock.getContainer();
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.marcustalbots.haven.benchmarks;
+
+import com.github.marcustalbots.haven.builders.ship.ContainerShipBuilder;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures contention on {@link AbstractShip#getNext()}, as experienced by several {@link Crane}-objects offloading
+ * the same {@link ContainerShip}.
+ * <br><br>
+ * So that the ship never runs empty during a measurement, every container that is taken is put back on board right
+ * away. Every operation therefore consists of a single {@link AbstractShip#getNext()} and a single
+ * {@link AbstractShip#addFreight(Object)}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class ShipBenchmark {
+
+    /**
+     * Amount of containers on board of the ship.
+     */
+    @Param({"100", "100000"})
+    public int capacity;
+
+    /**
+     * The {@link ContainerShip} every thread offloads.
+     */
+    private ContainerShip ship;
+
+    /**
+     * Creates and fills the {@link ContainerShip}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.ship = ContainerShipBuilder.getInstance()
+                .reset()
+                .setIdentifier("Benchmark")
+                .setCapacity(this.capacity)
+                .setFillOnBuild(true)
+                .build();
+    }
+
+    /**
+     * A single {@link Crane} taking containers from the ship.
+     *
+     * @return The container that was taken.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Threads(1)
+    public AbstractFreightContainer singleCrane() {
+        return this.takeAndReturn();
+    }
+
+    /**
+     * Four {@link Crane}-objects taking containers from the same ship.
+     *
+     * @return The container that was taken.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Threads(4)
+    public AbstractFreightContainer fourCranes() {
+        return this.takeAndReturn();
+    }
+
+    /**
+     * Sixteen {@link Crane}-objects taking containers from the same ship.
+     *
+     * @return The container that was taken.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Threads(16)
+    public AbstractFreightContainer sixteenCranes() {
+        return this.takeAndReturn();
+    }
+
+    /**
+     * Takes the next container from the ship, and puts it back on board.
+     *
+     * @return The container that was taken, or null if another thread emptied the ship in the meantime.
+     * @author Marcus Talbot (1041464)
+     */
+    private AbstractFreightContainer takeAndReturn() {
+        final var container = this.ship.getNext();
+        if (container != null)
+            this.ship.addFreight(container);
+        return container;
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.marcustalbots.haven.benchmarks;
+
+import com.github.marcustalbots.haven.builders.ship.ContainerShipBuilder;
+import com.github.marcustalbots.haven.builders.ship.FreightMix;
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
+import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link ContainerShipBuilder#build()} takes to fill a {@link ContainerShip} of a large capacity.
+ * The {@link ContainerShipBuilder} is a singleton, and is therefore only used by a single thread; a parallel fill
+ * spreads the work of that thread over the common {@link java.util.concurrent.ForkJoinPool}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class ShipBuilderBenchmark {
+
+    /**
+     * Amount of containers the ship is filled with.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int capacity;
+
+    /**
+     * Whether the ship is backed by a {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}.
+     */
+    @Param({"false", "true"})
+    public boolean manifest;
+
+    /**
+     * Builds a new, filled {@link ContainerShip}.
+     *
+     * @return The built {@link ContainerShip}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    public ContainerShip buildFilled() {
+        return ContainerShipBuilder.getInstance()
+                .reset()
+                .setUseManifest(this.manifest)
+                .setParallelFill(false)
+                .setIdentifier("Benchmark")
+                .setCapacity(this.capacity)
+                .setFillOnBuild(true)
+                .build();
+    }
+
+    /**
+     * Builds a new {@link ContainerShip}, filled in parallel.
+     *
+     * @return The built {@link ContainerShip}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    public ContainerShip buildFilledParallel() {
+        return ContainerShipBuilder.getInstance()
+                .reset()
+                .setUseManifest(this.manifest)
+                .setParallelFill(true)
+                .setIdentifier("Benchmark")
+                .setCapacity(this.capacity)
+                .setFillOnBuild(true)
+                .build();
+    }
+
+    /**
+     * Builds a new {@link ContainerShip}, filled from an endless stream of containers.
+     *
+     * @return The built {@link ContainerShip}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    public ContainerShip buildStreamed() {
+        return ContainerShipBuilder.getInstance()
+                .reset()
+                .setUseManifest(this.manifest)
+                .setFillOnBuild(false)
+                .setIdentifier("Benchmark")
+                .setCapacity(this.capacity)
+                .fill(FreightMix.uniform(ContainerTypes.DEFAULT, ContainerTypes.HEATED, ContainerTypes.COOLED)
+                        .stream(new SplittableRandom(7)))
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.marcustalbots.haven.benchmarks;
+
+import com.github.marcustalbots.haven.utils.TimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of drawing a delay through {@link TimeUtils#getDelayUsingGaussianDistribution(long, long)}, which
+ * every strategy does once per container.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TimeUtilsBenchmark {
+
+    /**
+     * Draws a delay on a single thread.
+     *
+     * @return The drawn delay.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Threads(1)
+    public long gaussianDelay() {
+        return TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L);
+    }
+
+    /**
+     * Draws delays on four threads at the same time.
+     *
+     * @return The drawn delay.
+     * @author Marcus Talbot (1041464)
+     */
+    @Benchmark
+    @Threads(4)
+    public long gaussianDelayContended() {
+        return TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains JMH benchmarks, which serve as a baseline for changes to the concurrency of the port.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.benchmarks;
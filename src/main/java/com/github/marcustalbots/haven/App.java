@@ -11,15 +11,31 @@
  */
 package com.github.marcustalbots.haven;
 
+import com.github.marcustalbots.haven.arrivals.ArrivalProcess;
+import com.github.marcustalbots.haven.arrivals.ArrivalScheduler;
+import com.github.marcustalbots.haven.arrivals.PoissonArrivalProcess;
+import com.github.marcustalbots.haven.arrivals.TraceArrivalProcess;
+import com.github.marcustalbots.haven.clock.DiscreteEventClock;
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.facades.ShipBuilderFacade;
 import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.dock.Terminal;
 import com.github.marcustalbots.haven.factories.vehicles.ContainerDockVehicleFactory;
 import com.github.marcustalbots.haven.factories.vehicles.OilDockVehicleFactory;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.logging.EventLog;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockVehicle;
+import com.github.marcustalbots.haven.pipeline.HandlingPipeline;
+import com.github.marcustalbots.haven.runtime.PortRuntime;
+import com.github.marcustalbots.haven.simulation.DiscreteEventEngine;
+import com.github.marcustalbots.haven.utils.TimeUtils;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.SplittableRandom;
 
 /**
  * Contains main-method.
@@ -29,12 +45,33 @@ import java.util.concurrent.TimeUnit;
 public class App {
 
     /**
-     * Start-point of program.
+     * Start-point of program. When the {@code haven.clock} system property is set to {@code discrete}, the port is
+     * simulated by a {@link DiscreteEventEngine}, seeded with the {@code haven.seed} system property. Otherwise, every
+     * vehicle runs on its own thread. The same seed is used to fill the ships. When the {@code haven.metrics.file}
+     * system property is set, metrics are dumped to that file while the port runs, and once more when it is done.
+     * When the {@code haven.pipeline} system property is set to {@code true} without a discrete clock, every
+     * {@link Crane} passes its containers through a {@link HandlingPipeline}; see
+     * {@link HandlingPipeline#fromSystemProperties(Dock, java.util.concurrent.ThreadFactory)}.
+     * <br><br>
+     * When the {@code haven.arrivals} system property is set as well as a discrete clock, ships arrive over time at a
+     * {@link Terminal} instead; see {@link #simulateArrivals(DiscreteEventClock, long, String)}.
      *
      * @param args Optional parameters.
+     * @throws InterruptedException If the main thread was interrupted while waiting for the port.
+     * @throws IOException          If the trace of arrivals could not be read.
      * @author Marcus Talbot (1041464)
      */
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) throws InterruptedException, IOException {
+
+        final var seed = Long.getLong("haven.seed");
+        if (seed != null)
+            TimeUtils.useRandomGenerator(new SplittableRandom(seed));
+
+        final var arrivals = System.getProperty("haven.arrivals");
+        if (arrivals != null && SimulationClock.current() instanceof DiscreteEventClock clock) {
+            App.simulateArrivals(clock, seed != null ? seed : 0L, arrivals);
+            return;
+        }
 
         final var dock = new Dock(5);
 
@@ -46,25 +83,106 @@ public class App {
         final var containerVehicleFactory = new ContainerDockVehicleFactory();
         final var oilVehicleFactory = new OilDockVehicleFactory();
 
-//        final var dockVehicleList = new ArrayList<AbstractDockVehicle>(10);
-
-        containerVehicleFactory.createOffloadVehicle(dock, containerShip, "Isabella").run();
-        containerVehicleFactory.createOffloadVehicle(dock, containerShip, "Olivia").run();
-        oilVehicleFactory.createOffloadVehicle(dock, oilShip, "Noah").run();
-        oilVehicleFactory.createOffloadVehicle(dock, oilShip, "Emma").run();
-        containerVehicleFactory.createTransportVehicle(dock, "Mia").run();
-        containerVehicleFactory.createTransportVehicle(dock, "Ava").run();
-        containerVehicleFactory.createTransportVehicle(dock, "Barbara").run();
-        oilVehicleFactory.createTransportVehicle(dock, "Evelyn").run();
-        oilVehicleFactory.createTransportVehicle(dock, "Charlotte").run();
-        oilVehicleFactory.createTransportVehicle(dock, "Jennifer").run();
-
-//        final var executorService =
-//                Executors.newFixedThreadPool(dockVehicleList.size() + 1);
-//        dockVehicleList.forEach(executorService::submit);
-//
-//        executorService.shutdown();
-//        executorService.awaitTermination(1, TimeUnit.DAYS);
+        final var dockVehicleList = new ArrayList<AbstractDockVehicle>(10);
+
+        dockVehicleList.add(containerVehicleFactory.createOffloadVehicle(dock, containerShip, "Isabella"));
+        dockVehicleList.add(containerVehicleFactory.createOffloadVehicle(dock, containerShip, "Olivia"));
+        dockVehicleList.add(oilVehicleFactory.createOffloadVehicle(dock, oilShip, "Noah"));
+        dockVehicleList.add(oilVehicleFactory.createOffloadVehicle(dock, oilShip, "Emma"));
+        dockVehicleList.add(containerVehicleFactory.createTransportVehicle(dock, "Mia"));
+        dockVehicleList.add(containerVehicleFactory.createTransportVehicle(dock, "Ava"));
+        dockVehicleList.add(containerVehicleFactory.createTransportVehicle(dock, "Barbara"));
+        dockVehicleList.add(oilVehicleFactory.createTransportVehicle(dock, "Evelyn"));
+        dockVehicleList.add(oilVehicleFactory.createTransportVehicle(dock, "Charlotte"));
+        dockVehicleList.add(oilVehicleFactory.createTransportVehicle(dock, "Jennifer"));
+
+        final var metricsReporter = MetricsRegistry.getInstance().startReporterFromSystemProperties();
+
+        if (SimulationClock.current() instanceof DiscreteEventClock clock) {
+            final var engine = new DiscreteEventEngine(clock, seed != null ? seed : 0L);
+            engine.addAll(dockVehicleList);
+            final var report = engine.run();
+            EventLog.getInstance().close();
+            if (metricsReporter != null)
+                metricsReporter.close();
+            System.out.printf("[SIMULATION] %d events, %d containers offloaded, %d transported, in %s of simulated time (%.0fx real time).\n",
+                    report.processedEvents(), report.offloadedContainers(), report.transportedContainers(),
+                    report.simulatedTime(), report.speedUp());
+            return;
+        }
+
+        HandlingPipeline pipeline = null;
+        try (final var portRuntime = new PortRuntime(PortRuntime.ThreadMode.VIRTUAL)) {
+            if (Boolean.getBoolean("haven.pipeline")) {
+                pipeline = HandlingPipeline.fromSystemProperties(dock, portRuntime.getThreadFactory());
+                for (final var vehicle : dockVehicleList)
+                    if (vehicle instanceof Crane crane)
+                        crane.setPipeline(pipeline);
+            }
+            portRuntime.submitAll(dockVehicleList);
+            dock.shutdown();
+            dock.awaitQuiescence();
+            portRuntime.awaitCompletion(Duration.ofDays(1));
+        }
+        if (pipeline != null)
+            pipeline.close();
+        EventLog.getInstance().close();
+        if (metricsReporter != null)
+            metricsReporter.close();
+
+    }
+
+    /**
+     * Simulates a {@link Terminal} of two berths, at which ships arrive over time. Every berth has two cranes, a pump,
+     * three container trucks and two oil trucks. Ships arrive according to the {@code haven.arrivals} system property:
+     * either {@code poisson}, in which case {@code haven.arrivals.count} ships (default 20) of either type arrive on
+     * average every {@code haven.arrivals.interval} seconds (default 60), or the path of a trace, as read by
+     * {@link TraceArrivalProcess}.
+     *
+     * @param clock  The {@link DiscreteEventClock} of the simulation.
+     * @param seed   Seed of the simulation, and of the arrivals.
+     * @param source {@code poisson}, or the path of a trace.
+     * @throws IOException If the trace could not be read.
+     * @author Marcus Talbot (1041464)
+     */
+    private static void simulateArrivals(final DiscreteEventClock clock, final long seed, final String source)
+            throws IOException {
+        final ArrivalProcess arrivals = source.equals("poisson")
+                ? PoissonArrivalProcess.of(Duration.ofSeconds(Long.getLong("haven.arrivals.interval", 60L)),
+                Integer.getInteger("haven.arrivals.count", 20), 0.5, 100, seed)
+                : TraceArrivalProcess.read(Path.of(source));
+
+        final var terminal = new Terminal(2, 5);
+        final var engine = new DiscreteEventEngine(clock, seed);
+        final var scheduler = new ArrivalScheduler(engine, terminal, arrivals);
+        final var containerVehicleFactory = new ContainerDockVehicleFactory();
+        final var oilVehicleFactory = new OilDockVehicleFactory();
+
+        for (final var berth : terminal.getBerths()) {
+            final var name = "Berth" + berth.getBerthIndex();
+            scheduler.addVehicle(containerVehicleFactory.createOffloadVehicle(berth, null, name + "-Crane0"));
+            scheduler.addVehicle(containerVehicleFactory.createOffloadVehicle(berth, null, name + "-Crane1"));
+            scheduler.addVehicle(oilVehicleFactory.createOffloadVehicle(berth, null, name + "-Pump"));
+            engine.add(containerVehicleFactory.createTransportVehicle(berth, name + "-Truck0"));
+            engine.add(containerVehicleFactory.createTransportVehicle(berth, name + "-Truck1"));
+            engine.add(containerVehicleFactory.createTransportVehicle(berth, name + "-Truck2"));
+            engine.add(oilVehicleFactory.createTransportVehicle(berth, name + "-Tanker0"));
+            engine.add(oilVehicleFactory.createTransportVehicle(berth, name + "-Tanker1"));
+        }
+
+        final var metricsReporter = MetricsRegistry.getInstance().startReporterFromSystemProperties();
+        scheduler.start();
+        final var report = engine.run();
+        EventLog.getInstance().close();
+        if (metricsReporter != null)
+            metricsReporter.close();
 
+        final var turnaround = MetricsRegistry.getInstance().histogram("ship.turnaround").snapshot();
+        System.out.printf("[SIMULATION] %d events, %d containers offloaded, %d transported, in %s of simulated time (%.0fx real time).\n",
+                report.processedEvents(), report.offloadedContainers(), report.transportedContainers(),
+                report.simulatedTime(), report.speedUp());
+        System.out.printf("[ARRIVALS] %d ships arrived, %d departed; turnaround p50 %s, p99 %s, max %s.\n",
+                scheduler.getArrivedShips(), scheduler.getDepartedShips(), Duration.ofNanos(turnaround.p50()),
+                Duration.ofNanos(turnaround.p99()), Duration.ofNanos(turnaround.max()));
     }
 }
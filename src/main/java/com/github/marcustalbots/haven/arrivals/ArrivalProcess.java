@@ -0,0 +1,22 @@
+package com.github.marcustalbots.haven.arrivals;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Provides a common interface for sources of arriving ships. Ships are handed out one by one, in order of arrival, so
+ * that a long series of arrivals never has to be held in memory at once.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see PoissonArrivalProcess
+ * @see TraceArrivalProcess
+ */
+public interface ArrivalProcess {
+
+    /**
+     * Gets the next arrival. The offset of every arrival is at least that of the arrival before it.
+     *
+     * @return The next {@link ShipArrival}, or null if no more ships arrive.
+     * @author Marcus Talbot (1041464)
+     */
+    @Nullable ShipArrival next();
+}
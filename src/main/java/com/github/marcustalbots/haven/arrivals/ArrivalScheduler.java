@@ -0,0 +1,428 @@
+package com.github.marcustalbots.haven.arrivals;
+
+import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.dock.Terminal;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump;
+import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
+import com.github.marcustalbots.haven.impl.vehicles.ships.OilShip;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockOffloadVehicle;
+import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import com.github.marcustalbots.haven.simulation.DiscreteEventEngine;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lets ships of an {@link ArrivalProcess} arrive at the berths of a {@link Terminal}, while the port is simulated by a
+ * {@link DiscreteEventEngine}.
+ * <br><br>
+ * Every {@link Crane} and {@link Pump} belongs to the berth it places containers on. An arriving ship waits until a
+ * berth is free that has vehicles able to offload it; waiting ships are berthed in order of arrival. Once berthed, the
+ * ship is handed to every able vehicle of the berth through
+ * {@link AbstractDockOffloadVehicle#setShip(AbstractShip)}. When all of them have emptied it, the ship departs, and
+ * the berth takes the next waiting ship.
+ * <br><br>
+ * The time every ship waited for a berth, and the time between its arrival and departure, are recorded in simulated
+ * time, in the {@code ship.berth-wait} and {@code ship.turnaround} histograms of the {@link MetricsRegistry}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class ArrivalScheduler {
+
+    /**
+     * Time every ship spent waiting for a berth.
+     */
+    private static final LatencyHistogram BERTH_WAIT = MetricsRegistry.getInstance().histogram("ship.berth-wait");
+
+    /**
+     * Time between the arrival and departure of every ship.
+     */
+    private static final LatencyHistogram TURNAROUND = MetricsRegistry.getInstance().histogram("ship.turnaround");
+
+    /**
+     * Amount of ships that arrived.
+     */
+    private static final Counter ARRIVED = MetricsRegistry.getInstance().counter("ship.arrived");
+
+    /**
+     * Amount of ships that departed.
+     */
+    private static final Counter DEPARTED = MetricsRegistry.getInstance().counter("ship.departed");
+
+    /**
+     * The {@link DiscreteEventEngine} simulating the port.
+     */
+    private final DiscreteEventEngine engine;
+
+    /**
+     * The {@link Terminal} ships arrive at.
+     */
+    private final Terminal terminal;
+
+    /**
+     * Source of arriving ships.
+     */
+    private final ArrivalProcess arrivals;
+
+    /**
+     * State of every berth, in the order of the berths of the {@link Terminal}.
+     */
+    private final List<Berth> berths;
+
+    /**
+     * State of every berth, by the {@link Dock} serving as the berth.
+     */
+    private final Map<Dock, Berth> berthsByDock;
+
+    /**
+     * Ships that have arrived, but have not been berthed yet, in order of arrival.
+     */
+    private final ArrayDeque<Visit> waiting;
+
+    /**
+     * Simulated time at which the scheduler was started, in nanoseconds since the epoch.
+     */
+    private long startNanos;
+
+    /**
+     * Whether {@link #start()} has been called.
+     */
+    private boolean started;
+
+    /**
+     * Amount of ships that arrived.
+     */
+    private long arrivedShips;
+
+    /**
+     * Amount of ships that departed.
+     */
+    private long departedShips;
+
+    /**
+     * Creates a new {@link ArrivalScheduler}.
+     *
+     * @param engine   The {@link DiscreteEventEngine} simulating the port.
+     * @param terminal The {@link Terminal} ships arrive at.
+     * @param arrivals Source of arriving ships.
+     * @author Marcus Talbot (1041464)
+     */
+    public ArrivalScheduler(@NotNull final DiscreteEventEngine engine, @NotNull final Terminal terminal,
+                            @NotNull final ArrivalProcess arrivals) {
+        this.engine = engine;
+        this.terminal = terminal;
+        this.arrivals = arrivals;
+        this.berths = new ArrayList<>(terminal.getBerthCount());
+        this.berthsByDock = new IdentityHashMap<>();
+        this.waiting = new ArrayDeque<>();
+
+        for (final var dock : terminal.getBerths()) {
+            final var berth = new Berth();
+            this.berths.add(berth);
+            this.berthsByDock.put(dock, berth);
+        }
+    }
+
+    /**
+     * Adds an offload-vehicle to the berth it places containers on. The vehicle is idle until a ship it can offload is
+     * berthed there; a ship it was given before is replaced. The vehicle should not be added to the
+     * {@link DiscreteEventEngine} directly.
+     *
+     * @param vehicle A {@link Crane} or {@link Pump}, of a berth of the {@link Terminal}.
+     * @throws IllegalArgumentException If the vehicle is not a berth of the {@link Terminal}, or of an unknown type.
+     * @throws IllegalStateException    If the scheduler has been started already.
+     * @author Marcus Talbot (1041464)
+     */
+    public void addVehicle(@NotNull final AbstractDockOffloadVehicle<?> vehicle) {
+        if (this.started)
+            throw new IllegalStateException("Vehicles cannot be added after the scheduler has started.");
+        if (!(vehicle instanceof Crane) && !(vehicle instanceof Pump))
+            throw new IllegalArgumentException("Unknown type of offload-vehicle: " + vehicle);
+
+        final var berth = this.berthsByDock.get(vehicle.getDock());
+        if (berth == null || vehicle.getDock().getTerminal() != this.terminal)
+            throw new IllegalArgumentException("Dock of " + vehicle + " is not a berth of the Terminal.");
+
+        berth.vehicles.add(vehicle);
+    }
+
+    /**
+     * Adds every offload-vehicle in the given {@link List} to the berth it places containers on.
+     *
+     * @param vehicles {@link Crane}- and {@link Pump}-objects of the berths of the {@link Terminal}.
+     * @author Marcus Talbot (1041464)
+     * @see #addVehicle(AbstractDockOffloadVehicle)
+     */
+    public void addVehicles(@NotNull final List<? extends AbstractDockOffloadVehicle<?>> vehicles) {
+        vehicles.forEach(this::addVehicle);
+    }
+
+    /**
+     * Starts letting ships arrive, from the current simulated time of the {@link DiscreteEventEngine}. Ships are drawn
+     * from the {@link ArrivalProcess} while the engine runs, one arrival ahead.
+     *
+     * @throws IllegalStateException If the scheduler has been started already.
+     * @author Marcus Talbot (1041464)
+     */
+    public void start() {
+        if (this.started)
+            throw new IllegalStateException("Scheduler has been started already.");
+
+        this.started = true;
+        this.startNanos = this.engine.getNanos();
+        for (final var berth : this.berths) {
+            for (final var vehicle : berth.vehicles)
+                berth.idleSince.put(vehicle, this.startNanos);
+        }
+
+        this.engine.setShipEmptiedListener(this::emptied);
+        this.engine.schedule(Duration.ZERO, this::scheduleNextArrival);
+    }
+
+    /**
+     * Gets the amount of ships that have arrived.
+     *
+     * @return The amount of arrived ships.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public long getArrivedShips() {
+        return this.arrivedShips;
+    }
+
+    /**
+     * Gets the amount of ships that have been emptied, and have departed.
+     *
+     * @return The amount of departed ships.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public long getDepartedShips() {
+        return this.departedShips;
+    }
+
+    /**
+     * Gets the amount of ships that have arrived, but are still waiting for a berth.
+     *
+     * @return The amount of waiting ships.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getWaitingShips() {
+        return this.waiting.size();
+    }
+
+    /**
+     * Draws the next arrival from the {@link ArrivalProcess}, and schedules it at its offset.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void scheduleNextArrival() {
+        final var arrival = this.arrivals.next();
+        if (arrival == null)
+            return;
+
+        final var delay = Math.max(0L, this.startNanos + arrival.offset().toNanos() - this.engine.getNanos());
+        this.engine.schedule(Duration.ofNanos(delay), () -> this.arrive(arrival.ship()));
+    }
+
+    /**
+     * Lets a ship arrive, and berths it if a berth is free.
+     *
+     * @param ship The arriving ship.
+     * @author Marcus Talbot (1041464)
+     */
+    private void arrive(@NotNull final AbstractShip<?> ship) {
+        this.arrivedShips++;
+        ArrivalScheduler.ARRIVED.increment();
+        this.waiting.add(new Visit(ship, this.engine.getNanos()));
+        this.dispatch();
+        this.scheduleNextArrival();
+    }
+
+    /**
+     * Berths waiting ships at every free berth able to offload them, in order of arrival.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void dispatch() {
+        for (final var berth : this.berths) {
+            if (berth.visit != null)
+                continue;
+
+            final var iterator = this.waiting.iterator();
+            while (iterator.hasNext()) {
+                final var visit = iterator.next();
+                if (berth.canOffload(visit.ship)) {
+                    iterator.remove();
+                    this.berth(berth, visit);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Berths a ship, and hands it to every vehicle of the berth able to offload it.
+     *
+     * @param berth The free berth.
+     * @param visit The ship that is berthed.
+     * @author Marcus Talbot (1041464)
+     */
+    private void berth(@NotNull final Berth berth, @NotNull final Visit visit) {
+        final var now = this.engine.getNanos();
+        ArrivalScheduler.BERTH_WAIT.record(now - visit.arrivedNanos);
+        berth.visit = visit;
+
+        for (final var vehicle : berth.vehicles) {
+            if (!ArrivalScheduler.canOffload(vehicle, visit.ship))
+                continue;
+
+            vehicle.getMetrics().recordIdle(now - berth.idleSince.remove(vehicle));
+            ArrivalScheduler.assign(vehicle, visit.ship);
+            berth.busyVehicles++;
+            this.engine.add(vehicle);
+        }
+    }
+
+    /**
+     * Called by the {@link DiscreteEventEngine} once an offload-vehicle has emptied its ship. Once every vehicle of
+     * the berth has, the ship departs, and the berth takes the next waiting ship.
+     *
+     * @param vehicle The offload-vehicle that is done.
+     * @author Marcus Talbot (1041464)
+     */
+    private void emptied(@NotNull final AbstractDockOffloadVehicle<?> vehicle) {
+        final var berth = this.berthsByDock.get(vehicle.getDock());
+        if (berth == null || berth.visit == null || !berth.vehicles.contains(vehicle))
+            return;
+
+        final var now = this.engine.getNanos();
+        berth.idleSince.put(vehicle, now);
+        if (--berth.busyVehicles > 0)
+            return;
+
+        ArrivalScheduler.TURNAROUND.record(now - berth.visit.arrivedNanos);
+        ArrivalScheduler.DEPARTED.increment();
+        this.departedShips++;
+        berth.visit = null;
+        this.dispatch();
+    }
+
+    /**
+     * Checks whether the given vehicle is able to offload the given ship.
+     *
+     * @param vehicle A {@link Crane} or {@link Pump}.
+     * @param ship    A ship.
+     * @return true if a {@link Crane} is given a {@link ContainerShip}, or a {@link Pump} an {@link OilShip}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    private static boolean canOffload(@NotNull final AbstractDockOffloadVehicle<?> vehicle,
+                                      @NotNull final AbstractShip<?> ship) {
+        return switch (vehicle) {
+            case Crane ignored -> ship instanceof ContainerShip;
+            case Pump ignored -> ship instanceof OilShip;
+            default -> false;
+        };
+    }
+
+    /**
+     * Hands a ship to an offload-vehicle. Only called after {@link #canOffload(AbstractDockOffloadVehicle, AbstractShip)}
+     * has confirmed that the types of both match.
+     *
+     * @param vehicle The offload-vehicle.
+     * @param ship    The ship it should offload.
+     * @param <T>     Type of the containers the vehicle offloads.
+     * @author Marcus Talbot (1041464)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends AbstractContainer> void assign(@NotNull final AbstractDockOffloadVehicle<T> vehicle,
+                                                             @NotNull final AbstractShip<?> ship) {
+        vehicle.setShip((AbstractShip<T>) ship);
+    }
+
+    /**
+     * A single ship, from its arrival until its departure.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private static final class Visit {
+
+        /**
+         * The visiting ship.
+         */
+        private final AbstractShip<?> ship;
+
+        /**
+         * Simulated time at which the ship arrived, in nanoseconds since the epoch.
+         */
+        private final long arrivedNanos;
+
+        /**
+         * Creates a new {@link Visit}.
+         *
+         * @param ship         The visiting ship.
+         * @param arrivedNanos Simulated time at which the ship arrived.
+         * @author Marcus Talbot (1041464)
+         */
+        private Visit(@NotNull final AbstractShip<?> ship, final long arrivedNanos) {
+            this.ship = ship;
+            this.arrivedNanos = arrivedNanos;
+        }
+    }
+
+    /**
+     * A single berth, with its offload-vehicles and the ship it currently holds.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private static final class Berth {
+
+        /**
+         * Offload-vehicles placing containers on this berth.
+         */
+        private final List<AbstractDockOffloadVehicle<?>> vehicles = new ArrayList<>();
+
+        /**
+         * Simulated time at which every idle vehicle became idle.
+         */
+        private final Map<AbstractDockOffloadVehicle<?>, Long> idleSince = new IdentityHashMap<>();
+
+        /**
+         * The ship currently berthed, or null if the berth is free.
+         */
+        private @Nullable Visit visit;
+
+        /**
+         * Amount of vehicles that have not emptied the current ship yet.
+         */
+        private int busyVehicles;
+
+        /**
+         * Checks whether any vehicle of this berth is able to offload the given ship.
+         *
+         * @param ship A ship.
+         * @return true if the ship can be berthed here.
+         * @author Marcus Talbot (1041464)
+         */
+        private boolean canOffload(@NotNull final AbstractShip<?> ship) {
+            for (final var vehicle : this.vehicles) {
+                if (ArrivalScheduler.canOffload(vehicle, ship))
+                    return true;
+            }
+            return false;
+        }
+    }
+}
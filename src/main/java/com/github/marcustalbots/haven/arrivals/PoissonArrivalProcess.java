@@ -0,0 +1,117 @@
+package com.github.marcustalbots.haven.arrivals;
+
+import com.github.marcustalbots.haven.facades.ShipBuilderFacade;
+import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementation of {@link ArrivalProcess} in which ships arrive independently of each other, at a constant average
+ * rate. The time between two arrivals is therefore drawn from an exponential distribution.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class PoissonArrivalProcess implements ArrivalProcess {
+
+    /**
+     * Average amount of simulated time between two arrivals, in nanoseconds.
+     */
+    private final double meanInterval;
+
+    /**
+     * Amount of ships that arrive in total.
+     */
+    private final int count;
+
+    /**
+     * Source of randomness of the time between arrivals.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * Creates the ship of every arrival, given the index of the arrival.
+     */
+    private final IntFunction<? extends AbstractShip<?>> ships;
+
+    /**
+     * Index of the next arrival.
+     */
+    private int index;
+
+    /**
+     * Offset of the previous arrival, in nanoseconds.
+     */
+    private long offsetNanos;
+
+    /**
+     * Creates a new {@link PoissonArrivalProcess}.
+     *
+     * @param meanInterval Average amount of simulated time between two arrivals.
+     * @param count        Amount of ships that arrive in total.
+     * @param random       Source of randomness of the time between arrivals.
+     * @param ships        Creates the ship of every arrival, given the index of the arrival.
+     * @throws IllegalArgumentException If the interval is not positive, or the count is negative.
+     * @author Marcus Talbot (1041464)
+     */
+    public PoissonArrivalProcess(@NotNull final Duration meanInterval, final int count,
+                                 @NotNull final RandomGenerator random,
+                                 @NotNull final IntFunction<? extends AbstractShip<?>> ships) {
+        if (meanInterval.isNegative() || meanInterval.isZero())
+            throw new IllegalArgumentException("Interval between arrivals must be greater than zero.");
+        if (count < 0)
+            throw new IllegalArgumentException("Amount of arrivals cannot be negative.");
+
+        this.meanInterval = meanInterval.toNanos();
+        this.count = count;
+        this.random = random;
+        this.ships = ships;
+    }
+
+    /**
+     * Creates a {@link PoissonArrivalProcess} of container- and oil-ships, built and filled through the
+     * {@link ShipBuilderFacade}. The first arrival comes in one interval after the start.
+     *
+     * @param meanInterval Average amount of simulated time between two arrivals.
+     * @param count        Amount of ships that arrive in total.
+     * @param oilShare     Chance of an arriving ship being an oil-ship, between zero and one.
+     * @param capacity     Capacity of every ship.
+     * @param seed         Seed of the time between arrivals, and the type of every ship.
+     * @return A new {@link PoissonArrivalProcess}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _, _, _, _ -> new")
+    public static @NotNull PoissonArrivalProcess of(@NotNull final Duration meanInterval, final int count,
+                                                    final double oilShare, final int capacity, final long seed) {
+        if (!(oilShare >= 0.0 && oilShare <= 1.0))
+            throw new IllegalArgumentException("Share of oil-ships must be between zero and one.");
+
+        final var random = new SplittableRandom(seed);
+        final var types = random.split();
+        final var facade = ShipBuilderFacade.getInstance();
+        return new PoissonArrivalProcess(meanInterval, count, random, index -> types.nextDouble() < oilShare
+                ? facade.buildOilShip("Arrival-" + index, capacity)
+                : facade.buildContainerShip("Arrival-" + index, capacity));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable ShipArrival next() {
+        if (this.index >= this.count)
+            return null;
+
+        // Inverse transform sampling; 1 - u lies in (0, 1], which keeps the logarithm finite.
+        final var interval = -Math.log(1.0 - this.random.nextDouble()) * this.meanInterval;
+        this.offsetNanos += (long) interval;
+        return new ShipArrival(Duration.ofNanos(this.offsetNanos), this.ships.apply(this.index++));
+    }
+}
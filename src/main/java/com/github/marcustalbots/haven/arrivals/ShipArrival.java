@@ -0,0 +1,28 @@
+package com.github.marcustalbots.haven.arrivals;
+
+import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * A single ship arriving at a {@link com.github.marcustalbots.haven.dock.Terminal}.
+ *
+ * @param offset Simulated time at which the ship arrives, measured from the start of the {@link ArrivalScheduler}.
+ * @param ship   The arriving ship.
+ * @author Marcus Talbot (1041464)
+ * @see ArrivalProcess
+ */
+public record ShipArrival(@NotNull Duration offset, @NotNull AbstractShip<?> ship) {
+
+    /**
+     * Validates the {@link ShipArrival}.
+     *
+     * @throws IllegalArgumentException If the offset is negative.
+     * @author Marcus Talbot (1041464)
+     */
+    public ShipArrival {
+        if (offset.isNegative())
+            throw new IllegalArgumentException("Offset of arrival cannot be negative.");
+    }
+}
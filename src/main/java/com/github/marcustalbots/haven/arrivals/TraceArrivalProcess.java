@@ -0,0 +1,139 @@
+package com.github.marcustalbots.haven.arrivals;
+
+import com.github.marcustalbots.haven.facades.ShipBuilderFacade;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Implementation of {@link ArrivalProcess} that replays a recorded series of arrivals. Every line of a trace describes
+ * a single arrival, as comma-separated values:
+ * <pre>
+ * # offset, type, capacity[, identifier]
+ * PT0S, container, 100, Sophia
+ * PT2M, oil, 50
+ * 150000, container, 100
+ * </pre>
+ * The offset is either an ISO-8601 duration, or an amount of milliseconds. The type is either {@code container} or
+ * {@code oil}. Empty lines, and lines starting with {@code #}, are skipped. Ships are built and filled through the
+ * {@link ShipBuilderFacade} as they arrive, rather than when the trace is read.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class TraceArrivalProcess implements ArrivalProcess {
+
+    /**
+     * The remaining entries of the trace.
+     */
+    private final Iterator<Entry> entries;
+
+    /**
+     * Creates a new {@link TraceArrivalProcess} from parsed entries.
+     *
+     * @param entries Entries of the trace, in order of arrival.
+     * @author Marcus Talbot (1041464)
+     */
+    private TraceArrivalProcess(@NotNull final List<Entry> entries) {
+        this.entries = entries.iterator();
+    }
+
+    /**
+     * Reads a trace from the given file.
+     *
+     * @param path Path of the trace.
+     * @return A new {@link TraceArrivalProcess}.
+     * @throws IOException              If the file could not be read.
+     * @throws IllegalArgumentException If a line of the trace is malformed, or arrives before the line above it.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull TraceArrivalProcess read(@NotNull final Path path) throws IOException {
+        return TraceArrivalProcess.parse(Files.readAllLines(path));
+    }
+
+    /**
+     * Parses a trace from the given lines.
+     *
+     * @param lines Lines of the trace.
+     * @return A new {@link TraceArrivalProcess}.
+     * @throws IllegalArgumentException If a line of the trace is malformed, or arrives before the line above it.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    public static @NotNull TraceArrivalProcess parse(@NotNull final List<String> lines) {
+        final var entries = new ArrayList<Entry>(lines.size());
+        var previous = Duration.ZERO;
+
+        for (var number = 1; number <= lines.size(); number++) {
+            final var line = lines.get(number - 1).strip();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            final var fields = line.split("\\s*,\\s*");
+            if (fields.length < 3 || fields.length > 4)
+                throw new IllegalArgumentException("Line " + number + " of trace should have three or four fields.");
+
+            try {
+                final var offset = fields[0].startsWith("P")
+                        ? Duration.parse(fields[0])
+                        : Duration.ofMillis(Long.parseLong(fields[0]));
+                final var oil = switch (fields[1]) {
+                    case "container" -> false;
+                    case "oil" -> true;
+                    default -> throw new IllegalArgumentException("Unknown type of ship: " + fields[1]);
+                };
+                final var capacity = Integer.parseInt(fields[2]);
+                final var identifier = fields.length == 4 ? fields[3] : "Arrival-" + entries.size();
+
+                if (offset.compareTo(previous) < 0)
+                    throw new IllegalArgumentException("Ship arrives before the ship above it.");
+                if (capacity <= 0)
+                    throw new IllegalArgumentException("Capacity must be greater than zero.");
+
+                entries.add(new Entry(offset, oil, capacity, identifier));
+                previous = offset;
+            } catch (final DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + number + " of trace is invalid: " + e.getMessage(), e);
+            }
+        }
+
+        return new TraceArrivalProcess(entries);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable ShipArrival next() {
+        if (!this.entries.hasNext())
+            return null;
+
+        final var entry = this.entries.next();
+        final var facade = ShipBuilderFacade.getInstance();
+        return new ShipArrival(entry.offset(), entry.oil()
+                ? facade.buildOilShip(entry.identifier(), entry.capacity())
+                : facade.buildContainerShip(entry.identifier(), entry.capacity()));
+    }
+
+    /**
+     * A single line of a trace.
+     *
+     * @param offset     Simulated time at which the ship arrives.
+     * @param oil        Whether the ship is an oil-ship, rather than a container-ship.
+     * @param capacity   Capacity of the ship.
+     * @param identifier Identifier of the ship.
+     * @author Marcus Talbot (1041464)
+     */
+    private record Entry(@NotNull Duration offset, boolean oil, int capacity, @NotNull String identifier) {
+    }
+}
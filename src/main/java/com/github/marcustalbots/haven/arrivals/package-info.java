@@ -0,0 +1,7 @@
+/**
+ * Contains classes that let ships arrive at a {@link com.github.marcustalbots.haven.dock.Terminal} over time, rather
+ * than all at once, and assign them to its berths.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.arrivals;
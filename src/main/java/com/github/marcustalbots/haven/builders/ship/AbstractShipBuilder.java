@@ -3,15 +3,20 @@ package com.github.marcustalbots.haven.builders.ship;
 import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
 import com.github.marcustalbots.haven.impl.vehicles.ships.OilShip;
 import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.manifests.FreightManifest;
 import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Iterator;
 import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
 
 /**
  * Abstract Builder, which serves as the model for the {@link ContainerShipBuilder}- and {@link OilShipBuilder}-classes.
- * It is recommended to implement sub-classes of the {@link AbstractShipBuilder} as Singletons.
+ * A builder keeps the object being built in a mutable field, and may therefore only be used by a single thread at a
+ * time. It is recommended to give sub-classes of the {@link AbstractShipBuilder} a single instance per thread, in the
+ * same way a Singleton has a single instance per program.
  *
  * @param <T> Extends AbstractContainer. Used to guarantee the type of the elements in the freight-queue.
  * @author Marcus Talbot (1041464)
@@ -25,6 +30,84 @@ public abstract class AbstractShipBuilder<T extends AbstractContainer> {
     @Contract("_ -> this")
     public abstract @NotNull AbstractShipBuilder<T> setFillOnBuild(boolean fillOnBuild);
 
+    /**
+     * Whether the object being built is backed by a {@link FreightManifest}, rather than a queue of container-objects.
+     */
+    protected boolean useManifest = false;
+
+    /**
+     * Sets whether the object being built is backed by a {@link FreightManifest}. A ship backed by a
+     * {@link FreightManifest} is filled with primitive records, and only creates container-objects as they are taken
+     * from the ship.
+     *
+     * @param useManifest Whether the object being built is backed by a {@link FreightManifest}.
+     * @return This instance of the builder, to accommodate chaining the various methods.
+     * @author Marcus Talbot (1041464)
+     * @see AbstractShip#setManifest(FreightManifest)
+     */
+    @Contract("_ -> this")
+    public abstract @NotNull AbstractShipBuilder<T> setUseManifest(boolean useManifest);
+
+    /**
+     * Whether filling on build generates the containers in parallel, rather than one after the other.
+     */
+    protected boolean parallelFill = false;
+
+    /**
+     * Sets whether filling on build generates the containers in parallel. A parallel fill divides the containers over
+     * the common {@link java.util.concurrent.ForkJoinPool}, and hands them to the object being built in a single bulk
+     * operation. Given the same seed, a parallel fill always produces the same containers, however many threads take
+     * part.
+     *
+     * @param parallelFill Whether filling on build generates the containers in parallel.
+     * @return This instance of the builder, to accommodate chaining the various methods.
+     * @author Marcus Talbot (1041464)
+     * @see #setFillOnBuild(boolean)
+     */
+    @Contract("_ -> this")
+    public abstract @NotNull AbstractShipBuilder<T> setParallelFill(boolean parallelFill);
+
+    /**
+     * Fills the object being built with the given containers, until either the object is full or the containers run
+     * out. No more containers are taken than fit, so the given {@link Iterator} may be endless.
+     *
+     * @param specs The containers to fill the object being built with.
+     * @return This instance of the builder, to accommodate chaining the various methods.
+     * @throws IllegalArgumentException If a container does not fit on the object being built.
+     * @author Marcus Talbot (1041464)
+     * @see FreightMix#stream(java.util.random.RandomGenerator)
+     */
+    @Contract("_ -> this")
+    public abstract @NotNull AbstractShipBuilder<T> fill(@NotNull final Iterator<ContainerSpec> specs);
+
+    /**
+     * Fills the object being built with the given containers, until either the object is full or the stream ends. No
+     * more containers are taken than fit, so the given {@link Stream} may be endless.
+     *
+     * @param specs The containers to fill the object being built with.
+     * @return This instance of the builder, to accommodate chaining the various methods.
+     * @throws IllegalArgumentException If a container does not fit on the object being built.
+     * @author Marcus Talbot (1041464)
+     * @see #fill(Iterator)
+     */
+    @Contract("_ -> this")
+    public @NotNull AbstractShipBuilder<T> fill(@NotNull final Stream<ContainerSpec> specs) {
+        return this.fill(specs.iterator());
+    }
+
+    /**
+     * Backs the object being built by the given {@link FreightManifest}, such as one stored in a memory-mapped file.
+     * The capacity of the object being built becomes that of the {@link FreightManifest}, and filling the object
+     * writes records straight into it.
+     *
+     * @param manifest The {@link FreightManifest} that will back the object being built.
+     * @return This instance of the builder, to accommodate chaining the various methods.
+     * @author Marcus Talbot (1041464)
+     * @see AbstractShip#setManifest(FreightManifest)
+     */
+    @Contract("_ -> this")
+    public abstract @NotNull AbstractShipBuilder<T> setManifest(@NotNull final FreightManifest<T> manifest);
+
     /**
      * Sets the identifier of the object being built to the given String.
      *
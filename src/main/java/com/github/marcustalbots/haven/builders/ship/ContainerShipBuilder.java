@@ -2,19 +2,27 @@ package com.github.marcustalbots.haven.builders.ship;
 
 import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
 import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.identifiers.ContainerIdGenerator;
 import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.impl.manifests.ArrayFreightManifest;
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
 import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
 import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.models.manifests.FreightManifest;
+import com.github.marcustalbots.haven.utils.TimeUtils;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Iterator;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link AbstractShipBuilder}.
  * Allows the user to easily create new {@link ContainerShip}-objects.
- * This class was implemented as a Singleton.
+ * Every thread has its own instance, available through {@link #getInstance()}; {@link #newInstance()} creates an
+ * instance that is not shared at all.
  *
  * @author Marcus Talbot (1041464)
  * @see AbstractShipBuilder
@@ -23,17 +31,30 @@ import java.util.concurrent.ThreadLocalRandom;
 public final class ContainerShipBuilder extends AbstractShipBuilder<AbstractFreightContainer> {
 
     /**
-     * Used to comply with the Singleton pattern.
+     * Instance of every thread. Builders are not thread-safe, so every thread gets its own.
      */
-    private static volatile ContainerShipBuilder instance;
+    private static final ThreadLocal<ContainerShipBuilder> INSTANCES = ThreadLocal.withInitial(ContainerShipBuilder::new);
+
+    /**
+     * Type codes a {@link ContainerShip} is filled with, in the same order as the container-objects it is filled with
+     * otherwise.
+     */
+    private static final byte[] FREIGHT_TYPES = {ContainerTypes.DEFAULT, ContainerTypes.HEATED, ContainerTypes.COOLED};
+
     /**
      * Will be replaced with a fresh object, after every {@link #reset()}-call
      */
     private ContainerShip containerShip;
 
     /**
-     * Private constructor, that initialises the {@link #containerShip}-field. Should only be called once per program,
-     * by the {@link #getInstance()}-method.
+     * Ratio between the types of containers a {@link ContainerShip} is filled with on build. If null, every type is
+     * equally likely.
+     */
+    private FreightMix freightMix;
+
+    /**
+     * Private constructor, that initialises the {@link #containerShip}-field. Should only be called by the
+     * {@link #getInstance()}- and {@link #newInstance()}-methods.
      *
      * @author Marcus Talbot (1041464)
      */
@@ -42,24 +63,28 @@ public final class ContainerShipBuilder extends AbstractShipBuilder<AbstractFrei
     }
 
     /**
-     * Static method used as the only way to get a reference to the {@link ContainerShipBuilder}-object.
+     * Gets the {@link ContainerShipBuilder}-object of the current thread. Every thread gets its own instance, so that threads
+     * building ships at the same time do not interfere with each other.
      *
-     * @return A reference to the instance of the {@link ContainerShipBuilder}-singleton.
+     * @return A reference to the {@link ContainerShipBuilder}-object of the current thread.
      * @author Marcus Talbot (1041464)
+     * @see #newInstance()
      */
-    public static ContainerShipBuilder getInstance() {
-        var builder = ContainerShipBuilder.instance;
-
-        if (builder != null)
-            return ContainerShipBuilder.instance;
-
-        synchronized (ContainerShipBuilder.class) {
-            if (ContainerShipBuilder.instance == null) {
-                ContainerShipBuilder.instance = new ContainerShipBuilder();
-            }
-        }
+    public static @NotNull ContainerShipBuilder getInstance() {
+        return ContainerShipBuilder.INSTANCES.get();
+    }
 
-        return ContainerShipBuilder.instance;
+    /**
+     * Creates a new {@link ContainerShipBuilder}-object, which is not shared with any other caller. Convenient wherever a
+     * builder is handed to other code, or used from a thread pool, where the builder of the current thread may be in
+     * use already.
+     *
+     * @return A new {@link ContainerShipBuilder}-object.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("-> new")
+    public static @NotNull ContainerShipBuilder newInstance() {
+        return new ContainerShipBuilder();
     }
 
     @Override
@@ -68,6 +93,83 @@ public final class ContainerShipBuilder extends AbstractShipBuilder<AbstractFrei
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull ContainerShipBuilder setUseManifest(final boolean useManifest) {
+        this.useManifest = useManifest;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull ContainerShipBuilder setParallelFill(final boolean parallelFill) {
+        this.parallelFill = parallelFill;
+        return this;
+    }
+
+    /**
+     * Sets the ratio between the types of containers a {@link ContainerShip} is filled with on build.
+     *
+     * @param freightMix Ratio between the types of containers, or null to make every type equally likely.
+     * @return This instance of the builder, to accommodate chaining the various methods.
+     * @throws IllegalArgumentException If the mix contains types that do not fit on a {@link ContainerShip}.
+     * @author Marcus Talbot (1041464)
+     * @see #setFillOnBuild(boolean)
+     */
+    @Contract("_ -> this")
+    public @NotNull ContainerShipBuilder setFreightMix(@Nullable final FreightMix freightMix) {
+        if (freightMix != null && !freightMix.fits(AbstractFreightContainer.class))
+            throw new IllegalArgumentException("Mix contains types that do not fit on a ContainerShip.");
+        this.freightMix = freightMix;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull ContainerShipBuilder fill(@NotNull final Iterator<ContainerSpec> specs) {
+        this.prepareManifest();
+        ShipFill.fill(this.containerShip, AbstractFreightContainer.class, specs);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull ContainerShipBuilder fill(@NotNull final Stream<ContainerSpec> specs) {
+        return this.fill(specs.iterator());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull ContainerShipBuilder setManifest(final @NotNull FreightManifest<AbstractFreightContainer> manifest) {
+        this.containerShip.setManifest(manifest);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -111,10 +213,24 @@ public final class ContainerShipBuilder extends AbstractShipBuilder<AbstractFrei
      */
     @Override
     public @NotNull ContainerShip build() {
+        this.prepareManifest();
 
-        if (this.containerShip.getCapacity() > this.containerShip.getFreightQueue().size() && this.fillOnBuild) {
+        final var manifest = this.containerShip.getManifest();
+        if (this.fillOnBuild && this.parallelFill) {
+            ShipFill.fillParallel(this.containerShip, AbstractFreightContainer.class,
+                    this.freightMix != null ? this.freightMix : FreightMix.uniform(ContainerShipBuilder.FREIGHT_TYPES));
+        } else if (this.fillOnBuild && this.freightMix != null) {
+            ShipFill.fill(this.containerShip, AbstractFreightContainer.class,
+                    this.freightMix.stream(TimeUtils.getRandomGenerator()).iterator());
+        } else if (manifest != null && manifest.capacity() > manifest.size() && this.fillOnBuild) {
+            final var generator = ContainerIdGenerator.current();
+            while (manifest.size() < manifest.capacity()) {
+                final var type = ContainerShipBuilder.FREIGHT_TYPES[TimeUtils.getRandomGenerator().nextInt(3)];
+                manifest.append(generator.nextId(), type, ContainerTypes.priorityOf(type));
+            }
+        } else if (this.containerShip.getCapacity() > this.containerShip.getFreightQueue().size() && this.fillOnBuild) {
             for (var index = 0; index < this.containerShip.getCapacity(); index++) {
-                switch (ThreadLocalRandom.current().nextInt(3)) {
+                switch (TimeUtils.getRandomGenerator().nextInt(3)) {
                     case 0 -> this.containerShip.addFreight(new DefaultFreightContainer());
                     case 1 -> this.containerShip.addFreight(new HeatedFreightContainer());
                     case 2 -> this.containerShip.addFreight(new CooledFreightContainer());
@@ -124,6 +240,19 @@ public final class ContainerShipBuilder extends AbstractShipBuilder<AbstractFrei
         return this.containerShip;
     }
 
+    /**
+     * Backs the {@link ContainerShip} being built by an {@link ArrayFreightManifest}, if it should be backed by a
+     * {@link FreightManifest} but is not yet.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void prepareManifest() {
+        if (this.useManifest && this.containerShip.getManifest() == null) {
+            this.containerShip.setManifest(
+                    new ArrayFreightManifest<>(this.containerShip.getCapacity(), AbstractFreightContainer.class));
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
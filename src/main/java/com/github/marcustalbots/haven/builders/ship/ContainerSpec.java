@@ -0,0 +1,44 @@
+package com.github.marcustalbots.haven.builders.ship;
+
+import com.github.marcustalbots.haven.identifiers.ContainerIdGenerator;
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a single container a ship is filled with, without creating the container itself. Ships backed by a
+ * {@link com.github.marcustalbots.haven.models.manifests.FreightManifest} store the description as is; other ships
+ * create the container it describes.
+ *
+ * @param id       Identifier of the container.
+ * @param type     Type code of the container, as registered in {@link ContainerTypes}.
+ * @param priority Priority of the container.
+ * @author Marcus Talbot (1041464)
+ * @see FreightMix#stream(java.util.random.RandomGenerator)
+ */
+public record ContainerSpec(long id, byte type, byte priority) {
+
+    /**
+     * Describes a new container of the given type, identified by the current {@link ContainerIdGenerator}, with the
+     * priority registered for its type.
+     *
+     * @param type Type code of the container.
+     * @return A new {@link ContainerSpec}.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull ContainerSpec of(final byte type) {
+        return new ContainerSpec(ContainerIdGenerator.current().nextId(), type, ContainerTypes.priorityOf(type));
+    }
+
+    /**
+     * Creates the container described by this {@link ContainerSpec}.
+     *
+     * @return A new container-object.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("-> new")
+    public @NotNull AbstractContainer materialize() {
+        return ContainerTypes.create(this.type, this.id);
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.marcustalbots.haven.builders.ship;
+
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * Ratio between the types of containers a ship is filled with. Every type is given a weight; the chance of a container
+ * being of a type is the weight of that type, divided by the sum of all weights.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see ContainerShipBuilder#setFreightMix(FreightMix)
+ */
+public final class FreightMix {
+
+    /**
+     * Type codes of the mix, as registered in {@link ContainerTypes}.
+     */
+    private final byte[] types;
+
+    /**
+     * Cumulative share of every type, between zero and one. The share of the last type always ends at one.
+     */
+    private final double[] thresholds;
+
+    /**
+     * Creates a new {@link FreightMix}.
+     *
+     * @param types      Type codes of the mix.
+     * @param thresholds Cumulative share of every type.
+     * @author Marcus Talbot (1041464)
+     */
+    private FreightMix(final byte[] types, final double[] thresholds) {
+        this.types = types;
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Creates a mix of a single type.
+     *
+     * @param type Type code of every container.
+     * @return A new {@link FreightMix}.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull FreightMix of(final byte type) {
+        return FreightMix.weighted(new byte[]{type}, new double[]{1.0});
+    }
+
+    /**
+     * Creates a mix in which every given type is equally likely.
+     *
+     * @param types Type codes of the mix.
+     * @return A new {@link FreightMix}.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull FreightMix uniform(final byte @NotNull ... types) {
+        final var weights = new double[types.length];
+        Arrays.fill(weights, 1.0);
+        return FreightMix.weighted(types, weights);
+    }
+
+    /**
+     * Creates a mix with the given weight per type.
+     *
+     * @param types   Type codes of the mix.
+     * @param weights Weight of every type, in the same order. Must not be negative, and must not all be zero.
+     * @return A new {@link FreightMix}.
+     * @throws IllegalArgumentException If the arrays differ in length, a type is not registered, or the weights are
+     *                                  invalid.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull FreightMix weighted(final byte @NotNull [] types, final double @NotNull [] weights) {
+        if (types.length == 0 || types.length != weights.length)
+            throw new IllegalArgumentException("Every type of a mix needs exactly one weight.");
+
+        var total = 0.0;
+        for (var index = 0; index < types.length; index++) {
+            if (types[index] < 0 || types[index] >= ContainerTypes.count())
+                throw new IllegalArgumentException("Type code is not registered: " + types[index]);
+            if (!(weights[index] >= 0.0) || Double.isInfinite(weights[index]))
+                throw new IllegalArgumentException("Weight of a type must be a finite, non-negative number.");
+            total += weights[index];
+        }
+        if (total <= 0.0)
+            throw new IllegalArgumentException("At least one type of a mix needs a positive weight.");
+
+        final var thresholds = new double[types.length];
+        var cumulative = 0.0;
+        for (var index = 0; index < types.length; index++) {
+            cumulative += weights[index];
+            thresholds[index] = cumulative / total;
+        }
+        thresholds[thresholds.length - 1] = 1.0;
+        return new FreightMix(types.clone(), thresholds);
+    }
+
+    /**
+     * Draws the type of a single container.
+     *
+     * @param random Source of randomness.
+     * @return Type code of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    public byte pick(@NotNull final RandomGenerator random) {
+        if (this.types.length == 1)
+            return this.types[0];
+
+        final var value = random.nextDouble();
+        for (var index = 0; index < this.thresholds.length - 1; index++) {
+            if (value < this.thresholds[index])
+                return this.types[index];
+        }
+        return this.types[this.types.length - 1];
+    }
+
+    /**
+     * Creates an endless stream of new containers of this mix, in the form of {@link ContainerSpec}-objects.
+     *
+     * @param random Source of randomness.
+     * @return An endless, sequential {@link Stream}.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull Stream<ContainerSpec> stream(@NotNull final RandomGenerator random) {
+        return Stream.generate(() -> ContainerSpec.of(this.pick(random)));
+    }
+
+    /**
+     * Checks whether every type of this mix is a subclass of the given container-class.
+     *
+     * @param containerType A container-class.
+     * @return true if every container of this mix can be placed on a ship holding the given container-class.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public boolean fits(@NotNull final Class<? extends AbstractContainer> containerType) {
+        for (final var type : this.types) {
+            if (!containerType.isAssignableFrom(ContainerTypes.typeOf(type)))
+                return false;
+        }
+        return true;
+    }
+}
@@ -1,17 +1,24 @@
 package com.github.marcustalbots.haven.builders.ship;
 
+import com.github.marcustalbots.haven.identifiers.ContainerIdGenerator;
 import com.github.marcustalbots.haven.impl.containers.OilContainer;
+import com.github.marcustalbots.haven.impl.manifests.ArrayFreightManifest;
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
 import com.github.marcustalbots.haven.impl.vehicles.ships.OilShip;
+import com.github.marcustalbots.haven.models.manifests.FreightManifest;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Iterator;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link AbstractShipBuilder}.
  * Allows the user to easily create {@link OilShip}-objects.
- * This class was implemented as a Singleton.
+ * Every thread has its own instance, available through {@link #getInstance()}; {@link #newInstance()} creates an
+ * instance that is not shared at all.
  *
  * @author Marcus Talbot (1041464)
  * @see AbstractShipBuilder
@@ -20,17 +27,17 @@ import java.util.concurrent.BlockingQueue;
 public final class OilShipBuilder extends AbstractShipBuilder<OilContainer> {
 
     /**
-     * Used to comply with the Singleton pattern.
+     * Instance of every thread. Builders are not thread-safe, so every thread gets its own.
      */
-    private static volatile OilShipBuilder instance;
+    private static final ThreadLocal<OilShipBuilder> INSTANCES = ThreadLocal.withInitial(OilShipBuilder::new);
     /**
      * Will be replaced with a fresh {@link OilShip}-object, after every {@link #reset()}-call.
      */
     private OilShip oilShip;
 
     /**
-     * Private constructor, that initialises the {@link #oilShip}-field. Should only be called once per program,
-     * by the {@link #getInstance()}-method.
+     * Private constructor, that initialises the {@link #oilShip}-field. Should only be called by the
+     * {@link #getInstance()}- and {@link #newInstance()}-methods.
      *
      * @author Marcus Talbot (1041464)
      */
@@ -39,25 +46,28 @@ public final class OilShipBuilder extends AbstractShipBuilder<OilContainer> {
     }
 
     /**
-     * Static method used as the only way to get a reference to the {@link OilShipBuilder}-object.
+     * Gets the {@link OilShipBuilder}-object of the current thread. Every thread gets its own instance, so that threads
+     * building ships at the same time do not interfere with each other.
      *
-     * @return A reference to the instance of the {@link OilShipBuilder}-singleton.
+     * @return A reference to the {@link OilShipBuilder}-object of the current thread.
      * @author Marcus Talbot (1041464)
+     * @see #newInstance()
      */
-    @Contract(pure = true)
     public static @NotNull OilShipBuilder getInstance() {
-        var builder = OilShipBuilder.instance;
-
-        if (builder != null)
-            return OilShipBuilder.instance;
-
-        synchronized (ContainerShipBuilder.class) {
-            if (OilShipBuilder.instance == null) {
-                OilShipBuilder.instance = new OilShipBuilder();
-            }
-        }
+        return OilShipBuilder.INSTANCES.get();
+    }
 
-        return OilShipBuilder.instance;
+    /**
+     * Creates a new {@link OilShipBuilder}-object, which is not shared with any other caller. Convenient wherever a
+     * builder is handed to other code, or used from a thread pool, where the builder of the current thread may be in
+     * use already.
+     *
+     * @return A new {@link OilShipBuilder}-object.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("-> new")
+    public static @NotNull OilShipBuilder newInstance() {
+        return new OilShipBuilder();
     }
 
     @Override
@@ -66,6 +76,66 @@ public final class OilShipBuilder extends AbstractShipBuilder<OilContainer> {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull OilShipBuilder setUseManifest(final boolean useManifest) {
+        this.useManifest = useManifest;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull OilShipBuilder setParallelFill(final boolean parallelFill) {
+        this.parallelFill = parallelFill;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull OilShipBuilder fill(@NotNull final Iterator<ContainerSpec> specs) {
+        this.prepareManifest();
+        ShipFill.fill(this.oilShip, OilContainer.class, specs);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull OilShipBuilder fill(@NotNull final Stream<ContainerSpec> specs) {
+        return this.fill(specs.iterator());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> this")
+    @Override
+    public @NotNull OilShipBuilder setManifest(final @NotNull FreightManifest<OilContainer> manifest) {
+        this.oilShip.setManifest(manifest);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -114,7 +184,17 @@ public final class OilShipBuilder extends AbstractShipBuilder<OilContainer> {
             );
         }
 
-        if (this.oilShip.getCapacity() > this.oilShip.getFreightQueue().size() && this.fillOnBuild) {
+        this.prepareManifest();
+
+        final var manifest = this.oilShip.getManifest();
+        if (this.fillOnBuild && this.parallelFill) {
+            ShipFill.fillParallel(this.oilShip, OilContainer.class, FreightMix.of(ContainerTypes.OIL));
+        } else if (manifest != null && this.fillOnBuild) {
+            final var generator = ContainerIdGenerator.current();
+            final var priority = ContainerTypes.priorityOf(ContainerTypes.OIL);
+            while (manifest.size() < manifest.capacity())
+                manifest.append(generator.nextId(), ContainerTypes.OIL, priority);
+        } else if (this.oilShip.getCapacity() > this.oilShip.getFreightQueue().size() && this.fillOnBuild) {
             while (this.oilShip.getFreightQueue().remainingCapacity() > 0) {
                 this.oilShip.addFreight(new OilContainer());
             }
@@ -123,6 +203,17 @@ public final class OilShipBuilder extends AbstractShipBuilder<OilContainer> {
         return oilShip;
     }
 
+    /**
+     * Backs the {@link OilShip} being built by an {@link ArrayFreightManifest}, if it should be backed by a
+     * {@link FreightManifest} but is not yet.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void prepareManifest() {
+        if (this.useManifest && this.oilShip.getManifest() == null)
+            this.oilShip.setManifest(new ArrayFreightManifest<>(this.oilShip.getCapacity(), OilContainer.class));
+    }
+
     /**
      * {@inheritDoc}
      *
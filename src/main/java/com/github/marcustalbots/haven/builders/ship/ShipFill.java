@@ -0,0 +1,232 @@
+package com.github.marcustalbots.haven.builders.ship;
+
+import com.github.marcustalbots.haven.identifiers.ContainerIdGenerator;
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import com.github.marcustalbots.haven.utils.TimeUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fills ships on behalf of the {@link AbstractShipBuilder}-implementations, either from a {@link FreightMix} in
+ * parallel, or from a sequence of {@link ContainerSpec}-objects.
+ * <br><br>
+ * A parallel fill reserves a single range of identifiers, and divides it over tasks of the common
+ * {@link ForkJoinPool}. Every task draws the types of its own part of the range from its own split of a single
+ * {@link SplittableRandom}, so that the outcome depends on the seed of {@link TimeUtils#getRandomGenerator()} only, and
+ * not on the amount of threads. The results are handed to the ship in one bulk operation.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class ShipFill {
+
+    /**
+     * Amount of containers below which a task no longer splits itself.
+     */
+    private static final int LEAF_SIZE = 16_384;
+
+    /**
+     * Not instantiable.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private ShipFill() {
+    }
+
+    /**
+     * Fills the remaining capacity of the given ship in parallel.
+     *
+     * @param ship          The ship to fill.
+     * @param containerType Class of the containers the ship holds.
+     * @param mix           Ratio between the types of containers.
+     * @param <T>           Type of the containers the ship holds.
+     * @return The amount of containers that was added.
+     * @throws IllegalArgumentException If the mix contains types that the ship cannot hold.
+     * @author Marcus Talbot (1041464)
+     */
+    static <T extends AbstractContainer> int fillParallel(@NotNull final AbstractShip<T> ship,
+                                                          @NotNull final Class<T> containerType,
+                                                          @NotNull final FreightMix mix) {
+        if (!mix.fits(containerType))
+            throw new IllegalArgumentException("Mix contains types that do not fit on " + containerType.getSimpleName());
+
+        final var manifest = ship.getManifest();
+        final var count = manifest != null
+                ? manifest.capacity() - manifest.size()
+                : ship.getCapacity() - ship.getFreightQueue().size();
+        if (count <= 0)
+            return 0;
+
+        final var firstId = ContainerIdGenerator.current().reserveIds(count);
+        final var random = new SplittableRandom(TimeUtils.getRandomGenerator().nextLong());
+
+        if (manifest != null) {
+            final var ids = new long[count];
+            final var types = new byte[count];
+            final var priorities = new byte[count];
+            ForkJoinPool.commonPool().invoke(new FillTask(0, count, random, mix, (index, type) -> {
+                ids[index] = firstId + index;
+                types[index] = type;
+                priorities[index] = ContainerTypes.priorityOf(type);
+            }));
+            return manifest.appendAll(ids, types, priorities, 0, count);
+        }
+
+        @SuppressWarnings("unchecked") final var containers = (T[]) Array.newInstance(containerType, count);
+        ForkJoinPool.commonPool().invoke(new FillTask(0, count, random, mix, (index, type) ->
+                containers[index] = containerType.cast(ContainerTypes.create(type, firstId + index))));
+
+        final var queue = ship.getFreightQueue();
+        if (queue.isEmpty()) {
+            ship.setFreightQueue(new ArrayBlockingQueue<>(ship.getCapacity(), false, Arrays.asList(containers)));
+        } else {
+            final var freight = new ArrayList<T>(ship.getCapacity());
+            queue.drainTo(freight);
+            freight.addAll(Arrays.asList(containers));
+            ship.setFreightQueue(new ArrayBlockingQueue<>(ship.getCapacity(), false, freight));
+        }
+        return count;
+    }
+
+    /**
+     * Fills the given ship from a sequence of {@link ContainerSpec}-objects, until either the ship is full or the
+     * sequence ends. No more elements are taken from the sequence than fit on the ship, so that it may be endless.
+     *
+     * @param ship          The ship to fill.
+     * @param containerType Class of the containers the ship holds.
+     * @param specs         The containers to add.
+     * @param <T>           Type of the containers the ship holds.
+     * @return The amount of containers that was added.
+     * @throws IllegalArgumentException If a {@link ContainerSpec} describes a type that the ship cannot hold.
+     * @author Marcus Talbot (1041464)
+     */
+    static <T extends AbstractContainer> int fill(@NotNull final AbstractShip<T> ship,
+                                                  @NotNull final Class<T> containerType,
+                                                  @NotNull final Iterator<ContainerSpec> specs) {
+        final var manifest = ship.getManifest();
+        var added = 0;
+
+        while ((manifest != null ? manifest.size() < manifest.capacity() : ship.getFreightQueue().remainingCapacity() > 0)
+                && specs.hasNext()) {
+            final var spec = specs.next();
+            if (!containerType.isAssignableFrom(ContainerTypes.typeOf(spec.type())))
+                throw new IllegalArgumentException("Type " + spec.type() + " does not fit on "
+                        + containerType.getSimpleName());
+
+            final var accepted = manifest != null
+                    ? manifest.append(spec.id(), spec.type(), spec.priority())
+                    : ship.addFreight(containerType.cast(spec.materialize()));
+            if (!accepted)
+                break;
+            added++;
+        }
+
+        return added;
+    }
+
+    /**
+     * Fills a single index of a range, with a container of the type drawn for it.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @FunctionalInterface
+    private interface Slot {
+
+        /**
+         * Fills a single index.
+         *
+         * @param index Index to fill.
+         * @param type  Type code drawn for the index.
+         * @author Marcus Talbot (1041464)
+         */
+        void fill(int index, byte type);
+    }
+
+    /**
+     * Divides a range of indices in halves, until the range is small enough to fill on a single thread.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private static final class FillTask extends RecursiveAction {
+
+        /**
+         * Version of the serialised form. A {@link FillTask} is never serialised, but {@link RecursiveAction} is
+         * {@link java.io.Serializable}.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * First index of the range, inclusive.
+         */
+        private final int from;
+
+        /**
+         * Last index of the range, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Source of randomness of this range only.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * Ratio between the types of containers.
+         */
+        private final FreightMix mix;
+
+        /**
+         * Fills every index of the range.
+         */
+        private final Slot slot;
+
+        /**
+         * Creates a new {@link FillTask}.
+         *
+         * @param from   First index of the range, inclusive.
+         * @param to     Last index of the range, exclusive.
+         * @param random Source of randomness of this range only.
+         * @param mix    Ratio between the types of containers.
+         * @param slot   Fills every index of the range.
+         * @author Marcus Talbot (1041464)
+         */
+        FillTask(final int from, final int to, @NotNull final SplittableRandom random, @NotNull final FreightMix mix,
+                 @NotNull final Slot slot) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.mix = mix;
+            this.slot = slot;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= ShipFill.LEAF_SIZE) {
+                for (var index = this.from; index < this.to; index++)
+                    this.slot.fill(index, this.mix.pick(this.random));
+                return;
+            }
+
+            final var middle = (this.from + this.to) >>> 1;
+            RecursiveAction.invokeAll(
+                    new FillTask(this.from, middle, this.random.split(), this.mix, this.slot),
+                    new FillTask(middle, this.to, this.random.split(), this.mix, this.slot));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.marcustalbots.haven.clock;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds the current {@link SimulationClock}, as interfaces cannot hold mutable static fields.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class ClockHolder {
+
+    /**
+     * The {@link SimulationClock} that is currently in use.
+     */
+    static volatile SimulationClock clock = ClockHolder.fromSystemProperty();
+
+    /**
+     * Private constructor, as this class only holds a static field.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private ClockHolder() {
+    }
+
+    /**
+     * Creates the {@link SimulationClock} described by the {@code haven.clock} system property.
+     *
+     * @return A new {@link SimulationClock}.
+     * @throws IllegalArgumentException If the system property holds an unknown value.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @NotNull SimulationClock fromSystemProperty() {
+        final var value = System.getProperty("haven.clock", "real");
+        return switch (value) {
+            case "real" -> new RealTimeClock();
+            case "discrete" -> new DiscreteEventClock();
+            default -> {
+                try {
+                    yield new ScaledClock(Double.parseDouble(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Unknown value for haven.clock: " + value, e);
+                }
+            }
+        };
+    }
+}
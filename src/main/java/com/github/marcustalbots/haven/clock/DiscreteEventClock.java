@@ -0,0 +1,91 @@
+package com.github.marcustalbots.haven.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of {@link SimulationClock} in which time only passes when it is told to. Sleeping never blocks;
+ * instead, it moves the simulated time of the current thread forward.
+ * <br><br>
+ * Every thread keeps its own simulated time, which starts at the latest time any thread has reached. A discrete-event
+ * engine drives the clock by moving a thread to the time of the next event through {@link #advanceTo(long)}, and reads
+ * back how far an action moved it. Without such an engine, every thread simply runs through its own timeline, without
+ * any delay.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class DiscreteEventClock implements SimulationClock {
+
+    /**
+     * Latest simulated time any thread has reached, in nanoseconds since the epoch.
+     */
+    private final AtomicLong latestNanos;
+
+    /**
+     * Simulated time of every thread, in nanoseconds since the epoch.
+     */
+    private final ThreadLocal<long[]> threadNanos;
+
+    /**
+     * Creates a new {@link DiscreteEventClock}, starting at the current time.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public DiscreteEventClock() {
+        this(System.currentTimeMillis() * 1_000_000L);
+    }
+
+    /**
+     * Creates a new {@link DiscreteEventClock}, starting at the given time.
+     *
+     * @param originNanos Simulated time to start at, in nanoseconds since the epoch.
+     * @author Marcus Talbot (1041464)
+     */
+    public DiscreteEventClock(final long originNanos) {
+        this.latestNanos = new AtomicLong(originNanos);
+        this.threadNanos = ThreadLocal.withInitial(() -> new long[]{this.latestNanos.get()});
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long nanos() {
+        return this.threadNanos.get()[0];
+    }
+
+    /**
+     * Moves the simulated time of the current thread forward, without blocking.
+     *
+     * @param millis Amount of simulated milliseconds.
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void sleep(final long millis) {
+        this.advanceTo(this.nanos() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Sets the simulated time of the current thread. Time can only be set forward for the clock as a whole, but a
+     * single thread may be set back, so that an engine can reuse one thread for events at different times.
+     *
+     * @param nanos Simulated time, in nanoseconds since the epoch.
+     * @author Marcus Talbot (1041464)
+     */
+    public void advanceTo(final long nanos) {
+        this.threadNanos.get()[0] = nanos;
+        this.latestNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the latest simulated time any thread has reached.
+     *
+     * @return The latest simulated time, in nanoseconds since the epoch.
+     * @author Marcus Talbot (1041464)
+     */
+    public long latestNanos() {
+        return this.latestNanos.get();
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.marcustalbots.haven.clock;
+
+/**
+ * Implementation of {@link SimulationClock} in which simulated time passes at the same rate as real time.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class RealTimeClock implements SimulationClock {
+
+    /**
+     * Time since the epoch at which this clock was created, in nanoseconds.
+     */
+    private final long originNanos;
+
+    /**
+     * Value of {@link System#nanoTime()} at which this clock was created.
+     */
+    private final long originTicks;
+
+    /**
+     * Creates a new {@link RealTimeClock}, starting at the current time.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public RealTimeClock() {
+        this.originNanos = System.currentTimeMillis() * 1_000_000L;
+        this.originTicks = System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long nanos() {
+        return this.originNanos + (System.nanoTime() - this.originTicks);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void sleep(final long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+}
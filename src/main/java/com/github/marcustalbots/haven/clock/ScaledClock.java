@@ -0,0 +1,86 @@
+package com.github.marcustalbots.haven.clock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link SimulationClock} in which simulated time passes a fixed factor faster than real time. With
+ * a factor of 1000, a simulated day takes less than a minute and a half of real time.
+ * <br><br>
+ * Converted time-outs are rounded up, so that at high factors a short simulated time-out still waits, instead of
+ * turning into an attempt that never blocks.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class ScaledClock implements SimulationClock {
+
+    /**
+     * Amount of simulated nanoseconds that pass per real nanosecond.
+     */
+    private final double factor;
+
+    /**
+     * Time since the epoch at which this clock was created, in nanoseconds.
+     */
+    private final long originNanos;
+
+    /**
+     * Value of {@link System#nanoTime()} at which this clock was created.
+     */
+    private final long originTicks;
+
+    /**
+     * Creates a new {@link ScaledClock}, starting at the current time.
+     *
+     * @param factor Amount of simulated time that passes per unit of real time. Must be greater than zero.
+     * @author Marcus Talbot (1041464)
+     */
+    public ScaledClock(final double factor) {
+        if (!(factor > 0.0) || Double.isInfinite(factor))
+            throw new IllegalArgumentException("Factor of ScaledClock must be a positive, finite number.");
+
+        this.factor = factor;
+        this.originNanos = System.currentTimeMillis() * 1_000_000L;
+        this.originTicks = System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long nanos() {
+        return this.originNanos + (long) ((System.nanoTime() - this.originTicks) * this.factor);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void sleep(final long millis) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(this.toRealNanos(TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    /**
+     * {@inheritDoc} Rounds up, so that a positive amount of simulated time never converts into zero, and saturates at
+     * {@link Long#MAX_VALUE}, so that a time-out that waits indefinitely keeps doing so.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long toRealNanos(final long simulatedNanos) {
+        return (long) Math.ceil(simulatedNanos / this.factor);
+    }
+
+    /**
+     * Gets the amount of simulated time that passes per unit of real time.
+     *
+     * @return {@link #factor}.
+     * @author Marcus Talbot (1041464)
+     */
+    public double getFactor() {
+        return this.factor;
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.marcustalbots.haven.clock;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Provides a common interface for the passing of time in the simulation. Strategies use the current
+ * {@link SimulationClock} to read the time, and to wait while an action is being performed, so that the same
+ * simulation can be run in real time, faster than real time, or without any delay at all.
+ * <br><br>
+ * The current clock is set with {@link #use(SimulationClock)}. Until then, the clock is chosen through the
+ * {@code haven.clock} system property: {@code real} (default), {@code discrete}, or a number, which is used as the
+ * factor of a {@link ScaledClock}.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see RealTimeClock
+ * @see ScaledClock
+ * @see DiscreteEventClock
+ */
+public interface SimulationClock {
+
+    /**
+     * Gets the current simulated time.
+     *
+     * @return The simulated time, in nanoseconds since the epoch.
+     * @author Marcus Talbot (1041464)
+     */
+    long nanos();
+
+    /**
+     * Lets the given amount of simulated time pass for the current thread.
+     *
+     * @param millis Amount of simulated milliseconds.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    void sleep(final long millis) throws InterruptedException;
+
+    /**
+     * Converts an amount of simulated time into the amount of real time it takes on this clock. Used for time-outs,
+     * which always wait in real time, as they wait for other threads.
+     *
+     * @param simulatedNanos Amount of simulated nanoseconds.
+     * @return Amount of real nanoseconds.
+     * @author Marcus Talbot (1041464)
+     */
+    default long toRealNanos(final long simulatedNanos) {
+        return simulatedNanos;
+    }
+
+    /**
+     * Gets the current simulated time, as a {@link LocalDateTime} in the default time-zone.
+     *
+     * @return The simulated time.
+     * @author Marcus Talbot (1041464)
+     */
+    default @NotNull LocalDateTime now() {
+        final var nanos = this.nanos();
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                Math.floorMod(nanos, 1_000_000_000L)), ZoneId.systemDefault());
+    }
+
+    /**
+     * Gets the {@link SimulationClock} the simulation currently uses.
+     *
+     * @return The current {@link SimulationClock}.
+     * @author Marcus Talbot (1041464)
+     */
+    static @NotNull SimulationClock current() {
+        return ClockHolder.clock;
+    }
+
+    /**
+     * Sets the {@link SimulationClock} the simulation uses from now on.
+     *
+     * @param clock The new {@link SimulationClock}.
+     * @author Marcus Talbot (1041464)
+     */
+    static void use(@NotNull final SimulationClock clock) {
+        ClockHolder.clock = clock;
+    }
+}
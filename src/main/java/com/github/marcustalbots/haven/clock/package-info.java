@@ -0,0 +1,7 @@
+/**
+ * Contains the {@link com.github.marcustalbots.haven.clock.SimulationClock}-interface and its implementations, which
+ * decide how fast simulated time passes.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.clock;
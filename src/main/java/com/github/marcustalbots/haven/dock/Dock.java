@@ -1,160 +1,822 @@
 package com.github.marcustalbots.haven.dock;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.dock.backlog.ContainerBacklog;
+import com.github.marcustalbots.haven.dock.backlog.DeadlineBacklog;
+import com.github.marcustalbots.haven.dock.backlog.DwellTimeSla;
+import com.github.marcustalbots.haven.dock.backlog.LaneRingBufferBacklog;
+import com.github.marcustalbots.haven.dock.wait.Shift;
+import com.github.marcustalbots.haven.dock.wait.WaitPolicy;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.ContainerTruck;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockOffloadVehicle;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockTransportVehicle;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockVehicle;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Dock serves as the shared resource between all the producers and consumers in this program.
+ * <br><br>
+ * How long vehicles wait for room or containers is decided by the {@link WaitPolicy} of the Dock. Vehicles that wait
+ * indefinitely are woken by {@link #endShift()}.
+ * <br><br>
+ * A Dock is shut down in three steps. After {@link #shutdown()}, the producers ({@link Crane}- and {@link Pump}-objects)
+ * finish offloading their ships. Once every producer has {@link #retire(AbstractDockVehicle) retired}, the consumers
+ * ({@link ContainerTruck}- and {@link OilTruck}-objects) drain the {@link #backlog}. Once it is empty, the shift ends,
+ * which tells every consumer to stop. {@link #awaitQuiescence()} waits for the last consumer to do so.
+ * <br><br>
+ * {@link Crane}-objects do not wait for room while holding a container. Instead, they acquire a credit from the
+ * {@link FlowControl} of the Dock before they take a container from their ship; see {@link #getFlowControl()}.
  *
  * @author Marcus Talbot (1041464)
  */
 public final class Dock {
 
+    /**
+     * {@link WaitPolicy} that attempts once, without waiting.
+     */
+    private static final WaitPolicy NO_WAIT = WaitPolicy.fixed(Duration.ZERO);
+
+    /**
+     * Simulated time spent placing containers, including time spent waiting for room in the {@link #backlog}.
+     */
+    private static final LatencyHistogram PLACE_WAIT = MetricsRegistry.getInstance().histogram("dock.place.wait");
+
+    /**
+     * Simulated time spent getting containers, including time spent waiting for the {@link #backlog} to fill.
+     */
+    private static final LatencyHistogram TAKE_WAIT = MetricsRegistry.getInstance().histogram("dock.take.wait");
+
+    /**
+     * Simulated time containers spend on a Dock, from being handed to it until being taken from it.
+     */
+    private static final LatencyHistogram RESIDENCE = MetricsRegistry.getInstance().histogram("dock.residence");
+
+    /**
+     * Amount of containers placed on any Dock.
+     */
+    private static final Counter PLACED = MetricsRegistry.getInstance().counter("dock.placed");
+
+    /**
+     * Amount of containers taken from any Dock.
+     */
+    private static final Counter TAKEN = MetricsRegistry.getInstance().counter("dock.taken");
+
+    /**
+     * Amount of times placing containers gave up, because the {@link #backlog} remained full.
+     */
+    private static final Counter PLACE_TIMEOUTS = MetricsRegistry.getInstance().counter("dock.place.timeouts");
+
+    /**
+     * Amount of times getting containers gave up, because the {@link #backlog} remained empty.
+     */
+    private static final Counter TAKE_TIMEOUTS = MetricsRegistry.getInstance().counter("dock.take.timeouts");
+
+    /**
+     * Amount of times getting an {@link OilTruck} gave up, because none registered in time.
+     */
+    private static final Counter OIL_TRUCK_TIMEOUTS = MetricsRegistry.getInstance().counter("dock.oil-truck.timeouts");
+
+    /**
+     * Simulated time between a Dock being shut down, and its shift ending.
+     */
+    private static final LatencyHistogram SHUTDOWN = MetricsRegistry.getInstance().histogram("dock.shutdown");
+
     /**
      * Serves as the space where {@link AbstractFreightContainer}-objects can be placed by {@link Crane}-objects, to
-     * be collected by {@link ContainerTruck}-objects. Due to the nature of the {@link BlockingQueue}-interface,
-     * access to this object is thread-safe.
+     * be collected by {@link ContainerTruck}-objects. Every {@link ContainerBacklog}-implementation is thread-safe.
      */
-    private final BlockingQueue<AbstractFreightContainer> backlog;
+    private final ContainerBacklog backlog;
 
     /**
-     * Serves as a space where {@link OilTruck}-objects wait to be called on by {@link Pump}-objects. Due to the nature
-     * of the {@link BlockingQueue}-interface, access to this object is thread-safe.
+     * Serves as a space where {@link OilTruck}-objects wait to be called on by {@link Pump}-objects. Access to this
+     * object is thread-safe.
      */
-    private final BlockingQueue<OilTruck> oilTrucks;
+    private final OilTruckPool oilTrucks;
 
     /**
-     * Used to provide an Object-Oriented approach to wait/notify. Specifically, this lock is used by the
-     * {@link #placeContainer(AbstractFreightContainer)}-method, to safely wait while the {@link #backlog}-field holds
-     * five {@link AbstractFreightContainer}-objects, using the {@link #notFull}-{@link Condition}. Furthermore, it is
-     * used by the {@link #getContainer()}-method, to safely notify objects monitoring the {@link #notFull}-field.
+     * Hands out credits for room in the {@link #backlog}, which {@link Crane}-objects acquire before they take a
+     * container from their ship.
      */
-    private final ReentrantLock containerLock;
+    private final FlowControl flowControl;
 
     /**
-     * Used to offer an Object-Oriented wait/notify-interface.
+     * Decides how long placing or getting containers waits, before giving up.
      */
-    private final Condition notFull;
+    private final WaitPolicy waitPolicy;
 
     /**
-     * Maximum capacity of the {@link #backlog}.
+     * The {@link Shift} that wakes every vehicle waiting on this Dock when it ends.
      */
-    private final int containerCapacity;
+    private final Shift shift;
 
     /**
-     * Creates a new Dock with the given configuration.
+     * Amount of producers that enlisted with this Dock, and have not retired yet.
+     */
+    private final AtomicInteger producers;
+
+    /**
+     * Amount of consumers that enlisted with this Dock, and have not retired yet.
+     */
+    private final AtomicInteger consumers;
+
+    /**
+     * Guards the {@link #quiescent}-{@link Condition}.
+     */
+    private final ReentrantLock quiescenceLock;
+
+    /**
+     * Signalled when this Dock may have become quiescent.
+     */
+    private final Condition quiescent;
+
+    /**
+     * Simulated time at which {@link #shutdown()} was first called, or {@link Long#MIN_VALUE} if it was not called yet.
+     */
+    private volatile long shutdownNanos;
+
+    /**
+     * The {@link Terminal} this Dock is a berth of, or null if this Dock stands on its own.
+     */
+    private volatile Terminal terminal;
+
+    /**
+     * Index of this Dock within its {@link #terminal}.
+     */
+    private volatile int berthIndex;
+
+    /**
+     * Creates a new Dock with the given capacity. All other settings are read from the system properties described in
+     * {@link DockConfiguration}.
      *
      * @param capacity Maximum capacity of the {@link #backlog}.
      * @author Marcus Talbot (1041464)
      */
     public Dock(final int capacity) {
-        this.backlog = new PriorityBlockingQueue<>(capacity);
-        this.oilTrucks = new ArrayBlockingQueue<>(3, true);
-        this.containerCapacity = capacity;
+        this(DockConfiguration.fromSystemProperties().withContainerCapacity(capacity));
+    }
 
-        this.containerLock = new ReentrantLock(true);
+    /**
+     * Creates a new Dock with the given configuration, using a lock-free {@link LaneRingBufferBacklog}, or a
+     * {@link DeadlineBacklog} if the configuration holds a {@link DwellTimeSla}.
+     *
+     * @param configuration The {@link DockConfiguration} of this Dock.
+     * @author Marcus Talbot (1041464)
+     */
+    public Dock(@NotNull final DockConfiguration configuration) {
+        this(configuration.dwellTimeSla() == null
+                ? new LaneRingBufferBacklog(configuration.containerCapacity())
+                : new DeadlineBacklog(configuration.containerCapacity(), configuration.dwellTimeSla()), configuration);
+    }
 
-        this.containerLock.lock();
+    /**
+     * Creates a new Dock that holds its containers in the given {@link ContainerBacklog}. All other settings are read
+     * from the system properties described in {@link DockConfiguration}.
+     *
+     * @param backlog The {@link ContainerBacklog} that will serve as the {@link #backlog}.
+     * @author Marcus Talbot (1041464)
+     */
+    public Dock(@NotNull final ContainerBacklog backlog) {
+        this(backlog, DockConfiguration.fromSystemProperties());
+    }
 
-        try {
-            this.notFull = this.containerLock.newCondition();
-        } finally {
-            this.containerLock.unlock();
-        }
+    /**
+     * Creates a new Dock that holds its containers in the given {@link ContainerBacklog}, with the given
+     * configuration. The container capacity of the configuration is ignored in favour of that of the backlog.
+     *
+     * @param backlog       The {@link ContainerBacklog} that will serve as the {@link #backlog}.
+     * @param configuration The {@link DockConfiguration} of this Dock.
+     * @author Marcus Talbot (1041464)
+     */
+    public Dock(@NotNull final ContainerBacklog backlog, @NotNull final DockConfiguration configuration) {
+        this.backlog = backlog;
+        this.oilTrucks = new OilTruckPool(configuration.oilTruckCapacity(), configuration.oilTruckMaximumCapacity());
+        this.waitPolicy = configuration.waitPolicy();
+        this.shift = new Shift();
+        this.flowControl = new FlowControl(backlog, this.waitPolicy, this.shift, configuration.highWatermark(),
+                configuration.lowWatermark());
+        this.producers = new AtomicInteger();
+        this.consumers = new AtomicInteger();
+        this.quiescenceLock = new ReentrantLock();
+        this.quiescent = this.quiescenceLock.newCondition();
+        this.shutdownNanos = Long.MIN_VALUE;
+        this.shift.onEnd(backlog::release);
+        this.shift.onEnd(this::signalQuiescence);
+        this.shift.onEnd(this.oilTrucks::wakeRoomWaiters);
     }
 
     /**
      * Places a container into the {@link #backlog}. This method is thread-safe, due to the use of
-     * {@link #containerLock}.
+     * {@link ContainerBacklog}. If the {@link #backlog} is full, this method will block for as long as the
+     * {@link #waitPolicy} allows, or until the {@link #shift} ends.
      *
      * @param container {@link AbstractFreightContainer}-subclass, that will be placed in the {@link #backlog}.
+     * @return true if the container was placed, false if the {@link #backlog} remained full.
      * @author Marcus Talbot (1041464)
      */
     public boolean placeContainer(@NotNull final AbstractFreightContainer container) {
-        this.containerLock.lock();
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        container.setDockedNanos(start);
+        var placed = false;
         try {
-            while (this.backlog.size() == this.containerCapacity) {
-                if (!this.notFull.await(30, TimeUnit.SECONDS))
-                    return false;
-            }
-            this.backlog.put(container);
+            placed = this.waitPolicy.await(this.shift,
+                    realNanos -> this.backlog.offer(container, realNanos, TimeUnit.NANOSECONDS));
         } catch (InterruptedException e) {
             e.printStackTrace();
             Thread.currentThread().interrupt();
-            return false;
-        } finally {
-            // The lock should be released in a finally-block, to make sure it is released even
-            // if an Exception is raised.
-            this.containerLock.unlock();
         }
-        return true;
+        this.recordPlaced(clock.nanos(), start, placed ? 1 : 0, 1);
+        return placed;
     }
 
     /**
      * Gets the next container in the {@link #backlog}. This method is thread-safe, due to the use of
-     * {@link PriorityBlockingQueue}. If the {@link #backlog} is empty, this method will block for, at most, fifteen
-     * seconds, after which it must return either a valid container, or null.
+     * {@link ContainerBacklog}. If the {@link #backlog} is empty, this method will block for as long as the
+     * {@link #waitPolicy} allows, or until the {@link #shift} ends, after which it must return either a valid
+     * container, or null. If this Dock is a berth of a {@link Terminal}, containers are stolen from the other berths
+     * while the {@link #backlog} is empty.
      *
-     * @return {@link AbstractFreightContainer}-subclass, or null if the {@link #backlog} remains empty for more than
-     * fifteen seconds.
+     * @return {@link AbstractFreightContainer}-subclass, or null if the {@link #backlog} remained empty.
      * @author Marcus Talbot (1041464)
      */
     public @Nullable AbstractFreightContainer getContainer() {
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        final var terminal = this.terminal;
+        final var holder = new AbstractFreightContainer[1];
         try {
-            return this.backlog.poll(30, TimeUnit.SECONDS);
+            this.waitPolicy.await(this.getConsumerShift(), realNanos -> (holder[0] = terminal != null
+                    ? terminal.poll(this, Duration.ofNanos(realNanos))
+                    : this.backlog.poll(realNanos, TimeUnit.NANOSECONDS)) != null);
         } catch (InterruptedException e) {
             e.printStackTrace();
             Thread.currentThread().interrupt();
-            return null;
+        }
+
+        final var container = holder[0];
+        final var now = clock.nanos();
+        Dock.TAKE_WAIT.record(now - start);
+        if (container == null) {
+            Dock.TAKE_TIMEOUTS.increment();
+        } else {
+            Dock.TAKEN.increment();
+            Dock.RESIDENCE.record(now - container.getDockedNanos());
+            this.onTaken();
+        }
+        return container;
+    }
+
+    /**
+     * Places several containers into the {@link #backlog} in a single handoff. If the {@link #backlog} does not have
+     * space for all of them, this method will block for as long as the {@link #waitPolicy} allows, or until the
+     * {@link #shift} ends.
+     *
+     * @param containers {@link AbstractFreightContainer}-subclasses, that will be placed in the {@link #backlog}.
+     * @return The amount of containers that were placed, in iteration order.
+     * @author Marcus Talbot (1041464)
+     * @see #placeContainer(AbstractFreightContainer)
+     */
+    public int placeContainers(@NotNull final Collection<? extends AbstractFreightContainer> containers) {
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        containers.forEach(container -> container.setDockedNanos(start));
+        final List<? extends AbstractFreightContainer> remaining = containers instanceof List<?>
+                ? (List<? extends AbstractFreightContainer>) containers
+                : List.copyOf(containers);
+        final var placed = new int[1];
+        try {
+            this.waitPolicy.await(this.shift, realNanos -> {
+                placed[0] += this.backlog.offerAll(remaining.subList(placed[0], remaining.size()), realNanos,
+                        TimeUnit.NANOSECONDS);
+                return placed[0] == remaining.size();
+            });
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+        this.recordPlaced(clock.nanos(), start, placed[0], containers.size());
+        return placed[0];
+    }
+
+    /**
+     * Takes at most max containers from the {@link #backlog} in a single handoff, highest priority first. If the
+     * {@link #backlog} is empty, this method will block for, at most, the given timeout, or until the {@link #shift}
+     * ends. If this Dock is a berth of a {@link Terminal}, containers are stolen from the other berths while the
+     * {@link #backlog} is empty.
+     *
+     * @param max     Maximum amount of containers to take. Must be greater than zero.
+     * @param timeout Maximum amount of simulated time to wait for the first container.
+     * @return The containers that were taken, or an empty {@link List} if the {@link #backlog} remained empty.
+     * @author Marcus Talbot (1041464)
+     * @see #getContainer()
+     */
+    public @NotNull List<AbstractFreightContainer> drainContainers(final int max, @NotNull final Duration timeout) {
+        return this.drainContainers(max, timeout.isZero() ? Dock.NO_WAIT : WaitPolicy.fixed(timeout));
+    }
+
+    /**
+     * Takes at most max containers from the {@link #backlog} in a single handoff, highest priority first. If the
+     * {@link #backlog} is empty, this method will block for as long as the {@link #waitPolicy} allows, or until the
+     * {@link #shift} ends.
+     *
+     * @param max Maximum amount of containers to take. Must be greater than zero.
+     * @return The containers that were taken, or an empty {@link List} if the {@link #backlog} remained empty.
+     * @author Marcus Talbot (1041464)
+     * @see #drainContainers(int, Duration)
+     */
+    public @NotNull List<AbstractFreightContainer> drainContainers(final int max) {
+        return this.drainContainers(max, this.waitPolicy);
+    }
+
+    /**
+     * Takes at most max containers from the {@link #backlog} in a single handoff, waiting according to the given
+     * {@link WaitPolicy}.
+     *
+     * @param max        Maximum amount of containers to take. Must be greater than zero.
+     * @param waitPolicy Decides how long to wait for the first container.
+     * @return The containers that were taken, or an empty {@link List} if the {@link #backlog} remained empty.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull List<AbstractFreightContainer> drainContainers(final int max,
+                                                                    @NotNull final WaitPolicy waitPolicy) {
+        if (max <= 0)
+            throw new IllegalArgumentException("Amount of containers to drain must be greater than zero.");
+
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        final var containers = new ArrayList<AbstractFreightContainer>(Math.min(max, this.backlog.capacity()));
+        final var terminal = this.terminal;
+        try {
+            waitPolicy.await(this.getConsumerShift(), realNanos -> (terminal != null
+                    ? terminal.drainTo(this, containers, max, Duration.ofNanos(realNanos))
+                    : this.backlog.drainTo(containers, max, realNanos, TimeUnit.NANOSECONDS)) > 0);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+
+        final var now = clock.nanos();
+        Dock.TAKE_WAIT.record(now - start);
+        if (containers.isEmpty())
+            Dock.TAKE_TIMEOUTS.increment();
+        Dock.TAKEN.add(containers.size());
+        for (final var container : containers)
+            Dock.RESIDENCE.record(now - container.getDockedNanos());
+        if (!containers.isEmpty())
+            this.onTaken();
+        return containers;
+    }
+
+    /**
+     * Takes at most max containers from the {@link #backlog} that can travel together with the given container,
+     * without waiting. Used by {@link AbstractDockTransportVehicle}-objects to fill up a load, after they have taken
+     * its first container.
+     *
+     * @param like Container the taken containers should be compatible with.
+     * @param max  Maximum amount of containers to take. Must be greater than zero.
+     * @return The containers that were taken, or an empty {@link List} if none are waiting.
+     * @author Marcus Talbot (1041464)
+     * @see ContainerBacklog#drainCompatible(AbstractFreightContainer, Collection, int)
+     */
+    public @NotNull List<AbstractFreightContainer> takeCompatible(@NotNull final AbstractFreightContainer like,
+                                                                  final int max) {
+        if (max <= 0)
+            throw new IllegalArgumentException("Amount of containers to take must be greater than zero.");
+
+        final var containers = new ArrayList<AbstractFreightContainer>(Math.min(max, this.backlog.capacity()));
+        if (this.backlog.drainCompatible(like, containers, max) == 0)
+            return containers;
+
+        final var now = SimulationClock.current().nanos();
+        Dock.TAKEN.add(containers.size());
+        for (final var container : containers)
+            Dock.RESIDENCE.record(now - container.getDockedNanos());
+        this.onTaken();
+        return containers;
+    }
+
+    /**
+     * Gets the {@link ContainerBacklog} this Dock holds its containers in.
+     *
+     * @return {@link #backlog}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull ContainerBacklog getBacklog() {
+        return this.backlog;
+    }
+
+    /**
+     * Gets the {@link WaitPolicy} that decides how long vehicles wait on this Dock. Vehicles that wait on each other,
+     * rather than on the Dock itself, use it as well.
+     *
+     * @return {@link #waitPolicy}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull WaitPolicy getWaitPolicy() {
+        return this.waitPolicy;
+    }
+
+    /**
+     * Gets the {@link Shift} of this Dock. Anything vehicles of this Dock may wait on registers with it, so that they
+     * are woken when the {@link Shift} ends.
+     *
+     * @return {@link #shift}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull Shift getShift() {
+        return this.shift;
+    }
+
+    /**
+     * Ends the {@link #shift} of this Dock. Every vehicle waiting on this Dock is woken, and from now on, placing or
+     * getting containers no longer waits. Containers still in the {@link #backlog} can still be taken.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void endShift() {
+        this.shift.end();
+    }
+
+    /**
+     * Enlists a vehicle with this Dock, as a producer if it offloads ships, or as a consumer if it transports
+     * containers. Must be called before the vehicle starts, and matched by a call to
+     * {@link #retire(AbstractDockVehicle)} once it has stopped.
+     *
+     * @param vehicle The vehicle that is about to start.
+     * @throws IllegalStateException If a producer enlists after the shift has ended.
+     * @author Marcus Talbot (1041464)
+     * @see com.github.marcustalbots.haven.runtime.PortRuntime#submit(AbstractDockVehicle)
+     */
+    public void enlist(@NotNull final AbstractDockVehicle vehicle) {
+        if (vehicle instanceof AbstractDockOffloadVehicle<?>) {
+            this.enlistProducer();
+        } else if (vehicle instanceof AbstractDockTransportVehicle) {
+            this.consumers.incrementAndGet();
+        }
+    }
+
+    /**
+     * Retires a vehicle that was enlisted with this Dock, once it has stopped. The last producer to retire after
+     * {@link #shutdown()} lets the consumers drain the {@link #backlog}; the last consumer to retire after the shift
+     * has ended makes this Dock quiescent.
+     *
+     * @param vehicle The vehicle that has stopped.
+     * @author Marcus Talbot (1041464)
+     */
+    public void retire(@NotNull final AbstractDockVehicle vehicle) {
+        if (vehicle instanceof AbstractDockOffloadVehicle<?>) {
+            this.retireProducer();
+        } else if (vehicle instanceof AbstractDockTransportVehicle && this.consumers.decrementAndGet() == 0) {
+            this.signalQuiescence();
+        }
+    }
+
+    /**
+     * Enlists a producer that is not a vehicle, such as a
+     * {@link com.github.marcustalbots.haven.pipeline.HandlingPipeline} that still holds containers. Must be matched by
+     * a call to {@link #retireProducer()}.
+     *
+     * @throws IllegalStateException If the shift has already ended.
+     * @author Marcus Talbot (1041464)
+     */
+    public void enlistProducer() {
+        if (this.shift.isOver())
+            throw new IllegalStateException("Shift of Dock has already ended.");
+        this.producers.incrementAndGet();
+    }
+
+    /**
+     * Retires a producer that was enlisted through {@link #enlistProducer()}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void retireProducer() {
+        this.producers.decrementAndGet();
+        this.endShiftIfDrained();
+    }
+
+    /**
+     * Shuts this Dock down: no producers are expected to enlist anymore. Once every enlisted producer has retired, and
+     * the {@link #backlog} is empty, the shift ends. Never blocks; see {@link #awaitQuiescence()}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void shutdown() {
+        if (this.shutdownNanos == Long.MIN_VALUE)
+            this.shutdownNanos = SimulationClock.current().nanos();
+        this.endShiftIfDrained();
+    }
+
+    /**
+     * Checks whether consumers of this Dock have nothing left to take: its shift has ended, and its {@link #backlog} is
+     * empty. Until then, a consumer whose wait gave up should simply poll again. If this Dock is a berth of a
+     * {@link Terminal}, its consumers steal from the other berths, so every berth must be drained.
+     *
+     * @return true if consumers can stop, false otherwise.
+     * @author Marcus Talbot (1041464)
+     * @see Terminal#isDrained()
+     */
+    public boolean isDrained() {
+        final var terminal = this.terminal;
+        return terminal != null ? terminal.isDrained() : this.isBerthDrained();
+    }
+
+    /**
+     * Checks whether this Dock on its own is drained, regardless of any {@link Terminal} it is a berth of.
+     *
+     * @return true if the shift of this Dock has ended, and its {@link #backlog} is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean isBerthDrained() {
+        return this.shift.isOver() && this.backlog.size() == 0;
+    }
+
+    /**
+     * Gets the {@link Shift} whose end stops consumers of this Dock from waiting for containers.
+     *
+     * @return The {@link #shift}, or, if this Dock is a berth of a {@link Terminal}, the nearest {@link Shift} of a
+     * berth its consumers can still steal from.
+     * @author Marcus Talbot (1041464)
+     * @see Terminal#getConsumerShift(Dock)
+     */
+    private @NotNull Shift getConsumerShift() {
+        final var terminal = this.terminal;
+        return terminal != null ? terminal.getConsumerShift(this) : this.shift;
+    }
+
+    /**
+     * Checks whether any consumer is still enlisted to take containers from this Dock, either with this Dock itself,
+     * or with any berth of its {@link Terminal}, as those steal from this Dock.
+     *
+     * @return true if a consumer may still make room on this Dock, false otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean hasConsumers() {
+        final var terminal = this.terminal;
+        if (terminal == null)
+            return this.consumers.get() > 0;
+        return terminal.getBerths().stream().anyMatch(berth -> berth.consumers.get() > 0);
+    }
+
+    /**
+     * Checks whether this Dock is quiescent: its shift has ended, and every enlisted consumer has retired.
+     *
+     * @return true if no vehicle does any work on this Dock anymore, false otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean isQuiescent() {
+        return this.shift.isOver() && this.consumers.get() == 0;
+    }
+
+    /**
+     * Waits until this Dock is quiescent. Only returns once the shift has ended, either because this Dock was
+     * {@link #shutdown() shut down} and drained, or because {@link #endShift()} was called.
+     *
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     * @see #isQuiescent()
+     */
+    public void awaitQuiescence() throws InterruptedException {
+        this.quiescenceLock.lock();
+        try {
+            while (!this.isQuiescent())
+                this.quiescent.await();
+        } finally {
+            this.quiescenceLock.unlock();
+        }
+    }
+
+    /**
+     * Waits, at most for the given amount of real time, until this Dock is quiescent.
+     *
+     * @param timeout Maximum amount of real time to wait.
+     * @return true if this Dock is quiescent, false if the timeout passed first.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     * @see #awaitQuiescence()
+     */
+    public boolean awaitQuiescence(@NotNull final Duration timeout) throws InterruptedException {
+        var remaining = timeout.toNanos();
+        this.quiescenceLock.lock();
+        try {
+            while (!this.isQuiescent()) {
+                if (remaining <= 0L)
+                    return false;
+                remaining = this.quiescent.awaitNanos(remaining);
+            }
+            return true;
         } finally {
-            this.containerLock.lock();
-            this.notFull.signal();
-            this.containerLock.unlock();
+            this.quiescenceLock.unlock();
         }
     }
 
     /**
-     * Registers that an {@link OilTruck} is currently idling.
+     * Gets the {@link Terminal} this Dock is a berth of.
+     *
+     * @return {@link #terminal}, or null if this Dock is not part of a {@link Terminal}.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable Terminal getTerminal() {
+        return this.terminal;
+    }
+
+    /**
+     * Gets the index of this Dock within its {@link Terminal}.
+     *
+     * @return {@link #berthIndex}, or zero if this Dock is not part of a {@link Terminal}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getBerthIndex() {
+        return this.berthIndex;
+    }
+
+    /**
+     * Makes this Dock a berth of the given {@link Terminal}. Only called by the {@link Terminal}-constructor.
+     *
+     * @param terminal   The {@link Terminal} this Dock becomes a berth of.
+     * @param berthIndex Index of this Dock within the {@link Terminal}.
+     * @throws IllegalStateException If this Dock already is a berth of a {@link Terminal}.
+     * @author Marcus Talbot (1041464)
+     */
+    synchronized void attach(@NotNull final Terminal terminal, final int berthIndex) {
+        if (this.terminal != null)
+            throw new IllegalStateException("Dock is already a berth of a Terminal.");
+        this.berthIndex = berthIndex;
+        this.terminal = terminal;
+    }
+
+    /**
+     * Registers that an {@link OilTruck} is currently idling. Never blocks; see {@link OilTruckPool#register(OilTruck)}.
      *
      * @param oilTruck {@link OilTruck}-object that needs to be registered to the {@link #oilTrucks}-field.
+     * @return true if the {@link OilTruck} was registered, false if the {@link #oilTrucks}-pool is at its capacity.
      * @author Marcus Talbot (1041464)
      */
     public boolean registerOilTruck(@NotNull final OilTruck oilTruck) {
+        return this.oilTrucks.register(oilTruck);
+    }
+
+    /**
+     * Gets an idling {@link OilTruck}, waiting for as long as it takes for one to register. This method is
+     * thread-safe, due to the use of {@link OilTruckPool}.
+     *
+     * @return An {@link OilTruck} registered to the {@link #oilTrucks}-field, or null if the current thread was
+     * interrupted.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable OilTruck getOilTruck() {
         try {
-            this.oilTrucks.put(oilTruck);
+            return this.oilTrucks.acquire();
         } catch (InterruptedException e) {
             e.printStackTrace();
             Thread.currentThread().interrupt();
-            return false;
+            return null;
         }
-        return true;
     }
 
     /**
-     * Gets an idling {@link OilTruck}. This method is thread-safe, due to the use of {@link ArrayBlockingQueue}.
+     * Gets an idling {@link OilTruck}, waiting for, at most, the given timeout for one to register.
      *
-     * @return An {@link OilTruck} registered to the {@link #oilTrucks}-field.
+     * @param timeout Maximum amount of time to wait.
+     * @return An {@link OilTruck} registered to the {@link #oilTrucks}-field, or null if none registered in time, or
+     * the current thread was interrupted.
      * @author Marcus Talbot (1041464)
      */
-    public @Nullable OilTruck getOilTruck() {
+    public @Nullable OilTruck getOilTruck(@NotNull final Duration timeout) {
+        OilTruck oilTruck = null;
         try {
-            return this.oilTrucks.take();
+            oilTruck = this.oilTrucks.acquire(timeout);
         } catch (InterruptedException e) {
             e.printStackTrace();
             Thread.currentThread().interrupt();
-            return null;
         }
+        if (oilTruck == null)
+            Dock.OIL_TRUCK_TIMEOUTS.increment();
+        return oilTruck;
+    }
+
+    /**
+     * Gets an idling {@link OilTruck}, if there is one. Never blocks.
+     *
+     * @return An {@link OilTruck} registered to the {@link #oilTrucks}-field, or null if none is idling.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable OilTruck tryGetOilTruck() {
+        return this.oilTrucks.tryAcquire();
+    }
+
+    /**
+     * Gets the {@link OilTruckPool} idling {@link OilTruck}-objects register to. Can be used to resize the pool at
+     * runtime, and to inspect its occupancy.
+     *
+     * @return {@link #oilTrucks}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull OilTruckPool getOilTruckPool() {
+        return this.oilTrucks;
+    }
+
+    /**
+     * Gets the {@link FlowControl} {@link Crane}-objects acquire a credit from, before they take a container from their
+     * ship.
+     *
+     * @return {@link #flowControl}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull FlowControl getFlowControl() {
+        return this.flowControl;
+    }
+
+    /**
+     * Checks whether taking containers from this Dock, or from any berth of its {@link Terminal}, has drained a berth
+     * that was shut down, or has made room for waiting {@link Crane}-objects.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void onTaken() {
+        final var terminal = this.terminal;
+        if (terminal == null) {
+            this.flowControl.onTaken();
+            this.endShiftIfDrained();
+        } else {
+            terminal.getBerths().forEach(berth -> {
+                berth.flowControl.onTaken();
+                berth.endShiftIfDrained();
+            });
+        }
+    }
+
+    /**
+     * Ends the {@link #shift}, if this Dock was shut down, every producer has retired, and the {@link #backlog} is
+     * empty.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void endShiftIfDrained() {
+        final var shutdownNanos = this.shutdownNanos;
+        if (shutdownNanos == Long.MIN_VALUE || this.shift.isOver() || this.producers.get() > 0
+                || this.backlog.size() > 0)
+            return;
+
+        if (this.shift.end())
+            Dock.SHUTDOWN.record(SimulationClock.current().nanos() - shutdownNanos);
+    }
+
+    /**
+     * Wakes every thread waiting in {@link #awaitQuiescence()}, if this Dock is quiescent.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void signalQuiescence() {
+        if (!this.isQuiescent())
+            return;
+
+        this.quiescenceLock.lock();
+        try {
+            this.quiescent.signalAll();
+        } finally {
+            this.quiescenceLock.unlock();
+        }
+    }
+
+    /**
+     * Records a single attempt at placing containers, and informs the {@link #waitPolicy} of the containers that
+     * arrived.
+     *
+     * @param now     Simulated time at which the attempt ended.
+     * @param start   Simulated time at which the attempt started.
+     * @param placed  Amount of containers that were placed.
+     * @param offered Amount of containers that were offered.
+     * @author Marcus Talbot (1041464)
+     */
+    private void recordPlaced(final long now, final long start, final int placed, final int offered) {
+        Dock.PLACE_WAIT.record(now - start);
+        Dock.PLACED.add(placed);
+        if (placed < offered)
+            Dock.PLACE_TIMEOUTS.increment();
+        this.waitPolicy.recordArrivals(now, placed);
     }
 }
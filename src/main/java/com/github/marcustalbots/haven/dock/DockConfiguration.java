@@ -0,0 +1,160 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.dock.backlog.DeadlineBacklog;
+import com.github.marcustalbots.haven.dock.backlog.DwellTimeSla;
+import com.github.marcustalbots.haven.dock.backlog.LaneRingBufferBacklog;
+import com.github.marcustalbots.haven.dock.wait.WaitPolicy;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable configuration of a {@link Dock}. Values that are not configured explicitly are read from system
+ * properties, falling back to the defaults below.
+ * <br><br>
+ * <ul>
+ *     <li>{@code haven.dock.capacity}: Maximum amount of containers in the backlog. Defaults to 5.</li>
+ *     <li>{@code haven.dock.oil-trucks}: Initial capacity of the {@link OilTruckPool}. Defaults to 3.</li>
+ *     <li>{@code haven.dock.oil-trucks.max}: Largest capacity the {@link OilTruckPool} can be resized to. Defaults to
+ *     64.</li>
+ *     <li>{@code haven.dock.wait}: The {@link WaitPolicy} of the {@link Dock}, as parsed by
+ *     {@link WaitPolicy#parse(String)}. Defaults to {@code fixed}, which waits thirty seconds.</li>
+ *     <li>{@code haven.dock.wait.spins}: Amount of attempts that spin before the {@link WaitPolicy} parks. Defaults to
+ *     0.</li>
+ *     <li>{@code haven.dock.sla}: The {@link DwellTimeSla} of the {@link Dock}, as parsed by
+ *     {@link DwellTimeSla#parse(String)}. If set, the {@link Dock} hands out containers earliest deadline first, using
+ *     a {@link DeadlineBacklog}, rather than by type, using a {@link LaneRingBufferBacklog}. Not set by default.</li>
+ *     <li>{@code haven.dock.flow.high}: Occupancy at which the {@link FlowControl} of the {@link Dock} stops handing
+ *     out credits to {@link Crane}-objects. Defaults to the capacity of the backlog.</li>
+ *     <li>{@code haven.dock.flow.low}: Occupancy at which the {@link FlowControl} hands out credits again. Defaults to
+ *     one below the high watermark.</li>
+ * </ul>
+ *
+ * @param containerCapacity       Maximum amount of containers in the backlog of the {@link Dock}.
+ * @param oilTruckCapacity        Amount of idle {@link OilTruck}-objects the {@link OilTruckPool} initially admits.
+ * @param oilTruckMaximumCapacity Largest capacity the {@link OilTruckPool} can be resized to.
+ * @param waitPolicy              {@link WaitPolicy} that decides how long vehicles wait on the {@link Dock}.
+ * @param dwellTimeSla            {@link DwellTimeSla} containers are handed out by, or null to hand them out by type.
+ * @param highWatermark           Occupancy at which credits are withheld, or zero for the capacity of the backlog.
+ * @param lowWatermark            Occupancy at which credits are handed out again, or zero for one below the high
+ *                                watermark.
+ * @author Marcus Talbot (1041464)
+ */
+public record DockConfiguration(int containerCapacity, int oilTruckCapacity, int oilTruckMaximumCapacity,
+                                @NotNull WaitPolicy waitPolicy, @Nullable DwellTimeSla dwellTimeSla,
+                                int highWatermark, int lowWatermark) {
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException If any capacity is smaller or equal to zero, the maximum capacity of the
+     *                                  {@link OilTruckPool} is smaller than its initial capacity, or a watermark is
+     *                                  negative.
+     * @author Marcus Talbot (1041464)
+     */
+    public DockConfiguration {
+        if (containerCapacity <= 0)
+            throw new IllegalArgumentException("Capacity of Dock cannot be smaller or equal to zero.");
+        if (oilTruckCapacity <= 0)
+            throw new IllegalArgumentException("Capacity of OilTruckPool cannot be smaller or equal to zero.");
+        if (oilTruckMaximumCapacity < oilTruckCapacity)
+            throw new IllegalArgumentException("Maximum capacity of OilTruckPool cannot be smaller than its capacity.");
+        if (highWatermark < 0 || lowWatermark < 0)
+            throw new IllegalArgumentException("Watermark of Dock cannot be negative.");
+    }
+
+    /**
+     * Creates a {@link DockConfiguration} from the system properties described above.
+     *
+     * @return A new {@link DockConfiguration}.
+     * @throws NumberFormatException    If any of the numeric system properties is not a valid integer.
+     * @throws IllegalArgumentException If the {@link WaitPolicy} or the {@link DwellTimeSla} is not valid.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(" -> new")
+    public static @NotNull DockConfiguration fromSystemProperties() {
+        return new DockConfiguration(
+                Integer.getInteger("haven.dock.capacity", 5),
+                Integer.getInteger("haven.dock.oil-trucks", 3),
+                Integer.getInteger("haven.dock.oil-trucks.max", 64),
+                WaitPolicy.parse(System.getProperty("haven.dock.wait", "fixed"))
+                        .withSpins(Integer.getInteger("haven.dock.wait.spins", 0)),
+                System.getProperty("haven.dock.sla") == null ? null
+                        : DwellTimeSla.parse(System.getProperty("haven.dock.sla")),
+                Integer.getInteger("haven.dock.flow.high", 0),
+                Integer.getInteger("haven.dock.flow.low", 0)
+        );
+    }
+
+    /**
+     * Creates a copy of this configuration, with the given container capacity.
+     *
+     * @param containerCapacity The new maximum amount of containers in the backlog.
+     * @return A new {@link DockConfiguration}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    public @NotNull DockConfiguration withContainerCapacity(final int containerCapacity) {
+        return new DockConfiguration(containerCapacity, this.oilTruckCapacity, this.oilTruckMaximumCapacity,
+                this.waitPolicy, this.dwellTimeSla, this.highWatermark, this.lowWatermark);
+    }
+
+    /**
+     * Creates a copy of this configuration, with the given {@link OilTruckPool}-capacities.
+     *
+     * @param oilTruckCapacity        The new initial capacity of the {@link OilTruckPool}.
+     * @param oilTruckMaximumCapacity The new maximum capacity of the {@link OilTruckPool}.
+     * @return A new {@link DockConfiguration}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _ -> new")
+    public @NotNull DockConfiguration withOilTruckCapacity(final int oilTruckCapacity,
+                                                           final int oilTruckMaximumCapacity) {
+        return new DockConfiguration(this.containerCapacity, oilTruckCapacity, oilTruckMaximumCapacity,
+                this.waitPolicy, this.dwellTimeSla, this.highWatermark, this.lowWatermark);
+    }
+
+    /**
+     * Creates a copy of this configuration, with the given {@link WaitPolicy}. A policy that adapts to the rate at
+     * which containers arrive should not be shared between several {@link Dock}-objects.
+     *
+     * @param waitPolicy The new {@link WaitPolicy}.
+     * @return A new {@link DockConfiguration}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    public @NotNull DockConfiguration withWaitPolicy(@NotNull final WaitPolicy waitPolicy) {
+        return new DockConfiguration(this.containerCapacity, this.oilTruckCapacity, this.oilTruckMaximumCapacity,
+                waitPolicy, this.dwellTimeSla, this.highWatermark, this.lowWatermark);
+    }
+
+    /**
+     * Creates a copy of this configuration, with the given {@link DwellTimeSla}.
+     *
+     * @param dwellTimeSla The new {@link DwellTimeSla}, or null to hand out containers by type.
+     * @return A new {@link DockConfiguration}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    public @NotNull DockConfiguration withDwellTimeSla(@Nullable final DwellTimeSla dwellTimeSla) {
+        return new DockConfiguration(this.containerCapacity, this.oilTruckCapacity, this.oilTruckMaximumCapacity,
+                this.waitPolicy, dwellTimeSla, this.highWatermark, this.lowWatermark);
+    }
+
+    /**
+     * Creates a copy of this configuration, with the given watermarks for its {@link FlowControl}.
+     *
+     * @param highWatermark The new occupancy at which credits are withheld, or zero for the capacity of the backlog.
+     * @param lowWatermark  The new occupancy at which credits are handed out again, or zero for one below the high
+     *                      watermark.
+     * @return A new {@link DockConfiguration}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _ -> new")
+    public @NotNull DockConfiguration withWatermarks(final int highWatermark, final int lowWatermark) {
+        return new DockConfiguration(this.containerCapacity, this.oilTruckCapacity, this.oilTruckMaximumCapacity,
+                this.waitPolicy, this.dwellTimeSla, highWatermark, lowWatermark);
+    }
+}
@@ -0,0 +1,318 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.dock.backlog.ContainerBacklog;
+import com.github.marcustalbots.haven.dock.wait.Shift;
+import com.github.marcustalbots.haven.dock.wait.WaitPolicy;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Credit-based flow control between a {@link Dock} and the {@link Crane}-objects that fill it. Before a {@link Crane}
+ * takes a container from its ship, it acquires a credit, which reserves room for that container in the backlog of the
+ * {@link Dock}; the credit is released once the container has been placed. A {@link Crane} that cannot get a credit
+ * therefore waits before it picks up a container, rather than while holding one.
+ * <br><br>
+ * The occupancy of the {@link Dock} is the amount of containers in its backlog, plus the amount of credits that are
+ * held. Once it reaches the high watermark, credits are withheld until it has dropped to the low watermark again, so
+ * that waiting {@link Crane}-objects resume together, instead of one at a time.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see Dock#getFlowControl()
+ */
+public final class FlowControl {
+
+    /**
+     * Amount of times a {@link Crane} had to wait for a credit.
+     */
+    private static final Counter THROTTLES = MetricsRegistry.getInstance().counter("dock.flow.throttles");
+
+    /**
+     * Simulated time spent waiting for a credit, by {@link Crane}-objects that had to wait.
+     */
+    private static final LatencyHistogram WAIT = MetricsRegistry.getInstance().histogram("dock.flow.wait");
+
+    /**
+     * The backlog whose room the credits reserve.
+     */
+    private final ContainerBacklog backlog;
+
+    /**
+     * Decides how long acquiring a credit waits, before it attempts again.
+     */
+    private final WaitPolicy waitPolicy;
+
+    /**
+     * The {@link Shift} that ends waiting for credits.
+     */
+    private final Shift shift;
+
+    /**
+     * Occupancy at which credits are withheld.
+     */
+    private final int highWatermark;
+
+    /**
+     * Occupancy at which credits are handed out again, after the {@link #highWatermark} was reached.
+     */
+    private final int lowWatermark;
+
+    /**
+     * Guards {@link #reserved} and {@link #paused}.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Signalled when credits are handed out again, or the {@link #shift} ends.
+     */
+    private final Condition resumed;
+
+    /**
+     * Amount of credits that are held.
+     */
+    private int reserved;
+
+    /**
+     * Whether credits are withheld, because the {@link #highWatermark} was reached.
+     */
+    private volatile boolean paused;
+
+    /**
+     * Creates a new {@link FlowControl} for the given backlog. Only called by the {@link Dock}-constructor.
+     *
+     * @param backlog       The backlog whose room the credits reserve.
+     * @param waitPolicy    Decides how long acquiring a credit waits, before it attempts again.
+     * @param shift         The {@link Shift} that ends waiting for credits.
+     * @param highWatermark Occupancy at which credits are withheld, or zero for the capacity of the backlog.
+     * @param lowWatermark  Occupancy at which credits are handed out again, or zero for one below the high watermark.
+     * @throws IllegalArgumentException If the high watermark exceeds the capacity of the backlog, or the low watermark
+     *                                  is not below the high watermark.
+     * @author Marcus Talbot (1041464)
+     */
+    FlowControl(@NotNull final ContainerBacklog backlog, @NotNull final WaitPolicy waitPolicy,
+                @NotNull final Shift shift, final int highWatermark, final int lowWatermark) {
+        this.highWatermark = highWatermark > 0 ? highWatermark : backlog.capacity();
+        this.lowWatermark = lowWatermark > 0 ? lowWatermark : this.highWatermark - 1;
+        if (this.highWatermark > backlog.capacity())
+            throw new IllegalArgumentException("High watermark of Dock cannot exceed its capacity.");
+        if (this.lowWatermark >= this.highWatermark)
+            throw new IllegalArgumentException("Low watermark of Dock must be below its high watermark.");
+
+        this.backlog = backlog;
+        this.waitPolicy = waitPolicy;
+        this.shift = shift;
+        this.lock = new ReentrantLock();
+        this.resumed = this.lock.newCondition();
+        shift.onEnd(this::wake);
+    }
+
+    /**
+     * Acquires a credit, if one is available. Never blocks.
+     *
+     * @return true if a credit was acquired, false otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean tryAcquire() {
+        this.lock.lock();
+        try {
+            return this.tryAcquireLocked();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a credit, waiting according to the {@link WaitPolicy} of the {@link Dock}, until it gives up, or until
+     * the {@link Shift} of the {@link Dock} ends. What to do when no credit was acquired is up to the caller.
+     *
+     * @return true if a credit was acquired, false if the {@link WaitPolicy} gave up, or the {@link Shift} ended first.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean acquire() {
+        if (this.tryAcquire())
+            return true;
+
+        FlowControl.THROTTLES.increment();
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        var acquired = false;
+        try {
+            acquired = this.waitPolicy.await(this.shift, this::attemptAcquire);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+        FlowControl.WAIT.record(clock.nanos() - start);
+        return acquired;
+    }
+
+    /**
+     * Releases credits, once the containers they were acquired for have been placed, or will not be placed at all.
+     *
+     * @param credits Amount of credits to release.
+     * @author Marcus Talbot (1041464)
+     */
+    public void release(final int credits) {
+        if (credits <= 0)
+            return;
+
+        this.lock.lock();
+        try {
+            this.reserved = Math.max(0, this.reserved - credits);
+            this.resumeIfDrained();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the occupancy at which credits are withheld.
+     *
+     * @return {@link #highWatermark}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getHighWatermark() {
+        return this.highWatermark;
+    }
+
+    /**
+     * Gets the occupancy at which credits are handed out again.
+     *
+     * @return {@link #lowWatermark}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getLowWatermark() {
+        return this.lowWatermark;
+    }
+
+    /**
+     * Gets the amount of credits that are held.
+     *
+     * @return {@link #reserved}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getReserved() {
+        this.lock.lock();
+        try {
+            return this.reserved;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether credits are withheld.
+     *
+     * @return {@link #paused}.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    /**
+     * Hands out credits again, if containers were taken from the backlog while credits were withheld. Called by the
+     * {@link Dock} after every take.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    void onTaken() {
+        if (!this.paused)
+            return;
+
+        this.lock.lock();
+        try {
+            this.resumeIfDrained();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Attempts to acquire a credit, waiting for at most the given amount of real time for credits to be handed out.
+     *
+     * @param timeoutNanos Maximum amount of real nanoseconds to wait.
+     * @return true if a credit was acquired, false otherwise.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean attemptAcquire(final long timeoutNanos) throws InterruptedException {
+        this.lock.lock();
+        try {
+            var remaining = timeoutNanos;
+            while (!this.tryAcquireLocked()) {
+                if (remaining <= 0L || this.shift.isOver())
+                    return false;
+                remaining = this.resumed.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a credit, if one is available. Must be called while holding the {@link #lock}.
+     *
+     * @return true if a credit was acquired, false otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean tryAcquireLocked() {
+        this.resumeIfDrained();
+        if (this.paused)
+            return false;
+        if (this.occupancy() >= this.highWatermark) {
+            this.paused = true;
+            return false;
+        }
+
+        this.reserved++;
+        if (this.occupancy() >= this.highWatermark)
+            this.paused = true;
+        return true;
+    }
+
+    /**
+     * Hands out credits again, if they are withheld and the occupancy has dropped to the {@link #lowWatermark}. Must
+     * be called while holding the {@link #lock}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void resumeIfDrained() {
+        if (this.paused && this.occupancy() <= this.lowWatermark) {
+            this.paused = false;
+            this.resumed.signalAll();
+        }
+    }
+
+    /**
+     * Gets the amount of containers in the backlog, plus the amount of credits that are held. Must be called while
+     * holding the {@link #lock}.
+     *
+     * @return The occupancy of the {@link Dock}.
+     * @author Marcus Talbot (1041464)
+     */
+    private int occupancy() {
+        return this.backlog.size() + this.reserved;
+    }
+
+    /**
+     * Wakes every thread waiting for a credit. Called when the {@link #shift} ends.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void wake() {
+        this.lock.lock();
+        try {
+            this.resumed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
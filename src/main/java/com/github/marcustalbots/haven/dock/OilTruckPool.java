@@ -0,0 +1,464 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.dock.wait.Shift;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of idle {@link OilTruck}-objects, waiting to be called on by {@link Pump}-objects. A registration reserves a
+ * single transfer into the {@link OilTruck}; trucks may register for their next transfer while still on the road.
+ * <br><br>
+ * The pool admits at most {@link #getCapacity()} idle trucks. Registering a truck never blocks: when the pool is full,
+ * the truck is turned away. A truck that was turned away can {@link #awaitRoom(Shift, long) wait} for room, which frees up
+ * when a truck is handed out or withdrawn, or when the capacity grows. The capacity only changes through
+ * {@link #setCapacity(int)}, which can grow the pool up to {@link #getMaximumCapacity()}, or shrink it again at
+ * runtime.
+ * <br><br>
+ * The pool keeps track of how often, and for how long, {@link Pump}-objects wait for a truck, so that the amount of
+ * trucks can be sized against the throughput of the {@link Pump}-objects. It also counts the trucks that serve it,
+ * whether idle or not, so that a {@link Pump} can stop waiting once no truck is left to come.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see Dock#getOilTruckPool()
+ */
+public final class OilTruckPool {
+
+    /**
+     * Idle trucks, in the order they registered. The queue itself is unbounded; the capacity of the pool is enforced
+     * by {@link #idleCount}.
+     */
+    private final LinkedBlockingQueue<OilTruck> idleTrucks;
+
+    /**
+     * Amount of trucks admitted to the pool, including trucks that are being added to or removed from
+     * {@link #idleTrucks}.
+     */
+    private final AtomicInteger idleCount;
+
+    /**
+     * Amount of idle trucks the pool currently admits.
+     */
+    private final AtomicInteger capacity;
+
+    /**
+     * Largest capacity the pool can be resized to.
+     */
+    private final int maximumCapacity;
+
+    /**
+     * Amount of trucks that {@link #join() joined} the pool, and have not {@link #leave() left} it yet.
+     */
+    private final AtomicInteger truckCount;
+
+    /**
+     * Lock guarding {@link #hasRoom}.
+     */
+    private final ReentrantLock roomLock;
+
+    /**
+     * Signalled when room may have freed up in the pool.
+     */
+    private final Condition hasRoom;
+
+    /**
+     * Amount of threads currently waiting for room in the pool.
+     */
+    private final AtomicInteger roomWaitingCount;
+
+    /**
+     * Amount of threads currently waiting for a truck.
+     */
+    private final AtomicInteger waitingCount;
+
+    /**
+     * Amount of trucks that were admitted to the pool.
+     */
+    private final LongAdder registrations;
+
+    /**
+     * Amount of trucks that were turned away, because the pool was at its capacity.
+     */
+    private final LongAdder rejections;
+
+    /**
+     * Amount of trucks that were handed out.
+     */
+    private final LongAdder acquisitions;
+
+    /**
+     * Amount of times no truck became available before a timeout passed.
+     */
+    private final LongAdder timeouts;
+
+    /**
+     * Total amount of nanoseconds spent waiting for trucks.
+     */
+    private final LongAdder waitNanos;
+
+    /**
+     * Creates a new, empty {@link OilTruckPool}.
+     *
+     * @param capacity        Amount of idle trucks the pool initially admits.
+     * @param maximumCapacity Largest capacity the pool can be resized to.
+     * @author Marcus Talbot (1041464)
+     */
+    public OilTruckPool(final int capacity, final int maximumCapacity) {
+        if (capacity <= 0 || maximumCapacity < capacity)
+            throw new IllegalArgumentException("Invalid capacity for OilTruckPool.");
+
+        this.idleTrucks = new LinkedBlockingQueue<>();
+        this.idleCount = new AtomicInteger();
+        this.capacity = new AtomicInteger(capacity);
+        this.maximumCapacity = maximumCapacity;
+        this.truckCount = new AtomicInteger();
+        this.roomLock = new ReentrantLock();
+        this.hasRoom = this.roomLock.newCondition();
+        this.roomWaitingCount = new AtomicInteger();
+        this.waitingCount = new AtomicInteger();
+        this.registrations = new LongAdder();
+        this.rejections = new LongAdder();
+        this.acquisitions = new LongAdder();
+        this.timeouts = new LongAdder();
+        this.waitNanos = new LongAdder();
+    }
+
+    /**
+     * Counts a truck that serves this pool from now on, whether it is idle, on the road, or turned away. Must be
+     * matched by a call to {@link #leave()} once the truck stops working.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void join() {
+        this.truckCount.incrementAndGet();
+    }
+
+    /**
+     * Counts a truck that has stopped working, and no longer serves this pool.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void leave() {
+        this.truckCount.decrementAndGet();
+    }
+
+    /**
+     * Checks whether any truck can still be handed out: either a truck is idling, or a truck that serves this pool may
+     * still register.
+     *
+     * @return false if no truck is idling, and no truck is left to register, true otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean hasTrucks() {
+        return this.idleCount.get() > 0 || this.truckCount.get() > 0;
+    }
+
+    /**
+     * Registers an idle truck. Never blocks.
+     *
+     * @param oilTruck The idle {@link OilTruck}.
+     * @return true if the truck was admitted, false if the pool is at its capacity.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean register(@NotNull final OilTruck oilTruck) {
+        while (true) {
+            final var count = this.idleCount.get();
+            if (count >= this.capacity.get()) {
+                this.rejections.increment();
+                return false;
+            }
+
+            if (this.idleCount.compareAndSet(count, count + 1))
+                break;
+        }
+
+        this.idleTrucks.add(oilTruck);
+        this.registrations.increment();
+        return true;
+    }
+
+    /**
+     * Checks whether the pool admits another idle truck.
+     *
+     * @return true if a truck registering now would be admitted, unless another truck registers first.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean hasRoom() {
+        return this.idleCount.get() < this.capacity.get();
+    }
+
+    /**
+     * Waits until the pool admits another idle truck, the given timeout passes, or {@link #wakeRoomWaiters()} is
+     * called, whichever comes first. Does not register anything: the caller registers afterwards, and may still be
+     * turned away if another truck registered first.
+     *
+     * @param shift        The {@link Shift} whose end stops the wait. Its end must {@link #wakeRoomWaiters() wake}
+     *                     the pool.
+     * @param timeoutNanos Maximum amount of real nanoseconds to wait. Zero or less checks once, without waiting.
+     * @return true if the pool has room, false otherwise.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean awaitRoom(@NotNull final Shift shift, final long timeoutNanos) throws InterruptedException {
+        if (this.hasRoom() || timeoutNanos <= 0L)
+            return this.hasRoom();
+
+        this.roomWaitingCount.incrementAndGet();
+        this.roomLock.lock();
+        try {
+            // Counted as waiting before checking again, so that room freeing up, or the shift ending, from now on
+            // signals this thread.
+            if (!this.hasRoom() && !shift.isOver())
+                this.hasRoom.awaitNanos(timeoutNanos);
+            return this.hasRoom();
+        } finally {
+            this.roomLock.unlock();
+            this.roomWaitingCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wakes every thread waiting for room in the pool, whether or not room has freed up. Called when room frees up,
+     * and when the shift of the {@link Dock} ends.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void wakeRoomWaiters() {
+        if (this.roomWaitingCount.get() == 0)
+            return;
+
+        this.roomLock.lock();
+        try {
+            this.hasRoom.signalAll();
+        } finally {
+            this.roomLock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the given truck is idling in the pool.
+     *
+     * @param oilTruck The {@link OilTruck} to look for.
+     * @return true if the truck is registered, and has not been handed out yet.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean contains(@NotNull final OilTruck oilTruck) {
+        return this.idleTrucks.contains(oilTruck);
+    }
+
+    /**
+     * Takes an idle truck from the pool, if there is one. Never blocks.
+     *
+     * @return An idle {@link OilTruck}, or null if there is none.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable OilTruck tryAcquire() {
+        return this.onAcquired(this.idleTrucks.poll());
+    }
+
+    /**
+     * Withdraws the registration of a truck that stops working. Never blocks.
+     *
+     * @param oilTruck The registered {@link OilTruck}.
+     * @return true if the registration was withdrawn, false if the truck was not registered, for example because a
+     * {@link Pump} has already acquired it.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean withdraw(@NotNull final OilTruck oilTruck) {
+        if (!this.idleTrucks.remove(oilTruck))
+            return false;
+        this.idleCount.decrementAndGet();
+        this.wakeRoomWaiters();
+        return true;
+    }
+
+    /**
+     * Gets the idle truck that will be handed out next, without taking it from the pool. Trucks are handed out in the
+     * order they registered.
+     *
+     * @return The longest idling {@link OilTruck}, or null if there is none.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable OilTruck peek() {
+        return this.idleTrucks.peek();
+    }
+
+    /**
+     * Takes an idle truck from the pool, waiting for one to register if necessary.
+     *
+     * @param timeout Maximum amount of time to wait.
+     * @return An idle {@link OilTruck}, or null if none registered before the timeout passed.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable OilTruck acquire(@NotNull final Duration timeout) throws InterruptedException {
+        final var oilTruck = this.tryAcquire();
+        if (oilTruck != null)
+            return oilTruck;
+
+        final var start = System.nanoTime();
+        this.waitingCount.incrementAndGet();
+        try {
+            final var waited = this.onAcquired(this.idleTrucks.poll(timeout.toNanos(), TimeUnit.NANOSECONDS));
+            if (waited == null)
+                this.timeouts.increment();
+            return waited;
+        } finally {
+            this.waitingCount.decrementAndGet();
+            this.waitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Takes an idle truck from the pool, waiting for one to register for as long as necessary.
+     *
+     * @return An idle {@link OilTruck}.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull OilTruck acquire() throws InterruptedException {
+        final var oilTruck = this.tryAcquire();
+        if (oilTruck != null)
+            return oilTruck;
+
+        final var start = System.nanoTime();
+        this.waitingCount.incrementAndGet();
+        try {
+            return this.onAcquired(this.idleTrucks.take());
+        } finally {
+            this.waitingCount.decrementAndGet();
+            this.waitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets the amount of idle trucks the pool currently admits.
+     *
+     * @return The current capacity.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getCapacity() {
+        return this.capacity.get();
+    }
+
+    /**
+     * Changes the amount of idle trucks the pool admits. Shrinking the pool below the amount of trucks that are
+     * currently idle does not evict any trucks; instead, no new trucks are admitted until enough have been acquired.
+     * Growing the pool wakes the trucks waiting for room.
+     *
+     * @param capacity The new capacity, between one and {@link #getMaximumCapacity()}.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setCapacity(final int capacity) {
+        if (capacity <= 0 || capacity > this.maximumCapacity)
+            throw new IllegalArgumentException("Capacity of OilTruckPool must be between one and its maximum.");
+        if (this.capacity.getAndSet(capacity) < capacity)
+            this.wakeRoomWaiters();
+    }
+
+    /**
+     * Gets the largest capacity the pool can be resized to.
+     *
+     * @return {@link #maximumCapacity}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public int getMaximumCapacity() {
+        return this.maximumCapacity;
+    }
+
+    /**
+     * Gets the amount of trucks currently idling in the pool.
+     *
+     * @return The amount of idle trucks.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getIdleCount() {
+        return this.idleCount.get();
+    }
+
+    /**
+     * Takes a snapshot of the occupancy of the pool, and of how long {@link Pump}-objects wait for trucks.
+     *
+     * @return A new {@link Statistics}-object.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull Statistics getStatistics() {
+        return new Statistics(
+                this.idleCount.get(),
+                this.capacity.get(),
+                this.maximumCapacity,
+                this.waitingCount.get(),
+                this.registrations.sum(),
+                this.rejections.sum(),
+                this.acquisitions.sum(),
+                this.timeouts.sum(),
+                this.waitNanos.sum()
+        );
+    }
+
+    /**
+     * Updates the bookkeeping after a truck was taken from {@link #idleTrucks}.
+     *
+     * @param oilTruck The truck that was taken, or null if none was.
+     * @return The given truck.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("null -> null; !null -> !null")
+    private OilTruck onAcquired(@Nullable final OilTruck oilTruck) {
+        if (oilTruck != null) {
+            this.idleCount.decrementAndGet();
+            this.acquisitions.increment();
+            this.wakeRoomWaiters();
+        }
+        return oilTruck;
+    }
+
+    /**
+     * Snapshot of the occupancy of an {@link OilTruckPool}.
+     *
+     * @param idle            Amount of trucks idling in the pool.
+     * @param capacity        Amount of idle trucks the pool admits.
+     * @param maximumCapacity Largest capacity the pool can be resized to.
+     * @param waiting         Amount of threads waiting for a truck.
+     * @param registrations   Amount of trucks that were admitted.
+     * @param rejections      Amount of trucks that were turned away.
+     * @param acquisitions    Amount of trucks that were handed out.
+     * @param timeouts        Amount of times no truck became available in time.
+     * @param waitNanos       Total amount of nanoseconds spent waiting for trucks.
+     * @author Marcus Talbot (1041464)
+     */
+    public record Statistics(int idle, int capacity, int maximumCapacity, int waiting, long registrations,
+                             long rejections, long acquisitions, long timeouts, long waitNanos) {
+
+        /**
+         * Gets the fraction of the capacity that is occupied by idle trucks.
+         *
+         * @return A value between zero and one. Values close to one indicate there are more trucks than needed.
+         * @author Marcus Talbot (1041464)
+         */
+        public double occupancy() {
+            return Math.min(1.0, (double) this.idle / this.capacity);
+        }
+
+        /**
+         * Gets the average amount of time a {@link Pump} waited for a truck, per handed out truck.
+         *
+         * @return The average waiting time.
+         * @author Marcus Talbot (1041464)
+         */
+        public @NotNull Duration averageWait() {
+            return this.acquisitions == 0L ? Duration.ZERO : Duration.ofNanos(this.waitNanos / this.acquisitions);
+        }
+    }
+}
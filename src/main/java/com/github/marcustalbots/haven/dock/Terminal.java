@@ -0,0 +1,297 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.dock.wait.Shift;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.ContainerTruck;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * A Terminal consists of several {@link Dock}-objects, called berths. Every berth holds its own backlog, so
+ * {@link Crane}-objects placing containers on one berth never contend with {@link Crane}-objects on another.
+ * <br><br>
+ * A {@link ContainerTruck} collects containers from its own berth first. Only while its own berth is empty does it
+ * steal containers from the other berths, nearest neighbours first. It keeps stealing after the shift of its own
+ * berth has ended, until the whole Terminal {@link #isDrained() is drained}.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see Dock
+ */
+public final class Terminal {
+
+    /**
+     * Amount of time a {@link ContainerTruck} waits on its own berth, before trying to steal from the other berths.
+     */
+    private static final long STEAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+    /**
+     * The berths of this Terminal. Never modified after construction.
+     */
+    private final List<Dock> berths;
+
+    /**
+     * Creates a new Terminal with the given amount of berths, each of which can hold the given amount of containers.
+     *
+     * @param berthCount       Amount of berths in the Terminal.
+     * @param capacityPerBerth Maximum amount of containers in the backlog of every berth.
+     * @author Marcus Talbot (1041464)
+     */
+    public Terminal(final int berthCount, final int capacityPerBerth) {
+        this(IntStream.range(0, berthCount)
+                .mapToObj(index -> new Dock(capacityPerBerth))
+                .toList());
+    }
+
+    /**
+     * Creates a new Terminal from the given berths. A {@link Dock} can only be part of a single Terminal.
+     *
+     * @param berths The {@link Dock}-objects that will serve as the berths of this Terminal.
+     * @throws IllegalArgumentException If no berths are given, or any of the berths is already part of a Terminal.
+     * @author Marcus Talbot (1041464)
+     */
+    public Terminal(@NotNull final List<Dock> berths) {
+        if (berths.isEmpty())
+            throw new IllegalArgumentException("Terminal must have at least one berth.");
+
+        if (berths.stream().anyMatch(berth -> berth.getTerminal() != null))
+            throw new IllegalArgumentException("Dock is already a berth of a Terminal.");
+
+        this.berths = List.copyOf(berths);
+        for (var index = 0; index < this.berths.size(); index++)
+            this.berths.get(index).attach(this, index);
+    }
+
+    /**
+     * Gets the berth with the given index.
+     *
+     * @param index Index of the berth, starting at zero.
+     * @return The {@link Dock} serving as the berth.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull Dock getBerth(final int index) {
+        return this.berths.get(index);
+    }
+
+    /**
+     * Gets all berths of this Terminal.
+     *
+     * @return An unmodifiable {@link List} of berths.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull List<Dock> getBerths() {
+        return this.berths;
+    }
+
+    /**
+     * Gets the amount of berths in this Terminal.
+     *
+     * @return The amount of berths.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getBerthCount() {
+        return this.berths.size();
+    }
+
+    /**
+     * Gets the total amount of containers waiting on all berths.
+     *
+     * @return The sum of the sizes of the backlogs of all berths.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getBacklogSize() {
+        return this.berths.stream().mapToInt(berth -> berth.getBacklog().size()).sum();
+    }
+
+    /**
+     * Checks whether {@link ContainerTruck}-objects have nothing left to take, or steal, from this Terminal: the shift
+     * of every berth has ended, and every backlog is empty.
+     *
+     * @return true if every berth is drained, false otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean isDrained() {
+        return this.berths.stream().allMatch(Dock::isBerthDrained);
+    }
+
+    /**
+     * Gets the {@link Shift} whose end stops a {@link ContainerTruck} of the given berth from waiting: that of the
+     * given berth, or, once it has ended, that of the nearest berth it can still steal from.
+     *
+     * @param home The berth of the {@link ContainerTruck}.
+     * @return The nearest {@link Shift} that has not ended, or that of the given berth if every {@link Shift} has.
+     * @author Marcus Talbot (1041464)
+     */
+    @NotNull Shift getConsumerShift(@NotNull final Dock home) {
+        for (var distance = 0; distance < this.berths.size(); distance++) {
+            final var shift = (distance == 0 ? home : this.neighbour(home, distance)).getShift();
+            if (!shift.isOver())
+                return shift;
+        }
+        return home.getShift();
+    }
+
+    /**
+     * Ends the {@link com.github.marcustalbots.haven.dock.wait.Shift} of every berth, waking every vehicle waiting on
+     * any of them.
+     *
+     * @author Marcus Talbot (1041464)
+     * @see Dock#endShift()
+     */
+    public void endShift() {
+        this.berths.forEach(Dock::endShift);
+    }
+
+    /**
+     * Shuts every berth down, so that each berth ends its shift once its producers have retired and it has been
+     * drained.
+     *
+     * @author Marcus Talbot (1041464)
+     * @see Dock#shutdown()
+     */
+    public void shutdown() {
+        this.berths.forEach(Dock::shutdown);
+    }
+
+    /**
+     * Waits until every berth is quiescent.
+     *
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     * @see Dock#awaitQuiescence()
+     */
+    public void awaitQuiescence() throws InterruptedException {
+        for (final var berth : this.berths)
+            berth.awaitQuiescence();
+    }
+
+    /**
+     * Takes at most max containers from the given berth, stealing from the other berths whenever the given berth is
+     * empty. Blocks until at least one container was taken, the timeout has passed, or the whole Terminal is drained;
+     * once the shift of the given berth has ended, the other berths are still stolen from.
+     *
+     * @param home    The berth containers are preferably taken from.
+     * @param target  {@link Collection} the containers will be added to.
+     * @param max     Maximum amount of containers to take.
+     * @param timeout Maximum amount of time to wait.
+     * @return The amount of containers that were taken; zero if every berth remained empty.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    int drainTo(@NotNull final Dock home, @NotNull final Collection<? super AbstractFreightContainer> target,
+                final int max, @NotNull final Duration timeout) throws InterruptedException {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            final var remaining = deadline - System.nanoTime();
+            final var slice = Math.max(0L, Math.min(remaining, Terminal.STEAL_INTERVAL_NANOS));
+
+            final var open = !home.getShift().isOver();
+            final var drained = home.getBacklog().drainTo(target, max, open ? slice : 0L, TimeUnit.NANOSECONDS);
+            if (drained > 0)
+                return drained;
+
+            final var stolen = this.steal(home, target, max);
+            if (stolen > 0 || remaining <= 0L || this.isDrained())
+                return stolen;
+            if (!open)
+                Terminal.park(slice);
+        }
+    }
+
+    /**
+     * Takes a single container from the given berth, stealing from the other berths whenever the given berth is empty.
+     * Like {@link #drainTo(Dock, Collection, int, Duration)}, it keeps stealing once the shift of the given berth has
+     * ended.
+     *
+     * @param home    The berth the container is preferably taken from.
+     * @param timeout Maximum amount of time to wait.
+     * @return A container, or null if every berth remained empty.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     * @see #drainTo(Dock, Collection, int, Duration)
+     */
+    @Nullable AbstractFreightContainer poll(@NotNull final Dock home, @NotNull final Duration timeout)
+            throws InterruptedException {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            final var remaining = deadline - System.nanoTime();
+            final var slice = Math.max(0L, Math.min(remaining, Terminal.STEAL_INTERVAL_NANOS));
+
+            final var open = !home.getShift().isOver();
+            var container = home.getBacklog().poll(open ? slice : 0L, TimeUnit.NANOSECONDS);
+            if (container != null)
+                return container;
+
+            for (var distance = 1; container == null && distance < this.berths.size(); distance++)
+                container = this.neighbour(home, distance).getBacklog().poll();
+            if (container != null || remaining <= 0L || this.isDrained())
+                return container;
+            if (!open)
+                Terminal.park(slice);
+        }
+    }
+
+    /**
+     * Parks the current thread between two attempts to steal, as the released backlog of a berth whose shift has
+     * ended no longer blocks.
+     *
+     * @param nanos Maximum amount of real nanoseconds to park.
+     * @throws InterruptedException If the current thread was interrupted.
+     * @author Marcus Talbot (1041464)
+     */
+    private static void park(final long nanos) throws InterruptedException {
+        LockSupport.parkNanos(nanos);
+        if (Thread.interrupted())
+            throw new InterruptedException();
+    }
+
+    /**
+     * Takes at most max containers from the berths other than the given berth, without blocking. Berths are visited
+     * nearest neighbours first, and the first berth that holds any containers is drained.
+     *
+     * @param home   The berth that turned out to be empty.
+     * @param target {@link Collection} the containers will be added to.
+     * @param max    Maximum amount of containers to take.
+     * @return The amount of containers that were taken.
+     * @throws InterruptedException If the current thread was interrupted.
+     * @author Marcus Talbot (1041464)
+     */
+    private int steal(@NotNull final Dock home, @NotNull final Collection<? super AbstractFreightContainer> target,
+                      final int max) throws InterruptedException {
+        for (var distance = 1; distance < this.berths.size(); distance++) {
+            final var victim = this.neighbour(home, distance).getBacklog();
+            if (victim.size() > 0) {
+                final var stolen = victim.drainTo(target, max, 0L, TimeUnit.NANOSECONDS);
+                if (stolen > 0)
+                    return stolen;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the berth at the given distance from the given berth. Distances alternate between both sides of the given
+     * berth, so that berths closest by are visited first: +1, -1, +2, -2, and so on.
+     *
+     * @param home     The berth the distance is measured from.
+     * @param distance Distance from the given berth, starting at one.
+     * @return The {@link Dock} at the given distance.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull Dock neighbour(@NotNull final Dock home, final int distance) {
+        final var offset = (distance + 1) / 2 * ((distance & 1) == 1 ? 1 : -1);
+        final var size = this.berths.size();
+        return this.berths.get(Math.floorMod(home.getBerthIndex() + offset, size));
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides a common interface for the bounded space on a {@link Dock}, where {@link AbstractFreightContainer}-objects
+ * wait to be collected. Every implementation must be thread-safe, must never hold more containers than its
+ * {@link #capacity()}, and must hand out higher priority containers before lower priority containers.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see LaneRingBufferBacklog
+ * @see PriorityBlockingBacklog
+ */
+public interface ContainerBacklog {
+
+    /**
+     * Places the given container in the backlog, if there is space for it.
+     *
+     * @param container {@link AbstractFreightContainer} that should be placed in the backlog.
+     * @return true if the container was placed, false if the backlog is full.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean offer(@NotNull final AbstractFreightContainer container);
+
+    /**
+     * Places the given container in the backlog, waiting for space to become available if necessary.
+     *
+     * @param container {@link AbstractFreightContainer} that should be placed in the backlog.
+     * @param timeout   Maximum amount of time to wait, in units of unit.
+     * @param unit      {@link TimeUnit} of the timeout.
+     * @return true if the container was placed, false if the timeout passed before space became available.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean offer(@NotNull final AbstractFreightContainer container, final long timeout, @NotNull final TimeUnit unit)
+            throws InterruptedException;
+
+    /**
+     * Takes the container with the highest priority from the backlog, if there is any.
+     *
+     * @return The container with the highest priority, or null if the backlog is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    @Nullable AbstractFreightContainer poll();
+
+    /**
+     * Takes the container with the highest priority from the backlog, waiting for a container to be placed if
+     * necessary.
+     *
+     * @param timeout Maximum amount of time to wait, in units of unit.
+     * @param unit    {@link TimeUnit} of the timeout.
+     * @return The container with the highest priority, or null if the timeout passed before a container was placed.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    @Nullable AbstractFreightContainer poll(final long timeout, @NotNull final TimeUnit unit)
+            throws InterruptedException;
+
+    /**
+     * Places as many of the given containers in the backlog as possible, waiting for space to become available if
+     * necessary. Implementations should reserve space for several containers at once, rather than synchronising per
+     * container.
+     *
+     * @param containers {@link AbstractFreightContainer AbstractFreightContainers} that should be placed in the
+     *                   backlog, in iteration order.
+     * @param timeout    Maximum amount of time to wait, in units of unit.
+     * @param unit       {@link TimeUnit} of the timeout.
+     * @return The amount of containers that were placed. The first containers in iteration order are placed first.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    int offerAll(@NotNull final Collection<? extends AbstractFreightContainer> containers, final long timeout,
+                 @NotNull final TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Takes at most max containers from the backlog, highest priority first, and adds them to the given
+     * {@link Collection}. If the backlog is empty, waits for at least one container to be placed.
+     *
+     * @param target  {@link Collection} the containers will be added to.
+     * @param max     Maximum amount of containers to take.
+     * @param timeout Maximum amount of time to wait, in units of unit.
+     * @param unit    {@link TimeUnit} of the timeout.
+     * @return The amount of containers that were taken; zero if the timeout passed before a container was placed.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    int drainTo(@NotNull final Collection<? super AbstractFreightContainer> target, final int max, final long timeout,
+                @NotNull final TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Takes at most max containers that can travel together with the given container, and adds them to the given
+     * {@link Collection}, without waiting. Containers can travel together if they are of the same type, and are taken
+     * in the order they were placed. Used to consolidate several containers into a single load.
+     *
+     * @param like   Container the taken containers should be compatible with. Not taken itself.
+     * @param target {@link Collection} the containers will be added to.
+     * @param max    Maximum amount of containers to take.
+     * @return The amount of containers that were taken.
+     * @author Marcus Talbot (1041464)
+     */
+    int drainCompatible(@NotNull final AbstractFreightContainer like,
+                        @NotNull final Collection<? super AbstractFreightContainer> target, final int max);
+
+    /**
+     * Releases every thread that is waiting for room or containers in the backlog, now or from now on. Operations with
+     * a timeout still transfer whatever they can right away, but no longer block. Used to end a
+     * {@link com.github.marcustalbots.haven.dock.wait.Shift}, after which nothing waits on the backlog anymore.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    void release();
+
+    /**
+     * Gets the amount of containers currently held by the backlog.
+     *
+     * @return The amount of containers in the backlog.
+     * @author Marcus Talbot (1041464)
+     */
+    int size();
+
+    /**
+     * Gets the maximum amount of containers the backlog can hold.
+     *
+     * @return The capacity of the backlog.
+     * @author Marcus Talbot (1041464)
+     */
+    int capacity();
+
+}
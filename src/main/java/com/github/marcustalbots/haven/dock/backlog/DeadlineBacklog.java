@@ -0,0 +1,435 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of {@link ContainerBacklog} that hands out containers earliest deadline first, rather than by the
+ * static priority of their {@link Comparable#compareTo(Object)}-implementations. Every container is due at the time
+ * it was placed on the {@link com.github.marcustalbots.haven.dock.Dock}, plus the dwell time of its type, as agreed in
+ * a {@link DwellTimeSla}.
+ * <br><br>
+ * Every type of container gets its own first-in-first-out lane. As all containers of a lane share the same dwell
+ * time, the oldest container of a lane is always the one that is due first, so only the heads of the lanes have to be
+ * compared. A container that waits long enough becomes due before any container placed after it, whatever its type,
+ * so a steady stream of heated or cooled containers can never starve the other containers.
+ * <br><br>
+ * Every container that is taken after it was due is counted as a violation of the agreement, in the
+ * {@code dock.sla.violations} {@link Counter}, and its lateness is recorded in the {@link LatencyHistogram} of its
+ * type.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class DeadlineBacklog implements ContainerBacklog {
+
+    /**
+     * Lane holding {@link HeatedFreightContainer}-objects.
+     */
+    private static final int HEATED_LANE = 0;
+
+    /**
+     * Lane holding {@link CooledFreightContainer}-objects.
+     */
+    private static final int COOLED_LANE = 1;
+
+    /**
+     * Lane holding {@link com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer}-objects, and any
+     * other type of {@link AbstractFreightContainer}.
+     */
+    private static final int OTHER_LANE = 2;
+
+    /**
+     * Amount of containers taken after they were due, across all lanes.
+     */
+    private static final Counter VIOLATIONS = MetricsRegistry.getInstance().counter("dock.sla.violations");
+
+    /**
+     * Simulated time by which containers were taken too late, per lane.
+     */
+    private static final LatencyHistogram[] LATENESS = {
+            MetricsRegistry.getInstance().histogram("dock.sla.heated.lateness"),
+            MetricsRegistry.getInstance().histogram("dock.sla.cooled.lateness"),
+            MetricsRegistry.getInstance().histogram("dock.sla.other.lateness")
+    };
+
+    /**
+     * One lane per type of container, oldest container first. Guarded by the {@link #lock}.
+     */
+    private final ArrayDeque<AbstractFreightContainer>[] lanes;
+
+    /**
+     * Dwell time of every lane, in nanoseconds of simulated time.
+     */
+    private final long[] dwellNanos;
+
+    /**
+     * Used to safely wait while the backlog is full or empty, using the {@link #notFull}- and
+     * {@link #notEmpty}-{@link Condition}-objects.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Used to wait until the backlog has space for a container.
+     */
+    private final Condition notFull;
+
+    /**
+     * Used to wait until the backlog holds any containers.
+     */
+    private final Condition notEmpty;
+
+    /**
+     * Maximum amount of containers in the backlog.
+     */
+    private final int capacity;
+
+    /**
+     * Amount of containers in the backlog. Only written while holding the {@link #lock}.
+     */
+    private volatile int size;
+
+    /**
+     * Whether waiting threads give up right away, as set by {@link #release()}. Guarded by the {@link #lock}.
+     */
+    private boolean released;
+
+    /**
+     * Creates a new, empty {@link DeadlineBacklog} with the given capacity.
+     *
+     * @param capacity Maximum amount of containers in the backlog.
+     * @param sla      Dwell time of every type of container.
+     * @author Marcus Talbot (1041464)
+     */
+    @SuppressWarnings("unchecked")
+    public DeadlineBacklog(final int capacity, @NotNull final DwellTimeSla sla) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity of backlog cannot be smaller or equal to zero.");
+
+        this.lanes = (ArrayDeque<AbstractFreightContainer>[]) new ArrayDeque<?>[]{
+                new ArrayDeque<AbstractFreightContainer>(),
+                new ArrayDeque<AbstractFreightContainer>(),
+                new ArrayDeque<AbstractFreightContainer>()
+        };
+        this.dwellNanos = new long[]{sla.heated().toNanos(), sla.cooled().toNanos(), sla.other().toNanos()};
+        this.lock = new ReentrantLock();
+        this.notFull = this.lock.newCondition();
+        this.notEmpty = this.lock.newCondition();
+        this.capacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean offer(@NotNull final AbstractFreightContainer container) {
+        this.lock.lock();
+        try {
+            if (this.size == this.capacity)
+                return false;
+            this.add(container);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean offer(@NotNull final AbstractFreightContainer container, final long timeout,
+                         @NotNull final TimeUnit unit) throws InterruptedException {
+        var remaining = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            while (this.size == this.capacity) {
+                if (remaining <= 0L || this.released)
+                    return false;
+                remaining = this.notFull.awaitNanos(remaining);
+            }
+            this.add(container);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The container with the highest priority is the container that is due first.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable AbstractFreightContainer poll() {
+        this.lock.lock();
+        try {
+            final var lane = this.earliestLane();
+            return lane < 0 ? null : this.take(lane, SimulationClock.current().nanos());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The container with the highest priority is the container that is due first.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable AbstractFreightContainer poll(final long timeout, @NotNull final TimeUnit unit)
+            throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            if (!this.awaitNotEmpty(unit.toNanos(timeout)))
+                return null;
+            return this.take(this.earliestLane(), SimulationClock.current().nanos());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The {@link #lock} is held for the entire batch.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int offerAll(@NotNull final Collection<? extends AbstractFreightContainer> containers, final long timeout,
+                        @NotNull final TimeUnit unit) throws InterruptedException {
+        var remaining = unit.toNanos(timeout);
+        var placed = 0;
+        this.lock.lockInterruptibly();
+        try {
+            for (final var container : containers) {
+                while (this.size == this.capacity) {
+                    if (remaining <= 0L || this.released)
+                        return placed;
+                    remaining = this.notFull.awaitNanos(remaining);
+                }
+                this.add(container);
+                placed++;
+            }
+            return placed;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Containers are taken earliest deadline first, and the {@link #lock} is held for the entire batch.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int drainTo(@NotNull final Collection<? super AbstractFreightContainer> target, final int max,
+                       final long timeout, @NotNull final TimeUnit unit) throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            if (!this.awaitNotEmpty(unit.toNanos(timeout)))
+                return 0;
+
+            final var now = SimulationClock.current().nanos();
+            var drained = 0;
+            int lane;
+            while (drained < max && (lane = this.earliestLane()) >= 0) {
+                target.add(this.take(lane, now));
+                drained++;
+            }
+            return drained;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Only the lane of the given container is read; its containers are due in the order they were placed.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int drainCompatible(@NotNull final AbstractFreightContainer like,
+                               @NotNull final Collection<? super AbstractFreightContainer> target, final int max) {
+        final var lane = DeadlineBacklog.laneOf(like);
+        this.lock.lock();
+        try {
+            final var now = SimulationClock.current().nanos();
+            var drained = 0;
+            while (drained < max && !this.lanes[lane].isEmpty()) {
+                target.add(this.take(lane, now));
+                drained++;
+            }
+            return drained;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void release() {
+        this.lock.lock();
+        try {
+            this.released = true;
+            this.notFull.signalAll();
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Appends a container to its lane, and notifies a thread waiting for a container. Must be called while holding the
+     * {@link #lock}, and only if the backlog is not full.
+     *
+     * @param container The container that should be added.
+     * @author Marcus Talbot (1041464)
+     */
+    private void add(@NotNull final AbstractFreightContainer container) {
+        this.lanes[DeadlineBacklog.laneOf(container)].addLast(container);
+        this.size++;
+        this.notEmpty.signal();
+    }
+
+    /**
+     * Takes the oldest container of the given lane, reports it if it was taken after it was due, and notifies a thread
+     * waiting for space. Must be called while holding the {@link #lock}, and only if the lane is not empty.
+     *
+     * @param lane Index of the lane in {@link #lanes}.
+     * @param now  Simulated time at which the container is taken.
+     * @return The container.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull AbstractFreightContainer take(final int lane, final long now) {
+        final var container = this.lanes[lane].removeFirst();
+        this.size--;
+        this.notFull.signal();
+
+        final var lateness = now - this.deadlineOf(container, lane);
+        if (lateness > 0L) {
+            DeadlineBacklog.VIOLATIONS.increment();
+            DeadlineBacklog.LATENESS[lane].record(lateness);
+        }
+        return container;
+    }
+
+    /**
+     * Waits until the backlog holds any containers. Must be called while holding the {@link #lock}.
+     *
+     * @param timeoutNanos Maximum amount of nanoseconds to wait.
+     * @return true if the backlog holds any containers, false if it remained empty, or the backlog was released.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean awaitNotEmpty(final long timeoutNanos) throws InterruptedException {
+        var remaining = timeoutNanos;
+        while (this.size == 0) {
+            if (remaining <= 0L || this.released)
+                return false;
+            remaining = this.notEmpty.awaitNanos(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the lane whose oldest container is due first. Ties go to the lane with the lowest index. Must be called
+     * while holding the {@link #lock}.
+     *
+     * @return The index of the lane in {@link #lanes}, or -1 if every lane is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    private int earliestLane() {
+        var earliest = -1;
+        var earliestDeadline = 0L;
+        for (var lane = 0; lane < this.lanes.length; lane++) {
+            final var head = this.lanes[lane].peekFirst();
+            if (head == null)
+                continue;
+            final var deadline = this.deadlineOf(head, lane);
+            // Compared by difference, as deadlines may overflow for very long dwell times.
+            if (earliest < 0 || deadline - earliestDeadline < 0L) {
+                earliest = lane;
+                earliestDeadline = deadline;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Determines the simulated time at which a container is due.
+     *
+     * @param container The container.
+     * @param lane      Index of the lane of the container in {@link #lanes}.
+     * @return The time the container was placed, plus the dwell time of its lane.
+     * @author Marcus Talbot (1041464)
+     */
+    private long deadlineOf(@NotNull final AbstractFreightContainer container, final int lane) {
+        return container.getDockedNanos() + this.dwellNanos[lane];
+    }
+
+    /**
+     * Determines the lane a container belongs in.
+     *
+     * @param container The container that is being placed.
+     * @return The index of the lane in {@link #lanes}.
+     * @author Marcus Talbot (1041464)
+     */
+    private static int laneOf(@NotNull final AbstractFreightContainer container) {
+        return switch (container) {
+            // NB: Requires Java 17 preview features to be enabled!
+            case HeatedFreightContainer h -> DeadlineBacklog.HEATED_LANE;
+            case CooledFreightContainer c -> DeadlineBacklog.COOLED_LANE;
+            default -> DeadlineBacklog.OTHER_LANE;
+        };
+    }
+}
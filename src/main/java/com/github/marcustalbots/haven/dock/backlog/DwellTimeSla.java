@@ -0,0 +1,105 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Service level agreement on the time containers may spend on a {@link com.github.marcustalbots.haven.dock.Dock}, per
+ * type of container. A container that is placed at time t is due at t plus the dwell time of its type; a
+ * {@link DeadlineBacklog} hands out the container that is due first, and reports every container taken after it was
+ * due as a violation.
+ * <br><br>
+ * Agreements are described by strings, as parsed by {@link #parse(String)}: either {@code default}, or three ISO-8601
+ * durations, such as {@code PT15S,PT15S,PT1M}, for {@link HeatedFreightContainer}-, {@link CooledFreightContainer}- and
+ * {@link DefaultFreightContainer}-objects respectively.
+ *
+ * @param heated Maximum dwell time of {@link HeatedFreightContainer}-objects.
+ * @param cooled Maximum dwell time of {@link CooledFreightContainer}-objects.
+ * @param other  Maximum dwell time of {@link DefaultFreightContainer}-objects, and any other type of container.
+ * @author Marcus Talbot (1041464)
+ */
+public record DwellTimeSla(@NotNull Duration heated, @NotNull Duration cooled, @NotNull Duration other) {
+
+    /**
+     * Fifteen seconds for {@link HeatedFreightContainer}- and {@link CooledFreightContainer}-objects, and a minute for
+     * all other containers.
+     */
+    public static final DwellTimeSla DEFAULT =
+            new DwellTimeSla(Duration.ofSeconds(15L), Duration.ofSeconds(15L), Duration.ofMinutes(1L));
+
+    /**
+     * Validates the agreement.
+     *
+     * @throws IllegalArgumentException If any dwell time is negative.
+     * @author Marcus Talbot (1041464)
+     */
+    public DwellTimeSla {
+        if (heated.isNegative() || cooled.isNegative() || other.isNegative())
+            throw new IllegalArgumentException("Dwell time of a container cannot be negative.");
+    }
+
+    /**
+     * Creates an agreement from its description, as described above.
+     *
+     * @param description Description of the agreement.
+     * @return {@link #DEFAULT}, or a new agreement.
+     * @throws IllegalArgumentException If the description does not describe an agreement.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull DwellTimeSla parse(@NotNull final String description) {
+        if ("default".equalsIgnoreCase(description.trim()))
+            return DwellTimeSla.DEFAULT;
+
+        final var durations = description.split(",");
+        if (durations.length != 3)
+            throw new IllegalArgumentException("Malformed dwell time agreement: " + description);
+        try {
+            return new DwellTimeSla(Duration.parse(durations[0].trim()), Duration.parse(durations[1].trim()),
+                    Duration.parse(durations[2].trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed dwell time agreement: " + description, e);
+        }
+    }
+
+    /**
+     * Creates a copy of this agreement, with the given dwell time for {@link HeatedFreightContainer}-objects.
+     *
+     * @param heated The new maximum dwell time of {@link HeatedFreightContainer}-objects.
+     * @return A new {@link DwellTimeSla}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    public @NotNull DwellTimeSla withHeated(@NotNull final Duration heated) {
+        return new DwellTimeSla(heated, this.cooled, this.other);
+    }
+
+    /**
+     * Creates a copy of this agreement, with the given dwell time for {@link CooledFreightContainer}-objects.
+     *
+     * @param cooled The new maximum dwell time of {@link CooledFreightContainer}-objects.
+     * @return A new {@link DwellTimeSla}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    public @NotNull DwellTimeSla withCooled(@NotNull final Duration cooled) {
+        return new DwellTimeSla(this.heated, cooled, this.other);
+    }
+
+    /**
+     * Creates a copy of this agreement, with the given dwell time for all other containers.
+     *
+     * @param other The new maximum dwell time of {@link DefaultFreightContainer}-objects.
+     * @return A new {@link DwellTimeSla}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    public @NotNull DwellTimeSla withOther(@NotNull final Duration other) {
+        return new DwellTimeSla(this.heated, this.cooled, other);
+    }
+}
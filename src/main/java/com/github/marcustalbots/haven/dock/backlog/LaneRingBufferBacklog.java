@@ -0,0 +1,382 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free implementation of {@link ContainerBacklog}. Every type of {@link AbstractFreightContainer} gets its own
+ * lane; a bounded {@link RingBuffer} that keeps containers of that type in the order they were placed.
+ * <br><br>
+ * Capacity is enforced by a single atomic counter, which a producer increments before writing to a lane, and a
+ * consumer decrements after reading from one. Threads that have to wait park in a {@link WaitQueue}, rather than on a
+ * {@link java.util.concurrent.locks.Condition}, so no lock is ever taken on the hot path.
+ * <br><br>
+ * The lanes are read in the order defined by the {@link Comparable#compareTo(Object)}-implementations of the
+ * containers: {@link HeatedFreightContainer}- and {@link CooledFreightContainer}-objects first, taking turns, and
+ * {@link DefaultFreightContainer}-objects only when neither of those is waiting.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class LaneRingBufferBacklog implements ContainerBacklog {
+
+    /**
+     * Lane holding {@link HeatedFreightContainer}-objects.
+     */
+    private static final int HEATED_LANE = 0;
+
+    /**
+     * Lane holding {@link CooledFreightContainer}-objects.
+     */
+    private static final int COOLED_LANE = 1;
+
+    /**
+     * Lane holding {@link DefaultFreightContainer}-objects, and any other type of {@link AbstractFreightContainer}.
+     */
+    private static final int DEFAULT_LANE = 2;
+
+    /**
+     * One {@link RingBuffer} per type of container. Every lane is large enough to hold the full capacity, so a lane can
+     * never be full while the backlog as a whole is not.
+     */
+    private final RingBuffer<AbstractFreightContainer>[] lanes;
+
+    /**
+     * Amount of containers in the backlog, including containers that are being written to, or read from, a lane.
+     */
+    private final AtomicInteger size;
+
+    /**
+     * Alternates between the {@link #HEATED_LANE} and the {@link #COOLED_LANE}, as both have the same priority.
+     */
+    private final AtomicInteger turn;
+
+    /**
+     * Threads waiting for space to become available.
+     */
+    private final WaitQueue notFull;
+
+    /**
+     * Threads waiting for a container to be placed.
+     */
+    private final WaitQueue notEmpty;
+
+    /**
+     * Maximum amount of containers in the backlog.
+     */
+    private final int capacity;
+
+    /**
+     * Creates a new, empty {@link LaneRingBufferBacklog} with the given capacity.
+     *
+     * @param capacity Maximum amount of containers in the backlog.
+     * @author Marcus Talbot (1041464)
+     */
+    @SuppressWarnings("unchecked")
+    public LaneRingBufferBacklog(final int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity of backlog cannot be smaller or equal to zero.");
+
+        this.lanes = (RingBuffer<AbstractFreightContainer>[]) new RingBuffer<?>[]{
+                new RingBuffer<AbstractFreightContainer>(capacity),
+                new RingBuffer<AbstractFreightContainer>(capacity),
+                new RingBuffer<AbstractFreightContainer>(capacity)
+        };
+        this.size = new AtomicInteger();
+        this.turn = new AtomicInteger();
+        this.notFull = new WaitQueue();
+        this.notEmpty = new WaitQueue();
+        this.capacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean offer(@NotNull final AbstractFreightContainer container) {
+        if (!this.reserve())
+            return false;
+
+        final var lane = this.lanes[LaneRingBufferBacklog.laneOf(container)];
+        // The reservation guarantees a free slot, but a consumer may still be releasing it.
+        while (!lane.offer(container))
+            Thread.onSpinWait();
+
+        this.notEmpty.signal();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean offer(@NotNull final AbstractFreightContainer container, final long timeout,
+                         @NotNull final TimeUnit unit) throws InterruptedException {
+        return this.notFull.await(() -> this.offer(container), timeout, unit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable AbstractFreightContainer poll() {
+        while (this.size.get() > 0) {
+            final var container = this.pollLanes();
+            if (container != null) {
+                this.size.decrementAndGet();
+                this.notFull.signal();
+                return container;
+            }
+            // Every reserved container is still being written to its lane.
+            Thread.onSpinWait();
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable AbstractFreightContainer poll(final long timeout, @NotNull final TimeUnit unit)
+            throws InterruptedException {
+        final var holder = new AbstractFreightContainer[1];
+        return this.notEmpty.await(() -> (holder[0] = this.poll()) != null, timeout, unit) ? holder[0] : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Space for as many containers as fit is reserved with a single atomic update, and waiting consumers are signalled
+     * once per reservation, rather than once per container.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int offerAll(@NotNull final Collection<? extends AbstractFreightContainer> containers, final long timeout,
+                        @NotNull final TimeUnit unit) throws InterruptedException {
+        final var iterator = containers.iterator();
+        final var remaining = new int[]{containers.size()};
+
+        this.notFull.await(() -> {
+            remaining[0] -= this.offerBatch(iterator, remaining[0]);
+            return remaining[0] == 0;
+        }, timeout, unit);
+
+        return containers.size() - remaining[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The amount of containers in the backlog is updated with a single atomic update, and waiting producers are
+     * signalled once per drained batch, rather than once per container.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int drainTo(@NotNull final Collection<? super AbstractFreightContainer> target, final int max,
+                       final long timeout, @NotNull final TimeUnit unit) throws InterruptedException {
+        final var drained = new int[1];
+        this.notEmpty.await(() -> (drained[0] = this.drainBatch(target, max)) > 0, timeout, unit);
+        return drained[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Only the lane of the given container is read, so no other lane is ever skipped over.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int drainCompatible(@NotNull final AbstractFreightContainer like,
+                               @NotNull final Collection<? super AbstractFreightContainer> target, final int max) {
+        final var lane = this.lanes[LaneRingBufferBacklog.laneOf(like)];
+        var drained = 0;
+        AbstractFreightContainer container;
+        while (drained < max && (container = lane.poll()) != null) {
+            target.add(container);
+            drained++;
+        }
+
+        if (drained > 0) {
+            this.size.addAndGet(-drained);
+            if (drained > 1)
+                this.notFull.signalAll();
+            else
+                this.notFull.signal();
+        }
+        return drained;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void release() {
+        this.notFull.release();
+        this.notEmpty.release();
+    }
+
+    /**
+     * Reserves space for a single container, without taking a lock.
+     *
+     * @return true if space was reserved, false if the backlog is full.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean reserve() {
+        return this.reserve(1) == 1;
+    }
+
+    /**
+     * Reserves space for at most the given amount of containers, with a single atomic update.
+     *
+     * @param wanted Amount of containers space is needed for.
+     * @return The amount of containers space was reserved for; zero if the backlog is full.
+     * @author Marcus Talbot (1041464)
+     */
+    private int reserve(final int wanted) {
+        var current = this.size.get();
+        while (current < this.capacity && wanted > 0) {
+            final var granted = Math.min(wanted, this.capacity - current);
+            if (this.size.compareAndSet(current, current + granted))
+                return granted;
+            current = this.size.get();
+        }
+        return 0;
+    }
+
+    /**
+     * Reserves space for as many of the next containers as fit in one go, and writes them to their lanes.
+     *
+     * @param iterator  Iterator over the containers that still need to be placed.
+     * @param remaining Amount of containers left in the iterator.
+     * @return The amount of containers that were placed.
+     * @author Marcus Talbot (1041464)
+     */
+    private int offerBatch(@NotNull final Iterator<? extends AbstractFreightContainer> iterator, final int remaining) {
+        final var reserved = this.reserve(remaining);
+
+        for (var index = 0; index < reserved; index++) {
+            final var container = iterator.next();
+            final var lane = this.lanes[LaneRingBufferBacklog.laneOf(container)];
+            while (!lane.offer(container))
+                Thread.onSpinWait();
+        }
+
+        if (reserved > 1)
+            this.notEmpty.signalAll();
+        else if (reserved == 1)
+            this.notEmpty.signal();
+        return reserved;
+    }
+
+    /**
+     * Takes at most max containers from the lanes, highest priority first.
+     *
+     * @param target {@link Collection} the containers will be added to.
+     * @param max    Maximum amount of containers to take.
+     * @return The amount of containers that were taken.
+     * @author Marcus Talbot (1041464)
+     */
+    private int drainBatch(@NotNull final Collection<? super AbstractFreightContainer> target, final int max) {
+        var drained = 0;
+        while (drained < max && this.size.get() - drained > 0) {
+            final var container = this.pollLanes();
+            if (container == null) {
+                if (drained > 0)
+                    break;
+                // Every reserved container is still being written to its lane.
+                Thread.onSpinWait();
+                continue;
+            }
+            target.add(container);
+            drained++;
+        }
+
+        if (drained > 0) {
+            this.size.addAndGet(-drained);
+            if (drained > 1)
+                this.notFull.signalAll();
+            else
+                this.notFull.signal();
+        }
+        return drained;
+    }
+
+    /**
+     * Takes the oldest container from the lane with the highest priority that is not empty.
+     *
+     * @return A container, or null if every lane is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    private @Nullable AbstractFreightContainer pollLanes() {
+        final var first = (this.turn.getAndIncrement() & 1) == 0
+                ? LaneRingBufferBacklog.HEATED_LANE
+                : LaneRingBufferBacklog.COOLED_LANE;
+        final var second = first == LaneRingBufferBacklog.HEATED_LANE
+                ? LaneRingBufferBacklog.COOLED_LANE
+                : LaneRingBufferBacklog.HEATED_LANE;
+
+        var container = this.lanes[first].poll();
+        if (container == null)
+            container = this.lanes[second].poll();
+        if (container == null)
+            container = this.lanes[LaneRingBufferBacklog.DEFAULT_LANE].poll();
+        return container;
+    }
+
+    /**
+     * Determines the lane a container belongs in.
+     *
+     * @param container The container that is being placed.
+     * @return The index of the lane in {@link #lanes}.
+     * @author Marcus Talbot (1041464)
+     */
+    private static int laneOf(@NotNull final AbstractFreightContainer container) {
+        return switch (container) {
+            // NB: Requires Java 17 preview features to be enabled!
+            case HeatedFreightContainer h -> LaneRingBufferBacklog.HEATED_LANE;
+            case CooledFreightContainer c -> LaneRingBufferBacklog.COOLED_LANE;
+            default -> LaneRingBufferBacklog.DEFAULT_LANE;
+        };
+    }
+}
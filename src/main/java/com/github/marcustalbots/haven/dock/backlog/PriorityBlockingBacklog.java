@@ -0,0 +1,300 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of {@link ContainerBacklog} that uses a {@link PriorityBlockingQueue}, guarded by a fair
+ * {@link ReentrantLock} to enforce its capacity. This was the only backlog before {@link LaneRingBufferBacklog} was
+ * introduced, and is kept for comparison.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class PriorityBlockingBacklog implements ContainerBacklog {
+
+    /**
+     * Holds the containers, ordered by their {@link Comparable#compareTo(Object)}-implementations.
+     */
+    private final PriorityBlockingQueue<AbstractFreightContainer> queue;
+
+    /**
+     * Used to safely wait while the {@link #queue} is full or empty, using the {@link #notFull}- and
+     * {@link #notEmpty}-{@link Condition}-objects.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Used to offer an Object-Oriented wait/notify-interface.
+     */
+    private final Condition notFull;
+
+    /**
+     * Used to wait until the {@link #queue} holds any containers.
+     */
+    private final Condition notEmpty;
+
+    /**
+     * Maximum amount of containers in the {@link #queue}.
+     */
+    private final int capacity;
+
+    /**
+     * Whether waiting threads give up right away, as set by {@link #release()}. Guarded by the {@link #lock}.
+     */
+    private boolean released;
+
+    /**
+     * Creates a new, empty {@link PriorityBlockingBacklog} with the given capacity.
+     *
+     * @param capacity Maximum amount of containers in the backlog.
+     * @author Marcus Talbot (1041464)
+     */
+    public PriorityBlockingBacklog(final int capacity) {
+        this.queue = new PriorityBlockingQueue<>(capacity);
+        this.lock = new ReentrantLock(true);
+        this.notFull = this.lock.newCondition();
+        this.notEmpty = this.lock.newCondition();
+        this.capacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean offer(@NotNull final AbstractFreightContainer container) {
+        this.lock.lock();
+        try {
+            if (this.queue.size() == this.capacity)
+                return false;
+            this.queue.offer(container);
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean offer(@NotNull final AbstractFreightContainer container, final long timeout,
+                         @NotNull final TimeUnit unit) throws InterruptedException {
+        var remaining = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            while (this.queue.size() == this.capacity) {
+                if (remaining <= 0L || this.released)
+                    return false;
+                remaining = this.notFull.awaitNanos(remaining);
+            }
+            this.queue.offer(container);
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable AbstractFreightContainer poll() {
+        final var container = this.queue.poll();
+        if (container != null)
+            this.signalNotFull();
+        return container;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable AbstractFreightContainer poll(final long timeout, @NotNull final TimeUnit unit)
+            throws InterruptedException {
+        final var container = this.queue.poll();
+        if (container != null) {
+            this.signalNotFull();
+            return container;
+        }
+        return this.awaitFirst(unit.toNanos(timeout));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The {@link #lock} is held for the entire batch.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int offerAll(@NotNull final Collection<? extends AbstractFreightContainer> containers, final long timeout,
+                        @NotNull final TimeUnit unit) throws InterruptedException {
+        var remaining = unit.toNanos(timeout);
+        var placed = 0;
+        this.lock.lockInterruptibly();
+        try {
+            for (final var container : containers) {
+                while (this.queue.size() == this.capacity) {
+                    if (remaining <= 0L || this.released)
+                        return placed;
+                    remaining = this.notFull.awaitNanos(remaining);
+                }
+                this.queue.offer(container);
+                this.notEmpty.signal();
+                placed++;
+            }
+            return placed;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int drainTo(@NotNull final Collection<? super AbstractFreightContainer> target, final int max,
+                       final long timeout, @NotNull final TimeUnit unit) throws InterruptedException {
+        var first = this.queue.poll();
+        if (first == null && (first = this.awaitFirst(unit.toNanos(timeout))) == null)
+            return 0;
+
+        target.add(first);
+        final var drained = 1 + this.queue.drainTo(target, max - 1);
+
+        this.lock.lock();
+        try {
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+        return drained;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The {@link #queue} is not ordered by arrival within a type, so compatible containers are taken in iteration
+     * order instead.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int drainCompatible(@NotNull final AbstractFreightContainer like,
+                               @NotNull final Collection<? super AbstractFreightContainer> target, final int max) {
+        var drained = 0;
+        for (final var container : this.queue) {
+            if (drained == max)
+                break;
+            if (container.getClass() == like.getClass() && this.queue.remove(container)) {
+                target.add(container);
+                drained++;
+            }
+        }
+
+        if (drained > 0) {
+            this.lock.lock();
+            try {
+                this.notFull.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void release() {
+        this.lock.lock();
+        try {
+            this.released = true;
+            this.notFull.signalAll();
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for a container to be placed in the {@link #queue}, and takes it.
+     *
+     * @param timeoutNanos Maximum amount of nanoseconds to wait.
+     * @return The container, or null if the {@link #queue} remained empty, or the backlog was released.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    private @Nullable AbstractFreightContainer awaitFirst(final long timeoutNanos) throws InterruptedException {
+        var remaining = timeoutNanos;
+        this.lock.lockInterruptibly();
+        try {
+            AbstractFreightContainer container;
+            while ((container = this.queue.poll()) == null) {
+                if (remaining <= 0L || this.released)
+                    return null;
+                remaining = this.notEmpty.awaitNanos(remaining);
+            }
+            this.notFull.signal();
+            return container;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Notifies a thread waiting for space in the {@link #queue}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void signalNotFull() {
+        this.lock.lock();
+        try {
+            this.notFull.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
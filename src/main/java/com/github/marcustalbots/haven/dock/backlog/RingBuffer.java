@@ -0,0 +1,145 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, multi-producer/multi-consumer FIFO queue. Every slot carries a sequence number, which tells
+ * producers and consumers whether the slot is free to be written or ready to be read, so that neither side ever needs
+ * a lock (D. Vyukov's bounded MPMC queue).
+ *
+ * @param <E> Type of the elements held by the {@link RingBuffer}.
+ * @author Marcus Talbot (1041464)
+ */
+final class RingBuffer<E> {
+
+    /**
+     * Slots holding the elements.
+     */
+    private final AtomicReferenceArray<E> buffer;
+
+    /**
+     * Sequence number of every slot. A slot at position p may be written when its sequence equals p, and may be read
+     * when its sequence equals p + 1.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Used to map a position onto a slot. The capacity is always a power of two.
+     */
+    private final int mask;
+
+    /**
+     * Position the next element will be written to.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Position the next element will be read from.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates a new, empty {@link RingBuffer}, that can hold at least the given amount of elements.
+     *
+     * @param minimumCapacity Minimum amount of elements the {@link RingBuffer} must be able to hold.
+     * @author Marcus Talbot (1041464)
+     */
+    RingBuffer(final int minimumCapacity) {
+        if (minimumCapacity <= 0)
+            throw new IllegalArgumentException("Capacity of RingBuffer must be greater than zero.");
+
+        final var capacity = Integer.highestOneBit(minimumCapacity) == minimumCapacity
+                ? minimumCapacity
+                : Integer.highestOneBit(minimumCapacity) << 1;
+
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        for (var index = 0; index < capacity; index++)
+            this.sequences.set(index, index);
+    }
+
+    /**
+     * Appends the given element, if there is a free slot.
+     *
+     * @param element Element to append.
+     * @return true if the element was appended, false if the {@link RingBuffer} is full.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean offer(@NotNull final E element) {
+        var position = this.tail.get();
+        while (true) {
+            final var index = (int) position & this.mask;
+            final var difference = this.sequences.get(index) - position;
+
+            if (difference == 0L) {
+                if (this.tail.compareAndSet(position, position + 1L)) {
+                    this.buffer.set(index, element);
+                    this.sequences.set(index, position + 1L);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0L) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the oldest element, if there is any.
+     *
+     * @return The oldest element, or null if the {@link RingBuffer} is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    @Nullable E poll() {
+        var position = this.head.get();
+        while (true) {
+            final var index = (int) position & this.mask;
+            final var difference = this.sequences.get(index) - (position + 1L);
+
+            if (difference == 0L) {
+                if (this.head.compareAndSet(position, position + 1L)) {
+                    final var element = this.buffer.get(index);
+                    this.buffer.set(index, null);
+                    this.sequences.set(index, position + this.mask + 1L);
+                    return element;
+                }
+                position = this.head.get();
+            } else if (difference < 0L) {
+                return null;
+            } else {
+                position = this.head.get();
+            }
+        }
+    }
+
+    /**
+     * Gets an estimate of the amount of elements currently held. Exact when no other thread is modifying the
+     * {@link RingBuffer}.
+     *
+     * @return The amount of elements held.
+     * @author Marcus Talbot (1041464)
+     */
+    int size() {
+        final var size = this.tail.get() - this.head.get();
+        return (int) Math.max(0L, Math.min(size, this.mask + 1L));
+    }
+
+    /**
+     * Gets the amount of slots in the {@link RingBuffer}.
+     *
+     * @return The capacity of the {@link RingBuffer}.
+     * @author Marcus Talbot (1041464)
+     */
+    int capacity() {
+        return this.mask + 1;
+    }
+}
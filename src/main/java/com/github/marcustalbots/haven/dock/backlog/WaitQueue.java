@@ -0,0 +1,105 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lock-free replacement for a {@link java.util.concurrent.locks.Condition}. Threads that cannot make progress park
+ * themselves in the {@link WaitQueue}, and are unparked by the thread that changes the state they are waiting for.
+ * <br><br>
+ * A waiting thread registers itself before checking its condition for the last time, and the signalling thread changes
+ * the state before looking for waiting threads. This ordering guarantees that no signal is lost.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class WaitQueue {
+
+    /**
+     * Threads that are currently parked, or about to park, in this {@link WaitQueue}.
+     */
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether waiting threads give up right away, as set by {@link #release()}.
+     */
+    private volatile boolean released;
+
+    /**
+     * Repeatedly evaluates the given attempt, parking the current thread in between, until the attempt succeeds or
+     * the timeout passes, or this {@link WaitQueue} is released.
+     *
+     * @param attempt Non-blocking attempt to make progress. Must return true on success.
+     * @param timeout Maximum amount of time to wait, in units of unit.
+     * @param unit    {@link TimeUnit} of the timeout.
+     * @return true if the attempt succeeded, false if the timeout passed, or this {@link WaitQueue} was released,
+     * first.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean await(@NotNull final BooleanSupplier attempt, final long timeout, @NotNull final TimeUnit unit)
+            throws InterruptedException {
+        if (attempt.getAsBoolean())
+            return true;
+
+        final var thread = Thread.currentThread();
+        final var deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (true) {
+            this.waiters.add(thread);
+            try {
+                if (attempt.getAsBoolean())
+                    return true;
+
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0L || this.released)
+                    return false;
+
+                LockSupport.parkNanos(this, remaining);
+            } finally {
+                this.waiters.remove(thread);
+            }
+
+            if (Thread.interrupted())
+                throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Unparks a single waiting thread, if there is any. Cheap when nothing is waiting.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    void signal() {
+        if (this.waiters.isEmpty())
+            return;
+
+        final var thread = this.waiters.poll();
+        if (thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Unparks every waiting thread.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    void signalAll() {
+        Thread thread;
+        while ((thread = this.waiters.poll()) != null)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Wakes every waiting thread, and makes every thread that waits from now on give up instead of parking.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    void release() {
+        this.released = true;
+        this.signalAll();
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains the backlog-implementations a {@link com.github.marcustalbots.haven.dock.Dock} can use to hold containers,
+ * until they are collected.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.dock.backlog;
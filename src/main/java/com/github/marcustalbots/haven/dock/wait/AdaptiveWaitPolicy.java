@@ -0,0 +1,129 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link WaitPolicy} that parks once, for a multiple of the average time between containers arriving. A thread that
+ * has seen no container for several times the usual gap can assume the flow of containers has stopped, whereas a
+ * fixed timeout is either far too long for a busy {@link com.github.marcustalbots.haven.dock.Dock}, or too short for a
+ * quiet one.
+ * <br><br>
+ * The average is an exponentially weighted moving average, in which every new gap weighs an eighth. Until two
+ * arrivals have been observed, the policy parks for its maximum.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class AdaptiveWaitPolicy implements WaitPolicy {
+
+    /**
+     * Marks that no arrival has been observed yet.
+     */
+    private static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * Amount of average gaps to park.
+     */
+    private final double multiplier;
+
+    /**
+     * Minimum amount of simulated nanoseconds to park.
+     */
+    private final long minimumNanos;
+
+    /**
+     * Maximum amount of simulated nanoseconds to park.
+     */
+    private final long maximumNanos;
+
+    /**
+     * Simulated time of the latest arrival, or {@link #NONE}.
+     */
+    private final AtomicLong lastArrival = new AtomicLong(AdaptiveWaitPolicy.NONE);
+
+    /**
+     * Average amount of simulated nanoseconds between arrivals, or {@link #NONE}.
+     */
+    private final AtomicLong averageGap = new AtomicLong(AdaptiveWaitPolicy.NONE);
+
+    /**
+     * Creates a new {@link AdaptiveWaitPolicy}, which has not observed any arrivals yet.
+     *
+     * @param multiplier Amount of average gaps to park. Must be greater than zero.
+     * @param minimum    Minimum amount of simulated time to park.
+     * @param maximum    Maximum amount of simulated time to park.
+     * @author Marcus Talbot (1041464)
+     */
+    AdaptiveWaitPolicy(final double multiplier, @NotNull final Duration minimum, @NotNull final Duration maximum) {
+        if (!(multiplier > 0.0))
+            throw new IllegalArgumentException("Multiplier must be greater than zero.");
+        if (minimum.isNegative() || maximum.compareTo(minimum) < 0)
+            throw new IllegalArgumentException("Minimum cannot be negative, or greater than the maximum.");
+        this.multiplier = multiplier;
+        this.minimumNanos = minimum.toNanos();
+        this.maximumNanos = maximum.toNanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long sliceNanos(final int attempt, final long parkedNanos) {
+        return attempt == 0 ? this.getTimeoutNanos() : WaitPolicy.GIVE_UP;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Several containers arriving at once count as as many arrivals, spread evenly since the previous arrival.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void recordArrivals(final long simulatedNanos, final int count) {
+        if (count <= 0)
+            return;
+
+        final var previous = this.lastArrival.getAndSet(simulatedNanos);
+        if (previous == AdaptiveWaitPolicy.NONE)
+            return;
+
+        // Arrivals on different threads may be recorded slightly out of order.
+        final var gap = Math.max(0L, simulatedNanos - previous) / count;
+        while (true) {
+            final var average = this.averageGap.get();
+            final var next = average == AdaptiveWaitPolicy.NONE ? gap : average + (gap - average) / 8L;
+            if (this.averageGap.compareAndSet(average, next))
+                return;
+        }
+    }
+
+    /**
+     * Gets the amount of simulated time the next wait parks.
+     *
+     * @return The average gap times the multiplier, between the minimum and maximum, in simulated nanoseconds.
+     * @author Marcus Talbot (1041464)
+     */
+    long getTimeoutNanos() {
+        final var average = this.averageGap.get();
+        if (average == AdaptiveWaitPolicy.NONE)
+            return this.maximumNanos;
+        return Math.max(this.minimumNanos, Math.min(this.maximumNanos, (long) (average * this.multiplier)));
+    }
+
+    /**
+     * Describes this policy, as accepted by {@link WaitPolicy#parse(String)}.
+     *
+     * @return A description of this policy.
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public String toString() {
+        return "adaptive:" + this.multiplier + ',' + Duration.ofNanos(this.minimumNanos) + ','
+                + Duration.ofNanos(this.maximumNanos);
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * {@link WaitPolicy} that parks for a short time first, and twice as long every next attempt, up to a maximum. Short
+ * first slices let a thread notice quickly that it has been released, while later slices keep a thread that waits
+ * for a long time from waking up needlessly often.
+ *
+ * @param initial Amount of simulated time the first attempt parks.
+ * @param maximum Maximum amount of simulated time a single attempt parks.
+ * @param total   Total amount of simulated time to park, or null to park until the end of the {@link Shift}.
+ * @author Marcus Talbot (1041464)
+ */
+record ExponentialBackoffWaitPolicy(@NotNull Duration initial, @NotNull Duration maximum, @Nullable Duration total)
+        implements WaitPolicy {
+
+    /**
+     * Validates the {@link ExponentialBackoffWaitPolicy}.
+     *
+     * @throws IllegalArgumentException If the initial slice is not positive, or the maximum slice or total is smaller
+     *                                  than the initial slice.
+     * @author Marcus Talbot (1041464)
+     */
+    ExponentialBackoffWaitPolicy {
+        if (initial.isNegative() || initial.isZero())
+            throw new IllegalArgumentException("Initial slice must be greater than zero.");
+        if (maximum.compareTo(initial) < 0 || total != null && total.compareTo(initial) < 0)
+            throw new IllegalArgumentException("Maximum slice and total cannot be smaller than the initial slice.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long sliceNanos(final int attempt, final long parkedNanos) {
+        final var initialNanos = this.initial.toNanos();
+        final var shift = Math.min(attempt, Long.numberOfLeadingZeros(initialNanos) - 1);
+        final var slice = Math.min(this.maximum.toNanos(), initialNanos << shift);
+        if (this.total == null)
+            return slice;
+
+        final var remaining = this.total.toNanos() - parkedNanos;
+        return remaining > 0L ? Math.min(slice, remaining) : WaitPolicy.GIVE_UP;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * {@link WaitPolicy} that parks once, for a fixed amount of simulated time.
+ *
+ * @param timeout Amount of simulated time to park.
+ * @author Marcus Talbot (1041464)
+ */
+record FixedWaitPolicy(@NotNull Duration timeout) implements WaitPolicy {
+
+    /**
+     * Validates the {@link FixedWaitPolicy}.
+     *
+     * @throws IllegalArgumentException If the timeout is negative.
+     * @author Marcus Talbot (1041464)
+     */
+    FixedWaitPolicy {
+        if (timeout.isNegative())
+            throw new IllegalArgumentException("Timeout cannot be negative.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long sliceNanos(final int attempt, final long parkedNanos) {
+        return attempt == 0 ? this.timeout.toNanos() : WaitPolicy.GIVE_UP;
+    }
+}
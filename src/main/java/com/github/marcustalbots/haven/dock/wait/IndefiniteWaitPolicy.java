@@ -0,0 +1,43 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+/**
+ * {@link WaitPolicy} that parks until it is woken by the end of its {@link Shift}, and never gives up by itself.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class IndefiniteWaitPolicy implements WaitPolicy {
+
+    /**
+     * The only instance; the policy holds no state.
+     */
+    static final IndefiniteWaitPolicy INSTANCE = new IndefiniteWaitPolicy();
+
+    /**
+     * Private constructor, use {@link #INSTANCE} instead.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private IndefiniteWaitPolicy() {
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long sliceNanos(final int attempt, final long parkedNanos) {
+        return WaitPolicy.INDEFINITE;
+    }
+
+    /**
+     * Describes this policy, as accepted by {@link WaitPolicy#parse(String)}.
+     *
+     * @return "indefinite".
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public String toString() {
+        return "indefinite";
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Signals the end of a shift to every thread waiting on a {@link com.github.marcustalbots.haven.dock.Dock}. Threads
+ * that wait according to a {@link WaitPolicy} stop waiting as soon as the shift has ended, so that they can park
+ * indefinitely, rather than give up after an arbitrary timeout.
+ * <br><br>
+ * Anything a thread may be parked on registers a listener through {@link #onEnd(Runnable)}, which wakes its threads.
+ * Once ended, a Shift cannot be started again.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class Shift {
+
+    /**
+     * Whether the shift has ended.
+     */
+    private volatile boolean over;
+
+    /**
+     * Called once when the shift ends, in order of registration.
+     */
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Checks whether the shift has ended.
+     *
+     * @return {@link #over}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public boolean isOver() {
+        return this.over;
+    }
+
+    /**
+     * Ends the shift, and calls every listener. Has no effect if the shift has already ended.
+     *
+     * @return true if this call ended the shift, false if it had already ended.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean end() {
+        synchronized (this.listeners) {
+            if (this.over)
+                return false;
+            this.over = true;
+        }
+        this.listeners.forEach(Runnable::run);
+        return true;
+    }
+
+    /**
+     * Registers a listener that is called when the shift ends. If the shift has already ended, the listener is called
+     * right away, on the current thread.
+     *
+     * @param listener Wakes whatever threads are parked on the caller.
+     * @author Marcus Talbot (1041464)
+     */
+    public void onEnd(@NotNull final Runnable listener) {
+        synchronized (this.listeners) {
+            if (!this.over) {
+                this.listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+}
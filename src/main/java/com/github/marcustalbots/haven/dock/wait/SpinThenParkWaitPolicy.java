@@ -0,0 +1,35 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link WaitPolicy} that attempts a number of times without parking, before waiting according to another policy.
+ * Spinning avoids the cost of parking and waking a thread when the wait is expected to be short, such as when
+ * producers and consumers of a {@link com.github.marcustalbots.haven.dock.Dock} run at nearly the same rate.
+ *
+ * @param spins    Amount of attempts that spin.
+ * @param delegate The policy that decides every attempt after spinning.
+ * @author Marcus Talbot (1041464)
+ */
+record SpinThenParkWaitPolicy(int spins, @NotNull WaitPolicy delegate) implements WaitPolicy {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long sliceNanos(final int attempt, final long parkedNanos) {
+        return attempt < this.spins ? WaitPolicy.SPIN : this.delegate.sliceNanos(attempt - this.spins, parkedNanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void recordArrivals(final long simulatedNanos, final int count) {
+        this.delegate.recordArrivals(simulatedNanos, count);
+    }
+}
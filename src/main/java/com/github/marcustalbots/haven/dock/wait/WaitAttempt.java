@@ -0,0 +1,23 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+/**
+ * A single attempt at whatever a thread is waiting for, such as taking a container from a
+ * {@link com.github.marcustalbots.haven.dock.backlog.ContainerBacklog}. Called repeatedly by
+ * {@link WaitPolicy#await(Shift, WaitAttempt)}, with the amount of time the attempt may block.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+@FunctionalInterface
+public interface WaitAttempt {
+
+    /**
+     * Attempts to complete the wait, blocking for, at most, the given amount of real time.
+     *
+     * @param realNanos Amount of real nanoseconds the attempt may block. Zero if the attempt must not block at all, or
+     *                  {@link Long#MAX_VALUE} if the attempt may block until it is woken.
+     * @return true if the wait is complete, false otherwise.
+     * @throws InterruptedException If the current thread was interrupted while blocking.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean attempt(final long realNanos) throws InterruptedException;
+}
@@ -0,0 +1,218 @@
+package com.github.marcustalbots.haven.dock.wait;
+
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Decides how long a thread waits on a {@link com.github.marcustalbots.haven.dock.Dock}, before it gives up. A wait
+ * consists of attempts; before every attempt, the policy decides whether the attempt spins, parks for a while, parks
+ * until it is woken, or whether the thread gives up instead. Whatever the policy, a thread stops waiting as soon as
+ * its {@link Shift} has ended.
+ * <br><br>
+ * Policies are described by strings, as parsed by {@link #parse(String)}:
+ * <ul>
+ *     <li>{@code fixed[:<timeout>]}: Parks once, for thirty seconds unless specified otherwise.</li>
+ *     <li>{@code indefinite}: Parks until the {@link Shift} ends.</li>
+ *     <li>{@code backoff[:<initial>,<maximum>,<total>|indefinite]}: Parks for a millisecond, doubling every attempt
+ *     up to a second, until thirty seconds have passed, unless specified otherwise.</li>
+ *     <li>{@code adaptive[:<multiplier>,<minimum>,<maximum>]}: Parks once, for eight times the average time between
+ *     containers arriving on the {@link com.github.marcustalbots.haven.dock.Dock}, but at least ten milliseconds and
+ *     at most thirty seconds, unless specified otherwise.</li>
+ * </ul>
+ * Every duration is an ISO-8601 duration, such as {@code PT0.5S}.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see Shift
+ */
+public interface WaitPolicy {
+
+    /**
+     * Returned by {@link #sliceNanos(int, long)} to attempt once more without parking.
+     */
+    long SPIN = 0L;
+
+    /**
+     * Returned by {@link #sliceNanos(int, long)} to stop waiting.
+     */
+    long GIVE_UP = -1L;
+
+    /**
+     * Returned by {@link #sliceNanos(int, long)} to park until woken.
+     */
+    long INDEFINITE = Long.MAX_VALUE;
+
+    /**
+     * Amount of simulated time a {@link com.github.marcustalbots.haven.dock.Dock} waits by default.
+     */
+    Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30L);
+
+    /**
+     * Decides how long the given attempt may park. Attempts that gave up parking early, for example because the
+     * {@link Shift} ended, still count as having parked for their entire slice.
+     *
+     * @param attempt     Index of the attempt, starting at zero.
+     * @param parkedNanos Amount of simulated time granted to all earlier attempts of the same wait.
+     * @return Amount of simulated nanoseconds to park, or {@link #SPIN}, {@link #INDEFINITE}, or {@link #GIVE_UP}.
+     * @author Marcus Talbot (1041464)
+     */
+    long sliceNanos(final int attempt, final long parkedNanos);
+
+    /**
+     * Informs this policy that containers arrived. Does nothing, unless the policy adapts to the rate at which
+     * containers arrive.
+     *
+     * @param simulatedNanos Simulated time at which the containers arrived.
+     * @param count          Amount of containers that arrived.
+     * @author Marcus Talbot (1041464)
+     */
+    default void recordArrivals(final long simulatedNanos, final int count) {
+    }
+
+    /**
+     * Waits according to this policy, until the given attempt succeeds, this policy gives up, or the given
+     * {@link Shift} ends. Once the {@link Shift} has ended, a single attempt is made that does not block.
+     *
+     * @param shift   The {@link Shift} that ends the wait.
+     * @param attempt The {@link WaitAttempt} to repeat.
+     * @return true if an attempt succeeded, false otherwise.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    default boolean await(@NotNull final Shift shift, @NotNull final WaitAttempt attempt) throws InterruptedException {
+        final var clock = SimulationClock.current();
+        var parkedNanos = 0L;
+        for (var index = 0; !shift.isOver(); index++) {
+            final var slice = this.sliceNanos(index, parkedNanos);
+            if (slice < 0L)
+                return false;
+            if (slice == WaitPolicy.SPIN)
+                Thread.onSpinWait();
+
+            if (attempt.attempt(slice == WaitPolicy.INDEFINITE ? Long.MAX_VALUE : clock.toRealNanos(slice)))
+                return true;
+            parkedNanos = slice == WaitPolicy.INDEFINITE ? slice : parkedNanos + slice;
+        }
+        return attempt.attempt(0L);
+    }
+
+    /**
+     * Creates a policy that spins the given amount of attempts, before waiting according to this policy.
+     *
+     * @param spins Amount of attempts that spin. Must not be negative.
+     * @return A new policy, or this policy if spins is zero.
+     * @author Marcus Talbot (1041464)
+     */
+    default @NotNull WaitPolicy withSpins(final int spins) {
+        if (spins < 0)
+            throw new IllegalArgumentException("Amount of spins cannot be negative.");
+        return spins == 0 ? this : new SpinThenParkWaitPolicy(spins, this);
+    }
+
+    /**
+     * Creates a policy that parks once, for the given amount of simulated time.
+     *
+     * @param timeout Amount of simulated time to park. Zero attempts once, without parking.
+     * @return A new policy.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_ -> new")
+    static @NotNull WaitPolicy fixed(@NotNull final Duration timeout) {
+        return new FixedWaitPolicy(timeout);
+    }
+
+    /**
+     * Gets the policy that parks until it is woken by the end of its {@link Shift}.
+     *
+     * @return The policy.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    static @NotNull WaitPolicy indefinite() {
+        return IndefiniteWaitPolicy.INSTANCE;
+    }
+
+    /**
+     * Creates a policy that parks for a short time first, doubling the time it parks every attempt.
+     *
+     * @param initial Amount of simulated time the first attempt parks.
+     * @param maximum Maximum amount of simulated time a single attempt parks.
+     * @param total   Total amount of simulated time to park, after which the policy gives up, or null to park until
+     *                the end of the {@link Shift}.
+     * @return A new policy.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _, _ -> new")
+    static @NotNull WaitPolicy exponentialBackoff(@NotNull final Duration initial, @NotNull final Duration maximum,
+                                                  @Nullable final Duration total) {
+        return new ExponentialBackoffWaitPolicy(initial, maximum, total);
+    }
+
+    /**
+     * Creates a policy that parks once, for a multiple of the average time between containers arriving.
+     *
+     * @param multiplier Amount of average times between arrivals to park.
+     * @param minimum    Minimum amount of simulated time to park.
+     * @param maximum    Maximum amount of simulated time to park, and the time parked until any arrivals have been
+     *                   observed.
+     * @return A new policy.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _, _ -> new")
+    static @NotNull WaitPolicy adaptive(final double multiplier, @NotNull final Duration minimum,
+                                        @NotNull final Duration maximum) {
+        return new AdaptiveWaitPolicy(multiplier, minimum, maximum);
+    }
+
+    /**
+     * Creates a policy from its description, as described above.
+     *
+     * @param description Description of the policy.
+     * @return A new policy.
+     * @throws IllegalArgumentException If the description does not describe a policy.
+     * @author Marcus Talbot (1041464)
+     */
+    static @NotNull WaitPolicy parse(@NotNull final String description) {
+        final var separator = description.indexOf(':');
+        final var name = (separator < 0 ? description : description.substring(0, separator)).trim()
+                .toLowerCase(Locale.ROOT);
+        final var arguments = separator < 0 ? new String[0] : description.substring(separator + 1).split(",");
+
+        try {
+            return switch (name) {
+                case "fixed" -> WaitPolicy.fixed(arguments.length > 0 ? WaitPolicy.duration(arguments[0])
+                        : WaitPolicy.DEFAULT_TIMEOUT);
+                case "indefinite" -> WaitPolicy.indefinite();
+                case "backoff" -> arguments.length == 0
+                        ? WaitPolicy.exponentialBackoff(Duration.ofMillis(1L), Duration.ofSeconds(1L),
+                        WaitPolicy.DEFAULT_TIMEOUT)
+                        : WaitPolicy.exponentialBackoff(WaitPolicy.duration(arguments[0]),
+                        WaitPolicy.duration(arguments[1]),
+                        "indefinite".equalsIgnoreCase(arguments[2].trim()) ? null : WaitPolicy.duration(arguments[2]));
+                case "adaptive" -> arguments.length == 0
+                        ? WaitPolicy.adaptive(8.0, Duration.ofMillis(10L), WaitPolicy.DEFAULT_TIMEOUT)
+                        : WaitPolicy.adaptive(Double.parseDouble(arguments[0].trim()),
+                        WaitPolicy.duration(arguments[1]), WaitPolicy.duration(arguments[2]));
+                default -> throw new IllegalArgumentException("Unknown wait policy: " + description);
+            };
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed wait policy: " + description, e);
+        }
+    }
+
+    /**
+     * Parses a single ISO-8601 duration of a policy description.
+     *
+     * @param text The duration, possibly surrounded by whitespace.
+     * @return The parsed {@link Duration}.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @NotNull Duration duration(@NotNull final String text) {
+        return Duration.parse(text.trim());
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains the policies that decide how long threads wait on a {@link com.github.marcustalbots.haven.dock.Dock}, and
+ * the {@link com.github.marcustalbots.haven.dock.wait.Shift} that wakes them when work has ended.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.dock.wait;
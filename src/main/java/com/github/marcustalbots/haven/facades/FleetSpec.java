@@ -0,0 +1,71 @@
+package com.github.marcustalbots.haven.facades;
+
+import com.github.marcustalbots.haven.builders.ship.FreightMix;
+import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
+import com.github.marcustalbots.haven.impl.vehicles.ships.OilShip;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes a fleet of ships, to be built all at once by {@link ShipBuilderFacade#buildFleet(FleetSpec)}. Every ship
+ * of the fleet is filled on build.
+ *
+ * @param prefix         Prefix of the identifier of every ship. Ships are identified by the prefix, followed by their
+ *                       index in the fleet.
+ * @param containerShips Amount of {@link ContainerShip}-objects in the fleet.
+ * @param oilShips       Amount of {@link OilShip}-objects in the fleet.
+ * @param capacity       Capacity of every ship.
+ * @param useManifest    Whether every ship is backed by a
+ *                       {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}.
+ * @param parallelFill   Whether every ship is filled in parallel, on top of the ships being built in parallel.
+ * @param freightMix     Ratio between the types of containers on every {@link ContainerShip}, or null to make every
+ *                       type equally likely.
+ * @author Marcus Talbot (1041464)
+ */
+public record FleetSpec(@NotNull String prefix, int containerShips, int oilShips, int capacity, boolean useManifest,
+                        boolean parallelFill, @Nullable FreightMix freightMix) {
+
+    /**
+     * Validates the {@link FleetSpec}.
+     *
+     * @throws IllegalArgumentException If an amount of ships is negative, or the capacity is not positive.
+     * @author Marcus Talbot (1041464)
+     */
+    public FleetSpec {
+        if (containerShips < 0 || oilShips < 0)
+            throw new IllegalArgumentException("Amount of ships cannot be negative.");
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be greater than zero.");
+    }
+
+    /**
+     * Describes a fleet of ships that are filled one container after the other, with every type of container equally
+     * likely. Ships are backed by a {@link com.github.marcustalbots.haven.models.manifests.FreightManifest} if the
+     * {@code haven.ships.manifest} system property is set.
+     *
+     * @param prefix         Prefix of the identifier of every ship.
+     * @param containerShips Amount of {@link ContainerShip}-objects in the fleet.
+     * @param oilShips       Amount of {@link OilShip}-objects in the fleet.
+     * @param capacity       Capacity of every ship.
+     * @return A new {@link FleetSpec}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull FleetSpec of(@NotNull final String prefix, final int containerShips, final int oilShips,
+                                        final int capacity) {
+        return new FleetSpec(prefix, containerShips, oilShips, capacity, Boolean.getBoolean("haven.ships.manifest"),
+                false, null);
+    }
+
+    /**
+     * Gets the amount of ships in the fleet.
+     *
+     * @return The sum of {@link #containerShips()} and {@link #oilShips()}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public int size() {
+        return this.containerShips + this.oilShips;
+    }
+}
@@ -7,13 +7,19 @@ import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
 import com.github.marcustalbots.haven.impl.vehicles.ships.OilShip;
 import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
 import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import com.github.marcustalbots.haven.utils.TimeUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
 /**
  * The {@link ShipBuilderFacade}-class offers a simplified interface for creating objects that extend the
  * {@link AbstractShip AbstractShip}-class.
  * <br><br>
- * This class was designed and implemented as a Singleton, as there is no need for multiple objects.
+ * This class was designed and implemented as a Singleton, as there is no need for multiple objects. It may be used by
+ * several threads at the same time: every ship is built by a builder of its own.
  *
  * @author Marcus Talbot (1041464)
  * @see AbstractShip
@@ -29,15 +35,22 @@ public final class ShipBuilderFacade {
     /**
      * The default capacity of any Ship-object created with one of the default methods in this class.
      */
-    private int defaultCapacity;
+    private volatile int defaultCapacity;
+    /**
+     * Whether ships are backed by a {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}, rather
+     * than a queue of container-objects.
+     */
+    private volatile boolean useManifest;
 
     /**
-     * Simple private constructor, which initialises the {@link #defaultCapacity}-field to 100.
+     * Simple private constructor, which initialises the {@link #defaultCapacity}-field to 100, and the
+     * {@link #useManifest}-field to the {@code haven.ships.manifest} system property.
      *
      * @author Marcus Talbot (1041464)
      */
     private ShipBuilderFacade() {
         this.defaultCapacity = 100;
+        this.useManifest = Boolean.getBoolean("haven.ships.manifest");
     }
 
     /**
@@ -94,10 +107,10 @@ public final class ShipBuilderFacade {
      * @author Marcus Talbot (1041464)
      */
     public @NotNull OilShip buildOilShip(final String identifier, final int capacity) {
-        return OilShipBuilder.getInstance()
-                .reset()
+        return OilShipBuilder.newInstance()
                 .setIdentifier(identifier)
                 .setCapacity(capacity)
+                .setUseManifest(this.useManifest)
                 .setFillOnBuild(true)
                 .build();
     }
@@ -111,14 +124,80 @@ public final class ShipBuilderFacade {
      * @author Marcus Talbot (1041464)
      */
     public @NotNull ContainerShip buildContainerShip(final String identifier, final int capacity) {
-        return ContainerShipBuilder.getInstance()
-                .reset()
+        return ContainerShipBuilder.newInstance()
                 .setIdentifier(identifier)
                 .setCapacity(capacity)
+                .setUseManifest(this.useManifest)
                 .setFillOnBuild(true)
                 .build();
     }
 
+    /**
+     * Builds every ship of the given fleet, in parallel on the common {@link java.util.concurrent.ForkJoinPool}.
+     * <br><br>
+     * Every ship is filled from its own split of a single {@link SplittableRandom}, which is seeded from
+     * {@link TimeUtils#getRandomGenerator()}. The contents of every ship therefore depend on the seed of the calling
+     * thread only, and not on which thread happens to build it. The identifiers of the containers are unique, but not
+     * ordered across ships.
+     *
+     * @param spec Description of the fleet.
+     * @return The ships of the fleet; the {@link ContainerShip}-objects first, followed by the {@link OilShip}-objects.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull List<AbstractShip<?>> buildFleet(@NotNull final FleetSpec spec) {
+        final var random = new SplittableRandom(TimeUtils.getRandomGenerator().nextLong());
+        final var randoms = new SplittableRandom[spec.size()];
+        for (var index = 0; index < randoms.length; index++)
+            randoms[index] = random.split();
+
+        return IntStream.range(0, spec.size())
+                .parallel()
+                .<AbstractShip<?>>mapToObj(index -> TimeUtils.withRandomGenerator(randoms[index],
+                        () -> this.buildFleetShip(spec, index)))
+                .toList();
+    }
+
+    /**
+     * Builds a single ship of a fleet.
+     *
+     * @param spec  Description of the fleet.
+     * @param index Index of the ship in the fleet.
+     * @return The newly created ship.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull AbstractShip<?> buildFleetShip(@NotNull final FleetSpec spec, final int index) {
+        final var identifier = spec.prefix() + "-" + index;
+        if (index < spec.containerShips()) {
+            return ContainerShipBuilder.newInstance()
+                    .setIdentifier(identifier)
+                    .setCapacity(spec.capacity())
+                    .setUseManifest(spec.useManifest())
+                    .setParallelFill(spec.parallelFill())
+                    .setFreightMix(spec.freightMix())
+                    .setFillOnBuild(true)
+                    .build();
+        }
+        return OilShipBuilder.newInstance()
+                .setIdentifier(identifier)
+                .setCapacity(spec.capacity())
+                .setUseManifest(spec.useManifest())
+                .setParallelFill(spec.parallelFill())
+                .setFillOnBuild(true)
+                .build();
+    }
+
+    /**
+     * Sets whether ships built from now on are backed by a
+     * {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}.
+     *
+     * @param useManifest The new value of {@link #useManifest}.
+     * @author Marcus Talbot (1041464)
+     */
+    @SuppressWarnings("unused")
+    public void setUseManifest(final boolean useManifest) {
+        this.useManifest = useManifest;
+    }
+
     /**
      * Sets the {@link #defaultCapacity}field of the {@link ShipBuilderFacade}-object.
      *
@@ -35,7 +35,8 @@ public final class ContainerDockVehicleFactory extends AbstractDockVehicleFactor
     }
 
     /**
-     * Creates a new {@link ContainerTruck}-object with the given configuration.
+     * Creates a new {@link ContainerTruck}-object with the given configuration. The load capacity of the
+     * {@link ContainerTruck} is read from the {@code haven.truck.capacity} system property, which defaults to 1.
      *
      * @param dock       The {@link Dock}-object that the {@link ContainerTruck}-object should associate with.
      * @param identifier The (preferable unique) identifier of the {@link ContainerTruck}.
@@ -45,6 +46,8 @@ public final class ContainerDockVehicleFactory extends AbstractDockVehicleFactor
     @Contract("_, _ -> new")
     @Override
     public @NotNull ContainerTruck createTransportVehicle(final Dock dock, final String identifier) {
-        return new ContainerTruck(dock, identifier);
+        final var containerTruck = new ContainerTruck(dock, identifier);
+        containerTruck.setLoadCapacity(Integer.getInteger("haven.truck.capacity", 1));
+        return containerTruck;
     }
 }
@@ -19,7 +19,8 @@ import org.jetbrains.annotations.NotNull;
 public final class OilDockVehicleFactory extends AbstractDockVehicleFactory<OilShip, OilContainer> {
 
     /**
-     * Creates a new {@link Pump}-object, with the given configuration.
+     * Creates a new {@link Pump}-object, with the given configuration. The amount of hoses of the {@link Pump} is read
+     * from the {@code haven.pump.hoses} system property, which defaults to 1.
      *
      * @param dock       The {@link Dock}-object that the {@link Pump}-object should associate with.
      * @param ship       The {@link OilShip}-subclass that the {@link Pump}-object should associate
@@ -31,7 +32,9 @@ public final class OilDockVehicleFactory extends AbstractDockVehicleFactory<OilS
     @Contract("_, _, _ -> new")
     @Override
     public @NotNull Pump createOffloadVehicle(final Dock dock, final OilShip ship, final String identifier) {
-        return new Pump(dock, ship, identifier);
+        final var pump = new Pump(dock, ship, identifier);
+        pump.setHoseCount(Integer.getInteger("haven.pump.hoses", 1));
+        return pump;
     }
 
     /**
@@ -0,0 +1,73 @@
+package com.github.marcustalbots.haven.identifiers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Provides a common interface for the creation of container identifiers. Every container is identified by a
+ * primitive, 64-bit identifier, which is unique among all containers created through the same generator. A generator
+ * can additionally give every container a {@link UUID}, for interoperability with systems that expect one.
+ * <br><br>
+ * The current generator is set with {@link #use(ContainerIdGenerator)}. Until then, the generator is chosen through
+ * the {@code haven.container.ids} system property: {@code sequential} (default) or {@code uuid}.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see SequentialIdGenerator
+ * @see RandomUuidGenerator
+ */
+public interface ContainerIdGenerator {
+
+    /**
+     * Gets the next identifier. Never returns the same identifier twice, and never returns zero.
+     *
+     * @return A new, unique identifier.
+     * @author Marcus Talbot (1041464)
+     */
+    long nextId();
+
+    /**
+     * Reserves a range of consecutive identifiers at once, for creating many containers in bulk. None of the
+     * identifiers in the range is handed out by {@link #nextId()}.
+     *
+     * @param count Amount of identifiers to reserve. Must not be negative.
+     * @return The first identifier of the range.
+     * @throws UnsupportedOperationException If this generator cannot hand out consecutive identifiers.
+     * @author Marcus Talbot (1041464)
+     */
+    default long reserveIds(final int count) {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + " cannot reserve identifiers.");
+    }
+
+    /**
+     * Gets the next {@link UUID}, if this generator gives containers one.
+     *
+     * @return A new {@link UUID}, or null if containers are only identified by {@link #nextId()}.
+     * @author Marcus Talbot (1041464)
+     */
+    default @Nullable UUID nextUuid() {
+        return null;
+    }
+
+    /**
+     * Gets the {@link ContainerIdGenerator} that is currently in use.
+     *
+     * @return The current {@link ContainerIdGenerator}.
+     * @author Marcus Talbot (1041464)
+     */
+    static @NotNull ContainerIdGenerator current() {
+        return GeneratorHolder.generator;
+    }
+
+    /**
+     * Sets the {@link ContainerIdGenerator} containers are identified by from now on. Containers that already exist
+     * keep their identifiers; mixing generators may therefore lead to duplicate identifiers.
+     *
+     * @param generator The new {@link ContainerIdGenerator}.
+     * @author Marcus Talbot (1041464)
+     */
+    static void use(@NotNull final ContainerIdGenerator generator) {
+        GeneratorHolder.generator = generator;
+    }
+}
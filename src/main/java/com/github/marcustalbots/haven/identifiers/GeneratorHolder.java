@@ -0,0 +1,40 @@
+package com.github.marcustalbots.haven.identifiers;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds the current {@link ContainerIdGenerator}, as interfaces cannot hold mutable static fields.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class GeneratorHolder {
+
+    /**
+     * The {@link ContainerIdGenerator} that is currently in use.
+     */
+    static volatile ContainerIdGenerator generator = GeneratorHolder.fromSystemProperty();
+
+    /**
+     * Private constructor, as this class only holds a static field.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private GeneratorHolder() {
+    }
+
+    /**
+     * Creates the {@link ContainerIdGenerator} described by the {@code haven.container.ids} system property.
+     *
+     * @return A new {@link ContainerIdGenerator}.
+     * @throws IllegalArgumentException If the system property holds an unknown value.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @NotNull ContainerIdGenerator fromSystemProperty() {
+        final var value = System.getProperty("haven.container.ids", "sequential");
+        return switch (value) {
+            case "sequential" -> new SequentialIdGenerator();
+            case "uuid" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException("Unknown value for haven.container.ids: " + value);
+        };
+    }
+}
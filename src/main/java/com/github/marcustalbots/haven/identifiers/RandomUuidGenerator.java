@@ -0,0 +1,71 @@
+package com.github.marcustalbots.haven.identifiers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Implementation of {@link ContainerIdGenerator} that gives every container a random {@link UUID}, in addition to its
+ * primitive identifier. Meant for interoperability with systems that identify containers by {@link UUID}; random
+ * {@link UUID UUIDs} are drawn from a {@link java.security.SecureRandom}, which is considerably slower than
+ * {@link SequentialIdGenerator}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class RandomUuidGenerator implements ContainerIdGenerator {
+
+    /**
+     * Generator of the primitive identifiers.
+     */
+    private final ContainerIdGenerator ids;
+
+    /**
+     * Creates a new {@link RandomUuidGenerator}, which takes its primitive identifiers from a new
+     * {@link SequentialIdGenerator}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public RandomUuidGenerator() {
+        this(new SequentialIdGenerator());
+    }
+
+    /**
+     * Creates a new {@link RandomUuidGenerator}, which takes its primitive identifiers from the given generator.
+     *
+     * @param ids Generator of the primitive identifiers.
+     * @author Marcus Talbot (1041464)
+     */
+    public RandomUuidGenerator(@NotNull final ContainerIdGenerator ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long nextId() {
+        return this.ids.nextId();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long reserveIds(final int count) {
+        return this.ids.reserveIds(count);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @NotNull UUID nextUuid() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.marcustalbots.haven.identifiers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of {@link ContainerIdGenerator} that hands out consecutive identifiers, without any contention
+ * between threads.
+ * <br><br>
+ * Every thread claims a block of identifiers at once, with a single atomic addition on a shared counter, and hands
+ * out the identifiers of its block one by one. Identifiers are therefore unique across threads, and increase
+ * monotonically within a thread, but are not ordered across threads.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class SequentialIdGenerator implements ContainerIdGenerator {
+
+    /**
+     * Amount of identifiers a thread claims at once, unless specified otherwise.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /**
+     * First identifier of the next block that has not been claimed yet.
+     */
+    private final AtomicLong nextBlock;
+
+    /**
+     * Amount of identifiers a thread claims at once.
+     */
+    private final int blockSize;
+
+    /**
+     * Block of every thread, as the next identifier to hand out, followed by the first identifier past the block.
+     */
+    private final ThreadLocal<long[]> blocks;
+
+    /**
+     * Creates a new {@link SequentialIdGenerator}, which starts at one, and claims blocks of the default size.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public SequentialIdGenerator() {
+        this(1L, SequentialIdGenerator.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new {@link SequentialIdGenerator}, with the given configuration.
+     *
+     * @param firstId   First identifier to hand out. Must be greater than zero.
+     * @param blockSize Amount of identifiers a thread claims at once. Must be greater than zero.
+     * @author Marcus Talbot (1041464)
+     */
+    public SequentialIdGenerator(final long firstId, final int blockSize) {
+        if (firstId <= 0L)
+            throw new IllegalArgumentException("First identifier must be greater than zero.");
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("Block size must be greater than zero.");
+
+        this.nextBlock = new AtomicLong(firstId);
+        this.blockSize = blockSize;
+        this.blocks = ThreadLocal.withInitial(() -> new long[2]);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long nextId() {
+        final var block = this.blocks.get();
+        if (block[0] == block[1]) {
+            block[0] = this.nextBlock.getAndAdd(this.blockSize);
+            block[1] = block[0] + this.blockSize;
+        }
+        return block[0]++;
+    }
+
+    /**
+     * {@inheritDoc} The range is claimed from the shared counter directly, so it does not use up the block of the
+     * current thread.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long reserveIds(final int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Amount of identifiers cannot be negative.");
+        return this.nextBlock.getAndAdd(count);
+    }
+}
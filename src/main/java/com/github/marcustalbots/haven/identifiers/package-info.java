@@ -0,0 +1,7 @@
+/**
+ * Contains the {@link com.github.marcustalbots.haven.identifiers.ContainerIdGenerator}-interface and its
+ * implementations, which decide how containers are identified.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.identifiers;
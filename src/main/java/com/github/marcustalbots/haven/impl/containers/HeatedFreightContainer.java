@@ -15,6 +15,27 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class HeatedFreightContainer extends AbstractFreightContainer {
 
+    /**
+     * Creates a new container, identified by the current
+     * {@link com.github.marcustalbots.haven.identifiers.ContainerIdGenerator}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public HeatedFreightContainer() {
+        super();
+    }
+
+    /**
+     * Creates a new container with the given identifier, such as one described by a
+     * {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}.
+     *
+     * @param id Identifier of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    public HeatedFreightContainer(final long id) {
+        super(id);
+    }
+
     /**
      * Used to compare various implementations of the {@link AbstractFreightContainer}-class. Implemented to allow all
      * subclasses of {@link AbstractFreightContainer} to be inserted into {@link java.util.PriorityQueue}-objects. This
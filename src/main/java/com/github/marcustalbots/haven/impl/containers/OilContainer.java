@@ -9,4 +9,25 @@ import com.github.marcustalbots.haven.models.containers.AbstractContainer;
  * @author Marcus Talbot (1041464)
  */
 public final class OilContainer extends AbstractContainer {
+
+    /**
+     * Creates a new container, identified by the current
+     * {@link com.github.marcustalbots.haven.identifiers.ContainerIdGenerator}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public OilContainer() {
+        super();
+    }
+
+    /**
+     * Creates a new container with the given identifier, such as one described by a
+     * {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}.
+     *
+     * @param id Identifier of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    public OilContainer(final long id) {
+        super(id);
+    }
 }
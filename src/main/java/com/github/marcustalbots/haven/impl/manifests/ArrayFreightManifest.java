@@ -0,0 +1,207 @@
+package com.github.marcustalbots.haven.impl.manifests;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.manifests.FreightManifest;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link FreightManifest} that stores its records in three parallel, primitive arrays. A record
+ * takes ten bytes, against well over a hundred for a container-object with its identifier and its slot in a queue.
+ * <br><br>
+ * Records are appended under a lock, and published through a volatile size, after which they are never modified.
+ * Claiming a record is a single compare-and-set on the cursor, and never takes the lock.
+ *
+ * @param <T> Type of the containers described by this manifest.
+ * @author Marcus Talbot (1041464)
+ * @see ContainerTypes
+ */
+public final class ArrayFreightManifest<T extends AbstractContainer> implements FreightManifest<T> {
+
+    /**
+     * Class every materialised container is checked against.
+     */
+    private final Class<T> containerType;
+
+    /**
+     * Identifier of the container of every record.
+     */
+    private final long[] ids;
+
+    /**
+     * Type code of the container of every record, as registered in {@link ContainerTypes}.
+     */
+    private final byte[] types;
+
+    /**
+     * Priority of the container of every record.
+     */
+    private final byte[] priorities;
+
+    /**
+     * Index of the next record to claim.
+     */
+    private final AtomicInteger cursor;
+
+    /**
+     * Amount of appended records.
+     */
+    private volatile int size;
+
+    /**
+     * Creates a new, empty {@link ArrayFreightManifest}.
+     *
+     * @param capacity      Maximum amount of records. Must not be negative.
+     * @param containerType Class every materialised container is checked against.
+     * @author Marcus Talbot (1041464)
+     */
+    public ArrayFreightManifest(final int capacity, @NotNull final Class<T> containerType) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Capacity of manifest cannot be negative.");
+
+        this.containerType = containerType;
+        this.ids = new long[capacity];
+        this.types = new byte[capacity];
+        this.priorities = new byte[capacity];
+        this.cursor = new AtomicInteger();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public synchronized boolean append(final long id, final byte type, final byte priority) {
+        final var size = this.size;
+        if (size == this.ids.length)
+            return false;
+
+        this.ids[size] = id;
+        this.types[size] = type;
+        this.priorities[size] = priority;
+        this.size = size + 1;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public synchronized int appendAll(final long[] ids, final byte[] types, final byte[] priorities,
+                                      final int offset, final int count) {
+        Objects.checkFromIndexSize(offset, count, ids.length);
+        final var size = this.size;
+        final var appended = Math.min(count, this.ids.length - size);
+
+        System.arraycopy(ids, offset, this.ids, size, appended);
+        System.arraycopy(types, offset, this.types, size, appended);
+        System.arraycopy(priorities, offset, this.priorities, size, appended);
+        this.size = size + appended;
+        return appended;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean append(@NotNull final T container) {
+        final var type = ContainerTypes.codeOf(container.getClass());
+        return this.append(container.getId(), type, ContainerTypes.priorityOf(type));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int claim() {
+        while (true) {
+            final var index = this.cursor.get();
+            if (index >= this.size)
+                return -1;
+            if (this.cursor.compareAndSet(index, index + 1))
+                return index;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @NotNull T materialize(final int index) {
+        Objects.checkIndex(index, this.size);
+        return this.containerType.cast(ContainerTypes.create(this.types[index], this.ids[index]));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long idAt(final int index) {
+        return this.ids[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public byte typeAt(final int index) {
+        return this.types[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public byte priorityAt(final int index) {
+        return this.priorities[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    @Override
+    public int capacity() {
+        return this.ids.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int remaining() {
+        return Math.max(0, this.size - this.cursor.get());
+    }
+}
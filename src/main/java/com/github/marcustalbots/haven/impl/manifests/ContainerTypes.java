@@ -0,0 +1,173 @@
+package com.github.marcustalbots.haven.impl.manifests;
+
+import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.OilContainer;
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * Registry of the type codes containers are stored by in a
+ * {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}. Every container-class is given a small,
+ * consecutive code, along with a way to create a container of that class from its identifier, and a priority.
+ * <br><br>
+ * The four container-classes of this program are registered up front, with fixed codes. Other container-classes can
+ * be registered through {@link #register(Class, LongFunction, byte)}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class ContainerTypes {
+
+    /**
+     * Type code of {@link DefaultFreightContainer}.
+     */
+    public static final byte DEFAULT = 0;
+
+    /**
+     * Type code of {@link HeatedFreightContainer}.
+     */
+    public static final byte HEATED = 1;
+
+    /**
+     * Type code of {@link CooledFreightContainer}.
+     */
+    public static final byte COOLED = 2;
+
+    /**
+     * Type code of {@link OilContainer}.
+     */
+    public static final byte OIL = 3;
+
+    /**
+     * Type code of every registered container-class.
+     */
+    private static final Map<Class<? extends AbstractContainer>, Byte> CODES = new ConcurrentHashMap<>();
+
+    /**
+     * Every registered container-class, indexed by type code. Replaced as a whole on every registration, so that it
+     * can be read without locking.
+     */
+    private static volatile Type[] types = new Type[0];
+
+    static {
+        ContainerTypes.register(DefaultFreightContainer.class, DefaultFreightContainer::new, (byte) 0);
+        ContainerTypes.register(HeatedFreightContainer.class, HeatedFreightContainer::new, (byte) 1);
+        ContainerTypes.register(CooledFreightContainer.class, CooledFreightContainer::new, (byte) 1);
+        ContainerTypes.register(OilContainer.class, OilContainer::new, (byte) 0);
+    }
+
+    /**
+     * Private constructor, as this class only holds static methods.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private ContainerTypes() {
+    }
+
+    /**
+     * Registers a container-class, and gives it the next free type code.
+     *
+     * @param type     The container-class.
+     * @param factory  Creates a container of the class, with the given identifier.
+     * @param priority Priority of containers of the class. Higher priorities are handled first.
+     * @param <C>      Type of the container-class.
+     * @return The type code of the container-class.
+     * @throws IllegalArgumentException If the container-class has already been registered.
+     * @throws IllegalStateException    If every type code is in use.
+     * @author Marcus Talbot (1041464)
+     */
+    public static synchronized <C extends AbstractContainer> byte register(@NotNull final Class<C> type,
+                                                                           @NotNull final LongFunction<C> factory,
+                                                                           final byte priority) {
+        if (ContainerTypes.CODES.containsKey(type))
+            throw new IllegalArgumentException("Container type is already registered: " + type.getName());
+        if (ContainerTypes.types.length > Byte.MAX_VALUE)
+            throw new IllegalStateException("Every type code is in use.");
+
+        final var code = (byte) ContainerTypes.types.length;
+        final var types = Arrays.copyOf(ContainerTypes.types, code + 1);
+        types[code] = new Type(type, factory, priority);
+        ContainerTypes.types = types;
+        ContainerTypes.CODES.put(type, code);
+        return code;
+    }
+
+    /**
+     * Gets the type code of the given container-class.
+     *
+     * @param type A registered container-class.
+     * @return The type code of the container-class.
+     * @throws IllegalArgumentException If the container-class has not been registered.
+     * @author Marcus Talbot (1041464)
+     */
+    public static byte codeOf(@NotNull final Class<? extends AbstractContainer> type) {
+        final var code = ContainerTypes.CODES.get(type);
+        if (code == null)
+            throw new IllegalArgumentException("Container type is not registered: " + type.getName());
+        return code;
+    }
+
+    /**
+     * Creates a container of the class registered under the given type code.
+     *
+     * @param code Type code of the container-class.
+     * @param id   Identifier of the container.
+     * @return A new container-object.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull AbstractContainer create(final byte code, final long id) {
+        return ContainerTypes.types[code].factory().apply(id);
+    }
+
+    /**
+     * Gets the priority of the container-class registered under the given type code.
+     *
+     * @param code Type code of the container-class.
+     * @return Priority of containers of the class.
+     * @author Marcus Talbot (1041464)
+     */
+    public static byte priorityOf(final byte code) {
+        return ContainerTypes.types[code].priority();
+    }
+
+    /**
+     * Gets the container-class registered under the given type code.
+     *
+     * @param code Type code of the container-class.
+     * @return The container-class.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull Class<? extends AbstractContainer> typeOf(final byte code) {
+        return ContainerTypes.types[code].type();
+    }
+
+    /**
+     * Gets the amount of registered container-classes, which is also the next free type code.
+     *
+     * @return The amount of registered container-classes.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public static int count() {
+        return ContainerTypes.types.length;
+    }
+
+    /**
+     * A registered container-class.
+     *
+     * @param type     The container-class.
+     * @param factory  Creates a container of the class, with the given identifier.
+     * @param priority Priority of containers of the class.
+     * @author Marcus Talbot (1041464)
+     */
+    private record Type(@NotNull Class<? extends AbstractContainer> type,
+                        @NotNull LongFunction<? extends AbstractContainer> factory, byte priority) {
+    }
+}
@@ -0,0 +1,395 @@
+package com.github.marcustalbots.haven.impl.manifests;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.manifests.FreightManifest;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link FreightManifest} that stores its records outside of the heap, in a file that is mapped into
+ * memory through {@link FileChannel#map(FileChannel.MapMode, long, long)}. However much freight is described, the
+ * manifest itself only takes a handful of objects on the heap, so it does not add to garbage collection pauses.
+ * <br><br>
+ * The file starts with a header of {@link #RECORD_BYTES} bytes, holding a magic number, the capacity and the amount of
+ * appended records, followed by a fixed-width record of {@link #RECORD_BYTES} bytes per container:
+ * <ul>
+ *     <li>bytes 0 to 7: identifier of the container;</li>
+ *     <li>byte 8: type code of the container, as registered in {@link ContainerTypes};</li>
+ *     <li>byte 9: priority of the container;</li>
+ *     <li>bytes 10 to 15: reserved.</li>
+ * </ul>
+ * Records are read straight from the mapping, without copying; {@link #records()} exposes them as a read-only view.
+ * An existing file can be opened again through {@link #open(Path, Class)}; which records have been claimed is not
+ * stored in the file.
+ *
+ * @param <T> Type of the containers described by this manifest.
+ * @author Marcus Talbot (1041464)
+ * @see ArrayFreightManifest
+ */
+public final class MappedFreightManifest<T extends AbstractContainer> implements FreightManifest<T>, Closeable {
+
+    /**
+     * Size of the header, and of every record, in bytes.
+     */
+    public static final int RECORD_BYTES = 16;
+
+    /**
+     * Identifies a file as a manifest; the ASCII-characters {@code HAVENMF1}.
+     */
+    private static final long MAGIC = 0x484156454E4D4631L;
+
+    /**
+     * Offset of the capacity within the header.
+     */
+    private static final int CAPACITY_OFFSET = 8;
+
+    /**
+     * Offset of the amount of appended records within the header.
+     */
+    private static final int SIZE_OFFSET = 12;
+
+    /**
+     * Offset of the type code within a record.
+     */
+    private static final int TYPE_OFFSET = 8;
+
+    /**
+     * Offset of the priority within a record.
+     */
+    private static final int PRIORITY_OFFSET = 9;
+
+    /**
+     * Class every materialised container is checked against.
+     */
+    private final Class<T> containerType;
+
+    /**
+     * Channel of the mapped file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped file, header included.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Maximum amount of records.
+     */
+    private final int capacity;
+
+    /**
+     * Index of the next record to claim.
+     */
+    private final AtomicInteger cursor;
+
+    /**
+     * Amount of appended records.
+     */
+    private volatile int size;
+
+    /**
+     * Maps the given file, and reads or writes its header.
+     *
+     * @param channel       Channel of the file, opened for reading and writing.
+     * @param capacity      Maximum amount of records.
+     * @param size          Amount of records already in the file.
+     * @param containerType Class every materialised container is checked against.
+     * @throws IOException If the file could not be mapped.
+     * @author Marcus Talbot (1041464)
+     */
+    private MappedFreightManifest(@NotNull final FileChannel channel, final int capacity, final int size,
+                                  @NotNull final Class<T> containerType) throws IOException {
+        this.containerType = containerType;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, MappedFreightManifest.byteSize(capacity));
+        this.cursor = new AtomicInteger();
+        this.size = size;
+
+        this.buffer.putLong(0, MappedFreightManifest.MAGIC);
+        this.buffer.putInt(MappedFreightManifest.CAPACITY_OFFSET, capacity);
+        this.buffer.putInt(MappedFreightManifest.SIZE_OFFSET, size);
+    }
+
+    /**
+     * Creates a new, empty manifest in the given file. An existing file is overwritten.
+     *
+     * @param file          File the records are stored in.
+     * @param capacity      Maximum amount of records. Must not be negative.
+     * @param containerType Class every materialised container is checked against.
+     * @param <T>           Type of the containers described by the manifest.
+     * @return The new manifest.
+     * @throws IOException If the file could not be created or mapped.
+     * @author Marcus Talbot (1041464)
+     */
+    public static <T extends AbstractContainer> @NotNull MappedFreightManifest<T> create(
+            @NotNull final Path file, final int capacity, @NotNull final Class<T> containerType) throws IOException {
+        MappedFreightManifest.byteSize(capacity);
+        final var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new MappedFreightManifest<>(channel, capacity, 0, containerType);
+    }
+
+    /**
+     * Creates a new, empty manifest in a temporary file, which is deleted when the program exits.
+     *
+     * @param capacity      Maximum amount of records. Must not be negative.
+     * @param containerType Class every materialised container is checked against.
+     * @param <T>           Type of the containers described by the manifest.
+     * @return The new manifest.
+     * @throws IOException If the file could not be created or mapped.
+     * @author Marcus Talbot (1041464)
+     */
+    public static <T extends AbstractContainer> @NotNull MappedFreightManifest<T> createTemporary(
+            final int capacity, @NotNull final Class<T> containerType) throws IOException {
+        final var file = Files.createTempFile("haven-manifest-", ".bin");
+        file.toFile().deleteOnExit();
+        return MappedFreightManifest.create(file, capacity, containerType);
+    }
+
+    /**
+     * Opens a manifest that was created earlier. Every record in the file is unclaimed.
+     *
+     * @param file          File the records are stored in.
+     * @param containerType Class every materialised container is checked against.
+     * @param <T>           Type of the containers described by the manifest.
+     * @return The opened manifest.
+     * @throws IOException If the file could not be read or mapped, or does not hold a manifest.
+     * @author Marcus Talbot (1041464)
+     */
+    public static <T extends AbstractContainer> @NotNull MappedFreightManifest<T> open(
+            @NotNull final Path file, @NotNull final Class<T> containerType) throws IOException {
+        final var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final var header = ByteBuffer.allocate(MappedFreightManifest.RECORD_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) ;
+            if (header.hasRemaining() || header.getLong(0) != MappedFreightManifest.MAGIC)
+                throw new IOException("File does not hold a manifest: " + file);
+
+            final var capacity = header.getInt(MappedFreightManifest.CAPACITY_OFFSET);
+            final var size = header.getInt(MappedFreightManifest.SIZE_OFFSET);
+            if (capacity < 0 || size < 0 || size > capacity
+                    || channel.size() < MappedFreightManifest.byteSize(capacity))
+                throw new IOException("Header of manifest is corrupt: " + file);
+            return new MappedFreightManifest<>(channel, capacity, size, containerType);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public synchronized boolean append(final long id, final byte type, final byte priority) {
+        final var size = this.size;
+        if (size == this.capacity)
+            return false;
+
+        final var offset = MappedFreightManifest.offsetOf(size);
+        this.buffer.putLong(offset, id);
+        this.buffer.put(offset + MappedFreightManifest.TYPE_OFFSET, type);
+        this.buffer.put(offset + MappedFreightManifest.PRIORITY_OFFSET, priority);
+        this.buffer.putInt(MappedFreightManifest.SIZE_OFFSET, size + 1);
+        this.size = size + 1;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public synchronized int appendAll(final long[] ids, final byte[] types, final byte[] priorities,
+                                      final int offset, final int count) {
+        Objects.checkFromIndexSize(offset, count, ids.length);
+        final var size = this.size;
+        final var appended = Math.min(count, this.capacity - size);
+
+        for (var index = 0; index < appended; index++) {
+            final var record = MappedFreightManifest.offsetOf(size + index);
+            this.buffer.putLong(record, ids[offset + index]);
+            this.buffer.put(record + MappedFreightManifest.TYPE_OFFSET, types[offset + index]);
+            this.buffer.put(record + MappedFreightManifest.PRIORITY_OFFSET, priorities[offset + index]);
+        }
+        this.buffer.putInt(MappedFreightManifest.SIZE_OFFSET, size + appended);
+        this.size = size + appended;
+        return appended;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public boolean append(@NotNull final T container) {
+        final var type = ContainerTypes.codeOf(container.getClass());
+        return this.append(container.getId(), type, ContainerTypes.priorityOf(type));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int claim() {
+        while (true) {
+            final var index = this.cursor.get();
+            if (index >= this.size)
+                return -1;
+            if (this.cursor.compareAndSet(index, index + 1))
+                return index;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @NotNull T materialize(final int index) {
+        return this.containerType.cast(ContainerTypes.create(this.typeAt(index), this.idAt(index)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long idAt(final int index) {
+        return this.buffer.getLong(MappedFreightManifest.offsetOf(Objects.checkIndex(index, this.size)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public byte typeAt(final int index) {
+        return this.buffer.get(MappedFreightManifest.offsetOf(Objects.checkIndex(index, this.size))
+                + MappedFreightManifest.TYPE_OFFSET);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public byte priorityAt(final int index) {
+        return this.buffer.get(MappedFreightManifest.offsetOf(Objects.checkIndex(index, this.size))
+                + MappedFreightManifest.PRIORITY_OFFSET);
+    }
+
+    /**
+     * Gets a read-only view of the appended records, without copying them. Record i starts at byte
+     * {@code i * RECORD_BYTES} of the view. Records appended after this call are not part of the view.
+     *
+     * @return A read-only {@link ByteBuffer}, positioned at the first record.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull ByteBuffer records() {
+        return this.buffer.slice(MappedFreightManifest.RECORD_BYTES, this.size * MappedFreightManifest.RECORD_BYTES)
+                .asReadOnlyBuffer();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    @Override
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public int remaining() {
+        return Math.max(0, this.size - this.cursor.get());
+    }
+
+    /**
+     * Writes every appended record to the storage device holding the file.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void force() {
+        this.buffer.force();
+    }
+
+    /**
+     * Closes the file. The mapping stays valid until this manifest is garbage collected, so records can still be
+     * read and appended, but are no longer guaranteed to reach the file.
+     *
+     * @throws IOException If the file could not be closed.
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Gets the offset of the record at the given index within the mapped file.
+     *
+     * @param index Index of the record.
+     * @return Offset of the record, in bytes.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    private static int offsetOf(final int index) {
+        return (index + 1) * MappedFreightManifest.RECORD_BYTES;
+    }
+
+    /**
+     * Gets the size of a file holding a manifest of the given capacity.
+     *
+     * @param capacity Maximum amount of records.
+     * @return Size of the file, in bytes.
+     * @throws IllegalArgumentException If the capacity is negative, or too large to map as a whole.
+     * @author Marcus Talbot (1041464)
+     */
+    private static int byteSize(final int capacity) {
+        if (capacity < 0 || capacity >= Integer.MAX_VALUE / MappedFreightManifest.RECORD_BYTES)
+            throw new IllegalArgumentException("Capacity of manifest must be between zero and "
+                    + (Integer.MAX_VALUE / MappedFreightManifest.RECORD_BYTES - 1) + ".");
+        return (capacity + 1) * MappedFreightManifest.RECORD_BYTES;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains the implementations of {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}, and the
+ * registry of type codes they store containers by.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.impl.manifests;
@@ -1,40 +1,91 @@
 package com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.dock.FlowControl;
 import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
 import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
 import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
 import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
 import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockOffloadVehicle;
 import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import com.github.marcustalbots.haven.pipeline.HandlingPipeline;
+import com.github.marcustalbots.haven.strategies.StrategyRegistry;
 import com.github.marcustalbots.haven.strategies.offload.CooledOffloadStrategy;
 import com.github.marcustalbots.haven.strategies.offload.DefaultOffloadStrategy;
 import com.github.marcustalbots.haven.strategies.offload.HeatedOffloadStrategy;
 import com.github.marcustalbots.haven.strategies.offload.OffloadStrategy;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Implementation of the {@link AbstractDockOffloadVehicle}, to be used to offload
  * {@link AbstractFreightContainer}-objects from {@link ContainerShip}-objects. Makes use of
  * {@link OffloadStrategy OffloadStrategies} related to the various types of {@link AbstractFreightContainer}-types.
+ * <br><br>
+ * Unless its hand-offs are deferred, or it hands containers to a {@link HandlingPipeline}, a {@link Crane} acquires a
+ * credit from the {@link FlowControl} of its {@link Dock} before it takes a container from its ship. A full
+ * {@link Dock} therefore stops the {@link Crane} before it picks up a container, and every container it does pick up
+ * has room reserved for it. While the {@link Dock} is full, the {@link Crane} keeps waiting for as long as a consumer
+ * is left to make room; otherwise it stops, leaving the remaining containers on its ship.
+ * <br><br>
+ * Containers that were taken from the ship, but could not be placed anyway, because the shift of the {@link Dock} was
+ * ended early or the {@link Crane} was interrupted, are counted by the {@code crane.dropped} counter.
+ *
  * @author Marcus Talbot (1041464)
  */
 public final class Crane extends AbstractDockOffloadVehicle<AbstractFreightContainer> {
 
     /**
-     * OffloadStrategy used to offload {@link DefaultFreightContainer}-objects from {@link ContainerShip}-objects.
+     * OffloadStrategies used to offload every type of {@link AbstractFreightContainer} from
+     * {@link ContainerShip}-objects, by type code. Holds a {@link DefaultOffloadStrategy}, {@link HeatedOffloadStrategy} and
+     * {@link CooledOffloadStrategy} for {@link DefaultFreightContainer}-, {@link HeatedFreightContainer}- and
+     * {@link CooledFreightContainer}-objects respectively.
+     */
+    private static final StrategyRegistry<OffloadStrategy<Crane, ?>> OFFLOAD_STRATEGIES =
+            new StrategyRegistry<OffloadStrategy<Crane, ?>>()
+                    .register(DefaultFreightContainer.class, new DefaultOffloadStrategy())
+                    .register(HeatedFreightContainer.class, new HeatedOffloadStrategy())
+                    .register(CooledFreightContainer.class, new CooledOffloadStrategy());
+
+    /**
+     * Amount of containers that were taken from a ship, but could not be placed on the {@link Dock}.
+     */
+    private static final Counter DROPPED = MetricsRegistry.getInstance().counter("crane.dropped");
+
+    /**
+     * Containers that have been offloaded, but have not been placed on the {@link Dock} yet. Only used when
+     * {@link #batchSize} is greater than one. As every {@link Crane} runs on a single thread, this list is never shared.
+     */
+    private final List<AbstractFreightContainer> pendingContainers;
+
+    /**
+     * Amount of containers this {@link Crane} collects before placing them on the {@link Dock} in a single handoff.
+     */
+    private int batchSize;
+
+    /**
+     * Whether containers are held until {@link #flush()} is called, regardless of {@link #batchSize}.
      */
-    private static final OffloadStrategy<Crane, DefaultFreightContainer> DEFAULT_OFFLOAD_STRATEGY = new DefaultOffloadStrategy();
+    private boolean handOffDeferred;
 
     /**
-     * OffloadStrategy used to offload {@link HeatedFreightContainer}-objects from {@link ContainerShip}-objects.
+     * {@link HandlingPipeline} offloaded containers pass through before they reach the {@link Dock}, if any.
      */
-    private static final OffloadStrategy<Crane, HeatedFreightContainer> HEATED_OFFLOAD_STRATEGY = new HeatedOffloadStrategy();
+    private @Nullable HandlingPipeline pipeline;
 
     /**
-     * OffloadStrategy used to offload {@link CooledOffloadStrategy}-objects from {@link ContainerShip}-objects.
+     * Amount of credits this {@link Crane} holds from the {@link FlowControl} of its {@link Dock}, for containers it
+     * has taken from its ship, but has not placed yet.
      */
-    private static final OffloadStrategy<Crane, CooledFreightContainer> COOLED_OFFLOAD_STRATEGY = new CooledOffloadStrategy();
+    private int credits;
 
     /**
      * Simple constructor to create a new {@link Crane}-object with the given configuration.
@@ -46,25 +97,250 @@ public final class Crane extends AbstractDockOffloadVehicle<AbstractFreightConta
      */
     public Crane(final Dock dock, final ContainerShip ship, final String identifier) {
         super(dock, ship, identifier);
+        this.pendingContainers = new ArrayList<>();
+        this.batchSize = 1;
     }
 
     /**
      * Implementation of {@link Runnable#run()}. Responsible for offloading all types of
-     * {@link AbstractFreightContainer}-implementations, using their respective {@link OffloadStrategy}-objects.
+     * {@link AbstractFreightContainer}-implementations, using their respective {@link OffloadStrategy}-objects, until
+     * the ship is empty, or this {@link Crane} is interrupted. Held containers are placed, and any credits that are
+     * still held are released, before returning.
      */
     @Override
     public void run() {
-        while (true) {
-            switch (this.getShip().getNext()) {
-                // NB: Requires Java 17 preview features to be enabled!
-                case DefaultFreightContainer d -> Crane.DEFAULT_OFFLOAD_STRATEGY.execute(this, d);
-                case HeatedFreightContainer h -> Crane.HEATED_OFFLOAD_STRATEGY.execute(this, h);
-                case CooledFreightContainer c -> Crane.COOLED_OFFLOAD_STRATEGY.execute(this, c);
-                // If the container returned is null, or something else that is not known, simply return.
-                case default -> {
-                    return;
-                }
-            }
+        try {
+            while (!Thread.currentThread().isInterrupted() && this.offloadNext()) ;
+        } finally {
+            this.flush();
+            this.releaseCredits(this.credits);
+        }
+    }
+
+    /**
+     * Offloads the next container of the {@link ContainerShip}, using the {@link OffloadStrategy} of its type. Unless
+     * hand-offs are deferred, or a {@link HandlingPipeline} is set, a credit is acquired first.
+     *
+     * @return false if the ship holds no more containers, a container of an unknown type, or no credit could be
+     * acquired before the shift of the {@link Dock} ended, or while no consumer was left, true otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean offloadNext() {
+        final var throttled = !this.handOffDeferred && this.pipeline == null;
+        if (throttled && !this.acquireCredit())
+            return false;
+
+        final var container = this.nextFreight();
+        // If the container returned is null, or something else that is not known, simply return.
+        final var strategy = container == null ? null : Crane.OFFLOAD_STRATEGIES.get(container);
+        if (strategy == null) {
+            if (throttled)
+                this.releaseCredits(1);
+            return false;
+        }
+        strategy.dispatch(this, container);
+        return true;
+    }
+
+    /**
+     * Gets the {@link StrategyRegistry} every {@link Crane} looks up the {@link OffloadStrategy} of a container in.
+     * Registering a strategy for a new type of container lets every {@link Crane} offload it.
+     *
+     * @return {@link #OFFLOAD_STRATEGIES}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public static @NotNull StrategyRegistry<OffloadStrategy<Crane, ?>> getOffloadStrategies() {
+        return Crane.OFFLOAD_STRATEGIES;
+    }
+
+    /**
+     * Hands an offloaded container over to the {@link Dock}. Called by the {@link OffloadStrategy}-objects once a
+     * container has been offloaded. If {@link #batchSize} is greater than one, the container is held until enough
+     * containers have been offloaded, after which they are placed on the {@link Dock} together. If hand-offs are
+     * deferred, the container is held until {@link #flush()} is called. If this {@link Crane} has a
+     * {@link HandlingPipeline}, the container is submitted to it right away instead, regardless of both.
+     * <br><br>
+     * Placing or submitting a container is retried until it succeeds, so containers are only ever left behind if the
+     * shift of the {@link Dock} is ended before it was drained, or this {@link Crane} is interrupted. Either way, the
+     * credit held for the container is released, and the container is counted as dropped.
+     *
+     * @param container The {@link AbstractFreightContainer} that was offloaded.
+     * @return false if any container could not be placed on the {@link Dock}, true otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean handOff(@NotNull final AbstractFreightContainer container) {
+        final var pipeline = this.pipeline;
+        final var shift = this.getDock().getShift();
+        if (pipeline != null) {
+            final var clock = SimulationClock.current();
+            final var start = clock.nanos();
+            var submitted = pipeline.submit(container);
+            while (!submitted && !shift.isOver() && !Thread.currentThread().isInterrupted())
+                submitted = pipeline.submit(container);
+            this.getMetrics().recordIdle(clock.nanos() - start);
+            if (!submitted)
+                Crane.DROPPED.increment();
+            return submitted;
+        }
+
+        if (!this.handOffDeferred && this.batchSize <= 1 && this.pendingContainers.isEmpty()) {
+            final var clock = SimulationClock.current();
+            final var start = clock.nanos();
+            var placed = this.getDock().placeContainer(container);
+            while (!placed && !shift.isOver() && !Thread.currentThread().isInterrupted())
+                placed = this.getDock().placeContainer(container);
+            this.getMetrics().recordIdle(clock.nanos() - start);
+            this.releaseCredits(1);
+            if (!placed)
+                Crane.DROPPED.increment();
+            return placed;
+        }
+
+        this.pendingContainers.add(container);
+        return this.handOffDeferred || this.pendingContainers.size() < this.batchSize || this.flush();
+    }
+
+    /**
+     * Places every container held by this {@link Crane} on the {@link Dock}, in a single handoff. Containers that do
+     * not fit are retried until they do, until the shift of the {@link Dock} has ended, or until this {@link Crane} is
+     * interrupted. Containers that were not placed are counted as dropped.
+     *
+     * @return false if any container could not be placed on the {@link Dock}, true otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean flush() {
+        if (this.pendingContainers.isEmpty())
+            return true;
+
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        final var shift = this.getDock().getShift();
+        final var count = this.pendingContainers.size();
+        var placed = this.getDock().placeContainers(this.pendingContainers);
+        while (placed < count && !shift.isOver() && !Thread.currentThread().isInterrupted())
+            placed += this.getDock().placeContainers(this.pendingContainers.subList(placed, count));
+        this.getMetrics().recordIdle(clock.nanos() - start);
+        this.pendingContainers.clear();
+        this.releaseCredits(count);
+        Crane.DROPPED.add(count - placed);
+        return placed == count;
+    }
+
+    /**
+     * Acquires a credit from the {@link FlowControl} of the {@link Dock}. If none is available, every held container
+     * is placed first, as credits are only handed out again once containers leave the {@link Dock}. When the
+     * {@link com.github.marcustalbots.haven.dock.wait.WaitPolicy} of the {@link Dock} gives up, the {@link Crane}
+     * waits again, as long as a consumer is left to make room.
+     *
+     * @return true if a credit was acquired, false if the shift of the {@link Dock} ended first, this {@link Crane}
+     * was interrupted, or no consumer was left.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean acquireCredit() {
+        final var dock = this.getDock();
+        final var flowControl = dock.getFlowControl();
+        if (!flowControl.tryAcquire()) {
+            this.flush();
+            final var clock = SimulationClock.current();
+            final var start = clock.nanos();
+            var acquired = flowControl.acquire();
+            while (!acquired && !dock.getShift().isOver() && !Thread.currentThread().isInterrupted()
+                    && dock.hasConsumers())
+                acquired = flowControl.acquire();
+            this.getMetrics().recordIdle(clock.nanos() - start);
+            if (!acquired)
+                return false;
         }
+        this.credits++;
+        return true;
+    }
+
+    /**
+     * Releases credits held by this {@link Crane}, once the containers they were acquired for have been placed.
+     *
+     * @param count Amount of containers that were placed, or will not be placed at all.
+     * @author Marcus Talbot (1041464)
+     */
+    private void releaseCredits(final int count) {
+        final var released = Math.min(count, this.credits);
+        this.credits -= released;
+        this.getDock().getFlowControl().release(released);
+    }
+
+    /**
+     * Gets the amount of containers this {@link Crane} places on the {@link Dock} per handoff.
+     *
+     * @return {@link #batchSize}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Sets the amount of containers this {@link Crane} places on the {@link Dock} per handoff. A value of one places
+     * every container as soon as it has been offloaded.
+     *
+     * @param batchSize The new value of {@link #batchSize}.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size of Crane cannot be smaller or equal to zero.");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the amount of containers that have been offloaded, but have not been placed on the {@link Dock} yet.
+     *
+     * @return The size of {@link #pendingContainers}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getPendingCount() {
+        return this.pendingContainers.size();
+    }
+
+    /**
+     * Checks whether offloaded containers are held until {@link #flush()} is called.
+     *
+     * @return {@link #handOffDeferred}.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean isHandOffDeferred() {
+        return this.handOffDeferred;
+    }
+
+    /**
+     * Sets whether offloaded containers are held until {@link #flush()} is called, rather than being placed on the
+     * {@link Dock} as soon as {@link #batchSize} containers have been offloaded. Allows a scheduler to decide when a
+     * container reaches the {@link Dock}.
+     *
+     * @param handOffDeferred The new value of {@link #handOffDeferred}.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setHandOffDeferred(final boolean handOffDeferred) {
+        this.handOffDeferred = handOffDeferred;
+    }
+
+    /**
+     * Gets the {@link HandlingPipeline} offloaded containers pass through before they reach the {@link Dock}.
+     *
+     * @return {@link #pipeline}, or null if containers are placed on the {@link Dock} directly.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable HandlingPipeline getPipeline() {
+        return this.pipeline;
+    }
+
+    /**
+     * Sets the {@link HandlingPipeline} offloaded containers pass through before they reach the {@link Dock}. The
+     * pipeline must place containers on the same {@link Dock} as this {@link Crane}.
+     *
+     * @param pipeline The new value of {@link #pipeline}, or null to place containers on the {@link Dock} directly.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setPipeline(@Nullable final HandlingPipeline pipeline) {
+        this.pipeline = pipeline;
     }
 }
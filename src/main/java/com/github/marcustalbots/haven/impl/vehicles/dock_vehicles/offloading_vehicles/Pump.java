@@ -7,10 +7,17 @@ import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDock
 import com.github.marcustalbots.haven.strategies.offload.OffloadStrategy;
 import com.github.marcustalbots.haven.strategies.offload.OilOffloadStrategy;
 import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import com.github.marcustalbots.haven.runtime.PortRuntime;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Implementation of the {@link AbstractDockOffloadVehicle}-class, to be used for offloading
  * {@link OilContainer}-objects from an {@link OilShip}-object.
+ * <br><br>
+ * A Pump has one or more hoses, each of which pumps into its own
+ * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck} at the same time.
  * @author Marcus Talbot (1041464)
  */
 public final class Pump extends AbstractDockOffloadVehicle<OilContainer> {
@@ -20,6 +27,12 @@ public final class Pump extends AbstractDockOffloadVehicle<OilContainer> {
      */
     private static final OffloadStrategy<Pump, OilContainer> OIL_OFFLOAD_STRATEGY = new OilOffloadStrategy();
 
+    /**
+     * Amount of containers this {@link Pump} pumps at the same time, each into its own
+     * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck}.
+     */
+    private int hoseCount;
+
     /**
      * Simple constructor used to create a Pump-object with the given configuration.
      *
@@ -30,20 +43,109 @@ public final class Pump extends AbstractDockOffloadVehicle<OilContainer> {
      */
     public Pump(final Dock dock, final OilShip oilShip, final String identifier) {
         super(dock, oilShip, identifier);
+        this.hoseCount = 1;
     }
 
     /**
      * Implementation of {@link Runnable#run()}. Responsible for offloading {@link OilContainer}-objects from
-     * {@link OilShip}-objects.
+     * {@link OilShip}-objects. Every hose beyond the first runs on a thread of its own, created through
+     * {@link PortRuntime#currentThreadFactory()}; the method returns once every hose has finished. If the
+     * {@link Pump} is interrupted, so is every hose, and it still waits for them to finish.
      */
     @Override
     public void run() {
-        var container = this.getShip().getNext();
-        while (true) {
-            container = this.getShip().getNext();
-            if (container == null)
-                return;
-            Pump.OIL_OFFLOAD_STRATEGY.execute(this, container);
+        final var threadFactory = PortRuntime.currentThreadFactory();
+        final var hoses = new ArrayList<Thread>(this.hoseCount - 1);
+        try {
+            for (var index = 1; index < this.hoseCount; index++) {
+                final var hose = threadFactory.newThread(this::pumpUntilEmpty);
+                hose.setName(this + "-Hose" + index);
+                hose.start();
+                hoses.add(hose);
+            }
+
+            this.pumpUntilEmpty();
+            for (final var hose : hoses)
+                hose.join();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        } finally {
+            Pump.stopHoses(hoses);
         }
     }
+
+    /**
+     * Offloads the next {@link OilContainer} of the {@link OilShip}, using the {@link OffloadStrategy} for oil.
+     * Containers are left on the ship once no
+     * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck} is left to pump
+     * them into.
+     *
+     * @return false if the ship holds no more containers, or no truck is left, true otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean offloadNext() {
+        if (!this.getDock().getOilTruckPool().hasTrucks())
+            return false;
+        final var container = this.nextFreight();
+        if (container == null)
+            return false;
+        Pump.OIL_OFFLOAD_STRATEGY.execute(this, container);
+        return true;
+    }
+
+    /**
+     * Gets the amount of containers this {@link Pump} pumps at the same time.
+     *
+     * @return {@link #hoseCount}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getHoseCount() {
+        return this.hoseCount;
+    }
+
+    /**
+     * Sets the amount of containers this {@link Pump} pumps at the same time. Takes effect the next time the
+     * {@link Pump} is run.
+     *
+     * @param hoseCount The new value of {@link #hoseCount}.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setHoseCount(final int hoseCount) {
+        if (hoseCount <= 0)
+            throw new IllegalArgumentException("Amount of hoses of Pump cannot be smaller or equal to zero.");
+        this.hoseCount = hoseCount;
+    }
+
+    /**
+     * Interrupts every hose if the current thread was interrupted, and waits for every hose to finish.
+     *
+     * @param hoses The threads of the hoses.
+     * @author Marcus Talbot (1041464)
+     */
+    private static void stopHoses(final List<Thread> hoses) {
+        var interrupted = Thread.interrupted();
+        for (final var hose : hoses) {
+            while (hose.isAlive()) {
+                if (interrupted)
+                    hose.interrupt();
+                try {
+                    hose.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Offloads containers through a single hose, until the ship is empty.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void pumpUntilEmpty() {
+        while (!Thread.currentThread().isInterrupted() && this.offloadNext()) ;
+    }
 }
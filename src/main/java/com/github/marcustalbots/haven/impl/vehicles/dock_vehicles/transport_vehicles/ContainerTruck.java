@@ -1,40 +1,61 @@
 package com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.dock.Dock;
 import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
 import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
 import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
 import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockTransportVehicle;
+import com.github.marcustalbots.haven.strategies.StrategyRegistry;
 import com.github.marcustalbots.haven.strategies.transport.CooledTransportStrategy;
 import com.github.marcustalbots.haven.strategies.transport.DefaultTransportStrategy;
 import com.github.marcustalbots.haven.strategies.transport.HeatedTransportStrategy;
 import com.github.marcustalbots.haven.strategies.transport.TransportStrategy;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the {@link AbstractDockTransportVehicle}, used to transport
  * {@link AbstractFreightContainer}-objects, after they have been placed on the {@link Dock}.
+ * <br><br>
+ * Before every trip, the containers that were taken are consolidated into loads of the same type, so that cooled
+ * containers travel with cooled containers, and heated containers with heated containers. A load holds at most
+ * {@link #getLoadCapacity()} containers, and is filled up with compatible containers waiting on the {@link Dock}.
+ *
  * @author Marcus Talbot (1041464)
  */
 public final class ContainerTruck extends AbstractDockTransportVehicle {
 
     /**
-     * {@link DefaultTransportStrategy} used to transport {@link DefaultFreightContainer}-objects.
+     * TransportStrategies used to transport every type of {@link AbstractFreightContainer}, by type code. Holds a
+     * {@link DefaultTransportStrategy}, {@link HeatedTransportStrategy} and {@link CooledTransportStrategy} for
+     * {@link DefaultFreightContainer}-, {@link HeatedFreightContainer}- and {@link CooledFreightContainer}-objects
+     * respectively.
      */
-    private static final TransportStrategy<ContainerTruck, DefaultFreightContainer> DEFAULT_TRANSPORT_STRATEGY =
-            new DefaultTransportStrategy();
+    private static final StrategyRegistry<TransportStrategy<ContainerTruck, ?>> TRANSPORT_STRATEGIES =
+            new StrategyRegistry<TransportStrategy<ContainerTruck, ?>>()
+                    .register(DefaultFreightContainer.class, new DefaultTransportStrategy())
+                    .register(HeatedFreightContainer.class, new HeatedTransportStrategy())
+                    .register(CooledFreightContainer.class, new CooledTransportStrategy());
 
     /**
-     * {@link HeatedTransportStrategy} used to transport {@link HeatedFreightContainer}-objects.
+     * Amount of trips made by all {@link ContainerTruck}-objects, regardless of the amount of containers carried.
      */
-    private static final TransportStrategy<ContainerTruck, HeatedFreightContainer> HEATED_TRANSPORT_STRATEGY =
-            new HeatedTransportStrategy();
+    private static final Counter TRIPS = MetricsRegistry.getInstance().counter("transport.container.trips");
 
     /**
-     * {@link CooledTransportStrategy} used to transport {@link CooledFreightContainer}-objects.
+     * Maximum amount of containers this {@link ContainerTruck} takes from the {@link Dock} in a single handoff.
      */
-    private static final TransportStrategy<ContainerTruck, CooledFreightContainer> COOLED_TRANSPORT_STRATEGY =
-            new CooledTransportStrategy();
+    private int batchSize;
 
     /**
      * Simple constructor used to create a new {@link ContainerTruck}-object with the given configuration.
@@ -45,26 +66,174 @@ public final class ContainerTruck extends AbstractDockTransportVehicle {
      */
     public ContainerTruck(final Dock dock, final String identifier) {
         super(dock, identifier);
+        this.batchSize = 1;
     }
 
     /**
      * Implementation of {@link Runnable#run()}. Responsible for retrieving {@link AbstractFreightContainer}-objects
-     * from the {@link Dock}, and simulating their transport.
+     * from the {@link Dock}, and simulating their transport. If {@link #batchSize} is greater than one, several
+     * containers are taken from the {@link Dock} in a single handoff. The containers are consolidated into loads, as
+     * described by {@link #transport(List)}.
      * <br><br>
-     * When the dock contains no more
-     * {@link AbstractFreightContainer}-objects, and the time-out of fifteen seconds has passed, the method returns,
-     * gracefully terminating the {@link Thread}.
+     * When the {@link com.github.marcustalbots.haven.dock.wait.WaitPolicy} of the {@link Dock} gives up, the
+     * {@link ContainerTruck} simply polls again, as producers may still be placing containers. Only once the shift of
+     * the {@link Dock} has ended, and it holds no more {@link AbstractFreightContainer}-objects, or once this
+     * {@link ContainerTruck} is interrupted, does the method return, gracefully terminating the {@link Thread}.
      */
     @Override
     public void run() {
-        while (true) {
+        final var clock = SimulationClock.current();
+        while (!Thread.currentThread().isInterrupted()) {
+            final var start = clock.nanos();
+            final List<AbstractFreightContainer> containers;
+            if (this.batchSize <= 1) {
+                final var container = this.getDock().getContainer();
+                containers = container == null ? List.of() : List.of(container);
+            } else {
+                containers = this.getDock().drainContainers(this.batchSize);
+            }
+            this.getMetrics().recordIdle(clock.nanos() - start);
+            if (containers.isEmpty()) {
+                if (this.getDock().isDrained())
+                    return;
+                continue;
+            }
+            this.transport(containers);
+        }
+    }
+
+    /**
+     * Simulates the transport of a single container, using the {@link TransportStrategy} of its type.
+     *
+     * @param container The container that should be transported.
+     * @return false if the container was null, or of an unknown type, true otherwise.
+     * @author Marcus Talbot (1041464)
+     * @see #transport(List)
+     */
+    public boolean transport(@Nullable final AbstractFreightContainer container) {
+        return container != null && this.transport(List.of(container)) > 0;
+    }
 
-            switch (this.getDock().getContainer()) {
-                case DefaultFreightContainer d -> ContainerTruck.DEFAULT_TRANSPORT_STRATEGY.execute(this, d);
-                case HeatedFreightContainer h -> ContainerTruck.HEATED_TRANSPORT_STRATEGY.execute(this, h);
-                case CooledFreightContainer c -> ContainerTruck.COOLED_TRANSPORT_STRATEGY.execute(this, c);
-                default -> {return;}
+    /**
+     * Consolidates the given containers into loads, and simulates the transport of every load in a trip of its own,
+     * using the {@link TransportStrategy} of its type. Containers of the same type share a load, which holds at most
+     * {@link #getLoadCapacity()} containers. Every load that is not full is filled up with compatible containers that
+     * are waiting on the {@link Dock}, without waiting for more to arrive. Loads leave in the order in which their
+     * first container was given.
+     *
+     * @param containers The containers that should be transported.
+     * @return The amount of containers that were transported, including those taken to fill up a load.
+     * @author Marcus Talbot (1041464)
+     */
+    public int transport(@NotNull final List<? extends AbstractFreightContainer> containers) {
+        var transported = 0;
+        for (final var load : this.consolidate(containers)) {
+            if (this.transportLoad(load))
+                transported += load.size();
+        }
+        return transported;
+    }
+
+    /**
+     * Groups the given containers into loads of the same type, and fills up every load that is not full with
+     * compatible containers from the {@link Dock}.
+     *
+     * @param containers The containers that should be consolidated.
+     * @return The loads, in the order in which their first container was given.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull List<List<AbstractFreightContainer>> consolidate(
+            @NotNull final List<? extends AbstractFreightContainer> containers) {
+        final var capacity = this.getLoadCapacity();
+        final var loads = new ArrayList<List<AbstractFreightContainer>>(containers.size());
+        final var open = new LinkedHashMap<Class<?>, List<AbstractFreightContainer>>();
+        for (final var container : containers)
+            ContainerTruck.addToLoad(container, loads, open, capacity);
+
+        if (capacity > 1) {
+            for (final var load : List.copyOf(open.values())) {
+                final var compatible = this.getDock().takeCompatible(load.get(0), capacity - load.size());
+                for (final var container : compatible)
+                    ContainerTruck.addToLoad(container, loads, open, capacity);
             }
         }
+        return loads;
+    }
+
+    /**
+     * Adds a container to the open load of its type, or to a new load if there is no open load of its type.
+     *
+     * @param container The container that should be added.
+     * @param loads     Every load, in the order in which they were created.
+     * @param open      The load of every type that is not full yet.
+     * @param capacity  Maximum amount of containers in a load.
+     * @author Marcus Talbot (1041464)
+     */
+    private static void addToLoad(@NotNull final AbstractFreightContainer container,
+                                  @NotNull final List<List<AbstractFreightContainer>> loads,
+                                  @NotNull final Map<Class<?>, List<AbstractFreightContainer>> open,
+                                  final int capacity) {
+        final var type = container.getClass();
+        var load = open.get(type);
+        if (load == null) {
+            load = new ArrayList<>(capacity);
+            loads.add(load);
+            open.put(type, load);
+        }
+        load.add(container);
+        if (load.size() == capacity)
+            open.remove(type);
+    }
+
+    /**
+     * Simulates the transport of a single load, using the {@link TransportStrategy} of its type.
+     *
+     * @param load Containers of the same type, that travel together.
+     * @return false if the load is of an unknown type, true otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean transportLoad(@NotNull final List<AbstractFreightContainer> load) {
+        // Every container of a load is of the same class as the first, so they all share its strategy.
+        final var strategy = ContainerTruck.TRANSPORT_STRATEGIES.get(load.get(0));
+        if (strategy == null)
+            return false;
+        strategy.dispatchLoad(this, load);
+        ContainerTruck.TRIPS.increment();
+        return true;
+    }
+
+    /**
+     * Gets the {@link StrategyRegistry} every {@link ContainerTruck} looks up the {@link TransportStrategy} of a load
+     * in. Registering a strategy for a new type of container lets every {@link ContainerTruck} transport it.
+     *
+     * @return {@link #TRANSPORT_STRATEGIES}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public static @NotNull StrategyRegistry<TransportStrategy<ContainerTruck, ?>> getTransportStrategies() {
+        return ContainerTruck.TRANSPORT_STRATEGIES;
+    }
+
+    /**
+     * Gets the maximum amount of containers this {@link ContainerTruck} takes from the {@link Dock} per handoff.
+     *
+     * @return {@link #batchSize}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Sets the maximum amount of containers this {@link ContainerTruck} takes from the {@link Dock} per handoff. A
+     * value of one takes a single container at a time.
+     *
+     * @param batchSize The new value of {@link #batchSize}.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size of ContainerTruck cannot be smaller or equal to zero.");
+        this.batchSize = batchSize;
     }
 }
@@ -1,18 +1,29 @@
 package com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.dock.OilTruckPool;
 import com.github.marcustalbots.haven.impl.containers.OilContainer;
 import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockTransportVehicle;
 import com.github.marcustalbots.haven.strategies.transport.OilTransportStrategy;
 import com.github.marcustalbots.haven.strategies.transport.TransportStrategy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 /**
  * Implementation of the {@link AbstractDockTransportVehicle}, responsible for simulating the transport of
  * {@link OilContainer}-objects from the {@link Dock}, to an unspecified location.
+ * <br><br>
+ * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump}-objects pump oil into
+ * the {@link #inbox} of an {@link OilTruck}. Registering with the {@link OilTruckPool} reserves the {@link #inbox}
+ * for a single transfer, and an {@link OilTruck} only registers while its {@link #inbox} is empty, so loading it
+ * never blocks, and never fails. An {@link OilTruck} registers for its next transfer as soon as it has taken its
+ * current load from the {@link #inbox}, so that the next transfer can start while it is still on the road.
+ *
  * @author Marcus Talbot (1041464)
  */
 public final class OilTruck extends AbstractDockTransportVehicle {
@@ -30,23 +41,27 @@ public final class OilTruck extends AbstractDockTransportVehicle {
     private final ReentrantLock lock;
 
     /**
-     * Condition used to wait until an {@link OilContainer} has been placed on the {@link OilTruck}.
+     * Condition used to wait until an {@link OilContainer} has been placed in the {@link #inbox}.
      */
     private final Condition hasOil;
 
     /**
-     * Condition used to wait until the {@link OilContainer} has been removed from the {@link OilTruck}.
+     * {@link OilContainer} that has been pumped into this {@link OilTruck}, but has not been transported yet. Guarded
+     * by the {@link #lock}.
      */
-    private final Condition isEmpty;
+    private @Nullable OilContainer inbox;
 
     /**
-     * Currently loaded {@link OilContainer}.
+     * Whether this {@link OilTruck} is registered with the {@link OilTruckPool}, or a
+     * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump} holds its
+     * registration. Only used by the thread that runs this {@link OilTruck}.
      */
-    private OilContainer container;
+    private boolean registered;
 
     /**
      * Simple constructor which creates a new {@link OilTruck} with the given configuration, and initialises private
-     * fields.
+     * fields. The {@link OilTruck} joins the {@link OilTruckPool} of the {@link Dock}, and registers with it right
+     * away, unless the {@link OilTruckPool} is at its capacity. It leaves the {@link OilTruckPool} once it has run.
      *
      * @param dock       {@link Dock} the {@link OilTruck} should associate with.
      * @param identifier (Preferably unique) Identifier of the {@link OilTruck}.
@@ -58,64 +73,186 @@ public final class OilTruck extends AbstractDockTransportVehicle {
         this.lock.lock();
         try {
             this.hasOil = this.lock.newCondition();
-            this.isEmpty = this.lock.newCondition();
         } finally {
             this.lock.unlock();
         }
 
-        this.getDock().registerOilTruck(this);
+        this.getDock().getShift().onEnd(this::wake);
+        this.getDock().getOilTruckPool().join();
+        this.registered = this.getDock().registerOilTruck(this);
     }
 
     /**
      * Implementation of {@link Runnable#run()}. Responsible for the simulation of {@link OilContainer} transport, using
-     * the {@link #OIL_TRANSPORT_STRATEGY}.
+     * the {@link #OIL_TRANSPORT_STRATEGY}. Waits for containers according to the
+     * {@link com.github.marcustalbots.haven.dock.wait.WaitPolicy} of the {@link Dock}; when it gives up, the
+     * {@link OilTruck} stays registered and simply waits again, as
+     * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump}-objects may still
+     * need it. An {@link OilTruck} turned away by the {@link OilTruckPool}, because it is at its capacity, parks until
+     * the {@link OilTruckPool} has room again, and registers then. The method returns once the shift of the
+     * {@link Dock} has ended, or this {@link OilTruck} is interrupted.
+     * <br><br>
+     * Before returning, the {@link OilTruck} withdraws its registration. If a
+     * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump} already holds it,
+     * the transfer is waited for, and transported, so that no container is lost; a
+     * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump} always completes a
+     * transfer it has started. Once returned, the {@link OilTruck} has left the {@link OilTruckPool}.
      */
     @Override
     public void run() {
-        while (true) {
+        try {
+            this.transportUntilShiftEnds();
+        } finally {
+            this.getDock().getOilTruckPool().leave();
+        }
+    }
+
+    /**
+     * Transports every {@link OilContainer} pumped into this {@link OilTruck}, as described by {@link #run()}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void transportUntilShiftEnds() {
+        final var clock = SimulationClock.current();
+        final var shift = this.getDock().getShift();
+        while (this.registered || this.awaitRegistration()) {
+            final var start = clock.nanos();
+            final OilContainer container;
             this.lock.lock();
             try {
-                while (this.container == null) {
-                    if (!this.hasOil.await(30, TimeUnit.SECONDS)) return;
+                while (this.inbox == null && !shift.isOver())
+                    this.await(this.hasOil, () -> this.inbox != null);
+                if (this.inbox == null) {
+                    if (this.getDock().getOilTruckPool().withdraw(this))
+                        return;
+                    while (this.inbox == null)
+                        this.hasOil.await();
                 }
+                container = this.inbox;
+                this.inbox = null;
             } catch (InterruptedException e) {
                 e.printStackTrace();
+                Thread.currentThread().interrupt();
+                this.getDock().getOilTruckPool().withdraw(this);
+                return;
             } finally {
                 this.lock.unlock();
             }
+            this.getMetrics().recordIdle(clock.nanos() - start);
+            this.registered = this.getDock().registerOilTruck(this);
             OilTruck.OIL_TRANSPORT_STRATEGY.execute(this, container);
-            this.container = null;
-            this.lock.lock();
-            try {
-                this.isEmpty.signal();
-            } finally {
-                this.lock.unlock();
-            }
-            this.getDock().registerOilTruck(this);
         }
     }
 
     /**
-     * Places a new {@link OilContainer} on the {@link OilTruck}. Uses {@link #lock} to do so safely. If the
-     * {@link OilTruck} is not empty, this method will block until it is empty, or the timeout of seven seconds has
-     * passed.
+     * Simulates the transport of the {@link OilContainer} in the {@link #inbox}, using the
+     * {@link #OIL_TRANSPORT_STRATEGY}, and empties the {@link OilTruck}. Does not wait for a container to be loaded,
+     * and does not register the {@link OilTruck} with the {@link Dock} again.
+     *
+     * @return false if no container was loaded, true otherwise.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean transportLoad() {
+        final OilContainer container;
+        this.lock.lock();
+        try {
+            container = this.inbox;
+            this.inbox = null;
+        } finally {
+            this.lock.unlock();
+        }
+        if (container == null)
+            return false;
+
+        OilTruck.OIL_TRANSPORT_STRATEGY.execute(this, container);
+        return true;
+    }
+
+    /**
+     * Places a new {@link OilContainer} in the {@link #inbox} of the {@link OilTruck}. Must only be called by the
+     * holder of a registration obtained from the {@link OilTruckPool}, which guarantees that the {@link #inbox} is
+     * empty. Never blocks.
      *
      * @param container {@link OilContainer} that should be loaded onto the {@link OilTruck}.
+     * @throws IllegalStateException If the {@link #inbox} is not empty, because the {@link OilTruck} was loaded without
+     *                               a registration.
+     * @author Marcus Talbot (1041464)
      */
-    public void setContainer(final OilContainer container) {
+    public void load(@NotNull final OilContainer container) {
         this.lock.lock();
         try {
-            if (this.container != null) {
-                while (this.container != null) {
-                    if (!this.isEmpty.await(7, TimeUnit.SECONDS))
-                        return;
+            if (this.inbox != null)
+                throw new IllegalStateException(this + " was loaded without being registered.");
+            this.inbox = container;
+            this.hasOil.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits on the given {@link Condition} until the given state is reached, according to the
+     * {@link com.github.marcustalbots.haven.dock.wait.WaitPolicy} of the {@link Dock}. Must be called while holding
+     * the {@link #lock}.
+     *
+     * @param condition The {@link Condition} that is signalled when the state changes.
+     * @param reached   Checks whether the state has been reached.
+     * @return true if the state was reached, false if the policy gave up, or the shift of the {@link Dock} ended.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean await(@NotNull final Condition condition, @NotNull final BooleanSupplier reached)
+            throws InterruptedException {
+        final var shift = this.getDock().getShift();
+        return this.getDock().getWaitPolicy().await(shift, realNanos -> {
+            var remaining = realNanos;
+            while (!reached.getAsBoolean()) {
+                if (remaining <= 0L || shift.isOver())
+                    return false;
+                remaining = condition.awaitNanos(remaining);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Parks this {@link OilTruck}, after the {@link OilTruckPool} turned it away, until it is admitted. Waits
+     * according to the {@link com.github.marcustalbots.haven.dock.wait.WaitPolicy} of the {@link Dock}, again and
+     * again, until the shift of the {@link Dock} ends.
+     *
+     * @return true if the {@link OilTruck} was registered, false if the shift ended first, or the current thread was
+     * interrupted.
+     * @author Marcus Talbot (1041464)
+     */
+    private boolean awaitRegistration() {
+        final var dock = this.getDock();
+        final var pool = dock.getOilTruckPool();
+        final var shift = dock.getShift();
+        try {
+            while (!shift.isOver()) {
+                if (dock.getWaitPolicy().await(shift, realNanos -> pool.awaitRoom(shift, realNanos)
+                        && dock.registerOilTruck(this))) {
+                    this.registered = true;
+                    return true;
                 }
             }
-            this.container = container;
         } catch (InterruptedException e) {
             e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Wakes every thread waiting on this {@link OilTruck}. Called when the shift of the {@link Dock} ends.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void wake() {
+        this.lock.lock();
+        try {
+            this.hasOil.signalAll();
         } finally {
-            this.hasOil.signal();
             this.lock.unlock();
         }
     }
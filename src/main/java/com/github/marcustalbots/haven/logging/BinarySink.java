@@ -0,0 +1,86 @@
+package com.github.marcustalbots.haven.logging;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link EventSink} that writes every event as a compact binary record, to be analysed after the simulation has run.
+ * <br><br>
+ * Every record consists of:
+ * <ul>
+ *     <li>The ordinal of the {@link EventType}, as a single byte.</li>
+ *     <li>The simulated time in nanoseconds since the epoch, as a long.</li>
+ *     <li>The vehicle, container, ship and counterpart, in that order, each as a modified UTF-8 string (see
+ *     {@link DataOutputStream#writeUTF(String)}). Subjects that are absent are written as empty strings.</li>
+ * </ul>
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class BinarySink implements EventSink {
+
+    /**
+     * Buffered destination of the records.
+     */
+    private final DataOutputStream output;
+
+    /**
+     * Creates a new {@link BinarySink}, which writes to the given {@link OutputStream}.
+     *
+     * @param outputStream Destination of the records. Closed when this sink is closed.
+     * @author Marcus Talbot (1041464)
+     */
+    public BinarySink(@NotNull final OutputStream outputStream) {
+        this.output = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void write(@NotNull final LoggedEvent event) throws IOException {
+        this.output.writeByte(event.getType().ordinal());
+        this.output.writeLong(event.getNanos());
+        this.writeSubject(event.getVehicle());
+        this.writeSubject(event.getContainer());
+        this.writeSubject(event.getShip());
+        this.writeSubject(event.getCounterpart());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void flush() throws IOException {
+        this.output.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void close() throws IOException {
+        this.output.close();
+    }
+
+    /**
+     * Writes a single subject of an event.
+     *
+     * @param subject The subject, or null if it is absent.
+     * @throws IOException If the subject could not be written.
+     * @author Marcus Talbot (1041464)
+     */
+    private void writeSubject(@Nullable final Object subject) throws IOException {
+        this.output.writeUTF(subject == null ? "" : subject.toString());
+    }
+}
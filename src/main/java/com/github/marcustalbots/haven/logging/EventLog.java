@@ -0,0 +1,295 @@
+package com.github.marcustalbots.haven.logging;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.vehicles.AbstractVehicle;
+import com.github.marcustalbots.haven.strategies.offload.OffloadStrategy;
+import com.github.marcustalbots.haven.strategies.transport.TransportStrategy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous log of everything the {@link OffloadStrategy}- and {@link TransportStrategy}-implementations do.
+ * <br><br>
+ * Logging an event only claims a slot in a ring buffer of preallocated entries, and stores the subjects of the event
+ * by reference. A single background thread takes the entries from the ring buffer, and formats and writes them to an
+ * {@link EventSink}. As a result, vehicles never synchronise on {@link System#out}, and never format text. Should the
+ * ring buffer fill up, vehicles wait for the background thread to catch up, so no event is lost.
+ * <br><br>
+ * The shared instance is configured through system properties:
+ * <ul>
+ *     <li>{@code haven.log.sink}: {@code text} (default) writes plain text to {@link System#out}, {@code binary}
+ *     writes binary records to the file named by {@code haven.log.file}.</li>
+ *     <li>{@code haven.log.file}: File binary records are written to. Defaults to {@code haven-events.bin}.</li>
+ *     <li>{@code haven.log.capacity}: Amount of entries in the ring buffer. Defaults to 8192.</li>
+ * </ul>
+ *
+ * @author Marcus Talbot (1041464)
+ * @see PlainTextSink
+ * @see BinarySink
+ */
+public final class EventLog implements AutoCloseable {
+
+    /**
+     * Amount of time the background thread sleeps while the ring buffer is empty.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    /**
+     * Instance-field to comply with the Singleton-pattern.
+     */
+    private static volatile EventLog instance;
+
+    /**
+     * Entries that have been logged, but not written yet.
+     */
+    private final EventRingBuffer buffer;
+
+    /**
+     * Destination of every entry. Only used by {@link #writer}.
+     */
+    private final EventSink sink;
+
+    /**
+     * Background thread, which writes entries to {@link #sink}.
+     */
+    private final Thread writer;
+
+    /**
+     * Amount of events that were logged while or after this log was closed, and were therefore dropped.
+     */
+    private final LongAdder droppedEvents;
+
+    /**
+     * Position in {@link #buffer} up to which every entry has been written and flushed to {@link #sink}.
+     */
+    private volatile long flushedPosition;
+
+    /**
+     * Whether {@link #close()} has been called.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new {@link EventLog}, and starts its background thread.
+     *
+     * @param sink     Destination of every entry. Closed when this log is closed.
+     * @param capacity Minimum amount of entries in the ring buffer.
+     * @author Marcus Talbot (1041464)
+     */
+    public EventLog(@NotNull final EventSink sink, final int capacity) {
+        this.buffer = new EventRingBuffer(capacity);
+        this.sink = sink;
+        this.droppedEvents = new LongAdder();
+        this.writer = new Thread(this::writeEntries, "event-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Static method that allows the user to get a reference to the shared {@link EventLog}-object. If no
+     * {@link EventLog}-object exists, this method will create one atomically, configured through the system properties
+     * described above.
+     *
+     * @return A reference to the shared {@link EventLog}-object.
+     * @throws UncheckedIOException If the file for binary records could not be opened.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull EventLog getInstance() {
+        var eventLog = EventLog.instance;
+
+        if (eventLog != null)
+            return eventLog;
+
+        synchronized (EventLog.class) {
+            if (EventLog.instance == null)
+                EventLog.instance = EventLog.fromSystemProperties();
+        }
+
+        return EventLog.instance;
+    }
+
+    /**
+     * Logs an event that only concerns a vehicle.
+     *
+     * @param type    Kind of event.
+     * @param nanos   Simulated time, in nanoseconds since the epoch.
+     * @param vehicle The vehicle performing the action.
+     * @author Marcus Talbot (1041464)
+     */
+    public void log(@NotNull final EventType type, final long nanos, @NotNull final AbstractVehicle vehicle) {
+        this.log(type, nanos, vehicle, null, null, null);
+    }
+
+    /**
+     * Logs an event in which a vehicle acts on a container.
+     *
+     * @param type      Kind of event.
+     * @param nanos     Simulated time, in nanoseconds since the epoch.
+     * @param vehicle   The vehicle performing the action.
+     * @param container The container the action is performed on.
+     * @author Marcus Talbot (1041464)
+     */
+    public void log(@NotNull final EventType type, final long nanos, @NotNull final AbstractVehicle vehicle,
+                    @NotNull final AbstractContainer container) {
+        this.log(type, nanos, vehicle, container, null, null);
+    }
+
+    /**
+     * Logs an event in which a vehicle acts on a container on board of a ship.
+     *
+     * @param type      Kind of event.
+     * @param nanos     Simulated time, in nanoseconds since the epoch.
+     * @param vehicle   The vehicle performing the action.
+     * @param container The container the action is performed on.
+     * @param ship      The ship the container is taken from.
+     * @author Marcus Talbot (1041464)
+     */
+    public void log(@NotNull final EventType type, final long nanos, @NotNull final AbstractVehicle vehicle,
+                    @NotNull final AbstractContainer container, @NotNull final AbstractVehicle ship) {
+        this.log(type, nanos, vehicle, container, ship, null);
+    }
+
+    /**
+     * Logs an event. Never allocates, and only waits if the ring buffer is full.
+     *
+     * @param type        Kind of event.
+     * @param nanos       Simulated time, in nanoseconds since the epoch.
+     * @param vehicle     The vehicle performing the action.
+     * @param container   The container the action is performed on, if any.
+     * @param ship        The ship the container is taken from, if any.
+     * @param counterpart The vehicle the action is performed together with, if any.
+     * @author Marcus Talbot (1041464)
+     */
+    public void log(@NotNull final EventType type, final long nanos, @NotNull final AbstractVehicle vehicle,
+                    @Nullable final AbstractContainer container, @Nullable final AbstractVehicle ship,
+                    @Nullable final AbstractVehicle counterpart) {
+        if (this.closed) {
+            this.droppedEvents.increment();
+            return;
+        }
+        while (!this.buffer.offer(type, nanos, vehicle, container, ship, counterpart)) {
+            if (this.closed) {
+                this.droppedEvents.increment();
+                return;
+            }
+            LockSupport.unpark(this.writer);
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Blocks until every event logged before this call has been written and flushed to the {@link EventSink}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void flush() {
+        final var target = this.buffer.tailPosition();
+        while (this.flushedPosition < target && this.writer.isAlive()) {
+            LockSupport.unpark(this.writer);
+            LockSupport.parkNanos(this, EventLog.IDLE_NANOS);
+        }
+    }
+
+    /**
+     * Gets the amount of events that were logged while or after this log was closed, and were therefore dropped.
+     *
+     * @return The amount of dropped events.
+     * @author Marcus Talbot (1041464)
+     */
+    public long getDroppedEvents() {
+        return this.droppedEvents.sum();
+    }
+
+    /**
+     * Writes every event that has been logged, stops the background thread, and closes the {@link EventSink}. Events
+     * that are logged while closing are either written or counted as dropped; events logged afterwards are dropped.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+        try {
+            this.sink.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Body of {@link #writer}. Writes entries to {@link #sink} as long as there are any, and flushes {@link #sink}
+     * whenever the ring buffer runs empty. Once this log is closed, the ring buffer is sealed, so that no more slots
+     * can be claimed, and this method returns once every slot claimed before has been published and written.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void writeEntries() {
+        while (true) {
+            // Read before draining, so that every event logged before close() is written.
+            final var closing = this.closed;
+
+            var drained = 0;
+            try {
+                drained = this.buffer.drainTo(this.sink);
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            if (drained > 0)
+                continue;
+
+            try {
+                this.sink.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            this.flushedPosition = this.buffer.headPosition();
+
+            // A vehicle may have claimed a slot before close(), without having published its event yet.
+            if (closing && this.flushedPosition >= this.buffer.seal())
+                return;
+            LockSupport.parkNanos(this, EventLog.IDLE_NANOS);
+        }
+    }
+
+    /**
+     * Creates the {@link EventLog} described by the system properties.
+     *
+     * @return A new {@link EventLog}.
+     * @throws IllegalArgumentException If {@code haven.log.sink} holds an unknown value.
+     * @throws UncheckedIOException     If the file for binary records could not be opened.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @NotNull EventLog fromSystemProperties() {
+        final var capacity = Integer.getInteger("haven.log.capacity", 8192);
+        final var value = System.getProperty("haven.log.sink", "text");
+        final EventSink sink = switch (value) {
+            case "text" -> PlainTextSink.standardOutput();
+            case "binary" -> {
+                final var file = System.getProperty("haven.log.file", "haven-events.bin");
+                try {
+                    yield new BinarySink(new FileOutputStream(file));
+                } catch (FileNotFoundException e) {
+                    throw new UncheckedIOException("Could not open event log " + file + ".", e);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown value for haven.log.sink: " + value);
+        };
+        return new EventLog(sink, capacity);
+    }
+}
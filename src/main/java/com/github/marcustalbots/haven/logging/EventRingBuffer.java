@@ -0,0 +1,186 @@
+package com.github.marcustalbots.haven.logging;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.vehicles.AbstractVehicle;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free, multi-producer/single-consumer queue of preallocated {@link LoggedEvent}-objects. Producers
+ * claim a slot, fill in its {@link LoggedEvent}, and publish it by advancing the sequence number of the slot, so that
+ * logging an event never allocates and never takes a lock.
+ * <br><br>
+ * Only a single thread may call {@link #drainTo(EventSink)}. Once {@link #seal() sealed}, no more slots can be claimed.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class EventRingBuffer {
+
+    /**
+     * Bit set in {@link #tail} once the {@link EventRingBuffer} is sealed.
+     */
+    private static final long SEALED = Long.MIN_VALUE;
+
+    /**
+     * Preallocated entries, one per slot.
+     */
+    private final LoggedEvent[] events;
+
+    /**
+     * Sequence number of every slot. A slot at position p may be written when its sequence equals p, and may be read
+     * when its sequence equals p + 1.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Used to map a position onto a slot. The capacity is always a power of two.
+     */
+    private final int mask;
+
+    /**
+     * Position the next event will be written to, with {@link #SEALED} set once no more events may be written.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Position the next event will be read from. Only written by the consumer.
+     */
+    private volatile long head;
+
+    /**
+     * Creates a new, empty {@link EventRingBuffer}, that can hold at least the given amount of events.
+     *
+     * @param minimumCapacity Minimum amount of events the {@link EventRingBuffer} must be able to hold.
+     * @author Marcus Talbot (1041464)
+     */
+    EventRingBuffer(final int minimumCapacity) {
+        if (minimumCapacity <= 0)
+            throw new IllegalArgumentException("Capacity of EventRingBuffer must be greater than zero.");
+
+        final var capacity = Integer.highestOneBit(minimumCapacity) == minimumCapacity
+                ? minimumCapacity
+                : Integer.highestOneBit(minimumCapacity) << 1;
+
+        this.events = new LoggedEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        for (var index = 0; index < capacity; index++) {
+            this.events[index] = new LoggedEvent();
+            this.sequences.set(index, index);
+        }
+    }
+
+    /**
+     * Appends an event, if there is a free slot.
+     *
+     * @param type        Kind of event.
+     * @param nanos       Simulated time, in nanoseconds since the epoch.
+     * @param vehicle     The vehicle performing the action.
+     * @param container   The container the action is performed on.
+     * @param ship        The ship the container is taken from.
+     * @param counterpart The vehicle the action is performed together with.
+     * @return true if the event was appended, false if the {@link EventRingBuffer} is full or sealed.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean offer(final EventType type, final long nanos, final AbstractVehicle vehicle,
+                  final AbstractContainer container, final AbstractVehicle ship, final AbstractVehicle counterpart) {
+        var position = this.tail.get();
+        while (true) {
+            if ((position & EventRingBuffer.SEALED) != 0L)
+                return false;
+
+            final var index = (int) position & this.mask;
+            final var difference = this.sequences.get(index) - position;
+
+            if (difference == 0L) {
+                if (this.tail.compareAndSet(position, position + 1L)) {
+                    this.events[index].set(type, nanos, vehicle, container, ship, counterpart);
+                    this.sequences.set(index, position + 1L);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0L) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Writes every published event to the given sink, in order, and frees their slots.
+     *
+     * @param sink The {@link EventSink} the events are written to.
+     * @return The amount of events that were taken from the {@link EventRingBuffer}.
+     * @throws IOException If the sink could not write an event. The event is dropped.
+     * @author Marcus Talbot (1041464)
+     */
+    int drainTo(@NotNull final EventSink sink) throws IOException {
+        var position = this.head;
+        var drained = 0;
+        try {
+            while (true) {
+                final var index = (int) position & this.mask;
+                if (this.sequences.get(index) != position + 1L)
+                    return drained;
+
+                final var event = this.events[index];
+                try {
+                    sink.write(event);
+                } finally {
+                    event.clear();
+                    this.sequences.set(index, position + this.mask + 1L);
+                    position++;
+                    drained++;
+                }
+            }
+        } finally {
+            this.head = position;
+        }
+    }
+
+    /**
+     * Gets the position the next event will be written to. Every event before this position has been claimed.
+     *
+     * @return The current tail position.
+     * @author Marcus Talbot (1041464)
+     */
+    long tailPosition() {
+        return this.tail.get() & ~EventRingBuffer.SEALED;
+    }
+
+    /**
+     * Stops the {@link EventRingBuffer} from accepting events. Events whose slot was claimed before are still published
+     * as usual, and can still be drained.
+     *
+     * @return The position up to which slots were claimed, which every published event lies before.
+     * @author Marcus Talbot (1041464)
+     */
+    long seal() {
+        return this.tail.getAndUpdate(position -> position | EventRingBuffer.SEALED) & ~EventRingBuffer.SEALED;
+    }
+
+    /**
+     * Gets the position the next event will be read from. Every event before this position has been written.
+     *
+     * @return The current head position.
+     * @author Marcus Talbot (1041464)
+     */
+    long headPosition() {
+        return this.head;
+    }
+
+    /**
+     * Gets the amount of slots in the {@link EventRingBuffer}.
+     *
+     * @return The capacity of the {@link EventRingBuffer}.
+     * @author Marcus Talbot (1041464)
+     */
+    int capacity() {
+        return this.mask + 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.marcustalbots.haven.logging;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Provides a common interface for destinations of the {@link EventLog}. A sink is only ever used by the thread of the
+ * {@link EventLog}, so implementations need not be thread-safe.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see PlainTextSink
+ * @see BinarySink
+ */
+public interface EventSink extends Closeable, Flushable {
+
+    /**
+     * Writes a single event. The given {@link LoggedEvent} is reused once this method returns.
+     *
+     * @param event The event that should be written.
+     * @throws IOException If the event could not be written.
+     * @author Marcus Talbot (1041464)
+     */
+    void write(@NotNull final LoggedEvent event) throws IOException;
+
+}
@@ -0,0 +1,154 @@
+package com.github.marcustalbots.haven.logging;
+
+import com.github.marcustalbots.haven.strategies.offload.OffloadStrategy;
+import com.github.marcustalbots.haven.strategies.transport.TransportStrategy;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Formatter;
+
+/**
+ * Every kind of event the {@link OffloadStrategy}- and {@link TransportStrategy}-implementations log. Every type has
+ * a phase, which is printed in front of the message, and a template for the message itself.
+ * <br><br>
+ * Templates are {@link Formatter}-patterns, which refer to the subjects of a {@link LoggedEvent} by position:
+ * {@code %1$s} is the vehicle, {@code %2$s} the container, {@code %3$s} the ship and {@code %4$s} the counterpart.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public enum EventType {
+
+    /**
+     * A heated container is decoupled from the heating element of its ship.
+     */
+    DECOUPLING_HEATED("DECOUPLING", "Decoupling %2$s from heating element of %3$s."),
+
+    /**
+     * A cooled container is decoupled from the cooling element of its ship.
+     */
+    DECOUPLING_COOLED("DECOUPLING", "Decoupling %2$s from cooling element of %3$s."),
+
+    /**
+     * A crane starts offloading a container from a ship.
+     */
+    OFFLOADING("OFFLOADING", "%1$s offloading %2$s, from %3$s..."),
+
+    /**
+     * A crane places an offloaded container on the dock.
+     */
+    PLACING("PLACING", "%1$s placing %2$s on dock..."),
+
+    /**
+     * A pump starts looking for an idle oil truck.
+     */
+    POLLING("POLLING", "%1$s looking for OilTruck on Dock..."),
+
+    /**
+     * A pump has not found an idle oil truck in time, and keeps waiting.
+     */
+    POLLING_WAITING("POLLING", "%1$s still waiting for OilTruck on Dock..."),
+
+    /**
+     * A pump connects its hose to an oil truck.
+     */
+    CONNECTING("CONNECTING", "Connecting hose of %1$s to %4$s."),
+
+    /**
+     * A pump starts pumping the contents of a container into an oil truck.
+     */
+    PUMPING("PUMPING", "%1$s pumping contents of %3$s's %2$s, from %4$s..."),
+
+    /**
+     * A pump has finished pumping oil into an oil truck.
+     */
+    PUMPED("FINISHED", "Oil pumped into %4$s."),
+
+    /**
+     * A heated container is coupled to the heating element of a truck.
+     */
+    COUPLING_HEATED("COUPLING", "Coupling %2$s to heating element in %1$s."),
+
+    /**
+     * A cooled container is coupled to the cooling element of a truck.
+     */
+    COUPLING_COOLED("COUPLING", "Coupling %2$s to the cooling element in %1$s."),
+
+    /**
+     * A truck has loaded a container.
+     */
+    LOADED("LOADED", "%1$s loaded %2$s."),
+
+    /**
+     * A cooled container has been coupled to the cooling element of a truck.
+     */
+    LOADED_COOLED("LOADED", "%2$s coupled to cooling element in %1$s."),
+
+    /**
+     * A truck starts transporting a container.
+     */
+    TRANSPORT("TRANSPORT", "%1$s starting transport of %2$s."),
+
+    /**
+     * A truck has finished transporting a container.
+     */
+    FINISHED("FINISHED", "%1$s finished transporting %2$s."),
+
+    /**
+     * The contents of an oil container are loaded onto an oil truck.
+     */
+    LOADING_OIL("PUMPING", "Loading contents of %2$s onto %1$s."),
+
+    /**
+     * An oil truck starts transporting the contents of an oil container.
+     */
+    TRANSPORT_OIL("TRANSPORT", "%1$s starting transport of contents of %2$s."),
+
+    /**
+     * An oil truck has finished transporting the contents of an oil container.
+     */
+    FINISHED_OIL("FINISHED", "%1$s finished transporting contents of %2$s.");
+
+    /**
+     * Phase printed in front of the message.
+     */
+    private final String phase;
+
+    /**
+     * {@link Formatter}-pattern of the message.
+     */
+    private final String template;
+
+    /**
+     * Creates a new {@link EventType}.
+     *
+     * @param phase    Phase printed in front of the message.
+     * @param template {@link Formatter}-pattern of the message.
+     * @author Marcus Talbot (1041464)
+     */
+    EventType(@NotNull final String phase, @NotNull final String template) {
+        this.phase = phase;
+        this.template = template;
+    }
+
+    /**
+     * Gets the phase printed in front of the message.
+     *
+     * @return {@link #phase}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull String getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Gets the {@link Formatter}-pattern of the message.
+     *
+     * @return {@link #template}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull String getTemplate() {
+        return this.template;
+    }
+}
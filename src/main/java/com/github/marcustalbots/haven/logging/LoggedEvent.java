@@ -0,0 +1,153 @@
+package com.github.marcustalbots.haven.logging;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.vehicles.AbstractVehicle;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single entry of the {@link EventLog}. Entries are allocated once, when the {@link EventLog} is created, and are
+ * reused for every event that passes through the same slot. An {@link EventSink} must therefore not hold on to a
+ * {@link LoggedEvent} after {@link EventSink#write(LoggedEvent)} returns.
+ * <br><br>
+ * Subjects are stored as references, and only turned into text by the {@link EventSink}, on the thread of the
+ * {@link EventLog}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class LoggedEvent {
+
+    /**
+     * Kind of event.
+     */
+    private EventType type;
+
+    /**
+     * Simulated time at which the event happened, in nanoseconds since the epoch.
+     */
+    private long nanos;
+
+    /**
+     * The vehicle performing the action.
+     */
+    private AbstractVehicle vehicle;
+
+    /**
+     * The container the action is performed on.
+     */
+    private AbstractContainer container;
+
+    /**
+     * The ship the container is taken from.
+     */
+    private AbstractVehicle ship;
+
+    /**
+     * The vehicle the action is performed together with.
+     */
+    private AbstractVehicle counterpart;
+
+    /**
+     * Creates a new, empty {@link LoggedEvent}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    LoggedEvent() {
+    }
+
+    /**
+     * Overwrites every field of this entry.
+     *
+     * @param type        Kind of event.
+     * @param nanos       Simulated time, in nanoseconds since the epoch.
+     * @param vehicle     The vehicle performing the action.
+     * @param container   The container the action is performed on.
+     * @param ship        The ship the container is taken from.
+     * @param counterpart The vehicle the action is performed together with.
+     * @author Marcus Talbot (1041464)
+     */
+    void set(final EventType type, final long nanos, final AbstractVehicle vehicle, final AbstractContainer container,
+             final AbstractVehicle ship, final AbstractVehicle counterpart) {
+        this.type = type;
+        this.nanos = nanos;
+        this.vehicle = vehicle;
+        this.container = container;
+        this.ship = ship;
+        this.counterpart = counterpart;
+    }
+
+    /**
+     * Drops the references held by this entry, so that logged objects can be garbage collected.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    void clear() {
+        this.set(null, 0L, null, null, null, null);
+    }
+
+    /**
+     * Gets the kind of event.
+     *
+     * @return {@link #type}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public EventType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the simulated time at which the event happened.
+     *
+     * @return {@link #nanos}, in nanoseconds since the epoch.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * Gets the vehicle performing the action.
+     *
+     * @return {@link #vehicle}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @Nullable AbstractVehicle getVehicle() {
+        return this.vehicle;
+    }
+
+    /**
+     * Gets the container the action is performed on.
+     *
+     * @return {@link #container}, or null if the event does not concern a container.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @Nullable AbstractContainer getContainer() {
+        return this.container;
+    }
+
+    /**
+     * Gets the ship the container is taken from.
+     *
+     * @return {@link #ship}, or null if the event does not concern a ship.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @Nullable AbstractVehicle getShip() {
+        return this.ship;
+    }
+
+    /**
+     * Gets the vehicle the action is performed together with.
+     *
+     * @return {@link #counterpart}, or null if the action is performed alone.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @Nullable AbstractVehicle getCounterpart() {
+        return this.counterpart;
+    }
+}
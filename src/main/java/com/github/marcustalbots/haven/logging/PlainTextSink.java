@@ -0,0 +1,121 @@
+package com.github.marcustalbots.haven.logging;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Formatter;
+
+/**
+ * {@link EventSink} that writes every event as a line of text, in the same format the strategies used to print:
+ * {@code [PHASE][HH:mm:ss] message}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class PlainTextSink implements EventSink {
+
+    /**
+     * Formats the time of an event, in the default time-zone.
+     */
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * Buffered destination of the lines.
+     */
+    private final Writer writer;
+
+    /**
+     * Reused to build every line.
+     */
+    private final StringBuilder line;
+
+    /**
+     * Formats messages into {@link #line}.
+     */
+    private final Formatter formatter;
+
+    /**
+     * Creates a new {@link PlainTextSink}, which writes UTF-8 text to the given {@link OutputStream}.
+     *
+     * @param outputStream Destination of the lines. Closed when this sink is closed.
+     * @author Marcus Talbot (1041464)
+     */
+    public PlainTextSink(@NotNull final OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+        this.line = new StringBuilder(256);
+        this.formatter = new Formatter(this.line);
+    }
+
+    /**
+     * Creates a new {@link PlainTextSink}, which writes to {@link System#out}. Closing the sink flushes
+     * {@link System#out}, but leaves it open.
+     *
+     * @return A new {@link PlainTextSink}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(" -> new")
+    public static @NotNull PlainTextSink standardOutput() {
+        return new PlainTextSink(new FilterOutputStream(System.out) {
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) {
+                System.out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() {
+                System.out.flush();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void write(@NotNull final LoggedEvent event) throws IOException {
+        final var type = event.getType();
+        final var nanos = event.getNanos();
+
+        this.line.setLength(0);
+        this.line.append('[').append(type.getPhase()).append("][");
+        PlainTextSink.TIME_FORMATTER.formatTo(Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                Math.floorMod(nanos, 1_000_000_000L)), this.line);
+        this.line.append("] ");
+        this.formatter.format(type.getTemplate(), event.getVehicle(), event.getContainer(), event.getShip(),
+                event.getCounterpart());
+        this.line.append('\n');
+        this.writer.append(this.line);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+}
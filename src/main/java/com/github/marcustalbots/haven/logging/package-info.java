@@ -0,0 +1,7 @@
+/**
+ * Contains the asynchronous event log, which records what every vehicle does without formatting or writing on the
+ * threads of the vehicles themselves.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.logging;
@@ -0,0 +1,58 @@
+package com.github.marcustalbots.haven.metrics;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count of events. Backed by a {@link LongAdder}, so that threads incrementing the same
+ * counter do not contend on a single memory location.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class Counter {
+
+    /**
+     * The count itself.
+     */
+    private final LongAdder count;
+
+    /**
+     * Creates a new {@link Counter}, starting at zero.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    Counter() {
+        this.count = new LongAdder();
+    }
+
+    /**
+     * Adds one to this counter.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void increment() {
+        this.count.increment();
+    }
+
+    /**
+     * Adds the given amount to this counter.
+     *
+     * @param amount Amount to add. Must not be negative.
+     * @author Marcus Talbot (1041464)
+     */
+    public void add(final long amount) {
+        this.count.add(amount);
+    }
+
+    /**
+     * Gets the current count. Not an atomic snapshot; increments that happen concurrently may or may not be included.
+     *
+     * @return The current count.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public long get() {
+        return this.count.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.marcustalbots.haven.metrics;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Summary of the values recorded by a {@link LatencyHistogram}. Every value is in nanoseconds of simulated time, and,
+ * apart from {@link #max()}, accurate to within the precision of the {@link LatencyHistogram}.
+ *
+ * @param count Amount of recorded values.
+ * @param mean  Mean of the recorded values.
+ * @param p50   Median of the recorded values.
+ * @param p90   90th percentile of the recorded values.
+ * @param p99   99th percentile of the recorded values.
+ * @param p999  99.9th percentile of the recorded values.
+ * @param max   Largest recorded value.
+ * @param total Sum of the recorded values.
+ * @author Marcus Talbot (1041464)
+ */
+public record HistogramSnapshot(long count, long mean, long p50, long p90, long p99, long p999, long max, long total) {
+
+    /**
+     * A snapshot of a {@link LatencyHistogram} no value was recorded in.
+     */
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+
+    /**
+     * Gets the sum of the recorded values as a {@link Duration}. The histogram with the largest total is the stage in
+     * which the most time is spent.
+     *
+     * @return {@link #total()}, as a {@link Duration}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull Duration totalDuration() {
+        return Duration.ofNanos(this.total);
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.marcustalbots.haven.metrics;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies, in nanoseconds, in the style of an HDR-histogram.
+ * <br><br>
+ * Values are counted in log-linear buckets: every power of two is split into {@link #SUB_BUCKET_COUNT} buckets of
+ * equal width, so that every value is counted with a relative error of, at most, one in {@link #SUB_BUCKET_COUNT}
+ * (about three percent), regardless of its magnitude. Values below {@link #SUB_BUCKET_COUNT} are counted exactly. As
+ * a result, the whole range of positive longs fits in under two thousand buckets, and recording a value is a single
+ * atomic increment, without allocating.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Amount of bits of every value that are kept, which determines the precision of this histogram.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Amount of buckets every power of two is split into.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+
+    /**
+     * Amount of buckets needed to count every positive long.
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - LatencyHistogram.SUB_BUCKET_BITS) * LatencyHistogram.SUB_BUCKET_COUNT;
+
+    /**
+     * Amount of values counted in every bucket.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * Sum of every recorded value.
+     */
+    private final LongAdder total;
+
+    /**
+     * Largest recorded value.
+     */
+    private final AtomicLong max;
+
+    /**
+     * Creates a new, empty {@link LatencyHistogram}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    LatencyHistogram() {
+        this.buckets = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+        this.total = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a single value. Negative values are recorded as zero.
+     *
+     * @param nanos The value to record, in nanoseconds.
+     * @author Marcus Talbot (1041464)
+     */
+    public void record(final long nanos) {
+        final var value = Math.max(nanos, 0L);
+        this.buckets.incrementAndGet(LatencyHistogram.indexOf(value));
+        this.total.add(value);
+
+        var max = this.max.get();
+        while (value > max && !this.max.compareAndSet(max, value))
+            max = this.max.get();
+    }
+
+    /**
+     * Summarises the values recorded so far. Values recorded while the summary is made may or may not be included.
+     *
+     * @return A {@link HistogramSnapshot} of this histogram.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull HistogramSnapshot snapshot() {
+        final var counts = new long[LatencyHistogram.BUCKET_COUNT];
+        var count = 0L;
+        for (var index = 0; index < counts.length; index++) {
+            counts[index] = this.buckets.get(index);
+            count += counts[index];
+        }
+
+        if (count == 0L)
+            return HistogramSnapshot.EMPTY;
+
+        final var max = this.max.get();
+        final var total = this.total.sum();
+        return new HistogramSnapshot(count, total / count,
+                LatencyHistogram.percentile(counts, count, 0.5, max),
+                LatencyHistogram.percentile(counts, count, 0.9, max),
+                LatencyHistogram.percentile(counts, count, 0.99, max),
+                LatencyHistogram.percentile(counts, count, 0.999, max),
+                max, total);
+    }
+
+    /**
+     * Gets the value below which the given fraction of the counted values lies.
+     *
+     * @param counts   Amount of values counted in every bucket.
+     * @param count    Sum of counts.
+     * @param fraction Fraction of the values, between zero and one.
+     * @param max      Largest recorded value, which bounds the result.
+     * @return The highest value counted in the same bucket as the requested percentile.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    private static long percentile(final long[] counts, final long count, final double fraction, final long max) {
+        final var rank = Math.max(1L, (long) Math.ceil(fraction * count));
+        var seen = 0L;
+        for (var index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank)
+                return Math.min(LatencyHistogram.highestValueOf(index), max);
+        }
+        return max;
+    }
+
+    /**
+     * Gets the index of the bucket the given value is counted in.
+     *
+     * @param value A value, not negative.
+     * @return Index of the bucket.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    static int indexOf(final long value) {
+        if (value < LatencyHistogram.SUB_BUCKET_COUNT)
+            return (int) value;
+
+        final var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - LatencyHistogram.SUB_BUCKET_BITS;
+        final var subBucket = (int) (value >>> shift) - LatencyHistogram.SUB_BUCKET_COUNT;
+        return (shift + 1) * LatencyHistogram.SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Gets the highest value that is counted in the bucket with the given index.
+     *
+     * @param index Index of the bucket.
+     * @return The highest value of the bucket.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    static long highestValueOf(final int index) {
+        if (index < LatencyHistogram.SUB_BUCKET_COUNT)
+            return index;
+
+        final var shift = index / LatencyHistogram.SUB_BUCKET_COUNT - 1;
+        final var mantissa = (long) (LatencyHistogram.SUB_BUCKET_COUNT + index % LatencyHistogram.SUB_BUCKET_COUNT);
+        return ((mantissa + 1L) << shift) - 1L;
+    }
+}
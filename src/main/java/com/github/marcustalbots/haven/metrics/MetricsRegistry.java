@@ -0,0 +1,174 @@
+package com.github.marcustalbots.haven.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of every metric in the simulation. Metrics are created on first use, and live for as long as the registry
+ * does; callers on a hot path should look a metric up once, and keep the reference.
+ * <br><br>
+ * Every duration is recorded in simulated time, as reported by
+ * {@link com.github.marcustalbots.haven.clock.SimulationClock#nanos()}, so that metrics of a scaled or discrete-event
+ * run are comparable to those of a real-time run.
+ * <br><br>
+ * The shared instance can dump its metrics to a file periodically, configured through system properties:
+ * <ul>
+ *     <li>{@code haven.metrics.file}: File snapshots are appended to. No snapshots are written if absent.</li>
+ *     <li>{@code haven.metrics.interval}: Amount of real seconds between snapshots. Defaults to 10.</li>
+ * </ul>
+ *
+ * @author Marcus Talbot (1041464)
+ * @see MetricsReporter
+ */
+public final class MetricsRegistry {
+
+    /**
+     * Instance-field to comply with the Singleton-pattern.
+     */
+    private static volatile MetricsRegistry instance;
+
+    /**
+     * Every {@link Counter}, by name.
+     */
+    private final Map<String, Counter> counters;
+
+    /**
+     * Every {@link LatencyHistogram}, by name.
+     */
+    private final Map<String, LatencyHistogram> histograms;
+
+    /**
+     * The {@link VehicleMetrics} of every vehicle, by identifier.
+     */
+    private final Map<String, VehicleMetrics> vehicles;
+
+    /**
+     * Creates a new, empty {@link MetricsRegistry}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public MetricsRegistry() {
+        this.counters = new ConcurrentHashMap<>();
+        this.histograms = new ConcurrentHashMap<>();
+        this.vehicles = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Static method that allows the user to get a reference to the shared {@link MetricsRegistry}-object. If no
+     * {@link MetricsRegistry}-object exists, this method will create one atomically.
+     *
+     * @return A reference to the shared {@link MetricsRegistry}-object.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull MetricsRegistry getInstance() {
+        var registry = MetricsRegistry.instance;
+
+        if (registry != null)
+            return registry;
+
+        synchronized (MetricsRegistry.class) {
+            if (MetricsRegistry.instance == null)
+                MetricsRegistry.instance = new MetricsRegistry();
+        }
+
+        return MetricsRegistry.instance;
+    }
+
+    /**
+     * Gets the {@link Counter} with the given name, creating it if it does not exist yet.
+     *
+     * @param name Name of the {@link Counter}.
+     * @return The {@link Counter} with the given name.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull Counter counter(@NotNull final String name) {
+        return this.counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Gets the {@link LatencyHistogram} with the given name, creating it if it does not exist yet.
+     *
+     * @param name Name of the {@link LatencyHistogram}.
+     * @return The {@link LatencyHistogram} with the given name.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull LatencyHistogram histogram(@NotNull final String name) {
+        return this.histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Gets the {@link VehicleMetrics} of the vehicle with the given identifier, creating them if they do not exist
+     * yet. Vehicles that share an identifier share their metrics.
+     *
+     * @param identifier Identifier of the vehicle.
+     * @return The {@link VehicleMetrics} of the vehicle.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull VehicleMetrics vehicle(@NotNull final String identifier) {
+        return this.vehicles.computeIfAbsent(identifier, key -> new VehicleMetrics());
+    }
+
+    /**
+     * Copies every metric in this registry.
+     *
+     * @return A {@link MetricsSnapshot} of this registry.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(Instant.now(),
+                MetricsRegistry.copy(this.counters, Counter::get),
+                MetricsRegistry.copy(this.histograms, LatencyHistogram::snapshot),
+                MetricsRegistry.copy(this.vehicles, VehicleMetrics::snapshot));
+    }
+
+    /**
+     * Starts appending a {@link MetricsSnapshot} of this registry to the given file, every interval.
+     *
+     * @param file     File to append snapshots to. Created if it does not exist.
+     * @param interval Amount of real time between snapshots.
+     * @return The started {@link MetricsReporter}. Closing it writes a final snapshot.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull MetricsReporter startReporter(@NotNull final Path file, @NotNull final Duration interval) {
+        return new MetricsReporter(this, file, interval);
+    }
+
+    /**
+     * Starts a {@link MetricsReporter} for this registry, configured through the system properties described above.
+     *
+     * @return The started {@link MetricsReporter}, or null if {@code haven.metrics.file} is not set.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable MetricsReporter startReporterFromSystemProperties() {
+        final var file = System.getProperty("haven.metrics.file");
+        if (file == null || file.isBlank())
+            return null;
+        return this.startReporter(Path.of(file), Duration.ofSeconds(Long.getLong("haven.metrics.interval", 10L)));
+    }
+
+    /**
+     * Copies the given metrics into a sorted map, summarising every metric with the given function.
+     *
+     * @param metrics   Metrics to copy, by name.
+     * @param summarise Function that summarises a single metric.
+     * @param <M>       Type of metric.
+     * @param <S>       Type of summary.
+     * @return Summary of every metric, sorted by name.
+     * @author Marcus Talbot (1041464)
+     */
+    private static <M, S> @NotNull SortedMap<String, S> copy(@NotNull final Map<String, M> metrics,
+                                                             @NotNull final Function<M, S> summarise) {
+        final var copy = new TreeMap<String, S>();
+        metrics.forEach((name, metric) -> copy.put(name, summarise.apply(metric)));
+        return copy;
+    }
+}
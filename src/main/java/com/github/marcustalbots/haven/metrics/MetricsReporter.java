@@ -0,0 +1,91 @@
+package com.github.marcustalbots.haven.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically appends a {@link MetricsSnapshot} of a {@link MetricsRegistry} to a file, on a background thread.
+ * Closing the reporter stops the background thread, and appends a final snapshot.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see MetricsRegistry#startReporter(Path, Duration)
+ */
+public final class MetricsReporter implements AutoCloseable {
+
+    /**
+     * The {@link MetricsRegistry} snapshots are taken of.
+     */
+    private final MetricsRegistry registry;
+
+    /**
+     * File snapshots are appended to.
+     */
+    private final Path file;
+
+    /**
+     * Background thread that takes and writes the snapshots.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates a new {@link MetricsReporter}, and schedules its first snapshot after a single interval.
+     *
+     * @param registry The {@link MetricsRegistry} snapshots are taken of.
+     * @param file     File snapshots are appended to.
+     * @param interval Amount of real time between snapshots. Must be positive.
+     * @author Marcus Talbot (1041464)
+     */
+    MetricsReporter(@NotNull final MetricsRegistry registry, @NotNull final Path file, @NotNull final Duration interval) {
+        if (interval.isNegative() || interval.isZero())
+            throw new IllegalArgumentException("Interval between snapshots must be positive.");
+
+        this.registry = registry;
+        this.file = file;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(this::report, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Appends a single snapshot to {@link #file}. Failures are printed, and do not stop later snapshots.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public void report() {
+        try {
+            Files.writeString(this.file, this.registry.snapshot().format(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stops the background thread, waiting for a snapshot that is being written, and appends a final snapshot.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(1L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+        this.report();
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.marcustalbots.haven.metrics;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.SortedMap;
+
+/**
+ * Point-in-time copy of every metric in a {@link MetricsRegistry}, sorted by name. Every metric is copied on its own,
+ * so a snapshot taken while the simulation runs is not consistent across metrics.
+ *
+ * @param takenAt    Moment, in real time, at which the snapshot was taken.
+ * @param counters   Value of every {@link Counter}, by name.
+ * @param histograms Summary of every {@link LatencyHistogram}, by name.
+ * @param vehicles   Summary of the {@link VehicleMetrics} of every vehicle, by identifier.
+ * @author Marcus Talbot (1041464)
+ */
+public record MetricsSnapshot(@NotNull Instant takenAt, @NotNull SortedMap<String, Long> counters,
+                              @NotNull SortedMap<String, HistogramSnapshot> histograms,
+                              @NotNull SortedMap<String, VehicleMetrics.Snapshot> vehicles) {
+
+    /**
+     * Formats this snapshot as human-readable text, with one metric per line.
+     *
+     * @return This snapshot, as text.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull String format() {
+        final var builder = new StringBuilder();
+        builder.append("=== Metrics at ").append(this.takenAt).append(" ===\n");
+
+        builder.append("Counters:\n");
+        this.counters.forEach((name, value) -> builder.append(String.format(Locale.ROOT, "  %-32s %12d%n", name, value)));
+
+        builder.append("Latencies (count, mean, p50, p90, p99, p99.9, max, total):\n");
+        this.histograms.forEach((name, histogram) -> builder.append(String.format(Locale.ROOT,
+                "  %-32s %10d %9s %9s %9s %9s %9s %9s %9s%n", name, histogram.count(),
+                MetricsSnapshot.formatNanos(histogram.mean()), MetricsSnapshot.formatNanos(histogram.p50()),
+                MetricsSnapshot.formatNanos(histogram.p90()), MetricsSnapshot.formatNanos(histogram.p99()),
+                MetricsSnapshot.formatNanos(histogram.p999()), MetricsSnapshot.formatNanos(histogram.max()),
+                MetricsSnapshot.formatNanos(histogram.total()))));
+
+        builder.append("Vehicles (operations, busy, idle, utilisation):\n");
+        this.vehicles.forEach((name, vehicle) -> builder.append(String.format(Locale.ROOT,
+                "  %-32s %10d %9s %9s %7.1f%%%n", name, vehicle.operations(),
+                MetricsSnapshot.formatNanos(vehicle.busy().toNanos()),
+                MetricsSnapshot.formatNanos(vehicle.idle().toNanos()), vehicle.utilisation() * 100.0)));
+
+        return builder.toString();
+    }
+
+    /**
+     * Formats an amount of nanoseconds in the largest unit that keeps it above one.
+     *
+     * @param nanos Amount of nanoseconds.
+     * @return The formatted amount, including its unit.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    private static @NotNull String formatNanos(final long nanos) {
+        if (nanos < 1_000L)
+            return nanos + "ns";
+        if (nanos < 1_000_000L)
+            return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+        if (nanos < 1_000_000_000L)
+            return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1e9);
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.marcustalbots.haven.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utilisation of a single vehicle: how many operations it performed, and how much simulated time it spent working and
+ * waiting. A vehicle with a low utilisation waits on the stage before or after it; a stage in which every vehicle has
+ * a high utilisation is the bottleneck.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class VehicleMetrics {
+
+    /**
+     * Amount of operations performed.
+     */
+    private final LongAdder operations;
+
+    /**
+     * Simulated time spent performing operations, in nanoseconds.
+     */
+    private final LongAdder busyNanos;
+
+    /**
+     * Simulated time spent waiting for work, or for room to hand work off, in nanoseconds.
+     */
+    private final LongAdder idleNanos;
+
+    /**
+     * Creates a new {@link VehicleMetrics}, without any recorded time.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    VehicleMetrics() {
+        this.operations = new LongAdder();
+        this.busyNanos = new LongAdder();
+        this.idleNanos = new LongAdder();
+    }
+
+    /**
+     * Records a single operation.
+     *
+     * @param nanos Simulated time the operation took, in nanoseconds.
+     * @author Marcus Talbot (1041464)
+     */
+    public void recordBusy(final long nanos) {
+        this.operations.increment();
+        this.busyNanos.add(Math.max(nanos, 0L));
+    }
+
+    /**
+     * Records time spent waiting.
+     *
+     * @param nanos Simulated time spent waiting, in nanoseconds.
+     * @author Marcus Talbot (1041464)
+     */
+    public void recordIdle(final long nanos) {
+        this.idleNanos.add(Math.max(nanos, 0L));
+    }
+
+    /**
+     * Summarises the time recorded so far.
+     *
+     * @return A {@link Snapshot} of these metrics.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull Snapshot snapshot() {
+        return new Snapshot(this.operations.sum(), Duration.ofNanos(this.busyNanos.sum()),
+                Duration.ofNanos(this.idleNanos.sum()));
+    }
+
+    /**
+     * Summary of the time recorded by a {@link VehicleMetrics}.
+     *
+     * @param operations Amount of operations performed.
+     * @param busy       Simulated time spent performing operations.
+     * @param idle       Simulated time spent waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    public record Snapshot(long operations, @NotNull Duration busy, @NotNull Duration idle) {
+
+        /**
+         * Gets the fraction of the recorded time that was spent performing operations.
+         *
+         * @return A value between zero and one, or zero if no time was recorded.
+         * @author Marcus Talbot (1041464)
+         */
+        public double utilisation() {
+            final var busy = this.busy.toNanos();
+            final var recorded = busy + this.idle.toNanos();
+            return recorded == 0L ? 0.0 : (double) busy / recorded;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains the in-process metrics of the simulation: counters, latency histograms and per-vehicle utilisation, which
+ * can be queried as a snapshot at any time, and dumped to a file periodically.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.metrics;
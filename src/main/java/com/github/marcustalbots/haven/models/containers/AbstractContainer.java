@@ -1,13 +1,18 @@
 package com.github.marcustalbots.haven.models.containers;
 
+import com.github.marcustalbots.haven.identifiers.ContainerIdGenerator;
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
 import com.github.marcustalbots.haven.interfaces.Identifiable;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
 /**
- * Interface for all Containers used in this program. Every subclass is identifiable by a unique identifier
- * ({@link UUID}). While a UUID is not as readable as a simple {@link String} name, this approach makes more sense, in
- * that a {@link UUID} is (practically) guaranteed to be unique.
+ * Interface for all Containers used in this program. Every subclass is identifiable by a unique, primitive identifier,
+ * handed out by the current {@link ContainerIdGenerator}. Depending on the {@link ContainerIdGenerator}, a container
+ * may additionally carry a {@link UUID}, for interoperability with systems that expect one.
  *
  * @author Marcus Talbot (1041464)
  */
@@ -16,25 +21,100 @@ public abstract class AbstractContainer implements Identifiable<UUID> {
     /**
      * Unique identifier, with a separate, immutable value per container.
      */
-    private final UUID identifier;
+    private final long id;
 
     /**
-     * Simple constructor, used to create a new container, with a randomly created {@link UUID} for its identifier.
+     * {@link UUID} of this container, or null if the {@link ContainerIdGenerator} does not hand out
+     * {@link UUID UUIDs}.
+     */
+    private final UUID uuid;
+
+    /**
+     * Type code of the class of this container, as registered with {@link ContainerTypes}, or -1 until it has been
+     * looked up by {@link #getTypeCode()}.
+     */
+    private byte typeCode = -1;
+
+    /**
+     * Simple constructor, used to create a new container, identified by the current {@link ContainerIdGenerator}.
      *
      * @author Marcus Talbot (1041464)
      */
     public AbstractContainer() {
-        this.identifier = UUID.randomUUID();
+        this(ContainerIdGenerator.current());
+    }
+
+    /**
+     * Creates a new container, identified by the given {@link ContainerIdGenerator}.
+     *
+     * @param generator The {@link ContainerIdGenerator} that hands out the identifier of this container.
+     * @author Marcus Talbot (1041464)
+     */
+    protected AbstractContainer(@NotNull final ContainerIdGenerator generator) {
+        this.id = generator.nextId();
+        this.uuid = generator.nextUuid();
+    }
+
+    /**
+     * Creates a new container with the given identifier, such as one described by a
+     * {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}. If the current
+     * {@link ContainerIdGenerator} hands out {@link UUID UUIDs}, the container is given a new one.
+     *
+     * @param id Identifier of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    protected AbstractContainer(final long id) {
+        this.id = id;
+        this.uuid = ContainerIdGenerator.current().nextUuid();
+    }
+
+    /**
+     * Gets the primitive identifier of this container. Cheaper than {@link #getIdentifier()}, as it never allocates.
+     *
+     * @return {@link #id}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the {@link UUID} this container was given, if any.
+     *
+     * @return {@link #uuid}, or null if this container is only identified by {@link #id}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @Nullable UUID getUuid() {
+        return this.uuid;
+    }
+
+    /**
+     * Gets the type code of the class of this container. Looked up once, after which it is a plain field read; two
+     * threads looking it up at the same time find the same code.
+     *
+     * @return The type code of the class of this container.
+     * @throws IllegalArgumentException If the class of this container has not been registered with
+     *                                  {@link ContainerTypes}.
+     * @author Marcus Talbot (1041464)
+     */
+    public byte getTypeCode() {
+        var typeCode = this.typeCode;
+        if (typeCode < 0)
+            this.typeCode = typeCode = ContainerTypes.codeOf(this.getClass());
+        return typeCode;
     }
 
     /**
      * Method used to comply with the constraints set in {@link Identifiable}. Returns the Identifier of this object.
      *
-     * @return The UUID of this object.
+     * @return The {@link UUID} of this object, or, if it has none, a {@link UUID} holding {@link #id} in its least
+     * significant bits.
      * @author Marcus Talbot (1041464)
      */
     public UUID getIdentifier() {
-        return this.identifier;
+        return this.uuid != null ? this.uuid : new UUID(0L, this.id);
     }
 
     /**
@@ -45,7 +125,7 @@ public abstract class AbstractContainer implements Identifiable<UUID> {
      */
     @Override
     public String toString() {
-        return this.getClass().getSimpleName() + "-" + this.identifier;
+        return this.getClass().getSimpleName() + "-" + (this.uuid != null ? this.uuid.toString() : Long.toString(this.id));
     }
 
 }
@@ -1,9 +1,60 @@
 package com.github.marcustalbots.haven.models.containers;
 
+import com.github.marcustalbots.haven.dock.Dock;
+import org.jetbrains.annotations.Contract;
+
 /**
  * Used to differentiate between the family of freight-containers and any other types of containers.
  *
  * @author Marcus Talbot (1041464)
  */
 public abstract class AbstractFreightContainer extends AbstractContainer implements Comparable<AbstractFreightContainer> {
+
+    /**
+     * Simulated time at which this container was handed to a {@link Dock}, in nanoseconds since the epoch. Used to
+     * measure how long containers wait on the {@link Dock}.
+     */
+    private long dockedNanos;
+
+    /**
+     * Creates a new container, identified by the current
+     * {@link com.github.marcustalbots.haven.identifiers.ContainerIdGenerator}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    protected AbstractFreightContainer() {
+        super();
+    }
+
+    /**
+     * Creates a new container with the given identifier.
+     *
+     * @param id Identifier of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    protected AbstractFreightContainer(final long id) {
+        super(id);
+    }
+
+    /**
+     * Gets the simulated time at which this container was handed to a {@link Dock}.
+     *
+     * @return {@link #dockedNanos}, or zero if this container has never been handed to a {@link Dock}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public long getDockedNanos() {
+        return this.dockedNanos;
+    }
+
+    /**
+     * Sets the simulated time at which this container was handed to a {@link Dock}. Only called by the {@link Dock},
+     * before the container is placed, so that whoever takes the container sees the time.
+     *
+     * @param dockedNanos Simulated time, in nanoseconds since the epoch.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setDockedNanos(final long dockedNanos) {
+        this.dockedNanos = dockedNanos;
+    }
 }
@@ -0,0 +1,134 @@
+package com.github.marcustalbots.haven.models.manifests;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes the freight of a ship as a list of primitive records, rather than as container-objects. Every record holds
+ * the identifier, type code and priority of a single container; a container-object is only created once its record is
+ * claimed, right before it is handed to the {@link com.github.marcustalbots.haven.dock.Dock}.
+ * <br><br>
+ * Records are claimed through a cursor: every record is claimed exactly once, in the order it was appended, no matter
+ * how many threads claim records at the same time. Appending records is thread-safe as well.
+ *
+ * @param <T> Type of the containers described by this manifest.
+ * @author Marcus Talbot (1041464)
+ */
+public interface FreightManifest<T extends AbstractContainer> {
+
+    /**
+     * Appends a single record.
+     *
+     * @param id       Identifier of the container.
+     * @param type     Type code of the container.
+     * @param priority Priority of the container.
+     * @return true if the record was appended, false if the manifest is full.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean append(final long id, final byte type, final byte priority);
+
+    /**
+     * Appends a record describing the given container. The container-object itself is not kept.
+     *
+     * @param container The container to describe.
+     * @return true if the record was appended, false if the manifest is full.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean append(@NotNull final T container);
+
+    /**
+     * Appends several records at once, from parallel arrays. Cheaper than appending the records one by one, as the
+     * manifest is only locked once.
+     *
+     * @param ids        Identifiers of the containers.
+     * @param types      Type codes of the containers.
+     * @param priorities Priorities of the containers.
+     * @param offset     Index in the arrays of the first record to append.
+     * @param count      Amount of records to append.
+     * @return The amount of records that were appended, which is less than count if the manifest filled up.
+     * @author Marcus Talbot (1041464)
+     */
+    int appendAll(final long[] ids, final byte[] types, final byte[] priorities, final int offset, final int count);
+
+    /**
+     * Claims the next record that has not been claimed yet.
+     *
+     * @return Index of the claimed record, or -1 if every appended record has been claimed.
+     * @author Marcus Talbot (1041464)
+     */
+    int claim();
+
+    /**
+     * Creates the container described by the record at the given index.
+     *
+     * @param index Index of a record, as returned by {@link #claim()}.
+     * @return A new container-object, with the identifier of the record.
+     * @author Marcus Talbot (1041464)
+     */
+    @NotNull T materialize(final int index);
+
+    /**
+     * Claims the next record, and creates the container it describes.
+     *
+     * @return The container, or null if every appended record has been claimed.
+     * @author Marcus Talbot (1041464)
+     */
+    default @Nullable T next() {
+        final var index = this.claim();
+        return index < 0 ? null : this.materialize(index);
+    }
+
+    /**
+     * Gets the identifier of the container described by the record at the given index.
+     *
+     * @param index Index of a record.
+     * @return Identifier of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    long idAt(final int index);
+
+    /**
+     * Gets the type code of the container described by the record at the given index.
+     *
+     * @param index Index of a record.
+     * @return Type code of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    byte typeAt(final int index);
+
+    /**
+     * Gets the priority of the container described by the record at the given index.
+     *
+     * @param index Index of a record.
+     * @return Priority of the container.
+     * @author Marcus Talbot (1041464)
+     */
+    byte priorityAt(final int index);
+
+    /**
+     * Gets the maximum amount of records this manifest can hold.
+     *
+     * @return The capacity of this manifest.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    int capacity();
+
+    /**
+     * Gets the amount of records that have been appended, whether they have been claimed or not.
+     *
+     * @return The amount of appended records.
+     * @author Marcus Talbot (1041464)
+     */
+    int size();
+
+    /**
+     * Gets the amount of records that have been appended, but not claimed yet.
+     *
+     * @return The amount of unclaimed records.
+     * @author Marcus Talbot (1041464)
+     */
+    int remaining();
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains the {@link com.github.marcustalbots.haven.models.manifests.FreightManifest}-interface, which describes the
+ * freight of a ship as primitive records, rather than as container-objects.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.models.manifests;
@@ -3,6 +3,7 @@ package com.github.marcustalbots.haven.models.vehicles.dock_vehicles;
 import com.github.marcustalbots.haven.dock.Dock;
 import com.github.marcustalbots.haven.models.containers.AbstractContainer;
 import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Used to differentiate between the family of offload-vehicles, and other dock-vehicles. This class holds the
@@ -16,7 +17,12 @@ public abstract class AbstractDockOffloadVehicle<T extends AbstractContainer> ex
     /**
      * Ship that will be unloaded by the offload-vehicle.
      */
-    private AbstractShip<T> ship;
+    private volatile AbstractShip<T> ship;
+
+    /**
+     * Decides which container this vehicle handles next, or null if it takes containers from {@link #ship}.
+     */
+    private volatile FreightSource<T> freightSource;
 
     /**
      * Simple constructor which creates a new object, with the given configuration.
@@ -41,13 +47,44 @@ public abstract class AbstractDockOffloadVehicle<T extends AbstractContainer> ex
         return this.ship;
     }
 
+    /**
+     * Takes the next container this vehicle should handle; from its {@link FreightSource} if it has one, and from its
+     * ship otherwise.
+     *
+     * @return The next container, or null if the vehicle is done.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable T nextFreight() {
+        final var source = this.freightSource;
+        return source != null ? source.next(this) : this.ship.getNext();
+    }
+
+    /**
+     * Gets the {@link FreightSource} of this vehicle.
+     *
+     * @return {@link #freightSource}, or null if the vehicle takes containers from its ship.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable FreightSource<T> getFreightSource() {
+        return this.freightSource;
+    }
+
+    /**
+     * Sets the {@link FreightSource} that decides which container this vehicle handles next.
+     *
+     * @param freightSource The new {@link FreightSource}, or null to take containers from the ship again.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setFreightSource(@Nullable final FreightSource<T> freightSource) {
+        this.freightSource = freightSource;
+    }
+
     /**
      * Can be used to set a (new) ship this object should associate with.
      *
      * @param ship {@link AbstractShip} this object should associate with.
      * @author Marcus Talbot (1041464)
      */
-    @SuppressWarnings("unused")
     public void setShip(final AbstractShip<T> ship) {
         this.ship = ship;
     }
@@ -1,14 +1,21 @@
 package com.github.marcustalbots.haven.models.vehicles.dock_vehicles;
 
 import com.github.marcustalbots.haven.dock.Dock;
+import org.jetbrains.annotations.Contract;
 
 /**
- * Used to differentiate between the family of dock-transport-vehicles, and other dock-vehicles.
+ * Used to differentiate between the family of dock-transport-vehicles, and other dock-vehicles. Every
+ * dock-transport-vehicle has a load capacity; the maximum amount of containers it carries in a single trip.
  *
  * @author Marcus Talbot (1041464)
  */
 public abstract class AbstractDockTransportVehicle extends AbstractDockVehicle {
 
+    /**
+     * Maximum amount of containers this vehicle carries in a single trip.
+     */
+    private int loadCapacity;
+
     /**
      * {@inheritDoc}
      *
@@ -16,6 +23,30 @@ public abstract class AbstractDockTransportVehicle extends AbstractDockVehicle {
      */
     public AbstractDockTransportVehicle(final Dock dock, final String identifier) {
         super(dock, identifier);
+        this.loadCapacity = 1;
+    }
+
+    /**
+     * Gets the maximum amount of containers this vehicle carries in a single trip.
+     *
+     * @return {@link #loadCapacity}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public int getLoadCapacity() {
+        return this.loadCapacity;
     }
 
+    /**
+     * Sets the maximum amount of containers this vehicle carries in a single trip. A value of one carries a single
+     * container per trip.
+     *
+     * @param loadCapacity The new value of {@link #loadCapacity}.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setLoadCapacity(final int loadCapacity) {
+        if (loadCapacity <= 0)
+            throw new IllegalArgumentException("Load capacity of a vehicle cannot be smaller or equal to zero.");
+        this.loadCapacity = loadCapacity;
+    }
 }
@@ -1,7 +1,11 @@
 package com.github.marcustalbots.haven.models.vehicles.dock_vehicles;
 
 import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.metrics.VehicleMetrics;
 import com.github.marcustalbots.haven.models.vehicles.AbstractVehicle;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Used as a common interface between all dock-vehicles. Implements {@link Runnable}, as all dock-vehicles should be
@@ -11,6 +15,11 @@ import com.github.marcustalbots.haven.models.vehicles.AbstractVehicle;
  */
 public abstract class AbstractDockVehicle extends AbstractVehicle implements Runnable {
 
+    /**
+     * Utilisation of this vehicle, registered in the shared {@link MetricsRegistry} under its identifier.
+     */
+    private final VehicleMetrics metrics;
+
     /**
      * {@inheritDoc}
      *
@@ -18,5 +27,17 @@ public abstract class AbstractDockVehicle extends AbstractVehicle implements Run
      */
     public AbstractDockVehicle(final Dock dock, final String identifier) {
         super(dock, identifier);
+        this.metrics = MetricsRegistry.getInstance().vehicle(this.toString());
+    }
+
+    /**
+     * Gets the utilisation of this vehicle, to which its strategies record the time they spend.
+     *
+     * @return {@link #metrics}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull VehicleMetrics getMetrics() {
+        return this.metrics;
     }
 }
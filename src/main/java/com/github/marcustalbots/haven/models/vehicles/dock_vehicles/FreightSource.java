@@ -0,0 +1,28 @@
+package com.github.marcustalbots.haven.models.vehicles.dock_vehicles;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Provides a common interface for anything that decides which container an offload-vehicle handles next. By default,
+ * an offload-vehicle takes its containers from its own ship; a {@link FreightSource} can take them from elsewhere,
+ * such as the ship of another berth, and may give the vehicle another ship while doing so.
+ *
+ * @param <T> Type of the containers the offload-vehicle handles.
+ * @author Marcus Talbot (1041464)
+ * @see AbstractDockOffloadVehicle#setFreightSource(FreightSource)
+ */
+@FunctionalInterface
+public interface FreightSource<T extends AbstractContainer> {
+
+    /**
+     * Takes the next container for the given offload-vehicle. Called by the thread of the vehicle, so implementations
+     * shared by several vehicles must be thread-safe.
+     *
+     * @param vehicle The offload-vehicle asking for a container.
+     * @return The next container, or null if the vehicle is done.
+     * @author Marcus Talbot (1041464)
+     */
+    @Nullable T next(@NotNull AbstractDockOffloadVehicle<T> vehicle);
+}
@@ -1,9 +1,13 @@
 package com.github.marcustalbots.haven.models.vehicles.ships;
 
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 import com.github.marcustalbots.haven.models.vehicles.AbstractTransportVehicle;
 import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import com.github.marcustalbots.haven.models.manifests.FreightManifest;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -12,12 +16,26 @@ import java.util.concurrent.BlockingQueue;
 /**
  * Used to differentiate between the family of ship-classes, and other transport-vehicles. This class also introduces a
  * new field; {@link #freight}, which will be used to hold containers of type T.
+ * <br><br>
+ * Alternatively, a ship can be backed by a {@link FreightManifest}, which describes its containers as primitive
+ * records, and only creates container-objects as they are taken from the ship. Once a {@link FreightManifest} is set,
+ * {@link #getNext()} and {@link #addFreight(AbstractContainer)} use it instead of {@link #freight}.
  *
  * @param <T> Type of the containers that the ship will hold.
  * @author Marcus Talbot (1041464)
  */
 public abstract class AbstractShip<T extends AbstractContainer> extends AbstractTransportVehicle {
 
+    /**
+     * Amount of containers taken from any ship.
+     */
+    private static final Counter TAKEN = MetricsRegistry.getInstance().counter("ship.taken");
+
+    /**
+     * Amount of times a container was requested from a ship that was already empty.
+     */
+    private static final Counter EMPTY = MetricsRegistry.getInstance().counter("ship.empty");
+
     /**
      * BlockingQueue that will hold the container-objects 'on board of the ship'. A {@link BlockingQueue} was chosen to
      * ensure thread-safety.
@@ -30,6 +48,12 @@ public abstract class AbstractShip<T extends AbstractContainer> extends Abstract
      */
     private transient int capacity;
 
+    /**
+     * {@link FreightManifest} describing the containers on board, or null if the containers are held in
+     * {@link #freight}.
+     */
+    private FreightManifest<T> manifest;
+
     /**
      * Simple constructor that will create a new object, with the given configuration.
      *
@@ -77,11 +101,42 @@ public abstract class AbstractShip<T extends AbstractContainer> extends Abstract
     /**
      * Gets the head of the internal {@link BlockingQueue} and removes it from the queue.
      *
-     * @return The head of the interal {@link BlockingQueue}.
+     * @return The head of the interal {@link BlockingQueue}, or the container described by the next record of the
+     * {@link #manifest}. Null if the ship is empty.
      * @author Marcus Talbot (1041464)
      */
     public T getNext() {
-        return this.freight.poll();
+        final var next = this.manifest != null ? this.manifest.next() : this.freight.poll();
+        (next == null ? AbstractShip.EMPTY : AbstractShip.TAKEN).increment();
+        return next;
+    }
+
+    /**
+     * Takes at most max containers from the ship at once, in the order {@link #getNext()} would take them. Takes the
+     * lock of the internal {@link BlockingQueue} only once, rather than once per container.
+     *
+     * @param target {@link Collection} the containers will be added to.
+     * @param max    Maximum amount of containers to take.
+     * @return The amount of containers that were taken; zero if the ship is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    public int drainFreight(@NotNull final Collection<? super T> target, final int max) {
+        var taken = 0;
+        if (this.manifest != null) {
+            T next;
+            while (taken < max && (next = this.manifest.next()) != null) {
+                target.add(next);
+                taken++;
+            }
+        } else {
+            taken = this.freight.drainTo(target, max);
+        }
+
+        if (taken == 0)
+            AbstractShip.EMPTY.increment();
+        else
+            AbstractShip.TAKEN.add(taken);
+        return taken;
     }
 
     /**
@@ -93,7 +148,47 @@ public abstract class AbstractShip<T extends AbstractContainer> extends Abstract
      */
     @SuppressWarnings("unused")
     public boolean addFreight(@NotNull final T freight) {
-        return this.freight.offer(freight);
+        return this.manifest != null ? this.manifest.append(freight) : this.freight.offer(freight);
+    }
+
+    /**
+     * Gets the amount of containers on board that have not been taken yet.
+     *
+     * @return The amount of containers left in the {@link #manifest} or in {@link #freight}.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getFreightCount() {
+        return this.manifest != null ? this.manifest.remaining() : this.freight.size();
+    }
+
+    /**
+     * Gets the {@link FreightManifest} describing the containers on board.
+     *
+     * @return {@link #manifest}, or null if the containers are held in {@link #freight}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @Nullable FreightManifest<T> getManifest() {
+        return this.manifest;
+    }
+
+    /**
+     * Backs this ship by the given {@link FreightManifest}. The capacity of this ship becomes that of the
+     * {@link FreightManifest}; containers that are still held in {@link #freight} are appended to it.
+     *
+     * @param manifest New value of {@link #manifest}.
+     * @throws IllegalArgumentException If the {@link FreightManifest} cannot hold the containers still on board.
+     * @author Marcus Talbot (1041464)
+     */
+    public void setManifest(@NotNull final FreightManifest<T> manifest) {
+        if (this.freight != null) {
+            for (T container; (container = this.freight.poll()) != null; ) {
+                if (!manifest.append(container))
+                    throw new IllegalArgumentException("Manifest cannot hold every container on board.");
+            }
+        }
+        this.manifest = manifest;
+        this.capacity = manifest.capacity();
     }
 
     /**
@@ -136,9 +231,12 @@ public abstract class AbstractShip<T extends AbstractContainer> extends Abstract
      * @param capacity New maximum capacity.
      * @throws IllegalArgumentException If the amount of containers in the queue is greater than the new size of the
      *                                  queue.
+     * @throws IllegalStateException    If this ship is backed by a {@link FreightManifest}.
      * @author Marcus Talbot (1041464)
      */
     public void setCapacity(final int capacity) {
+        if (this.manifest != null)
+            throw new IllegalStateException("Capacity of a ship backed by a manifest is that of the manifest.");
         if (capacity <= 0)
             throw new IllegalArgumentException("Capacity of ship cannot be smaller or equal to zero.");
         if (capacity > this.capacity) {
@@ -0,0 +1,26 @@
+package com.github.marcustalbots.haven.pipeline;
+
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives the containers a {@link HandlingStage} is done with: either the next {@link HandlingStage}, or the
+ * {@link com.github.marcustalbots.haven.dock.Dock}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+@FunctionalInterface
+interface ContainerSink {
+
+    /**
+     * Receives a container, waiting for room if necessary. Once called, the sink is responsible for the container,
+     * also if it throws.
+     *
+     * @param container The container.
+     * @throws InterruptedException If the current thread was interrupted while waiting, in which case the container
+     *                              was dropped.
+     * @author Marcus Talbot (1041464)
+     */
+    void accept(@NotNull final AbstractFreightContainer container) throws InterruptedException;
+
+}
@@ -0,0 +1,218 @@
+package com.github.marcustalbots.haven.pipeline;
+
+import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.strategies.handling.CustomsStrategy;
+import com.github.marcustalbots.haven.strategies.handling.InspectionStrategy;
+import com.github.marcustalbots.haven.strategies.handling.WeighingStrategy;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chain of {@link HandlingStage}-objects between the cranes and a {@link Dock}. A crane submits every container it
+ * offloads to the first stage, and returns to its ship as soon as that stage has room for it; the container passes
+ * through every stage in order, and is placed on the {@link Dock} once the last stage is done with it.
+ * <br><br>
+ * Every stage has its own bounded queue and its own workers, so a slow stage only pushes back on the crane once its
+ * queue is full, and containers held by a stage, such as by a {@link CustomsStrategy}, do not occupy its workers.
+ * <br><br>
+ * While containers are in the pipeline, it is enlisted with the {@link Dock} as a producer, so that the shift of the
+ * {@link Dock} does not end before every container has been placed. Containers that are dropped instead, because the
+ * pipeline was closed or the shift ended before they could be placed, are counted by the {@code pipeline.dropped}
+ * counter.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class HandlingPipeline implements AutoCloseable {
+
+    /**
+     * Amount of containers that left a pipeline without being placed on its {@link Dock}.
+     */
+    private static final Counter DROPPED = MetricsRegistry.getInstance().counter("pipeline.dropped");
+
+    /**
+     * The {@link Dock} containers are placed on once they have passed every stage.
+     */
+    private final Dock dock;
+
+    /**
+     * Every stage, in order.
+     */
+    private final List<HandlingStage> stages;
+
+    /**
+     * Amount of containers that were submitted, but have not been placed on the {@link #dock} yet.
+     */
+    private final AtomicInteger inFlight;
+
+    /**
+     * Creates and starts a new {@link HandlingPipeline}.
+     *
+     * @param dock          The {@link Dock} containers are placed on once they have passed every stage.
+     * @param stages        Description of every stage, in order.
+     * @param threadFactory Creates the threads of every stage, such as
+     *                      {@link com.github.marcustalbots.haven.runtime.PortRuntime#getThreadFactory()}.
+     * @throws IllegalArgumentException If no stages are given.
+     * @author Marcus Talbot (1041464)
+     */
+    public HandlingPipeline(@NotNull final Dock dock, @NotNull final List<StageSpec> stages,
+                            @NotNull final ThreadFactory threadFactory) {
+        if (stages.isEmpty())
+            throw new IllegalArgumentException("Pipeline must have at least one stage.");
+
+        this.dock = dock;
+        this.inFlight = new AtomicInteger();
+
+        final var linked = new ArrayList<HandlingStage>(stages.size());
+        ContainerSink next = this::place;
+        for (var index = stages.size() - 1; index >= 0; index--) {
+            final var stage = new HandlingStage(stages.get(index), next, this::drop);
+            linked.add(0, stage);
+            next = stage::put;
+        }
+        this.stages = List.copyOf(linked);
+        this.stages.forEach(stage -> stage.start(threadFactory));
+    }
+
+    /**
+     * Creates a pipeline of an inspection, a weighing and a customs stage, configured by system properties:
+     * {@code haven.pipeline.capacity} is the capacity of the queue of every stage (default 8),
+     * {@code haven.pipeline.workers} the amount of workers of every stage (default 2), and
+     * {@code haven.pipeline.customs.holds} the chance that customs holds a container (default 0.1), for between five
+     * and twenty seconds.
+     *
+     * @param dock          The {@link Dock} containers are placed on once they have passed every stage.
+     * @param threadFactory Creates the threads of every stage.
+     * @return A new {@link HandlingPipeline}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull HandlingPipeline fromSystemProperties(@NotNull final Dock dock,
+                                                                 @NotNull final ThreadFactory threadFactory) {
+        final var capacity = Integer.getInteger("haven.pipeline.capacity", 8);
+        final var workers = Integer.getInteger("haven.pipeline.workers", 2);
+        final var holds = Double.parseDouble(System.getProperty("haven.pipeline.customs.holds", "0.1"));
+
+        return new HandlingPipeline(dock, List.of(
+                new StageSpec("inspection", new InspectionStrategy(), capacity, workers),
+                new StageSpec("weighing", new WeighingStrategy(), capacity, workers),
+                new StageSpec("customs", new CustomsStrategy(holds, Duration.ofSeconds(5L), Duration.ofSeconds(20L)),
+                        capacity, workers)), threadFactory);
+    }
+
+    /**
+     * Submits a container to the first stage. If the queue of the first stage is full, this method will block for as
+     * long as the {@link com.github.marcustalbots.haven.dock.wait.WaitPolicy} of the {@link #dock} allows, or until
+     * its shift ends.
+     *
+     * @param container The container that was offloaded.
+     * @return true if the container was submitted, false if the first stage remained full.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean submit(@NotNull final AbstractFreightContainer container) {
+        this.enter();
+        final var first = this.stages.get(0);
+        var submitted = false;
+        try {
+            submitted = this.dock.getWaitPolicy().await(this.dock.getShift(),
+                    realNanos -> first.offer(container, realNanos));
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+        if (!submitted)
+            this.leave();
+        return submitted;
+    }
+
+    /**
+     * Gets the amount of containers that were submitted, but have not been placed on the {@link Dock} yet.
+     *
+     * @return Amount of containers in this pipeline.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Stops every stage, in order, and waits for their threads to finish. Must only be called once the {@link Dock} is
+     * quiescent, as containers that are still in this pipeline are not placed anymore, but dropped.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void close() {
+        this.stages.forEach(HandlingStage::close);
+    }
+
+    /**
+     * Places a container that has passed every stage on the {@link #dock}, once the
+     * {@link com.github.marcustalbots.haven.dock.FlowControl} of the {@link #dock} hands out a credit for it, waiting
+     * until it has room, or until its shift has ended. The container leaves this pipeline either way; if it was not
+     * placed, it is dropped.
+     *
+     * @param container The container.
+     * @throws InterruptedException If this pipeline was closed while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    private void place(@NotNull final AbstractFreightContainer container) throws InterruptedException {
+        final var flowControl = this.dock.getFlowControl();
+        final var credited = flowControl.acquire();
+        var placed = false;
+        try {
+            placed = this.dock.placeContainer(container);
+            while (!placed && !this.dock.getShift().isOver()) {
+                if (Thread.currentThread().isInterrupted())
+                    throw new InterruptedException();
+                placed = this.dock.placeContainer(container);
+            }
+        } finally {
+            if (credited)
+                flowControl.release(1);
+            if (!placed)
+                HandlingPipeline.DROPPED.increment();
+            this.leave();
+        }
+    }
+
+    /**
+     * Drops a container a stage could not pass on, because it was closed first.
+     *
+     * @param container The container.
+     * @author Marcus Talbot (1041464)
+     */
+    private void drop(@NotNull final AbstractFreightContainer container) {
+        HandlingPipeline.DROPPED.increment();
+        this.leave();
+    }
+
+    /**
+     * Counts a container that enters this pipeline. The first container enlists this pipeline with the {@link #dock}
+     * as a producer.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void enter() {
+        if (this.inFlight.getAndIncrement() == 0)
+            this.dock.enlistProducer();
+    }
+
+    /**
+     * Counts a container that leaves this pipeline. The last container retires this pipeline from the {@link #dock}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void leave() {
+        if (this.inFlight.decrementAndGet() == 0)
+            this.dock.retireProducer();
+    }
+}
@@ -0,0 +1,265 @@
+package com.github.marcustalbots.haven.pipeline;
+
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A single stage of a {@link HandlingPipeline}. Containers wait in a bounded queue until one of the workers of the
+ * stage applies the strategy of the stage to them, after which they are passed to the next {@link ContainerSink}.
+ * <br><br>
+ * Containers the strategy holds are parked in a {@link DelayQueue} instead, from which a separate thread passes them on
+ * once their hold has passed. Workers therefore never wait for a hold, and a held container only delays itself.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+final class HandlingStage {
+
+    /**
+     * Description of this stage.
+     */
+    private final StageSpec spec;
+
+    /**
+     * Containers waiting for a worker, along with the simulated time at which they arrived.
+     */
+    private final BlockingQueue<Queued> queue;
+
+    /**
+     * Containers that have been handled, but are held until their hold has passed.
+     */
+    private final DelayQueue<Held> held;
+
+    /**
+     * Receives every container once this stage is done with it.
+     */
+    private final ContainerSink next;
+
+    /**
+     * Receives every container this stage drops, because it was closed before it could pass the container on.
+     */
+    private final Consumer<AbstractFreightContainer> discard;
+
+    /**
+     * Workers of this stage, and the thread that releases held containers.
+     */
+    private final List<Thread> threads;
+
+    /**
+     * Simulated time containers spend waiting for a worker of this stage.
+     */
+    private final LatencyHistogram waitTime;
+
+    /**
+     * Simulated time containers are held by this stage.
+     */
+    private final LatencyHistogram holdTime;
+
+    /**
+     * Creates a new {@link HandlingStage}, without starting it.
+     *
+     * @param spec    Description of the stage.
+     * @param next    Receives every container once the stage is done with it.
+     * @param discard Receives every container the stage drops, because it was closed first.
+     * @author Marcus Talbot (1041464)
+     */
+    HandlingStage(@NotNull final StageSpec spec, @NotNull final ContainerSink next,
+                  @NotNull final Consumer<AbstractFreightContainer> discard) {
+        this.spec = spec;
+        this.queue = new ArrayBlockingQueue<>(spec.capacity());
+        this.held = new DelayQueue<>();
+        this.next = next;
+        this.discard = discard;
+        this.threads = new ArrayList<>(spec.workers() + 1);
+        this.waitTime = MetricsRegistry.getInstance().histogram("pipeline." + spec.name() + ".wait");
+        this.holdTime = MetricsRegistry.getInstance().histogram("pipeline." + spec.name() + ".hold");
+    }
+
+    /**
+     * Starts the workers of this stage, and the thread that releases held containers.
+     *
+     * @param threadFactory Creates the threads of this stage.
+     * @author Marcus Talbot (1041464)
+     */
+    void start(@NotNull final ThreadFactory threadFactory) {
+        for (var index = 0; index < this.spec.workers(); index++)
+            this.threads.add(this.newThread(threadFactory, this::work, String.valueOf(index)));
+        this.threads.add(this.newThread(threadFactory, this::release, "Holds"));
+        this.threads.forEach(Thread::start);
+    }
+
+    /**
+     * Places a container in the queue of this stage, waiting for room for at most the given amount of real time.
+     *
+     * @param container   The container.
+     * @param timeoutNanos Maximum amount of real nanoseconds to wait.
+     * @return true if the container was placed, false if the queue remained full.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    boolean offer(@NotNull final AbstractFreightContainer container, final long timeoutNanos)
+            throws InterruptedException {
+        return this.queue.offer(new Queued(container, SimulationClock.current().nanos()), timeoutNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Places a container in the queue of this stage, waiting for room for as long as necessary.
+     *
+     * @param container The container.
+     * @throws InterruptedException If the current thread was interrupted while waiting, in which case the container
+     *                              was dropped.
+     * @author Marcus Talbot (1041464)
+     */
+    void put(@NotNull final AbstractFreightContainer container) throws InterruptedException {
+        try {
+            this.queue.put(new Queued(container, SimulationClock.current().nanos()));
+        } catch (InterruptedException e) {
+            this.discard.accept(container);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops every thread of this stage, and waits for them to finish. Containers that are still queued or held are
+     * not passed on, but dropped.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    void close() {
+        this.threads.forEach(Thread::interrupt);
+        var interrupted = Thread.interrupted();
+        for (final var thread : this.threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+
+        final var queued = new ArrayList<Queued>();
+        this.queue.drainTo(queued);
+        queued.forEach(container -> this.discard.accept(container.container()));
+        final var held = new ArrayList<Held>();
+        this.held.drainTo(held);
+        held.forEach(container -> this.discard.accept(container.container()));
+    }
+
+    /**
+     * Takes containers from the queue, and applies the strategy of this stage to them, until this stage is closed.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void work() {
+        final var clock = SimulationClock.current();
+        try {
+            while (true) {
+                final var queued = this.queue.take();
+                this.waitTime.record(clock.nanos() - queued.queuedNanos());
+                final long holdNanos;
+                try {
+                    holdNanos = this.spec.strategy().execute(queued.container());
+                } catch (InterruptedException e) {
+                    this.discard.accept(queued.container());
+                    throw e;
+                }
+                if (holdNanos <= 0L) {
+                    this.next.accept(queued.container());
+                    continue;
+                }
+                this.holdTime.record(holdNanos);
+                this.held.put(new Held(queued.container(), System.nanoTime() + clock.toRealNanos(holdNanos)));
+            }
+        } catch (InterruptedException e) {
+            // Closed by HandlingPipeline#close().
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Passes held containers on once their hold has passed, until this stage is closed.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private void release() {
+        try {
+            while (true)
+                this.next.accept(this.held.take().container());
+        } catch (InterruptedException e) {
+            // Closed by HandlingPipeline#close().
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a thread of this stage, named after it.
+     *
+     * @param threadFactory Creates the thread.
+     * @param task          What the thread runs.
+     * @param suffix        Last part of the name of the thread.
+     * @return A new, unstarted thread.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull Thread newThread(@NotNull final ThreadFactory threadFactory, @NotNull final Runnable task,
+                                      @NotNull final String suffix) {
+        final var thread = threadFactory.newThread(task);
+        thread.setName("Pipeline-" + this.spec.name() + "-" + suffix);
+        return thread;
+    }
+
+    /**
+     * A container waiting for a worker.
+     *
+     * @param container   The container.
+     * @param queuedNanos Simulated time at which the container was queued.
+     * @author Marcus Talbot (1041464)
+     */
+    private record Queued(@NotNull AbstractFreightContainer container, long queuedNanos) {
+    }
+
+    /**
+     * A container that is held until a moment in real time.
+     *
+     * @param container         The container.
+     * @param releaseRealNanos Value of {@link System#nanoTime()} at which the hold has passed.
+     * @author Marcus Talbot (1041464)
+     */
+    private record Held(@NotNull AbstractFreightContainer container, long releaseRealNanos) implements Delayed {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @Override
+        public long getDelay(@NotNull final TimeUnit unit) {
+            return unit.convert(this.releaseRealNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @Override
+        public int compareTo(@NotNull final Delayed o) {
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
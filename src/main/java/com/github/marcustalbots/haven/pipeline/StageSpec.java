@@ -0,0 +1,31 @@
+package com.github.marcustalbots.haven.pipeline;
+
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.strategies.handling.HandlingStrategy;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a single stage of a {@link HandlingPipeline}.
+ *
+ * @param name     Name of the stage, used to name its threads and metrics.
+ * @param strategy {@link HandlingStrategy} applied to every container that passes the stage.
+ * @param capacity Maximum amount of containers waiting for a worker of the stage.
+ * @param workers  Amount of threads that apply the strategy at the same time.
+ * @author Marcus Talbot (1041464)
+ */
+public record StageSpec(@NotNull String name, @NotNull HandlingStrategy<? super AbstractFreightContainer> strategy,
+                        int capacity, int workers) {
+
+    /**
+     * Validates the stage.
+     *
+     * @throws IllegalArgumentException If the capacity or the amount of workers is smaller or equal to zero.
+     * @author Marcus Talbot (1041464)
+     */
+    public StageSpec {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity of stage cannot be smaller or equal to zero.");
+        if (workers <= 0)
+            throw new IllegalArgumentException("Amount of workers of stage cannot be smaller or equal to zero.");
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains the staged pipeline containers pass through between being offloaded and being placed on a
+ * {@link com.github.marcustalbots.haven.dock.Dock}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.pipeline;
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.github.marcustalbots.haven.runtime;
+
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockVehicle;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every submitted {@link AbstractDockVehicle} on its own thread, so that cranes, pumps and trucks work
+ * concurrently rather than one after the other.
+ * <br><br>
+ * The {@link PortRuntime} owns its {@link ExecutorService}. Once all vehicles have been submitted,
+ * {@link #awaitCompletion(Duration)} stops accepting new vehicles and blocks until every submitted vehicle has finished.
+ * <br><br>
+ * Vehicles that need threads of their own, such as a
+ * {@link com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump} with several hoses,
+ * create them through {@link #currentThreadFactory()}, so that they are of the same {@link ThreadMode} as the vehicle.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see ThreadMode
+ */
+public final class PortRuntime implements AutoCloseable {
+
+    /**
+     * Handle to {@code Executors#newVirtualThreadPerTaskExecutor()}, or null if the running JVM does not offer virtual
+     * threads. Looked up reflectively, as this project is compiled against Java 17.
+     */
+    private static final MethodHandle VIRTUAL_EXECUTOR_FACTORY = PortRuntime.findVirtualExecutorFactory();
+
+    /**
+     * {@link ThreadFactory} for threads created by vehicles that are not run by a {@link PortRuntime}.
+     */
+    private static final ThreadFactory FALLBACK_THREAD_FACTORY = new DockVehicleThreadFactory();
+
+    /**
+     * The {@link PortRuntime} that runs the vehicle on the current thread, if any.
+     */
+    private static final ThreadLocal<PortRuntime> RUNNING = new ThreadLocal<>();
+
+    /**
+     * The {@link ExecutorService} every vehicle is submitted to.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * The {@link ThreadMode} that is actually in use, which may differ from the requested mode if virtual threads were
+     * requested, but are not supported by the running JVM.
+     */
+    private final ThreadMode threadMode;
+
+    /**
+     * Creates threads of the {@link #threadMode}, for vehicles that need threads of their own.
+     */
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Amount of vehicles that have been submitted, but have not yet finished.
+     */
+    private final AtomicInteger activeVehicles;
+
+    /**
+     * Creates a new {@link PortRuntime} that runs vehicles on threads of the given {@link ThreadMode}. If
+     * {@link ThreadMode#VIRTUAL} is requested on a JVM without virtual threads, platform threads are used instead.
+     *
+     * @param threadMode The preferred kind of thread to run the vehicles on.
+     * @author Marcus Talbot (1041464)
+     */
+    public PortRuntime(@NotNull final ThreadMode threadMode) {
+        this.activeVehicles = new AtomicInteger();
+
+        final var virtualThreadFactory = threadMode == ThreadMode.VIRTUAL && ThreadMode.VIRTUAL.isSupported()
+                ? PortRuntime.newVirtualThreadFactory()
+                : null;
+        if (virtualThreadFactory != null) {
+            this.executorService = PortRuntime.newVirtualThreadExecutor();
+            this.threadFactory = virtualThreadFactory;
+            this.threadMode = ThreadMode.VIRTUAL;
+        } else {
+            this.threadFactory = new DockVehicleThreadFactory();
+            this.executorService = Executors.newCachedThreadPool(this.threadFactory);
+            this.threadMode = ThreadMode.PLATFORM;
+        }
+    }
+
+    /**
+     * Creates a new {@link PortRuntime} that runs vehicles on virtual threads where available, and on platform threads
+     * otherwise.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public PortRuntime() {
+        this(ThreadMode.VIRTUAL);
+    }
+
+    /**
+     * Submits a single vehicle to be run on its own thread. The vehicle is enlisted with its
+     * {@link com.github.marcustalbots.haven.dock.Dock} right away, and retired once it has stopped, so that the
+     * {@link com.github.marcustalbots.haven.dock.Dock} can be shut down as soon as its work is done.
+     *
+     * @param vehicle The {@link AbstractDockVehicle} that should be started.
+     * @throws IllegalStateException If {@link #awaitCompletion(Duration)} or {@link #close()} was already called, or
+     *                               the vehicle offloads ships and the shift of its
+     *                               {@link com.github.marcustalbots.haven.dock.Dock} has already ended.
+     * @author Marcus Talbot (1041464)
+     */
+    public void submit(@NotNull final AbstractDockVehicle vehicle) {
+        vehicle.getDock().enlist(vehicle);
+        this.activeVehicles.incrementAndGet();
+        try {
+            this.executorService.execute(() -> this.runVehicle(vehicle));
+        } catch (RejectedExecutionException e) {
+            this.activeVehicles.decrementAndGet();
+            vehicle.getDock().retire(vehicle);
+            throw new IllegalStateException("PortRuntime no longer accepts vehicles.", e);
+        }
+    }
+
+    /**
+     * Submits every vehicle in the given {@link Collection}, each to be run on its own thread.
+     *
+     * @param vehicles The {@link AbstractDockVehicle AbstractDockVehicles} that should be started.
+     * @author Marcus Talbot (1041464)
+     * @see #submit(AbstractDockVehicle)
+     */
+    public void submitAll(@NotNull final Collection<? extends AbstractDockVehicle> vehicles) {
+        vehicles.forEach(this::submit);
+    }
+
+    /**
+     * Stops accepting new vehicles, and blocks until every submitted vehicle has finished, or the timeout has passed.
+     *
+     * @param timeout Maximum amount of time to wait.
+     * @return true if every vehicle finished, false if the timeout passed first.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     * @author Marcus Talbot (1041464)
+     */
+    public boolean awaitCompletion(@NotNull final Duration timeout) throws InterruptedException {
+        this.executorService.shutdown();
+        return this.executorService.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the amount of vehicles that were submitted, but have not finished yet.
+     *
+     * @return The amount of vehicles that are still running, or waiting to be started.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getActiveVehicles() {
+        return this.activeVehicles.get();
+    }
+
+    /**
+     * Gets the {@link ThreadMode} vehicles are actually run with.
+     *
+     * @return {@link #threadMode}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public @NotNull ThreadMode getThreadMode() {
+        return this.threadMode;
+    }
+
+    /**
+     * Gets the {@link ThreadFactory} a vehicle should create threads of its own with. A vehicle run by a
+     * {@link PortRuntime} gets threads of the same {@link ThreadMode} as its own; any other caller gets daemon
+     * platform threads. The vehicle is responsible for interrupting and joining the threads it creates, once it is
+     * interrupted itself.
+     *
+     * @return A {@link ThreadFactory}.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull ThreadFactory currentThreadFactory() {
+        final var runtime = PortRuntime.RUNNING.get();
+        return runtime != null ? runtime.threadFactory : PortRuntime.FALLBACK_THREAD_FACTORY;
+    }
+
+    /**
+     * Gets the {@link ThreadFactory} that creates threads of the {@link ThreadMode} of this runtime, for work that
+     * runs alongside its vehicles. Threads created by it are not interrupted by {@link #close()}; whoever creates them
+     * is responsible for stopping them.
+     *
+     * @return {@link #threadFactory}.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull ThreadFactory getThreadFactory() {
+        return this.threadFactory;
+    }
+
+    /**
+     * Interrupts all vehicles that are still running, and stops accepting new vehicles.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void close() {
+        if (!this.executorService.isTerminated())
+            this.executorService.shutdownNow();
+    }
+
+    /**
+     * Runs the given vehicle on the current thread, naming the thread after the vehicle for the duration of the run.
+     *
+     * @param vehicle The {@link AbstractDockVehicle} that should be run.
+     * @author Marcus Talbot (1041464)
+     */
+    private void runVehicle(@NotNull final AbstractDockVehicle vehicle) {
+        final var thread = Thread.currentThread();
+        final var name = thread.getName();
+        thread.setName(vehicle.toString());
+        PortRuntime.RUNNING.set(this);
+        try {
+            vehicle.run();
+        } catch (RuntimeException e) {
+            // An Exception would otherwise silently disappear inside the ExecutorService.
+            e.printStackTrace();
+        } finally {
+            PortRuntime.RUNNING.remove();
+            thread.setName(name);
+            this.activeVehicles.decrementAndGet();
+            vehicle.getDock().retire(vehicle);
+        }
+    }
+
+    /**
+     * Looks up {@code Executors#newVirtualThreadPerTaskExecutor()}.
+     *
+     * @return A {@link MethodHandle} to the factory-method, or null if it does not exist.
+     * @author Marcus Talbot (1041464)
+     */
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} for virtual threads, through {@code Thread.ofVirtual().factory()}.
+     *
+     * @return A new {@link ThreadFactory}, or null if the running JVM does not offer virtual threads.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @Nullable ThreadFactory newVirtualThreadFactory() {
+        try {
+            final var lookup = MethodHandles.publicLookup();
+            final var builderType = Class.forName("java.lang.Thread$Builder");
+            final var ofVirtualType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            final var builder = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualType))
+                    .invoke();
+            final var factory = lookup.findVirtual(builderType, "factory", MethodType.methodType(ThreadFactory.class));
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a new {@link ExecutorService} that starts a new virtual thread for every task.
+     *
+     * @return A new {@link ExecutorService}.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @NotNull ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) PortRuntime.VIRTUAL_EXECUTOR_FACTORY.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create virtual thread executor.", e);
+        }
+    }
+
+    /**
+     * Kind of thread a {@link PortRuntime} runs its vehicles on.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public enum ThreadMode {
+
+        /**
+         * Every vehicle is run on its own platform thread.
+         */
+        PLATFORM,
+
+        /**
+         * Every vehicle is run on its own virtual thread. Requires a JVM that offers virtual threads.
+         */
+        VIRTUAL;
+
+        /**
+         * Checks whether the running JVM supports this {@link ThreadMode}.
+         *
+         * @return true if vehicles can be run with this {@link ThreadMode}.
+         * @author Marcus Talbot (1041464)
+         */
+        public boolean isSupported() {
+            return this == PLATFORM || PortRuntime.VIRTUAL_EXECUTOR_FACTORY != null;
+        }
+    }
+
+    /**
+     * {@link ThreadFactory} for platform threads. Threads are created as daemon-threads, so that a vehicle that never
+     * returns cannot keep the program alive after {@link #close()}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private static final class DockVehicleThreadFactory implements ThreadFactory {
+
+        /**
+         * Used to give every created thread a unique name.
+         */
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        /**
+         * {@inheritDoc}
+         *
+         * @author Marcus Talbot (1041464)
+         */
+        @Override
+        public Thread newThread(@NotNull final Runnable runnable) {
+            final var thread = new Thread(runnable, "dock-vehicle-" + this.threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains classes responsible for running dock-vehicles concurrently.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.runtime;
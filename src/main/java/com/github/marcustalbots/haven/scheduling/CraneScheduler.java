@@ -0,0 +1,310 @@
+package com.github.marcustalbots.haven.scheduling;
+
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.impl.vehicles.ships.ContainerShip;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockOffloadVehicle;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.FreightSource;
+import com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spreads {@link Crane}-objects over all berthed {@link ContainerShip}-objects, so that the cranes finish the ships
+ * together, rather than one ship at a time.
+ * <br><br>
+ * Every ship has a work-deque, which is filled with a batch of containers from the ship whenever it runs empty. A
+ * {@link Crane} takes containers from the head of the deque of its own ship. Once its own ship is empty, it steals from
+ * the tail of the deque of the ship with the most work left, and from then on serves that ship as its own. The work
+ * left on a ship is the amount of containers left, multiplied by the priority of the ship.
+ * <br><br>
+ * Taking containers from a ship in batches means the lock of the ship is taken once per batch, and owners and thieves
+ * take containers from opposite ends of a deque, so they rarely contend with each other.
+ * <br><br>
+ * The scheduler is meant for a fixed set of berthed ships. Cranes that follow the berth assignments of an
+ * {@link com.github.marcustalbots.haven.arrivals.ArrivalScheduler} should not be added to it.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see FreightSource
+ */
+public final class CraneScheduler implements FreightSource<AbstractFreightContainer> {
+
+    /**
+     * Amount of containers moved from a ship to its deque at once, unless specified otherwise.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    /**
+     * Amount of times a {@link Crane} took a container from a ship other than its own.
+     */
+    private static final Counter STEALS = MetricsRegistry.getInstance().counter("crane.steals");
+
+    /**
+     * Amount of containers moved from a ship to its deque at once.
+     */
+    private final int batchSize;
+
+    /**
+     * Work of every berthed ship. Ships are added rarely, and read on every steal.
+     */
+    private final List<ShipWork> ships;
+
+    /**
+     * Creates a new {@link CraneScheduler}, which moves containers in batches of the default size.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public CraneScheduler() {
+        this(CraneScheduler.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new {@link CraneScheduler}, which moves containers in batches of the given size.
+     *
+     * @param batchSize Amount of containers moved from a ship to its deque at once. Must be greater than zero.
+     * @author Marcus Talbot (1041464)
+     */
+    public CraneScheduler(final int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be greater than zero.");
+        this.batchSize = batchSize;
+        this.ships = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Adds a berthed ship, with the lowest priority.
+     *
+     * @param ship The berthed {@link ContainerShip}.
+     * @author Marcus Talbot (1041464)
+     * @see #addShip(ContainerShip, int)
+     */
+    public void addShip(@NotNull final ContainerShip ship) {
+        this.addShip(ship, 1);
+    }
+
+    /**
+     * Adds a berthed ship. Among ships with the same amount of containers left, cranes are sent to the ship with the
+     * highest priority first.
+     *
+     * @param ship     The berthed {@link ContainerShip}.
+     * @param priority Priority of the ship. Must be greater than zero.
+     * @throws IllegalArgumentException If the priority is not positive, or the ship was added already.
+     * @author Marcus Talbot (1041464)
+     */
+    public void addShip(@NotNull final ContainerShip ship, final int priority) {
+        if (priority <= 0)
+            throw new IllegalArgumentException("Priority must be greater than zero.");
+        if (this.workOf(ship) != null)
+            throw new IllegalArgumentException("Ship was added already: " + ship);
+        this.ships.add(new ShipWork(ship, priority));
+    }
+
+    /**
+     * Lets a {@link Crane} take its containers through this scheduler. Its current ship is added as well, if it was
+     * not added yet.
+     *
+     * @param crane The {@link Crane}.
+     * @author Marcus Talbot (1041464)
+     */
+    public void addCrane(@NotNull final Crane crane) {
+        if (crane.getShip() instanceof ContainerShip ship && this.workOf(ship) == null)
+            this.addShip(ship);
+        crane.setFreightSource(this);
+    }
+
+    /**
+     * Gets the amount of containers left on all ships, including those moved to a deque, but not taken by any
+     * {@link Crane} yet.
+     *
+     * @return The amount of containers left.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getRemaining() {
+        var remaining = 0;
+        for (final var work : this.ships)
+            remaining += work.remaining();
+        return remaining;
+    }
+
+    /**
+     * Takes the next container for the given {@link Crane}; from its own ship if possible, and from the ship with the
+     * most work left otherwise. In the latter case, the {@link Crane} is given that ship.
+     *
+     * @param vehicle The {@link Crane} asking for a container.
+     * @return The next container, or null if every ship is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public @Nullable AbstractFreightContainer next(
+            @NotNull final AbstractDockOffloadVehicle<AbstractFreightContainer> vehicle) {
+        final var home = this.workOf(vehicle.getShip());
+        if (home != null) {
+            final var container = home.take(this.batchSize);
+            if (container != null)
+                return container;
+        }
+
+        for (var victim = this.richest(home); victim != null; victim = this.richest(home)) {
+            final var container = victim.steal(this.batchSize);
+            if (container != null) {
+                CraneScheduler.STEALS.increment();
+                vehicle.setShip(victim.ship);
+                return container;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the ship with the most work left, other than the given ship.
+     *
+     * @param home The ship that should be skipped, if any.
+     * @return The {@link ShipWork} of the ship, or null if every other ship is empty.
+     * @author Marcus Talbot (1041464)
+     */
+    private @Nullable ShipWork richest(@Nullable final ShipWork home) {
+        ShipWork richest = null;
+        var most = 0L;
+        for (final var work : this.ships) {
+            if (work == home)
+                continue;
+            final var left = (long) work.remaining() * work.priority;
+            if (left > most) {
+                most = left;
+                richest = work;
+            }
+        }
+        return richest;
+    }
+
+    /**
+     * Finds the work of the given ship.
+     *
+     * @param ship A ship.
+     * @return The {@link ShipWork} of the ship, or null if it was not added.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    private @Nullable ShipWork workOf(@Nullable final AbstractShip<?> ship) {
+        for (final var work : this.ships) {
+            if (work.ship == ship)
+                return work;
+        }
+        return null;
+    }
+
+    /**
+     * A berthed ship, with its work-deque.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private static final class ShipWork {
+
+        /**
+         * The berthed ship.
+         */
+        private final ContainerShip ship;
+
+        /**
+         * Priority of the ship.
+         */
+        private final int priority;
+
+        /**
+         * Containers taken from the ship, but not by a {@link Crane} yet.
+         */
+        private final ConcurrentLinkedDeque<AbstractFreightContainer> deque;
+
+        /**
+         * Held while moving a batch of containers from the ship to the deque, so that only a single thread does so.
+         */
+        private final ReentrantLock refillLock;
+
+        /**
+         * Creates a new {@link ShipWork}.
+         *
+         * @param ship     The berthed ship.
+         * @param priority Priority of the ship.
+         * @author Marcus Talbot (1041464)
+         */
+        private ShipWork(@NotNull final ContainerShip ship, final int priority) {
+            this.ship = ship;
+            this.priority = priority;
+            this.deque = new ConcurrentLinkedDeque<>();
+            this.refillLock = new ReentrantLock();
+        }
+
+        /**
+         * Takes a container from the head of the deque, as the owner of the ship.
+         *
+         * @param batchSize Amount of containers to move to the deque, if it is empty.
+         * @return A container, or null if both the deque and the ship are empty.
+         * @author Marcus Talbot (1041464)
+         */
+        private @Nullable AbstractFreightContainer take(final int batchSize) {
+            AbstractFreightContainer container;
+            while ((container = this.deque.pollFirst()) == null) {
+                if (!this.refill(batchSize))
+                    return null;
+            }
+            return container;
+        }
+
+        /**
+         * Takes a container from the tail of the deque, as a thief.
+         *
+         * @param batchSize Amount of containers to move to the deque, if it is empty.
+         * @return A container, or null if both the deque and the ship are empty.
+         * @author Marcus Talbot (1041464)
+         */
+        private @Nullable AbstractFreightContainer steal(final int batchSize) {
+            AbstractFreightContainer container;
+            while ((container = this.deque.pollLast()) == null) {
+                if (!this.refill(batchSize))
+                    return null;
+            }
+            return container;
+        }
+
+        /**
+         * Moves a batch of containers from the ship to the deque, unless another thread has done so in the meantime.
+         *
+         * @param batchSize Amount of containers to move.
+         * @return false if both the deque and the ship are empty, true otherwise.
+         * @author Marcus Talbot (1041464)
+         */
+        private boolean refill(final int batchSize) {
+            this.refillLock.lock();
+            try {
+                if (!this.deque.isEmpty())
+                    return true;
+                final var batch = new ArrayList<AbstractFreightContainer>(batchSize);
+                if (this.ship.drainFreight(batch, batchSize) == 0)
+                    return false;
+                this.deque.addAll(batch);
+                return true;
+            } finally {
+                this.refillLock.unlock();
+            }
+        }
+
+        /**
+         * Gets the amount of containers left on the ship and in the deque.
+         *
+         * @return The amount of containers left.
+         * @author Marcus Talbot (1041464)
+         */
+        private int remaining() {
+            return this.ship.getFreightCount() + this.deque.size();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains classes that decide which vehicle handles which work, while the port is running.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.scheduling;
@@ -0,0 +1,610 @@
+package com.github.marcustalbots.haven.simulation;
+
+import com.github.marcustalbots.haven.clock.DiscreteEventClock;
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.ContainerTruck;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockOffloadVehicle;
+import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockVehicle;
+import com.github.marcustalbots.haven.runtime.PortRuntime;
+import com.github.marcustalbots.haven.strategies.offload.OffloadStrategy;
+import com.github.marcustalbots.haven.strategies.transport.TransportStrategy;
+import com.github.marcustalbots.haven.utils.TimeUtils;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs the port as a discrete-event simulation on a single thread, as an alternative to running every vehicle on its
+ * own thread through a {@link PortRuntime}.
+ * <br><br>
+ * Rather than letting vehicles wait for each other, the engine keeps a queue of events, ordered by simulated time.
+ * Every event lets a single vehicle perform a single action through its {@link OffloadStrategy} or
+ * {@link TransportStrategy}, on a {@link DiscreteEventClock}, and schedules the next action of that vehicle at the
+ * simulated time the action ended. A vehicle that cannot continue, such as a {@link ContainerTruck} at an empty
+ * {@link Dock}, or a {@link Crane} at a full {@link Dock}, is parked until another vehicle makes room for it. As a
+ * result, the engine never blocks, and a single thread can drive thousands of vehicles.
+ * <br><br>
+ * Events at the same simulated time are handled in the order they were scheduled, and delays are drawn from a seeded
+ * {@link RandomGenerator}, so two runs with the same seed and the same vehicles take the same course.
+ *
+ * @author Marcus Talbot (1041464)
+ * @see SimulationReport
+ */
+public final class DiscreteEventEngine {
+
+    /**
+     * Orders events by simulated time, and events at the same time by the order they were scheduled in.
+     */
+    private static final Comparator<Event> EVENT_ORDER = Comparator.comparingLong(Event::nanos)
+            .thenComparingLong(Event::sequence);
+
+    /**
+     * The {@link DiscreteEventClock} strategies read and advance while the engine runs.
+     */
+    private final DiscreteEventClock clock;
+
+    /**
+     * The seeded {@link RandomGenerator} used to draw the duration of every action.
+     */
+    private final RandomGenerator randomGenerator;
+
+    /**
+     * Events that have been scheduled, but not handled yet.
+     */
+    private final PriorityQueue<Event> events;
+
+    /**
+     * Vehicles parked at every {@link Dock} the engine has seen.
+     */
+    private final Map<Dock, DockState> dockStates;
+
+    /**
+     * Simulated time at which every parked vehicle was parked, used to record how long it stayed idle.
+     */
+    private final Map<AbstractDockVehicle, Long> parkedNanos;
+
+    /**
+     * Amount of hoses of every {@link Pump} that have not emptied its ship yet.
+     */
+    private final Map<Pump, Integer> activeHoses;
+
+    /**
+     * Told about every offload-vehicle that has emptied its ship, if any.
+     */
+    private Consumer<? super AbstractDockOffloadVehicle<?>> shipEmptiedListener;
+
+    /**
+     * Current simulated time, in nanoseconds since the epoch.
+     */
+    private long nanos;
+
+    /**
+     * Sequence number given to the next scheduled event.
+     */
+    private long sequence;
+
+    /**
+     * Amount of events that were handled.
+     */
+    private long processedEvents;
+
+    /**
+     * Amount of containers that were offloaded from ships, and reached the dock.
+     */
+    private long offloadedContainers;
+
+    /**
+     * Amount of containers that were transported away from the dock.
+     */
+    private long transportedContainers;
+
+    /**
+     * Creates a new {@link DiscreteEventEngine}, which starts at the latest time of the given clock.
+     *
+     * @param clock The {@link DiscreteEventClock} strategies should use while the engine runs.
+     * @param seed  Seed of the {@link RandomGenerator} used to draw the duration of every action.
+     * @author Marcus Talbot (1041464)
+     */
+    public DiscreteEventEngine(@NotNull final DiscreteEventClock clock, final long seed) {
+        this.clock = clock;
+        this.randomGenerator = new SplittableRandom(seed);
+        this.events = new PriorityQueue<>(DiscreteEventEngine.EVENT_ORDER);
+        this.dockStates = new IdentityHashMap<>();
+        this.parkedNanos = new IdentityHashMap<>();
+        this.activeHoses = new IdentityHashMap<>();
+        this.nanos = clock.latestNanos();
+    }
+
+    /**
+     * Creates a new {@link DiscreteEventEngine}, which starts at the current time.
+     *
+     * @param seed Seed of the {@link RandomGenerator} used to draw the duration of every action.
+     * @author Marcus Talbot (1041464)
+     */
+    public DiscreteEventEngine(final long seed) {
+        this(new DiscreteEventClock(), seed);
+    }
+
+    /**
+     * Adds a vehicle to the simulation, starting at the current simulated time. {@link Crane}-objects are switched to
+     * deferred hand-offs, so that the engine can place their containers on the {@link Dock} at the simulated time they
+     * were offloaded. {@link OilTruck}-objects do not need to be started, as they wait in the pool of their
+     * {@link Dock} until a {@link Pump} loads them; those turned away by the pool are parked until it has room.
+     *
+     * @param vehicle The {@link AbstractDockVehicle} that should be simulated.
+     * @throws IllegalArgumentException If the vehicle is of an unknown type.
+     * @author Marcus Talbot (1041464)
+     */
+    public void add(@NotNull final AbstractDockVehicle vehicle) {
+        switch (vehicle) {
+            case Crane crane -> {
+                crane.setHandOffDeferred(true);
+                this.scheduleAt(this.nanos, () -> this.offload(crane));
+            }
+            case Pump pump -> {
+                this.activeHoses.put(pump, pump.getHoseCount());
+                for (var hose = 0; hose < pump.getHoseCount(); hose++)
+                    this.scheduleAt(this.nanos, () -> this.pump(pump));
+            }
+            case ContainerTruck containerTruck -> this.scheduleAt(this.nanos, () -> this.collect(containerTruck));
+            case OilTruck oilTruck -> {
+                if (!oilTruck.getDock().getOilTruckPool().contains(oilTruck))
+                    this.park(this.stateOf(oilTruck.getDock()).turnedAwayTrucks, oilTruck);
+            }
+            default -> throw new IllegalArgumentException("Unknown type of dock-vehicle: " + vehicle);
+        }
+    }
+
+    /**
+     * Adds every vehicle in the given {@link Collection} to the simulation.
+     *
+     * @param vehicles The {@link AbstractDockVehicle AbstractDockVehicles} that should be simulated.
+     * @author Marcus Talbot (1041464)
+     * @see #add(AbstractDockVehicle)
+     */
+    public void addAll(@NotNull final Collection<? extends AbstractDockVehicle> vehicles) {
+        vehicles.forEach(this::add);
+    }
+
+    /**
+     * Schedules an action to be run after the given amount of simulated time. The action runs on the thread of the
+     * engine, and may schedule further actions.
+     *
+     * @param delay  Amount of simulated time from now.
+     * @param action The action that should be run.
+     * @throws IllegalArgumentException If the delay is negative.
+     * @author Marcus Talbot (1041464)
+     */
+    public void schedule(@NotNull final Duration delay, @NotNull final Runnable action) {
+        if (delay.isNegative())
+            throw new IllegalArgumentException("Delay of event cannot be negative.");
+        this.scheduleAt(this.nanos + delay.toNanos(), action);
+    }
+
+    /**
+     * Sets the listener that is told about every offload-vehicle that has emptied its ship. The listener runs on the
+     * thread of the engine, at the simulated time the ship was emptied, and may give the vehicle a new ship and add it
+     * to the simulation again.
+     *
+     * @param listener The listener, or null to stop telling anyone.
+     * @author Marcus Talbot (1041464)
+     * @see AbstractDockOffloadVehicle#setShip(com.github.marcustalbots.haven.models.vehicles.ships.AbstractShip)
+     */
+    public void setShipEmptiedListener(@Nullable final Consumer<? super AbstractDockOffloadVehicle<?>> listener) {
+        this.shipEmptiedListener = listener;
+    }
+
+    /**
+     * Handles events until none are left.
+     *
+     * @return A {@link SimulationReport} of the run.
+     * @author Marcus Talbot (1041464)
+     * @see #run(Duration)
+     */
+    public @NotNull SimulationReport run() {
+        return this.runUntil(Long.MAX_VALUE);
+    }
+
+    /**
+     * Handles events until none are left, or until the given amount of simulated time has passed. Events scheduled
+     * beyond that point are kept, so that the simulation can be continued by calling this method again.
+     * <br><br>
+     * While running, the {@link DiscreteEventClock} of this engine is the current {@link SimulationClock} of the
+     * whole program, so the port should not be run through a {@link PortRuntime} at the same time.
+     *
+     * @param horizon Maximum amount of simulated time to run for.
+     * @return A {@link SimulationReport} of the run.
+     * @author Marcus Talbot (1041464)
+     */
+    public @NotNull SimulationReport run(@NotNull final Duration horizon) {
+        final var horizonNanos = horizon.compareTo(Duration.ofNanos(Long.MAX_VALUE - this.nanos)) >= 0
+                ? Long.MAX_VALUE
+                : this.nanos + horizon.toNanos();
+        return this.runUntil(horizonNanos);
+    }
+
+    /**
+     * Gets the current simulated time of the engine.
+     *
+     * @return The simulated time, in nanoseconds since the epoch.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract(pure = true)
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * Gets the amount of events that have been scheduled, but not handled yet.
+     *
+     * @return The amount of pending events.
+     * @author Marcus Talbot (1041464)
+     */
+    public int getPendingEvents() {
+        return this.events.size();
+    }
+
+    /**
+     * Handles events in order, up to and including the given simulated time.
+     *
+     * @param horizonNanos Simulated time to stop at, in nanoseconds since the epoch.
+     * @return A {@link SimulationReport} of the run.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull SimulationReport runUntil(final long horizonNanos) {
+        final var startNanos = this.nanos;
+        final var startEvents = this.processedEvents;
+        final var startOffloaded = this.offloadedContainers;
+        final var startTransported = this.transportedContainers;
+        final var previousClock = SimulationClock.current();
+        final var realStart = System.nanoTime();
+
+        SimulationClock.use(this.clock);
+        final var previousRandomGenerator = TimeUtils.useRandomGenerator(this.randomGenerator);
+        try {
+            var event = this.events.peek();
+            while (event != null && event.nanos() <= horizonNanos) {
+                this.events.poll();
+                this.nanos = event.nanos();
+                this.clock.advanceTo(this.nanos);
+                event.action().run();
+                this.processedEvents++;
+                event = this.events.peek();
+            }
+            if (event != null)
+                this.nanos = horizonNanos;
+        } finally {
+            TimeUtils.useRandomGenerator(previousRandomGenerator);
+            SimulationClock.use(previousClock);
+        }
+
+        return new SimulationReport(
+                this.processedEvents - startEvents,
+                this.offloadedContainers - startOffloaded,
+                this.transportedContainers - startTransported,
+                Duration.ofNanos(this.nanos - startNanos),
+                Duration.ofNanos(System.nanoTime() - realStart)
+        );
+    }
+
+    /**
+     * Lets a {@link Crane} offload its next container. The container is placed on the {@link Dock} at the simulated
+     * time offloading ended. Once the ship is empty, the {@link Crane} is done.
+     *
+     * @param crane The {@link Crane} that should offload a container.
+     * @author Marcus Talbot (1041464)
+     */
+    private void offload(@NotNull final Crane crane) {
+        if (crane.offloadNext())
+            this.scheduleAt(this.clock.nanos(), () -> this.handOff(crane));
+        else
+            this.emptied(crane);
+    }
+
+    /**
+     * Places the containers a {@link Crane} has offloaded on its {@link Dock}, and wakes a parked
+     * {@link ContainerTruck} for every placed container: those of the {@link Dock} itself first, then those of the
+     * other berths of its {@link com.github.marcustalbots.haven.dock.Terminal}, which may steal the containers. If the
+     * {@link Dock} is full, the {@link Crane} is parked until a {@link ContainerTruck} collects a container.
+     *
+     * @param crane The {@link Crane} that holds offloaded containers.
+     * @author Marcus Talbot (1041464)
+     */
+    private void handOff(@NotNull final Crane crane) {
+        final var dock = crane.getDock();
+        final var backlog = dock.getBacklog();
+        final var state = this.stateOf(dock);
+        final var pending = crane.getPendingCount();
+
+        if (backlog.size() + pending > backlog.capacity()) {
+            this.park(state.blockedCranes, crane);
+            return;
+        }
+
+        crane.flush();
+        this.offloadedContainers += pending;
+        var unclaimed = pending;
+        for (final var berth : this.berthsOf(dock)) {
+            final var idleTrucks = this.stateOf(berth).idleTrucks;
+            for (; unclaimed > 0 && !idleTrucks.isEmpty(); unclaimed--) {
+                final var containerTruck = this.unpark(idleTrucks);
+                this.scheduleAt(this.nanos, () -> this.collect(containerTruck));
+            }
+        }
+        this.scheduleAt(this.nanos, () -> this.offload(crane));
+    }
+
+    /**
+     * Lets a {@link ContainerTruck} collect as many containers from its {@link Dock} as its batch size allows, and
+     * transport them in consolidated loads. If the {@link Dock} is a berth of a
+     * {@link com.github.marcustalbots.haven.dock.Terminal}, containers may be stolen from the other berths. Wakes a
+     * parked {@link Crane} of a berth for every container collected from that berth. If every berth is empty, the
+     * {@link ContainerTruck} is parked until a {@link Crane} places a container.
+     *
+     * @param containerTruck The {@link ContainerTruck} that should collect containers.
+     * @author Marcus Talbot (1041464)
+     */
+    private void collect(@NotNull final ContainerTruck containerTruck) {
+        final var dock = containerTruck.getDock();
+        final var berths = this.berthsOf(dock);
+        final var backlogSizes = berths.stream().mapToInt(berth -> berth.getBacklog().size()).toArray();
+
+        if (Arrays.stream(backlogSizes).allMatch(size -> size == 0)) {
+            this.park(this.stateOf(dock).idleTrucks, containerTruck);
+            return;
+        }
+
+        final var containers = dock.drainContainers(containerTruck.getBatchSize(), Duration.ZERO);
+        // Consolidating may take more containers from the Dock, to fill up the loads of the ContainerTruck.
+        final var transported = containerTruck.transport(containers);
+        this.transportedContainers += transported;
+
+        for (var index = 0; index < berths.size(); index++) {
+            final var blockedCranes = this.stateOf(berths.get(index)).blockedCranes;
+            final var taken = backlogSizes[index] - berths.get(index).getBacklog().size();
+            for (var woken = 0; woken < taken && !blockedCranes.isEmpty(); woken++) {
+                final var crane = this.unpark(blockedCranes);
+                this.scheduleAt(this.nanos, () -> this.handOff(crane));
+            }
+        }
+        this.scheduleAt(this.clock.nanos(), () -> this.collect(containerTruck));
+    }
+
+    /**
+     * Lets a hose of a {@link Pump} pump its next container into the {@link OilTruck} that has been idling the
+     * longest. If no {@link OilTruck} is idle, the hose is parked until one returns. Once the ship is empty, the hose
+     * is done, without waiting for an {@link OilTruck}; the {@link Pump} is done once all of its hoses are.
+     *
+     * @param pump The {@link Pump} that should pump a container.
+     * @author Marcus Talbot (1041464)
+     */
+    private void pump(@NotNull final Pump pump) {
+        if (pump.getFreightSource() == null && pump.getShip().getFreightCount() == 0) {
+            this.hoseEmptied(pump);
+            return;
+        }
+
+        final var dock = pump.getDock();
+        // The pool hands out trucks in order, so this is the truck the Pump is about to load.
+        final var oilTruck = dock.getOilTruckPool().peek();
+        if (oilTruck == null) {
+            this.park(this.stateOf(dock).waitingPumps, pump);
+            return;
+        }
+
+        if (!pump.offloadNext()) {
+            this.hoseEmptied(pump);
+            return;
+        }
+
+        this.offloadedContainers++;
+        this.readmit(dock);
+        final var end = this.clock.nanos();
+        this.scheduleAt(end, () -> this.deliver(oilTruck));
+        this.scheduleAt(end, () -> this.pump(pump));
+    }
+
+    /**
+     * Lets a loaded {@link OilTruck} transport its container, after which it returns to its {@link Dock}.
+     *
+     * @param oilTruck The {@link OilTruck} that was loaded by a {@link Pump}.
+     * @author Marcus Talbot (1041464)
+     */
+    private void deliver(@NotNull final OilTruck oilTruck) {
+        if (oilTruck.transportLoad())
+            this.transportedContainers++;
+        this.scheduleAt(this.clock.nanos(), () -> this.returnToDock(oilTruck));
+    }
+
+    /**
+     * Registers an {@link OilTruck} that has finished its transport with its {@link Dock} again, and wakes a parked
+     * {@link Pump}. An {@link OilTruck} that is turned away by the pool is parked until the pool has room.
+     *
+     * @param oilTruck The {@link OilTruck} that has returned.
+     * @author Marcus Talbot (1041464)
+     */
+    private void returnToDock(@NotNull final OilTruck oilTruck) {
+        final var dock = oilTruck.getDock();
+        if (!dock.registerOilTruck(oilTruck)) {
+            this.park(this.stateOf(dock).turnedAwayTrucks, oilTruck);
+            return;
+        }
+
+        final var pump = this.unpark(this.stateOf(dock).waitingPumps);
+        if (pump != null)
+            this.scheduleAt(this.nanos, () -> this.pump(pump));
+    }
+
+    /**
+     * Registers the {@link OilTruck}-objects turned away by the pool of the given {@link Dock} again, in the order
+     * they were turned away, for as long as the pool has room.
+     *
+     * @param dock The {@link Dock} whose pool may have room.
+     * @author Marcus Talbot (1041464)
+     */
+    private void readmit(@NotNull final Dock dock) {
+        final var pool = dock.getOilTruckPool();
+        final var turnedAwayTrucks = this.stateOf(dock).turnedAwayTrucks;
+        while (!turnedAwayTrucks.isEmpty() && pool.hasRoom())
+            pool.register(this.unpark(turnedAwayTrucks));
+    }
+
+    /**
+     * Counts a hose of a {@link Pump} that has found its ship empty. Once every hose has, the {@link Pump} is done.
+     *
+     * @param pump The {@link Pump} whose hose is done.
+     * @author Marcus Talbot (1041464)
+     */
+    private void hoseEmptied(@NotNull final Pump pump) {
+        final var remaining = this.activeHoses.merge(pump, -1, Integer::sum);
+        if (remaining > 0)
+            return;
+        this.activeHoses.remove(pump);
+        this.emptied(pump);
+    }
+
+    /**
+     * Tells the listener, if any, that an offload-vehicle has emptied its ship.
+     *
+     * @param vehicle The offload-vehicle that is done.
+     * @author Marcus Talbot (1041464)
+     */
+    private void emptied(@NotNull final AbstractDockOffloadVehicle<?> vehicle) {
+        if (this.shipEmptiedListener != null)
+            this.shipEmptiedListener.accept(vehicle);
+    }
+
+    /**
+     * Schedules an action at the given simulated time.
+     *
+     * @param nanos  Simulated time, in nanoseconds since the epoch.
+     * @param action The action that should be run.
+     * @author Marcus Talbot (1041464)
+     */
+    private void scheduleAt(final long nanos, @NotNull final Runnable action) {
+        this.events.add(new Event(Math.max(nanos, this.nanos), this.sequence++, action));
+    }
+
+    /**
+     * Parks a vehicle that cannot continue, until another vehicle wakes it. A {@link Pump} may be parked once for
+     * every hose; it is idle from the moment the first of them is parked.
+     *
+     * @param queue   Queue of vehicles parked for the same reason.
+     * @param vehicle The vehicle that should be parked.
+     * @param <V>     Type of vehicle.
+     * @author Marcus Talbot (1041464)
+     */
+    private <V extends AbstractDockVehicle> void park(@NotNull final Queue<V> queue, @NotNull final V vehicle) {
+        queue.add(vehicle);
+        this.parkedNanos.putIfAbsent(vehicle, this.nanos);
+    }
+
+    /**
+     * Wakes the vehicle that has been parked the longest, and records the time it spent parked as idle time.
+     *
+     * @param queue Queue of vehicles parked for the same reason.
+     * @param <V>   Type of vehicle.
+     * @return The woken vehicle, or null if none was parked.
+     * @author Marcus Talbot (1041464)
+     */
+    private <V extends AbstractDockVehicle> @Nullable V unpark(@NotNull final Queue<V> queue) {
+        final var vehicle = queue.poll();
+        if (vehicle == null)
+            return null;
+        vehicle.getMetrics().recordIdle(this.nanos - this.parkedNanos.remove(vehicle));
+        // Another hose of the same Pump is still parked, so the Pump stays idle.
+        if (queue.contains(vehicle))
+            this.parkedNanos.put(vehicle, this.nanos);
+        return vehicle;
+    }
+
+    /**
+     * Gets the vehicles parked at the given {@link Dock}.
+     *
+     * @param dock The {@link Dock} the vehicles are parked at.
+     * @return The {@link DockState} of the {@link Dock}.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull DockState stateOf(@NotNull final Dock dock) {
+        return this.dockStates.computeIfAbsent(dock, ignored -> new DockState());
+    }
+
+    /**
+     * Gets the berths a {@link ContainerTruck} of the given {@link Dock} may collect containers from: the {@link Dock}
+     * itself first, followed by the other berths of its {@link com.github.marcustalbots.haven.dock.Terminal}, if any.
+     *
+     * @param dock The {@link Dock}.
+     * @return The {@link Dock}, and the other berths of its terminal.
+     * @author Marcus Talbot (1041464)
+     */
+    private @NotNull List<Dock> berthsOf(@NotNull final Dock dock) {
+        final var terminal = dock.getTerminal();
+        if (terminal == null)
+            return List.of(dock);
+
+        final var berths = new ArrayList<Dock>(terminal.getBerthCount());
+        berths.add(dock);
+        for (final var berth : terminal.getBerths())
+            if (berth != dock)
+                berths.add(berth);
+        return berths;
+    }
+
+    /**
+     * An action, scheduled at a simulated time.
+     *
+     * @param nanos    Simulated time, in nanoseconds since the epoch.
+     * @param sequence Order in which the event was scheduled, used to order events at the same simulated time.
+     * @param action   The action that should be run.
+     * @author Marcus Talbot (1041464)
+     */
+    private record Event(long nanos, long sequence, @NotNull Runnable action) {
+    }
+
+    /**
+     * Vehicles parked at a single {@link Dock}, in the order they were parked.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    private static final class DockState {
+
+        /**
+         * {@link ContainerTruck}-objects waiting for a container to be placed.
+         */
+        private final ArrayDeque<ContainerTruck> idleTrucks = new ArrayDeque<>();
+
+        /**
+         * {@link Crane}-objects waiting for room to place their container.
+         */
+        private final ArrayDeque<Crane> blockedCranes = new ArrayDeque<>();
+
+        /**
+         * {@link Pump}-objects waiting for an {@link OilTruck} to return.
+         */
+        private final ArrayDeque<Pump> waitingPumps = new ArrayDeque<>();
+
+        /**
+         * {@link OilTruck}-objects turned away by the pool, waiting for it to have room.
+         */
+        private final ArrayDeque<OilTruck> turnedAwayTrucks = new ArrayDeque<>();
+    }
+}
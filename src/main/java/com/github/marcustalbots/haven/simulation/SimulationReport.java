@@ -0,0 +1,30 @@
+package com.github.marcustalbots.haven.simulation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Summary of a single run of a {@link DiscreteEventEngine}.
+ *
+ * @param processedEvents       Amount of events that were handled.
+ * @param offloadedContainers   Amount of containers that were offloaded from ships, and reached the dock.
+ * @param transportedContainers Amount of containers that were transported away from the dock.
+ * @param simulatedTime         Amount of simulated time that passed.
+ * @param elapsedTime           Amount of real time the run took.
+ * @author Marcus Talbot (1041464)
+ */
+public record SimulationReport(long processedEvents, long offloadedContainers, long transportedContainers,
+                               @NotNull Duration simulatedTime, @NotNull Duration elapsedTime) {
+
+    /**
+     * Gets how many times faster than real time the simulation ran.
+     *
+     * @return The simulated time divided by the elapsed time.
+     * @author Marcus Talbot (1041464)
+     */
+    public double speedUp() {
+        final var elapsedNanos = Math.max(1L, this.elapsedTime.toNanos());
+        return (double) this.simulatedTime.toNanos() / elapsedNanos;
+    }
+}
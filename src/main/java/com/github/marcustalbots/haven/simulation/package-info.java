@@ -0,0 +1,6 @@
+/**
+ * Contains the discrete-event engine, which runs the port on a single thread, in simulated time.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.simulation;
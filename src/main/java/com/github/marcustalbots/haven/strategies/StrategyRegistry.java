@@ -0,0 +1,85 @@
+package com.github.marcustalbots.haven.strategies;
+
+import com.github.marcustalbots.haven.impl.manifests.ContainerTypes;
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Maps the type codes of {@link ContainerTypes} to strategies, such as
+ * {@link com.github.marcustalbots.haven.strategies.offload.OffloadStrategy OffloadStrategies} and
+ * {@link com.github.marcustalbots.haven.strategies.transport.TransportStrategy TransportStrategies}. Vehicles look up
+ * the strategy of a container by its {@link AbstractContainer#getTypeCode()}, which is a single index into a flat
+ * array, rather than matching the container against every known type.
+ * <br><br>
+ * A new type of container is supported by registering it with {@link ContainerTypes}, and registering its strategy
+ * with the registry of every vehicle that should handle it; the vehicles themselves do not change.
+ *
+ * @param <S> Type of strategy.
+ * @author Marcus Talbot (1041464)
+ */
+public final class StrategyRegistry<S> {
+
+    /**
+     * Every registered strategy, indexed by type code. Replaced as a whole on every registration, so that it can be
+     * read without locking.
+     */
+    private volatile Object[] strategies;
+
+    /**
+     * Creates a new, empty {@link StrategyRegistry}.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    public StrategyRegistry() {
+        this.strategies = new Object[0];
+    }
+
+    /**
+     * Registers the strategy of the given container-class, replacing any strategy registered before.
+     *
+     * @param type     A container-class registered with {@link ContainerTypes}.
+     * @param strategy The strategy that handles containers of the class.
+     * @return This {@link StrategyRegistry}.
+     * @throws IllegalArgumentException If the container-class has not been registered with {@link ContainerTypes}.
+     * @author Marcus Talbot (1041464)
+     */
+    @Contract("_, _ -> this")
+    public synchronized @NotNull StrategyRegistry<S> register(@NotNull final Class<? extends AbstractContainer> type,
+                                                              @NotNull final S strategy) {
+        final var code = ContainerTypes.codeOf(type);
+        final var strategies = Arrays.copyOf(this.strategies, Math.max(this.strategies.length, code + 1));
+        strategies[code] = strategy;
+        this.strategies = strategies;
+        return this;
+    }
+
+    /**
+     * Gets the strategy registered under the given type code.
+     *
+     * @param code Type code of a container-class.
+     * @return The strategy, or null if no strategy has been registered for the type code.
+     * @author Marcus Talbot (1041464)
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable S get(final byte code) {
+        final var strategies = this.strategies;
+        return code >= 0 && code < strategies.length ? (S) strategies[code] : null;
+    }
+
+    /**
+     * Gets the strategy of the given container.
+     *
+     * @param container The container that should be handled.
+     * @return The strategy, or null if no strategy has been registered for the type of the container.
+     * @throws IllegalArgumentException If the class of the container has not been registered with
+     *                                  {@link ContainerTypes}.
+     * @author Marcus Talbot (1041464)
+     */
+    public @Nullable S get(@NotNull final AbstractContainer container) {
+        return this.get(container.getTypeCode());
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.marcustalbots.haven.strategies.handling;
+
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.utils.TimeUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Responsible for customs clearance of {@link AbstractFreightContainer}-objects, after they have been offloaded. The
+ * papers of every container are checked, and a fraction of the containers is held for a closer look, which takes
+ * between the minimum and maximum hold.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class CustomsStrategy implements HandlingStrategy<AbstractFreightContainer> {
+
+    /**
+     * Simulated time spent checking the papers of a single container.
+     */
+    private static final LatencyHistogram SERVICE_TIME =
+            MetricsRegistry.getInstance().histogram("handling.customs.service");
+
+    /**
+     * Amount of containers held by customs.
+     */
+    private static final Counter HOLDS = MetricsRegistry.getInstance().counter("handling.customs.holds");
+
+    /**
+     * Chance that a container is held, between zero and one.
+     */
+    private final double holdProbability;
+
+    /**
+     * Minimum amount of simulated milliseconds a container is held.
+     */
+    private final long minimumHoldMillis;
+
+    /**
+     * Maximum amount of simulated milliseconds a container is held.
+     */
+    private final long maximumHoldMillis;
+
+    /**
+     * Creates a new {@link CustomsStrategy}.
+     *
+     * @param holdProbability Chance that a container is held, between zero and one.
+     * @param minimumHold     Minimum amount of simulated time a container is held.
+     * @param maximumHold     Maximum amount of simulated time a container is held.
+     * @author Marcus Talbot (1041464)
+     */
+    public CustomsStrategy(final double holdProbability, @NotNull final Duration minimumHold,
+                           @NotNull final Duration maximumHold) {
+        if (holdProbability < 0.0 || holdProbability > 1.0)
+            throw new IllegalArgumentException("Chance of a customs hold must be between zero and one.");
+        if (minimumHold.isNegative() || maximumHold.compareTo(minimumHold) < 0)
+            throw new IllegalArgumentException("Customs hold must be positive, and its maximum at least its minimum.");
+        this.holdProbability = holdProbability;
+        this.minimumHoldMillis = minimumHold.toMillis();
+        this.maximumHoldMillis = maximumHold.toMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long execute(@NotNull final AbstractFreightContainer container) throws InterruptedException {
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        clock.sleep(TimeUtils.getDelayUsingGaussianDistribution(100L, 500L));
+        CustomsStrategy.SERVICE_TIME.record(clock.nanos() - start);
+
+        if (TimeUtils.getRandomGenerator().nextDouble() >= this.holdProbability)
+            return HandlingStrategy.NO_HOLD;
+        CustomsStrategy.HOLDS.increment();
+        return Duration.ofMillis(TimeUtils.getDelayUsingGaussianDistribution(this.minimumHoldMillis,
+                this.maximumHoldMillis)).toNanos();
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.marcustalbots.haven.strategies.handling;
+
+import com.github.marcustalbots.haven.models.containers.AbstractContainer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides a common interface for handling-strategies, used by the stages of a
+ * {@link com.github.marcustalbots.haven.pipeline.HandlingPipeline}. A handling-strategy is applied to every container
+ * after it has been offloaded, and before it is placed on the {@link com.github.marcustalbots.haven.dock.Dock}.
+ * <br><br>
+ * A strategy may hold a container afterwards, such as a customs hold. Held containers do not occupy a worker of the
+ * stage, so that a long hold only delays the container that is held.
+ *
+ * @param <U> Type of container.
+ * @author Marcus Talbot (1041464)
+ */
+@FunctionalInterface
+public interface HandlingStrategy<U extends AbstractContainer> {
+
+    /**
+     * Does not hold the container.
+     */
+    long NO_HOLD = 0L;
+
+    /**
+     * Handles the given container U.
+     *
+     * @param container Container that will be handled.
+     * @return Amount of simulated nanoseconds the container is held after it has been handled, or {@link #NO_HOLD}.
+     * @throws InterruptedException If the current thread was interrupted while handling the container.
+     * @author Marcus Talbot (1041464)
+     */
+    long execute(@NotNull final U container) throws InterruptedException;
+
+}
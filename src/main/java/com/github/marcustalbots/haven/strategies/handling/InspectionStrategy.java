@@ -0,0 +1,36 @@
+package com.github.marcustalbots.haven.strategies.handling;
+
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import com.github.marcustalbots.haven.utils.TimeUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Responsible for the visual inspection of {@link AbstractFreightContainer}-objects, after they have been offloaded.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+public final class InspectionStrategy implements HandlingStrategy<AbstractFreightContainer> {
+
+    /**
+     * Simulated time spent inspecting a single container.
+     */
+    private static final LatencyHistogram SERVICE_TIME =
+            MetricsRegistry.getInstance().histogram("handling.inspection.service");
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public long execute(@NotNull final AbstractFreightContainer container) throws InterruptedException {
+        final var clock = SimulationClock.current();
+        final var start = clock.nanos();
+        clock.sleep(TimeUtils.getDelayUsingGaussianDistribution(500L, 3000L));
+        InspectionStrategy.SERVICE_TIME.record(clock.nanos() - start);
+        return HandlingStrategy.NO_HOLD;
+    }
+}
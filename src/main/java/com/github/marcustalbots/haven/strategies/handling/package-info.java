@@ -0,0 +1,7 @@
+/**
+ * Contains classes related to strategies for handling containers between offloading and transport, such as
+ * inspection, weighing and customs.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+package com.github.marcustalbots.haven.strategies.handling;
\ No newline at end of file
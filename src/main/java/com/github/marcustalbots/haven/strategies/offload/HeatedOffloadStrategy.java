@@ -1,12 +1,15 @@
 package com.github.marcustalbots.haven.strategies.offload;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Crane;
+import com.github.marcustalbots.haven.logging.EventLog;
+import com.github.marcustalbots.haven.logging.EventType;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 import com.github.marcustalbots.haven.utils.TimeUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.LocalDateTime;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Responsible handling the offloading of {@link HeatedFreightContainer}-objects, by {@link Crane}-objects.
@@ -16,6 +19,12 @@ import java.util.concurrent.ThreadLocalRandom;
 public final class HeatedOffloadStrategy implements OffloadStrategy<Crane,
         HeatedFreightContainer> {
 
+    /**
+     * Simulated time spent offloading a single container with this strategy.
+     */
+    private static final LatencyHistogram SERVICE_TIME =
+            MetricsRegistry.getInstance().histogram("offload.heated.service");
+
     /**
      * {@inheritDoc}
      *
@@ -23,14 +32,25 @@ public final class HeatedOffloadStrategy implements OffloadStrategy<Crane,
      */
     @Override
     public void execute(final @NotNull Crane offloadVehicle, final @NotNull HeatedFreightContainer container) {
-        System.out.printf("[DECOUPLING][%tT] Decoupling %s from heating element of %s.\n", LocalDateTime.now(), container, offloadVehicle.getShip());
-        System.out.printf("[OFFLOADING][%tT] %s offloading %s, from %s...\n", LocalDateTime.now(), offloadVehicle, container, offloadVehicle.getShip());
+        final var clock = SimulationClock.current();
+        final var log = EventLog.getInstance();
+        log.log(EventType.DECOUPLING_HEATED, clock.nanos(), offloadVehicle, container, offloadVehicle.getShip());
+        log.log(EventType.OFFLOADING, clock.nanos(), offloadVehicle, container, offloadVehicle.getShip());
+        final var start = clock.nanos();
+        var interrupted = false;
         try {
-            Thread.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
-            System.out.printf("[PLACING][%tT] %s placing %s on dock...\n", LocalDateTime.now(), offloadVehicle, container);
-            offloadVehicle.getDock().placeContainer(container);
+            clock.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
         } catch (InterruptedException e) {
             e.printStackTrace();
+            interrupted = true;
         }
+        // The container has left the ship either way, so it is handed off before the interrupt is restored.
+        final var serviceNanos = clock.nanos() - start;
+        HeatedOffloadStrategy.SERVICE_TIME.record(serviceNanos);
+        offloadVehicle.getMetrics().recordBusy(serviceNanos);
+        log.log(EventType.PLACING, clock.nanos(), offloadVehicle, container);
+        offloadVehicle.handOff(container);
+        if (interrupted)
+            Thread.currentThread().interrupt();
     }
 }
@@ -23,4 +23,18 @@ public interface OffloadStrategy<T extends AbstractDockOffloadVehicle<?>, U exte
      */
     void execute(@NotNull final T offloadVehicle, @NotNull final U container);
 
+    /**
+     * Handles offloading of a container whose type is only known at runtime, such as one looked up in a
+     * {@link com.github.marcustalbots.haven.strategies.StrategyRegistry}.
+     *
+     * @param offloadVehicle Offload-vehicle responsible for offloading the container.
+     * @param container      Container that will be offloaded. Must be a U.
+     * @throws ClassCastException If the container is not a U.
+     * @author Marcus Talbot (1041464)
+     */
+    @SuppressWarnings("unchecked")
+    default void dispatch(@NotNull final T offloadVehicle, @NotNull final AbstractContainer container) {
+        this.execute(offloadVehicle, (U) container);
+    }
+
 }
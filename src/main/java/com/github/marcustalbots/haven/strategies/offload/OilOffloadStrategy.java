@@ -1,21 +1,64 @@
 package com.github.marcustalbots.haven.strategies.offload;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.impl.containers.OilContainer;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles.Pump;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import com.github.marcustalbots.haven.logging.EventLog;
+import com.github.marcustalbots.haven.logging.EventType;
+import com.github.marcustalbots.haven.metrics.Counter;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 import com.github.marcustalbots.haven.utils.TimeUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 
 /**
  * Implementation of {@link OffloadStrategy}, responsible for offloading {@link OilContainer}-objects, by
  * {@link Pump}-objects.
+ * <br><br>
+ * The container is pumped directly into the {@link OilTruck} whose registration the {@link Pump} acquired, which
+ * never blocks. A container is never dropped: if the {@link Pump} is interrupted before it acquired an
+ * {@link OilTruck}, or every {@link OilTruck} has left the pool, the container is returned to the ship, or, if the
+ * ship does not take it back, the {@link Pump} keeps waiting for an {@link OilTruck}. Once an {@link OilTruck} has been acquired, the transfer is always completed,
+ * so that the {@link OilTruck} is never left waiting for a transfer that does not come.
  *
  * @author Marcus Talbot (1041464)
  */
 public final class OilOffloadStrategy implements OffloadStrategy<Pump,
         OilContainer> {
 
+    /**
+     * Simulated time spent offloading a single container with this strategy.
+     */
+    private static final LatencyHistogram SERVICE_TIME =
+            MetricsRegistry.getInstance().histogram("offload.oil.service");
+
+    /**
+     * Amount of simulated time a {@link Pump} waits for an idle {@link OilTruck}, before reporting that it is still
+     * waiting.
+     */
+    private static final Duration TRUCK_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Simulated time a {@link Pump} spends waiting for an idle {@link OilTruck}.
+     */
+    private static final LatencyHistogram TRUCK_WAIT =
+            MetricsRegistry.getInstance().histogram("offload.oil.truck-wait");
+
+    /**
+     * Amount of containers returned to their ship, because the {@link Pump} was interrupted, or no {@link OilTruck} was
+     * left, before it acquired an {@link OilTruck}.
+     */
+    private static final Counter RETURNED = MetricsRegistry.getInstance().counter("offload.oil.returned");
+
+    /**
+     * Amount of times a {@link Pump} had to give up before it acquired an {@link OilTruck}, but could not return its
+     * container to the ship, and kept waiting instead.
+     */
+    private static final Counter UNRETURNABLE = MetricsRegistry.getInstance().counter("offload.oil.unreturnable");
+
     /**
      * {@inheritDoc}
      *
@@ -23,17 +66,48 @@ public final class OilOffloadStrategy implements OffloadStrategy<Pump,
      */
     @Override
     public void execute(final @NotNull Pump offloadVehicle, final @NotNull OilContainer container) {
-        System.out.printf("[POLLING][%tT] %s looking for OilTruck on Dock...\n", LocalDateTime.now(), offloadVehicle);
-        var oilTruck = offloadVehicle.getDock().getOilTruck();
-        System.out.printf("[CONNECTING][%tT] Connecting hose of %s to %s.\n", LocalDateTime.now(), offloadVehicle, oilTruck);
-        System.out.printf("[PUMPING][%tT] %s pumping contents of %s's %s, from %s...\n", LocalDateTime.now(),
-                offloadVehicle, offloadVehicle.getShip(), container, oilTruck);
+        final var clock = SimulationClock.current();
+        final var log = EventLog.getInstance();
+        log.log(EventType.POLLING, clock.nanos(), offloadVehicle);
+        final var pollStart = clock.nanos();
+        var interrupted = false;
+        var oilTruck = offloadVehicle.getDock().tryGetOilTruck();
+        while (oilTruck == null) {
+            oilTruck = offloadVehicle.getDock().getOilTruck(
+                    Duration.ofNanos(clock.toRealNanos(OilOffloadStrategy.TRUCK_TIMEOUT.toNanos())));
+            if (oilTruck != null)
+                break;
+            // Clears the flag, so that waiting for a truck can continue if the ship does not take the container back.
+            interrupted |= Thread.interrupted();
+            if (interrupted || !offloadVehicle.getDock().getOilTruckPool().hasTrucks()) {
+                if (offloadVehicle.getShip().addFreight(container)) {
+                    OilOffloadStrategy.RETURNED.increment();
+                    if (interrupted)
+                        Thread.currentThread().interrupt();
+                    return;
+                }
+                OilOffloadStrategy.UNRETURNABLE.increment();
+            }
+            log.log(EventType.POLLING_WAITING, clock.nanos(), offloadVehicle);
+        }
+        final var waitNanos = clock.nanos() - pollStart;
+        OilOffloadStrategy.TRUCK_WAIT.record(waitNanos);
+        offloadVehicle.getMetrics().recordIdle(waitNanos);
+        log.log(EventType.CONNECTING, clock.nanos(), offloadVehicle, null, null, oilTruck);
+        log.log(EventType.PUMPING, clock.nanos(), offloadVehicle, container, offloadVehicle.getShip(), oilTruck);
+        final var start = clock.nanos();
         try {
-            Thread.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
-            System.out.printf("[FINISHED][%tT] Oil pumped into %s.\n", LocalDateTime.now(), oilTruck);
-            oilTruck.setContainer(container);
+            clock.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
         } catch (InterruptedException e) {
             e.printStackTrace();
+            Thread.currentThread().interrupt();
         }
+        final var serviceNanos = clock.nanos() - start;
+        OilOffloadStrategy.SERVICE_TIME.record(serviceNanos);
+        offloadVehicle.getMetrics().recordBusy(serviceNanos);
+        log.log(EventType.PUMPED, clock.nanos(), offloadVehicle, null, null, oilTruck);
+        oilTruck.load(container);
+        if (interrupted)
+            Thread.currentThread().interrupt();
     }
 }
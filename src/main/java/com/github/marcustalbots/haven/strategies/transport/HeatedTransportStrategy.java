@@ -1,10 +1,16 @@
 package com.github.marcustalbots.haven.strategies.transport;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.ContainerTruck;
+import com.github.marcustalbots.haven.logging.EventLog;
+import com.github.marcustalbots.haven.logging.EventType;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 
 import com.github.marcustalbots.haven.utils.TimeUtils;
-import java.time.LocalDateTime;
+
+import java.util.List;
 
 /**
  * Responsible handling the offloading of {@link HeatedFreightContainer}-objects, by {@link ContainerTruck}-objects.
@@ -13,6 +19,12 @@ import java.time.LocalDateTime;
  */
 public final class HeatedTransportStrategy implements TransportStrategy<ContainerTruck, HeatedFreightContainer> {
 
+    /**
+     * Simulated time spent on a single trip with this strategy, regardless of the amount of containers carried.
+     */
+    private static final LatencyHistogram SERVICE_TIME =
+            MetricsRegistry.getInstance().histogram("transport.heated.service");
+
     /**
      * {@inheritDoc}
      *
@@ -20,12 +32,33 @@ public final class HeatedTransportStrategy implements TransportStrategy<Containe
      */
     @Override
     public void execute(final ContainerTruck transportVehicle, final HeatedFreightContainer container) {
-        System.out.printf("[COUPLING][%tT] Coupling %s to heating element in %s.\n", LocalDateTime.now(), container, transportVehicle);
-        System.out.printf("[LOADED][%tT] %s loaded %s.\n", LocalDateTime.now(), transportVehicle, container);
-        System.out.printf("[TRANSPORT][%tT] %s starting transport of %s.\n", LocalDateTime.now(), transportVehicle, container);
+        this.executeLoad(transportVehicle, List.of(container));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Every container of the load is coupled and loaded, after which the whole load is transported in a single trip.
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    public void executeLoad(final ContainerTruck transportVehicle, final List<? extends HeatedFreightContainer> load) {
+        final var clock = SimulationClock.current();
+        final var log = EventLog.getInstance();
+        for (final var container : load) {
+            log.log(EventType.COUPLING_HEATED, clock.nanos(), transportVehicle, container);
+            log.log(EventType.LOADED, clock.nanos(), transportVehicle, container);
+            log.log(EventType.TRANSPORT, clock.nanos(), transportVehicle, container);
+        }
+        final var start = clock.nanos();
         try {
-            Thread.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
-            System.out.printf("[FINISHED][%tT] %s finished transporting %s.\n", LocalDateTime.now(), transportVehicle, container);
+            clock.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
+            final var serviceNanos = clock.nanos() - start;
+            HeatedTransportStrategy.SERVICE_TIME.record(serviceNanos);
+            transportVehicle.getMetrics().recordBusy(serviceNanos);
+            for (final var container : load)
+                log.log(EventType.FINISHED, clock.nanos(), transportVehicle, container);
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
@@ -1,10 +1,14 @@
 package com.github.marcustalbots.haven.strategies.transport;
 
+import com.github.marcustalbots.haven.clock.SimulationClock;
 import com.github.marcustalbots.haven.impl.containers.OilContainer;
 import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import com.github.marcustalbots.haven.logging.EventLog;
+import com.github.marcustalbots.haven.logging.EventType;
+import com.github.marcustalbots.haven.metrics.LatencyHistogram;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
 
 import com.github.marcustalbots.haven.utils.TimeUtils;
-import java.time.LocalDateTime;
 
 /**
  * Responsible handling the offloading of {@link OilContainer}-objects, by {@link OilTruck}-objects.
@@ -14,6 +18,12 @@ import java.time.LocalDateTime;
 public final class OilTransportStrategy implements TransportStrategy<OilTruck,
         OilContainer> {
 
+    /**
+     * Simulated time spent transporting a single container with this strategy.
+     */
+    private static final LatencyHistogram SERVICE_TIME =
+            MetricsRegistry.getInstance().histogram("transport.oil.service");
+
     /**
      * {@inheritDoc}
      *
@@ -21,11 +31,17 @@ public final class OilTransportStrategy implements TransportStrategy<OilTruck,
      */
     @Override
     public void execute(final OilTruck transportVehicle, final OilContainer container) {
-        System.out.printf("[PUMPING][%tT] Loading contents of %s onto %s.\n", LocalDateTime.now(), container, transportVehicle);
-        System.out.printf("[TRANSPORT][%tT] %s starting transport of contents of %s.\n", LocalDateTime.now(), transportVehicle, container);
+        final var clock = SimulationClock.current();
+        final var log = EventLog.getInstance();
+        log.log(EventType.LOADING_OIL, clock.nanos(), transportVehicle, container);
+        log.log(EventType.TRANSPORT_OIL, clock.nanos(), transportVehicle, container);
+        final var start = clock.nanos();
         try {
-            Thread.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
-            System.out.printf("[FINISHED][%tT] %s finished transporting contents of %s.\n", LocalDateTime.now(), transportVehicle, container);
+            clock.sleep(TimeUtils.getDelayUsingGaussianDistribution(1000L, 6000L));
+            final var serviceNanos = clock.nanos() - start;
+            OilTransportStrategy.SERVICE_TIME.record(serviceNanos);
+            transportVehicle.getMetrics().recordBusy(serviceNanos);
+            log.log(EventType.FINISHED_OIL, clock.nanos(), transportVehicle, container);
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
@@ -3,6 +3,8 @@ package com.github.marcustalbots.haven.strategies.transport;
 import com.github.marcustalbots.haven.models.containers.AbstractContainer;
 import com.github.marcustalbots.haven.models.vehicles.dock_vehicles.AbstractDockTransportVehicle;
 
+import java.util.List;
+
 /**
  * Provides a common interface for transporting-strategies, used by dock-transport-vehicles.
  *
@@ -22,4 +24,32 @@ public interface TransportStrategy<T extends AbstractDockTransportVehicle, U ext
      */
     void execute(final T transportVehicle, final U container);
 
+    /**
+     * Handles transport of a consolidated load of containers U, by the given transport-vehicle T. The load never holds
+     * more containers than {@link AbstractDockTransportVehicle#getLoadCapacity()}. By default, every container is
+     * transported on a trip of its own; strategies that can carry several containers at once should override this.
+     *
+     * @param transportVehicle Transport-vehicle responsible for transporting the load.
+     * @param load             Containers that will be transported together.
+     * @author Marcus Talbot (1041464)
+     */
+    default void executeLoad(final T transportVehicle, final List<? extends U> load) {
+        for (final var container : load)
+            this.execute(transportVehicle, container);
+    }
+
+    /**
+     * Handles transport of a load whose type is only known at runtime, such as one looked up in a
+     * {@link com.github.marcustalbots.haven.strategies.StrategyRegistry}.
+     *
+     * @param transportVehicle Transport-vehicle responsible for transporting the load.
+     * @param load             Containers that will be transported together. Must all be U.
+     * @throws ClassCastException If any container is not a U.
+     * @author Marcus Talbot (1041464)
+     */
+    @SuppressWarnings("unchecked")
+    default void dispatchLoad(final T transportVehicle, final List<? extends AbstractContainer> load) {
+        this.executeLoad(transportVehicle, (List<? extends U>) load);
+    }
+
 }
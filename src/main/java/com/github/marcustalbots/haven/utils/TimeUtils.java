@@ -1,12 +1,23 @@
 package com.github.marcustalbots.haven.utils;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * @author Marcus Talbot (1041464)
  */
 public final class TimeUtils {
 
+    /**
+     * {@link RandomGenerator} used by the current thread instead of {@link ThreadLocalRandom}, if any. Allows a
+     * simulation to be reproduced by seeding it.
+     */
+    private static final ThreadLocal<RandomGenerator> RANDOM_GENERATOR = new ThreadLocal<>();
+
     /**
      * Generates a number between min (inclusive) and max (inclusive), using a Gaussian
      * distribution.<br>
@@ -27,9 +38,60 @@ public final class TimeUtils {
         var sigmaSquare = Math.pow(min - mean, 2.0) + Math.pow(max - mean, 2.0);
         var stdDev = Math.sqrt(sigmaSquare);
         var thirdOfStdDev = stdDev / 3.0;
-        var potentialDelay = (long) ThreadLocalRandom.current().nextGaussian(mean, thirdOfStdDev);
+        var potentialDelay = (long) TimeUtils.getRandomGenerator().nextGaussian(mean, thirdOfStdDev);
         return Math.max(min, Math.min(potentialDelay, max));
     }
 
+    /**
+     * Runs the given task with the given {@link RandomGenerator} in use by the current thread, and restores the
+     * {@link RandomGenerator} that was in use before afterwards. Allows work that is handed to a thread pool to be
+     * seeded per task, rather than per thread.
+     *
+     * @param randomGenerator The {@link RandomGenerator} to use during the task.
+     * @param task            The task to run.
+     * @param <R>             Type of the result of the task.
+     * @return The result of the task.
+     * @author Marcus Talbot (1041464)
+     */
+    public static <R> R withRandomGenerator(@NotNull final RandomGenerator randomGenerator,
+                                            @NotNull final Supplier<R> task) {
+        final var previous = TimeUtils.RANDOM_GENERATOR.get();
+        TimeUtils.RANDOM_GENERATOR.set(randomGenerator);
+        try {
+            return task.get();
+        } finally {
+            TimeUtils.useRandomGenerator(previous);
+        }
+    }
+
+    /**
+     * Sets the {@link RandomGenerator} used by the current thread to generate delays. Only affects the current thread,
+     * as most {@link RandomGenerator}-implementations are not thread-safe.
+     *
+     * @param randomGenerator The {@link RandomGenerator} to use, or null to use {@link ThreadLocalRandom} again.
+     * @return The {@link RandomGenerator} that was in use before, or null if none was set, so that it can be restored.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @Nullable RandomGenerator useRandomGenerator(@Nullable final RandomGenerator randomGenerator) {
+        final var previous = TimeUtils.RANDOM_GENERATOR.get();
+        if (randomGenerator == null)
+            TimeUtils.RANDOM_GENERATOR.remove();
+        else
+            TimeUtils.RANDOM_GENERATOR.set(randomGenerator);
+        return previous;
+    }
+
+    /**
+     * Gets the {@link RandomGenerator} used by the current thread to generate delays.
+     *
+     * @return The {@link RandomGenerator} set through {@link #useRandomGenerator(RandomGenerator)}, or
+     * {@link ThreadLocalRandom#current()} if none was set.
+     * @author Marcus Talbot (1041464)
+     */
+    public static @NotNull RandomGenerator getRandomGenerator() {
+        final var randomGenerator = TimeUtils.RANDOM_GENERATOR.get();
+        return randomGenerator != null ? randomGenerator : ThreadLocalRandom.current();
+    }
+
 
 }
@@ -0,0 +1,49 @@
+package com.github.marcustalbots.haven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Smoke test running the whole {@link App} on threads, with simulated time passing a thousand times faster than real
+ * time. The {@link App} runs in a JVM of its own, as it configures the simulation through system properties.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class AppTest {
+
+    /**
+     * Every container offloaded by the threaded {@link App} is transported, and the {@link App} shuts down by itself.
+     */
+    @Test
+    @Timeout(180)
+    void threadedScaledRunTransportsEverything() throws IOException, InterruptedException {
+        final var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        final var process = new ProcessBuilder(List.of(java, "--enable-preview", "-Dhaven.clock=1000",
+                "-Dhaven.seed=42", "-cp", System.getProperty("java.class.path"), App.class.getName()))
+                .redirectErrorStream(true)
+                .start();
+
+        var transported = 0;
+        try (final var reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null)
+                if (line.startsWith("[FINISHED]") && line.contains("finished transporting"))
+                    transported++;
+        } finally {
+            process.destroyForcibly();
+        }
+
+        assertEquals(0, process.waitFor());
+        assertEquals(200, transported);
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.marcustalbots.haven.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the conversion between simulated and real time of {@link ScaledClock}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class ScaledClockTest {
+
+    /**
+     * Simulated time-outs are divided by the factor, and a positive time-out never converts into zero.
+     */
+    @Test
+    void toRealNanosRoundsUp() {
+        final var clock = new ScaledClock(1000.0);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30L), clock.toRealNanos(TimeUnit.SECONDS.toNanos(30L)));
+        assertEquals(1L, clock.toRealNanos(1L));
+        assertEquals(2L, clock.toRealNanos(1_001L));
+        assertEquals(0L, clock.toRealNanos(0L));
+    }
+
+    /**
+     * A time-out that waits indefinitely keeps doing so, even when simulated time passes slower than real time.
+     */
+    @Test
+    void toRealNanosSaturates() {
+        assertEquals(Long.MAX_VALUE, new ScaledClock(0.5).toRealNanos(Long.MAX_VALUE));
+    }
+
+    /**
+     * Simulated time passes the given factor faster than real time.
+     */
+    @Test
+    void simulatedTimePassesFaster() throws InterruptedException {
+        final var clock = new ScaledClock(1000.0);
+        final var start = clock.nanos();
+        Thread.sleep(20L);
+
+        assertTrue(clock.nanos() - start >= TimeUnit.SECONDS.toNanos(20L));
+    }
+
+    /**
+     * The factor must be a positive, finite number.
+     */
+    @Test
+    void factorMustBePositiveAndFinite() {
+        assertThrows(IllegalArgumentException.class, () -> new ScaledClock(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new ScaledClock(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new ScaledClock(Double.POSITIVE_INFINITY));
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.clock.ScaledClock;
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.dock.backlog.LaneRingBufferBacklog;
+import com.github.marcustalbots.haven.dock.wait.WaitPolicy;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.ContainerTruck;
+import com.github.marcustalbots.haven.runtime.PortRuntime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the end-of-shift shutdown protocol of {@link Dock}, and {@link Dock#awaitQuiescence()}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class DockShutdownTest {
+
+    /**
+     * The {@link SimulationClock} in use before the test, restored afterwards.
+     */
+    private SimulationClock previousClock;
+
+    /**
+     * Runs the test on a {@link ScaledClock}, so that transports take milliseconds rather than seconds.
+     */
+    @BeforeEach
+    void useScaledClock() {
+        this.previousClock = SimulationClock.current();
+        SimulationClock.use(new ScaledClock(1000.0));
+    }
+
+    /**
+     * Restores the {@link SimulationClock} in use before the test.
+     */
+    @AfterEach
+    void restoreClock() {
+        SimulationClock.use(this.previousClock);
+    }
+
+    /**
+     * The shift only ends once the Dock is shut down, every producer has retired, and the backlog is empty.
+     */
+    @Test
+    void shiftEndsOnceProducersRetiredAndBacklogDrained() {
+        final var dock = new Dock(new LaneRingBufferBacklog(4));
+        dock.enlistProducer();
+        dock.placeContainer(new DefaultFreightContainer(1L));
+
+        dock.shutdown();
+        assertFalse(dock.getShift().isOver());
+        dock.retireProducer();
+        assertFalse(dock.getShift().isOver());
+        assertFalse(dock.isDrained());
+
+        dock.getContainer();
+        assertTrue(dock.getShift().isOver());
+        assertTrue(dock.isDrained());
+    }
+
+    /**
+     * Producers cannot enlist once the shift has ended.
+     */
+    @Test
+    void producersCannotEnlistAfterShift() {
+        final var dock = new Dock(new LaneRingBufferBacklog(4));
+        dock.shutdown();
+
+        assertTrue(dock.getShift().isOver());
+        assertThrows(IllegalStateException.class, dock::enlistProducer);
+    }
+
+    /**
+     * The Dock is only quiescent once its shift has ended, and every consumer has retired.
+     */
+    @Test
+    @Timeout(5)
+    void quiescenceWaitsForConsumers() throws InterruptedException {
+        final var dock = new Dock(new LaneRingBufferBacklog(4));
+        final var truck = new ContainerTruck(dock, "Truck");
+        dock.enlist(truck);
+        dock.shutdown();
+
+        assertFalse(dock.isQuiescent());
+        assertFalse(dock.awaitQuiescence(Duration.ofMillis(20L)));
+        dock.retire(truck);
+        assertTrue(dock.awaitQuiescence(Duration.ofSeconds(1L)));
+    }
+
+    /**
+     * Trucks whose waits time out keep polling while producers are enlisted, take every container placed afterwards,
+     * and stop once the Dock is drained, so that waiting for quiescence returns.
+     */
+    @Test
+    @Timeout(30)
+    void trucksOutliveTimeoutsAndStopOnceDrained() throws InterruptedException {
+        final var dock = new Dock(new LaneRingBufferBacklog(16),
+                DockConfiguration.fromSystemProperties().withWaitPolicy(WaitPolicy.fixed(Duration.ofSeconds(5L))));
+        final var runtime = new PortRuntime(PortRuntime.ThreadMode.PLATFORM);
+        try {
+            dock.enlistProducer();
+            runtime.submit(new ContainerTruck(dock, "Truck-1"));
+            runtime.submit(new ContainerTruck(dock, "Truck-2"));
+            // Every wait of five simulated seconds times out several times over.
+            Thread.sleep(50L);
+
+            for (var id = 1L; id <= 10L; id++)
+                assertTrue(dock.placeContainer(new DefaultFreightContainer(id)));
+            dock.retireProducer();
+            dock.shutdown();
+
+            dock.awaitQuiescence();
+            assertTrue(runtime.awaitCompletion(Duration.ofSeconds(10L)));
+            assertEquals(0, dock.getBacklog().size());
+            assertEquals(0, runtime.getActiveVehicles());
+        } finally {
+            runtime.close();
+        }
+    }
+}
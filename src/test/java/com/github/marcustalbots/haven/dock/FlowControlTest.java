@@ -0,0 +1,125 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.dock.backlog.LaneRingBufferBacklog;
+import com.github.marcustalbots.haven.dock.wait.WaitPolicy;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the credits and watermarks of {@link FlowControl}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class FlowControlTest {
+
+    /**
+     * Creates a {@link Dock} with room for four containers, which withholds credits at an occupancy of three, until it
+     * has dropped to one again.
+     *
+     * @param waitPolicy The {@link WaitPolicy} of the {@link Dock}.
+     * @return A new {@link Dock}.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @NotNull Dock dock(@NotNull final WaitPolicy waitPolicy) {
+        return new Dock(new LaneRingBufferBacklog(4),
+                DockConfiguration.fromSystemProperties().withWaitPolicy(waitPolicy).withWatermarks(3, 1));
+    }
+
+    /**
+     * Credits are withheld once the occupancy reaches the high watermark, and handed out again only once it has dropped
+     * to the low watermark.
+     */
+    @Test
+    void creditsFollowTheWatermarks() {
+        final var flowControl = FlowControlTest.dock(WaitPolicy.fixed(Duration.ZERO)).getFlowControl();
+
+        assertTrue(flowControl.tryAcquire());
+        assertTrue(flowControl.tryAcquire());
+        assertTrue(flowControl.tryAcquire());
+        assertTrue(flowControl.isPaused());
+        assertFalse(flowControl.tryAcquire());
+
+        flowControl.release(1);
+        assertFalse(flowControl.tryAcquire());
+        flowControl.release(1);
+        assertFalse(flowControl.isPaused());
+        assertTrue(flowControl.tryAcquire());
+    }
+
+    /**
+     * Containers in the backlog count towards the occupancy, and taking them hands out credits again.
+     */
+    @Test
+    void backlogCountsTowardsOccupancy() {
+        final var dock = FlowControlTest.dock(WaitPolicy.fixed(Duration.ZERO));
+        final var flowControl = dock.getFlowControl();
+        for (var id = 1L; id <= 3L; id++)
+            assertTrue(dock.placeContainer(new DefaultFreightContainer(id)));
+
+        assertFalse(flowControl.tryAcquire());
+        dock.getContainer();
+        assertFalse(flowControl.tryAcquire());
+        dock.getContainer();
+        assertTrue(flowControl.tryAcquire());
+    }
+
+    /**
+     * Acquiring a credit returns false once the {@link WaitPolicy} gives up, leaving it to the caller what to do.
+     */
+    @Test
+    @Timeout(5)
+    void acquireReturnsWhenThePolicyGivesUp() {
+        final var flowControl = FlowControlTest.dock(WaitPolicy.fixed(Duration.ofMillis(20L))).getFlowControl();
+        while (flowControl.tryAcquire()) ;
+
+        assertFalse(flowControl.acquire());
+    }
+
+    /**
+     * Acquiring a credit returns false once the shift of the {@link Dock} ends, even if the {@link WaitPolicy} would
+     * wait forever.
+     */
+    @Test
+    @Timeout(5)
+    void acquireReturnsWhenTheShiftEnds() throws InterruptedException {
+        final var dock = FlowControlTest.dock(WaitPolicy.indefinite());
+        final var flowControl = dock.getFlowControl();
+        while (flowControl.tryAcquire()) ;
+
+        final var acquired = new AtomicBoolean(true);
+        final var crane = new Thread(() -> acquired.set(flowControl.acquire()));
+        crane.start();
+        Thread.sleep(50L);
+        dock.endShift();
+        crane.join();
+
+        assertFalse(acquired.get());
+    }
+
+    /**
+     * A waiting crane resumes as soon as the occupancy drops to the low watermark.
+     */
+    @Test
+    @Timeout(5)
+    void releaseWakesWaitingCrane() throws InterruptedException {
+        final var flowControl = FlowControlTest.dock(WaitPolicy.indefinite()).getFlowControl();
+        while (flowControl.tryAcquire()) ;
+
+        final var acquired = new AtomicBoolean();
+        final var crane = new Thread(() -> acquired.set(flowControl.acquire()));
+        crane.start();
+        Thread.sleep(50L);
+        flowControl.release(2);
+        crane.join();
+
+        assertTrue(acquired.get());
+    }
+}
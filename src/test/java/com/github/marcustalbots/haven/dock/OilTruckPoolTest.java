@@ -0,0 +1,142 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.dock.wait.Shift;
+import com.github.marcustalbots.haven.dock.wait.WaitPolicy;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the capacity of an {@link OilTruckPool}, and {@link OilTruck}-objects waiting for room in it.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class OilTruckPoolTest {
+
+    /**
+     * Creates a {@link Dock} whose {@link OilTruckPool} initially admits a single truck, and at most four.
+     *
+     * @return A new {@link Dock}.
+     * @author Marcus Talbot (1041464)
+     */
+    private static @NotNull Dock dock() {
+        return new Dock(DockConfiguration.fromSystemProperties().withContainerCapacity(4).withOilTruckCapacity(1, 4)
+                .withWaitPolicy(WaitPolicy.fixed(Duration.ofMillis(20L))));
+    }
+
+    /**
+     * Trucks beyond the capacity are turned away, and counted as such; growing the pool admits them.
+     */
+    @Test
+    void registrationRespectsCapacity() {
+        final var dock = OilTruckPoolTest.dock();
+        final var pool = dock.getOilTruckPool();
+        final var first = new OilTruck(dock, "Truck-1");
+        final var second = new OilTruck(dock, "Truck-2");
+
+        assertTrue(pool.contains(first));
+        assertFalse(pool.contains(second));
+        assertFalse(pool.hasRoom());
+        assertEquals(1L, pool.getStatistics().rejections());
+
+        pool.setCapacity(2);
+        assertTrue(pool.register(second));
+        assertEquals(2, pool.getIdleCount());
+        assertSame(first, pool.tryAcquire());
+        assertSame(second, pool.tryAcquire());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    /**
+     * The capacity can only be set between one and the maximum capacity.
+     */
+    @Test
+    void capacityIsBounded() {
+        final var pool = new OilTruckPool(1, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> pool.setCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> pool.setCapacity(3));
+        assertThrows(IllegalArgumentException.class, () -> new OilTruckPool(2, 1));
+    }
+
+    /**
+     * A thread waiting for room is woken when the capacity grows, and when the shift ends.
+     */
+    @Test
+    @Timeout(5)
+    void awaitRoomWakesOnGrowthAndShiftEnd() throws InterruptedException {
+        final var dock = OilTruckPoolTest.dock();
+        final var pool = dock.getOilTruckPool();
+        new OilTruck(dock, "Truck-1");
+
+        final var room = new AtomicBoolean();
+        final var waiter = new Thread(() -> {
+            try {
+                room.set(pool.awaitRoom(dock.getShift(), TimeUnit.HOURS.toNanos(1L)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        Thread.sleep(50L);
+        pool.setCapacity(2);
+        waiter.join();
+        assertTrue(room.get());
+
+        new OilTruck(dock, "Truck-2");
+        assertFalse(pool.hasRoom());
+        final var shift = new Shift();
+        final var ended = new Thread(() -> {
+            try {
+                room.set(pool.awaitRoom(shift, TimeUnit.HOURS.toNanos(1L)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ended.start();
+        Thread.sleep(50L);
+        shift.end();
+        pool.wakeRoomWaiters();
+        ended.join();
+        assertFalse(room.get());
+    }
+
+    /**
+     * An {@link OilTruck} turned away at capacity keeps waiting, and registers as soon as a truck is handed out,
+     * instead of ending its run. Once the shift ends, it leaves the pool.
+     */
+    @Test
+    @Timeout(10)
+    void turnedAwayTruckRegistersOnceRoomFreesUp() throws InterruptedException {
+        final var dock = OilTruckPoolTest.dock();
+        final var pool = dock.getOilTruckPool();
+        final var first = new OilTruck(dock, "Truck-1");
+        final var second = new OilTruck(dock, "Truck-2");
+        final var thread = new Thread(second);
+        thread.start();
+        // Several waits of the policy give up in the meantime.
+        Thread.sleep(100L);
+        assertTrue(thread.isAlive());
+        assertFalse(pool.contains(second));
+
+        assertSame(first, pool.tryAcquire());
+        while (!pool.contains(second))
+            Thread.onSpinWait();
+        assertSame(second, pool.peek());
+
+        dock.endShift();
+        thread.join();
+        assertFalse(pool.contains(second));
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.marcustalbots.haven.dock;
+
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests stealing between the berths of a {@link Terminal}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class TerminalTest {
+
+    /**
+     * A berth whose own backlog is empty takes containers from its neighbour.
+     */
+    @Test
+    @Timeout(5)
+    void emptyBerthStealsFromNeighbour() {
+        final var terminal = new Terminal(3, 4);
+        terminal.getBerth(2).placeContainer(new DefaultFreightContainer(1L));
+        terminal.getBerth(1).placeContainer(new DefaultFreightContainer(2L));
+
+        assertEquals(2L, terminal.getBerth(0).getContainer().getId());
+        assertEquals(List.of(1L), terminal.getBerth(0).drainContainers(4).stream()
+                .map(AbstractFreightContainer::getId).toList());
+        assertEquals(0, terminal.getBacklogSize());
+    }
+
+    /**
+     * The Terminal is only drained once every berth has ended its shift, and holds no containers.
+     */
+    @Test
+    void drainedOnlyOnceEveryBerthIs() {
+        final var terminal = new Terminal(2, 4);
+        final var home = terminal.getBerth(0);
+        final var other = terminal.getBerth(1);
+        other.placeContainer(new DefaultFreightContainer(1L));
+        home.shutdown();
+        other.shutdown();
+
+        assertTrue(home.getShift().isOver());
+        assertFalse(other.getShift().isOver());
+        assertFalse(home.isDrained());
+        assertSame(other.getShift(), terminal.getConsumerShift(home));
+
+        assertNotNull(home.getContainer());
+        assertTrue(other.getShift().isOver());
+        assertTrue(home.isDrained());
+        assertTrue(terminal.isDrained());
+    }
+
+    /**
+     * A truck keeps stealing after the shift of its own berth has ended, for as long as a neighbour may still receive
+     * containers, and stops once every berth has drained.
+     */
+    @Test
+    @Timeout(10)
+    void keepsStealingAfterHomeShiftEnded() throws InterruptedException {
+        final var terminal = new Terminal(2, 5);
+        final var home = terminal.getBerth(0);
+        final var other = terminal.getBerth(1);
+        other.enlistProducer();
+        home.shutdown();
+
+        final var taken = Collections.synchronizedList(new ArrayList<AbstractFreightContainer>());
+        final var truck = new Thread(() -> {
+            while (!home.isDrained())
+                taken.addAll(home.drainContainers(5));
+        });
+        truck.start();
+        Thread.sleep(100L);
+        assertTrue(truck.isAlive());
+
+        for (var id = 1L; id <= 3L; id++)
+            other.placeContainer(new DefaultFreightContainer(id));
+        other.retireProducer();
+        other.shutdown();
+        truck.join();
+
+        assertEquals(3, taken.size());
+        assertTrue(terminal.isDrained());
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.models.containers.AbstractFreightContainer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests every {@link ContainerBacklog}-implementation against the contract of the interface. Every implementation
+ * gets its own subclass, which only has to create the backlog.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+abstract class ContainerBacklogContractTest {
+
+    /**
+     * Creates a new, empty backlog of the implementation under test.
+     *
+     * @param capacity Maximum amount of containers in the backlog.
+     * @return A new {@link ContainerBacklog}.
+     * @author Marcus Talbot (1041464)
+     */
+    protected abstract @NotNull ContainerBacklog create(final int capacity);
+
+    /**
+     * Creates a container of the given type, docked at the start of the simulation, so that deadlines only depend on
+     * the type of the container.
+     *
+     * @param container The container.
+     * @param <T>       Type of container.
+     * @return The given container.
+     * @author Marcus Talbot (1041464)
+     */
+    protected static <T extends AbstractFreightContainer> @NotNull T docked(@NotNull final T container) {
+        container.setDockedNanos(0L);
+        return container;
+    }
+
+    /**
+     * A backlog never holds more containers than its capacity.
+     */
+    @Test
+    void offerRespectsCapacity() throws InterruptedException {
+        final var backlog = this.create(2);
+
+        assertTrue(backlog.offer(docked(new DefaultFreightContainer(1L))));
+        assertTrue(backlog.offer(docked(new DefaultFreightContainer(2L))));
+        assertFalse(backlog.offer(docked(new DefaultFreightContainer(3L))));
+        assertFalse(backlog.offer(docked(new DefaultFreightContainer(4L)), 10L, TimeUnit.MILLISECONDS));
+        assertEquals(2, backlog.size());
+        assertEquals(2, backlog.capacity());
+    }
+
+    /**
+     * Taking from an empty backlog returns nothing, rather than blocking forever.
+     */
+    @Test
+    void pollOnEmptyBacklogReturnsNull() throws InterruptedException {
+        final var backlog = this.create(4);
+
+        assertNull(backlog.poll());
+        assertNull(backlog.poll(10L, TimeUnit.MILLISECONDS));
+        assertEquals(0, backlog.drainTo(new ArrayList<>(), 4, 10L, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Heated and cooled containers placed at the same time as a default container are handed out before it.
+     */
+    @Test
+    void higherPriorityContainersComeFirst() {
+        final var backlog = this.create(4);
+        backlog.offer(docked(new DefaultFreightContainer(1L)));
+        backlog.offer(docked(new HeatedFreightContainer(2L)));
+        backlog.offer(docked(new CooledFreightContainer(3L)));
+
+        assertFalse(backlog.poll() instanceof DefaultFreightContainer);
+        assertFalse(backlog.poll() instanceof DefaultFreightContainer);
+        assertInstanceOf(DefaultFreightContainer.class, backlog.poll());
+    }
+
+    /**
+     * Batch handoffs place only what fits, and take at most the requested amount.
+     */
+    @Test
+    void batchHandoffsRespectCapacityAndMax() throws InterruptedException {
+        final var backlog = this.create(3);
+        final var containers = List.of(docked(new DefaultFreightContainer(1L)),
+                docked(new DefaultFreightContainer(2L)), docked(new DefaultFreightContainer(3L)),
+                docked(new DefaultFreightContainer(4L)));
+
+        assertEquals(3, backlog.offerAll(containers, 0L, TimeUnit.NANOSECONDS));
+
+        final var taken = new ArrayList<AbstractFreightContainer>();
+        assertEquals(2, backlog.drainTo(taken, 2, 0L, TimeUnit.NANOSECONDS));
+        assertEquals(1, backlog.size());
+        assertEquals(1, backlog.drainTo(taken, 2, 0L, TimeUnit.NANOSECONDS));
+        assertEquals(3, new HashSet<>(taken).size());
+    }
+
+    /**
+     * Consolidation only takes containers of the same type as the given container.
+     */
+    @Test
+    void drainCompatibleTakesOnlyTheSameType() {
+        final var backlog = this.create(4);
+        backlog.offer(docked(new DefaultFreightContainer(1L)));
+        backlog.offer(docked(new HeatedFreightContainer(2L)));
+        backlog.offer(docked(new DefaultFreightContainer(3L)));
+
+        final var taken = new ArrayList<AbstractFreightContainer>();
+        assertEquals(2, backlog.drainCompatible(new DefaultFreightContainer(4L), taken, 4));
+        assertTrue(taken.stream().allMatch(DefaultFreightContainer.class::isInstance));
+        assertEquals(1, backlog.size());
+    }
+
+    /**
+     * A released backlog no longer blocks, but still hands out what it holds.
+     */
+    @Test
+    @Timeout(5)
+    void releaseStopsBlocking() throws InterruptedException {
+        final var backlog = this.create(1);
+        backlog.release();
+
+        assertNull(backlog.poll(1L, TimeUnit.HOURS));
+        assertTrue(backlog.offer(docked(new DefaultFreightContainer(1L)), 1L, TimeUnit.HOURS));
+        assertFalse(backlog.offer(docked(new DefaultFreightContainer(2L)), 1L, TimeUnit.HOURS));
+        assertInstanceOf(DefaultFreightContainer.class, backlog.poll(1L, TimeUnit.HOURS));
+    }
+
+    /**
+     * A waiting consumer is woken when another thread releases the backlog.
+     */
+    @Test
+    @Timeout(5)
+    void releaseWakesWaitingConsumer() throws InterruptedException {
+        final var backlog = this.create(1);
+        final var consumer = new Thread(() -> {
+            try {
+                backlog.poll(1L, TimeUnit.HOURS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(50L);
+
+        backlog.release();
+        consumer.join();
+    }
+
+    /**
+     * Containers placed by several producers are each taken by exactly one of several consumers.
+     */
+    @Test
+    @Timeout(30)
+    void everyContainerIsTakenExactlyOnce() throws InterruptedException {
+        final var backlog = this.create(8);
+        final var perProducer = 2_000;
+        final var producers = 3;
+        final var taken = new AtomicInteger();
+        final var duplicates = new AtomicInteger();
+        final var ids = ConcurrentHashMap.<Long>newKeySet();
+        final var threads = new ArrayList<Thread>();
+
+        for (var producer = 0; producer < producers; producer++) {
+            final var offset = producer * perProducer;
+            threads.add(new Thread(() -> {
+                try {
+                    for (var index = 0; index < perProducer; index++) {
+                        final AbstractFreightContainer container = index % 3 == 0
+                                ? new HeatedFreightContainer(offset + index)
+                                : new DefaultFreightContainer(offset + index);
+                        while (!backlog.offer(docked(container), 10L, TimeUnit.MILLISECONDS)) ;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (var consumer = 0; consumer < 2; consumer++) {
+            threads.add(new Thread(() -> {
+                final var batch = new ArrayList<AbstractFreightContainer>();
+                try {
+                    while (taken.get() < producers * perProducer) {
+                        batch.clear();
+                        backlog.drainTo(batch, 4, 10L, TimeUnit.MILLISECONDS);
+                        for (final var container : batch)
+                            if (!ids.add(container.getId()))
+                                duplicates.incrementAndGet();
+                        taken.addAndGet(batch.size());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        for (final var thread : threads)
+            thread.join();
+
+        assertEquals(0, duplicates.get());
+        assertEquals(producers * perProducer, ids.size());
+        assertEquals(0, backlog.size());
+    }
+}
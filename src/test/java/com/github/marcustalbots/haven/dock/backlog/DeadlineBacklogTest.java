@@ -0,0 +1,83 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.impl.containers.CooledFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Tests {@link DeadlineBacklog} against the contract of {@link ContainerBacklog}, and checks that containers are
+ * handed out earliest deadline first.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class DeadlineBacklogTest extends ContainerBacklogContractTest {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    protected @NotNull ContainerBacklog create(final int capacity) {
+        return new DeadlineBacklog(capacity, DwellTimeSla.DEFAULT);
+    }
+
+    /**
+     * A default container that has waited past its dwell time is handed out before a heated container that was placed
+     * just now, even though heated containers have the higher static priority.
+     */
+    @Test
+    void earliestDeadlineComesFirst() {
+        final var backlog = this.create(4);
+        final var now = SimulationClock.current().nanos();
+        final var heated = new HeatedFreightContainer(1L);
+        heated.setDockedNanos(now);
+        final var waiting = new DefaultFreightContainer(2L);
+        waiting.setDockedNanos(now - Duration.ofMinutes(5L).toNanos());
+        backlog.offer(heated);
+        backlog.offer(waiting);
+
+        assertEquals(2L, backlog.poll().getId());
+        assertEquals(1L, backlog.poll().getId());
+    }
+
+    /**
+     * Every lane has its own dwell time, so containers placed at the same time are due in the order of their dwell
+     * times.
+     */
+    @Test
+    void dwellTimeDecidesBetweenTypes() {
+        final var backlog = new DeadlineBacklog(4, new DwellTimeSla(Duration.ofMinutes(2L), Duration.ofSeconds(1L),
+                Duration.ofMinutes(1L)));
+        backlog.offer(docked(new HeatedFreightContainer(1L)));
+        backlog.offer(docked(new DefaultFreightContainer(2L)));
+        backlog.offer(docked(new CooledFreightContainer(3L)));
+
+        assertInstanceOf(CooledFreightContainer.class, backlog.poll());
+        assertInstanceOf(DefaultFreightContainer.class, backlog.poll());
+        assertInstanceOf(HeatedFreightContainer.class, backlog.poll());
+    }
+
+    /**
+     * Taking a container after it was due counts as a violation of the agreement.
+     */
+    @Test
+    void lateContainerCountsAsViolation() {
+        final var violations = MetricsRegistry.getInstance().counter("dock.sla.violations");
+        final var backlog = this.create(1);
+        final var before = violations.get();
+        backlog.offer(docked(new DefaultFreightContainer(1L)));
+        backlog.poll();
+
+        assertEquals(before + 1L, violations.get());
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import com.github.marcustalbots.haven.impl.containers.DefaultFreightContainer;
+import com.github.marcustalbots.haven.impl.containers.HeatedFreightContainer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link LaneRingBufferBacklog} against the contract of {@link ContainerBacklog}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class LaneRingBufferBacklogTest extends ContainerBacklogContractTest {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    protected @NotNull ContainerBacklog create(final int capacity) {
+        return new LaneRingBufferBacklog(capacity);
+    }
+
+    /**
+     * Containers of the same lane are handed out in the order they were placed.
+     */
+    @Test
+    void laneIsFirstInFirstOut() {
+        final var backlog = this.create(6);
+        for (var id = 1L; id <= 3L; id++) {
+            backlog.offer(docked(new DefaultFreightContainer(id)));
+            backlog.offer(docked(new HeatedFreightContainer(id + 10L)));
+        }
+
+        for (var id = 11L; id <= 13L; id++)
+            assertEquals(id, backlog.poll().getId());
+        for (var id = 1L; id <= 3L; id++)
+            assertEquals(id, backlog.poll().getId());
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.marcustalbots.haven.dock.backlog;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Tests {@link PriorityBlockingBacklog} against the contract of {@link ContainerBacklog}.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class PriorityBlockingBacklogTest extends ContainerBacklogContractTest {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @author Marcus Talbot (1041464)
+     */
+    @Override
+    protected @NotNull ContainerBacklog create(final int capacity) {
+        return new PriorityBlockingBacklog(capacity);
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.offloading_vehicles;
+
+import com.github.marcustalbots.haven.clock.ScaledClock;
+import com.github.marcustalbots.haven.clock.SimulationClock;
+import com.github.marcustalbots.haven.dock.Dock;
+import com.github.marcustalbots.haven.impl.containers.OilContainer;
+import com.github.marcustalbots.haven.impl.vehicles.dock_vehicles.transport_vehicles.OilTruck;
+import com.github.marcustalbots.haven.impl.vehicles.ships.OilShip;
+import com.github.marcustalbots.haven.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests that a {@link Pump} stops once no {@link OilTruck} is left to pump into.
+ *
+ * @author Marcus Talbot (1041464)
+ */
+class PumpTest {
+
+    /**
+     * The {@link SimulationClock} in use before the test, restored afterwards.
+     */
+    private SimulationClock previousClock;
+
+    /**
+     * Runs the test on a {@link ScaledClock}, so that waiting for a truck takes milliseconds rather than seconds.
+     */
+    @BeforeEach
+    void useScaledClock() {
+        this.previousClock = SimulationClock.current();
+        SimulationClock.use(new ScaledClock(1000.0));
+    }
+
+    /**
+     * Restores the {@link SimulationClock} in use before the test.
+     */
+    @AfterEach
+    void restoreClock() {
+        SimulationClock.use(this.previousClock);
+    }
+
+    /**
+     * Without any {@link OilTruck}, a {@link Pump} leaves the containers on its ship.
+     */
+    @Test
+    void pumpWithoutTrucksLeavesContainersOnShip() {
+        final var ship = new OilShip();
+        ship.addFreight(new OilContainer(1L));
+        final var pump = new Pump(new Dock(4), ship, "Pump");
+
+        assertFalse(pump.offloadNext());
+        assertEquals(1, ship.getFreightCount());
+    }
+
+    /**
+     * A {@link Pump} waiting for an {@link OilTruck} returns its container to the ship, and stops, once the last
+     * {@link OilTruck} has left the pool.
+     */
+    @Test
+    @Timeout(10)
+    void waitingPumpStopsOnceLastTruckLeaves() throws InterruptedException {
+        final var returned = MetricsRegistry.getInstance().counter("offload.oil.returned");
+        final var before = returned.get();
+        final var dock = new Dock(4);
+        final var pool = dock.getOilTruckPool();
+        new OilTruck(dock, "Truck");
+        // The only truck is handed out elsewhere, so the Pump has to wait.
+        pool.tryAcquire();
+
+        final var ship = new OilShip();
+        ship.addFreight(new OilContainer(1L));
+        final var thread = new Thread(new Pump(dock, ship, "Pump"));
+        thread.start();
+        Thread.sleep(100L);
+        assertEquals(0, ship.getFreightCount());
+
+        pool.leave();
+        thread.join();
+        assertEquals(1, ship.getFreightCount());
+        assertEquals(before + 1L, returned.get());
+    }
+}